@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 IBM Corporation and others.
+ * Copyright (c) 2018, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,7 @@ import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
+import org.eclipse.jdt.internal.core.manipulation.ASTCache;
 import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
@@ -59,6 +60,7 @@ public final class CoreASTProvider {
 	private volatile ITypeRoot fReconcilingJavaElement;
 	private ITypeRoot fActiveJavaElement;
 	private CompilationUnit fAST;
+	private final ASTCache fASTCache= new ASTCache();
 	private Object fReconcileLock= new Object();
 	private Object fWaitLock= new Object();
 	private volatile boolean fIsReconciling;
@@ -152,6 +154,15 @@ public final class CoreASTProvider {
 			}
 		}
 
+		if (isActiveElement && !isReconciling(input)) {
+			// the editor has been reactivated, its AST might still be cached
+			CompilationUnit ast= getCachedAST(input);
+			if (ast != null) {
+				cache(ast, input);
+				return ast;
+			}
+		}
+
 		final boolean canReturnNull= waitFlag == CoreASTProvider.WAIT_NO || (waitFlag == CoreASTProvider.WAIT_ACTIVE_ONLY && (!isActiveElement || fAST != null));
 		boolean isReconciling= false;
 		final ITypeRoot activeElement;
@@ -191,16 +202,21 @@ public final class CoreASTProvider {
 				return null; // thread has been interrupted don't compute AST
 			}
 		} else if (canReturnNull)
-			return null;
+			return isActiveElement ? null : getCachedAST(input);
 
 
 		CompilationUnit ast= null;
 		try {
-			ast= createAST(input, progressMonitor);
-			if (progressMonitor != null && progressMonitor.isCanceled()) {
-				ast= null;
-				if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
-					System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "Ignore created AST for: " + input.getElementName() + " - operation has been cancelled"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			ast= getCachedAST(input);
+			if (ast == null) {
+				ast= createAST(input, progressMonitor);
+				if (progressMonitor != null && progressMonitor.isCanceled()) {
+					ast= null;
+					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+						System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "Ignore created AST for: " + input.getElementName() + " - operation has been cancelled"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				} else if (!isActiveElement) {
+					fASTCache.put(input, ast);
+				}
 			}
 		} finally {
 			if (isActiveElement) {
@@ -217,6 +233,20 @@ public final class CoreASTProvider {
 		return ast;
 	}
 
+	/**
+	 * Returns the AST of the given Java element from the cache of recently reconciled or created
+	 * ASTs.
+	 *
+	 * @param input the Java element
+	 * @return the cached AST or <code>null</code> if none is available for the current source
+	 */
+	private CompilationUnit getCachedAST(ITypeRoot input) {
+		CompilationUnit ast= fASTCache.get(input);
+		if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+			System.out.println(getThreadName() + " - " + DEBUG_PREFIX + (ast != null ? "cache hit: " : "cache miss: ") + input.getElementName() + " - " + fASTCache); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		return ast;
+	}
+
 	private void notifyReconciler() {
 		Runnable finishReconciling= fFinishReconciling;
 		if (finishReconciling!=null) {
@@ -322,6 +352,13 @@ public final class CoreASTProvider {
 		if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
 			System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "reconciled: " + toString(javaElement) + ", AST: " + toString(ast)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
+		if (javaElement != null) {
+			if (ast != null)
+				fASTCache.put(javaElement, ast);
+			else
+				ast= getCachedAST(javaElement); // consistent working copy, e.g. after reactivating its editor
+		}
+
 		synchronized (fReconcileLock) {
 			fIsReconciling= false;
 			fFinishReconciling= null;
@@ -505,6 +542,38 @@ public final class CoreASTProvider {
 		return fAST;
 	}
 
+	/**
+	 * Returns the number of AST requests that have been answered from the cache of recently
+	 * reconciled or created ASTs.
+	 *
+	 * @return the number of cache hits
+	 * @since 1.23
+	 */
+	public long getCacheHitCount() {
+		return fASTCache.getHitCount();
+	}
+
+	/**
+	 * Returns the number of AST requests that could not be answered from the cache of recently
+	 * reconciled or created ASTs.
+	 *
+	 * @return the number of cache misses
+	 * @since 1.23
+	 */
+	public long getCacheMissCount() {
+		return fASTCache.getMissCount();
+	}
+
+	/**
+	 * Removes all ASTs from the cache of recently reconciled or created ASTs. The shared AST of the
+	 * active editor is not affected.
+	 *
+	 * @since 1.23
+	 */
+	public void clearCache() {
+		fASTCache.clear();
+	}
+
 	/**
 	 * Notify all waiting threads that the AST has changed.
 	 */
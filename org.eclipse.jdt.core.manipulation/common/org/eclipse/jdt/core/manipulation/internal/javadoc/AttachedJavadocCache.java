@@ -0,0 +1,434 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.manipulation.internal.javadoc;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.eclipse.core.runtime.URIUtil;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+
+/**
+ * A cache of the Javadoc attached to binary elements, used by the Javadoc hovers and the Javadoc
+ * view.
+ * <p>
+ * Only Javadoc attached from a local archive or directory is cached. The entries in the state
+ * location of the plug-in survive restarts, they are keyed by the handle of the element, the
+ * Javadoc location and the time stamp of the archive, or of the HTML file of the type for a
+ * directory. The entries in memory are keyed by the handle of the element only, so that a hit
+ * does not access the file system. They and the inherited Javadoc of methods are flushed when a
+ * classpath or an archive changes. The inherited Javadoc of a method is only kept if it has been
+ * computed from local locations only.
+ * </p>
+ *
+ * @since 1.23
+ */
+public final class AttachedJavadocCache {
+
+	/**
+	 * Computes the Javadoc of a method.
+	 */
+	@FunctionalInterface
+	public interface IJavadocComputer {
+
+		/**
+		 * @return the Javadoc in HTML, or <code>null</code> if none
+		 * @throws JavaModelException if the Javadoc could not be accessed
+		 */
+		String compute() throws JavaModelException;
+	}
+
+	/**
+	 * Maximal number of characters kept in memory.
+	 */
+	private static final int MAX_CHARS= Integer.getInteger("org.eclipse.jdt.core.manipulation.javadocCache.size", 1 << 22).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximal number of files in the state location. The files are deleted when this number is
+	 * exceeded.
+	 */
+	private static final int MAX_FILES= Integer.getInteger("org.eclipse.jdt.core.manipulation.javadocCache.files", 10000).intValue(); //$NON-NLS-1$
+
+	private static final int MAX_INHERITED= 1000;
+
+	private static final String DIRECTORY= "attachedJavadoc"; //$NON-NLS-1$
+
+	private static final String FILE_SUFFIX= ".html"; //$NON-NLS-1$
+
+	/**
+	 * The suffix of the files that are written before they replace a file of the cache. They are
+	 * not counted and deleted when the cache is started.
+	 */
+	private static final String TEMP_FILE_SUFFIX= ".tmp"; //$NON-NLS-1$
+
+	private static final String NO_JAVADOC= new String();
+
+	private static AttachedJavadocCache fgInstance;
+
+	/**
+	 * Set while the inherited Javadoc of a method is computed in this thread, its element is set to
+	 * <code>true</code> when Javadoc is accessed at a location that is not local.
+	 */
+	private static final ThreadLocal<boolean[]> fgNonLocalAccess= new ThreadLocal<>();
+
+	private final LinkedHashMap<String, String> fJavadocs= new LinkedHashMap<>(16, 0.75f, true);
+
+	private final LinkedHashMap<String, String> fInherited= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_INHERITED;
+		}
+	};
+
+	private long fChars;
+
+	/**
+	 * Incremented whenever the cache is flushed, entries computed before are not added.
+	 */
+	private long fStamp;
+
+	private int fFileCount= -1;
+
+	private IElementChangedListener fListener;
+
+	public static synchronized AttachedJavadocCache getDefault() {
+		if (fgInstance == null) {
+			fgInstance= new AttachedJavadocCache();
+		}
+		return fgInstance;
+	}
+
+	private AttachedJavadocCache() {
+	}
+
+	/**
+	 * Returns the attached Javadoc of an element.
+	 *
+	 * @param element the element
+	 * @return the Javadoc in HTML, or <code>null</code> if none
+	 * @throws JavaModelException if the Javadoc could not be accessed
+	 * @see IJavaElement#getAttachedJavadoc(org.eclipse.core.runtime.IProgressMonitor)
+	 */
+	public String getAttachedJavadoc(IJavaElement element) throws JavaModelException {
+		String handle= element.getHandleIdentifier();
+		long stamp;
+		synchronized (this) {
+			installListener();
+			String javadoc= fJavadocs.get(handle);
+			if (javadoc != null)
+				return javadoc == NO_JAVADOC ? null : javadoc;
+			stamp= fStamp;
+		}
+
+		URL location= CoreJavaDocLocations.getJavadocBaseLocation(element);
+		String key= location != null ? getKey(location, element) : null;
+		if (key == null) {
+			boolean[] nonLocalAccess= fgNonLocalAccess.get();
+			if (location != null && nonLocalAccess != null)
+				nonLocalAccess[0]= true;
+			return element.getAttachedJavadoc(null);
+		}
+
+		Path file= getFile(key);
+		String javadoc= file != null ? read(file, key) : null;
+		if (javadoc == null) {
+			javadoc= element.getAttachedJavadoc(null);
+			if (javadoc != null && file != null)
+				write(file, key, javadoc);
+		}
+
+		synchronized (this) {
+			if (stamp == fStamp)
+				put(handle, javadoc != null ? javadoc : NO_JAVADOC);
+		}
+		return javadoc;
+	}
+
+	/**
+	 * Returns the attached Javadoc inherited by a binary method. The result is only kept if the
+	 * computer has not accessed Javadoc at a location that is not local, so that a failure to access
+	 * a remote location is not kept.
+	 *
+	 * @param method the method
+	 * @param computer computes the inherited Javadoc if it is not cached
+	 * @return the inherited Javadoc in HTML, or <code>null</code> if none
+	 * @throws JavaModelException if the Javadoc could not be accessed
+	 */
+	public String getInheritedJavadoc(IMethod method, IJavadocComputer computer) throws JavaModelException {
+		if (!method.isBinary())
+			return computer.compute();
+
+		String key= method.getHandleIdentifier();
+		long stamp;
+		synchronized (this) {
+			installListener();
+			String javadoc= fInherited.get(key);
+			if (javadoc != null)
+				return javadoc == NO_JAVADOC ? null : javadoc;
+			stamp= fStamp;
+		}
+
+		boolean[] outerNonLocalAccess= fgNonLocalAccess.get();
+		boolean[] nonLocalAccess= { false };
+		fgNonLocalAccess.set(nonLocalAccess);
+		String javadoc;
+		try {
+			javadoc= computer.compute();
+		} finally {
+			fgNonLocalAccess.set(outerNonLocalAccess);
+		}
+		if (nonLocalAccess[0]) {
+			if (outerNonLocalAccess != null)
+				outerNonLocalAccess[0]= true;
+			return javadoc;
+		}
+
+		synchronized (this) {
+			if (stamp == fStamp)
+				fInherited.put(key, javadoc != null ? javadoc : NO_JAVADOC);
+		}
+		return javadoc;
+	}
+
+	/**
+	 * Removes all entries kept in memory.
+	 */
+	public synchronized void clear() {
+		fJavadocs.clear();
+		fInherited.clear();
+		fChars= 0;
+		fStamp++;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "AttachedJavadocCache [javadocs=" + fJavadocs.size() + ", chars=" + fChars + ", inherited=" + fInherited.size() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	private void put(String handle, String javadoc) {
+		String previous= fJavadocs.put(handle, javadoc);
+		if (previous != null)
+			fChars-= previous.length();
+		fChars+= javadoc.length();
+		Iterator<String> iterator= fJavadocs.values().iterator();
+		while (fChars > MAX_CHARS && iterator.hasNext()) {
+			fChars-= iterator.next().length();
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Returns the key of the attached Javadoc of an element.
+	 *
+	 * @param location the Javadoc location
+	 * @param element the element
+	 * @return the key, or <code>null</code> if the Javadoc is not attached from a local archive or
+	 *         directory
+	 */
+	private static String getKey(URL location, IJavaElement element) {
+		long timeStamp= getTimeStamp(location, element);
+		if (timeStamp == 0)
+			return null;
+		return location.toExternalForm() + '|' + timeStamp + '|' + element.getHandleIdentifier();
+	}
+
+	/**
+	 * Returns the time stamp of the Javadoc of an element.
+	 *
+	 * @param location the Javadoc location
+	 * @param element the element
+	 * @return the time stamp of the archive or of the HTML file of the type, or <code>0</code> if
+	 *         the location is not a local archive or directory
+	 */
+	private static long getTimeStamp(URL location, IJavaElement element) {
+		try {
+			if ("jar".equals(location.getProtocol())) { //$NON-NLS-1$
+				String path= location.getPath();
+				int separator= path.indexOf("!/"); //$NON-NLS-1$
+				if (separator == -1)
+					return 0;
+				File archive= URIUtil.toFile(URIUtil.fromString(path.substring(0, separator)));
+				return archive != null ? archive.lastModified() : 0;
+			}
+			if (!"file".equals(location.getProtocol())) //$NON-NLS-1$
+				return 0;
+
+			File directory= URIUtil.toFile(URIUtil.toURI(location));
+			if (directory == null || !directory.isDirectory())
+				return 0;
+			IPackageFragment pack= (IPackageFragment) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT);
+			if (pack == null)
+				return 0;
+			IType type= element instanceof IType ? (IType) element : (IType) element.getAncestor(IJavaElement.TYPE);
+			String fileName= type != null ? type.getTypeQualifiedName('.') + ".html" : "package-summary.html"; //$NON-NLS-1$ //$NON-NLS-2$
+			return new File(new File(directory, pack.getElementName().replace('.', File.separatorChar)), fileName).lastModified();
+		} catch (URISyntaxException e) {
+			return 0;
+		}
+	}
+
+	private synchronized Path getFile(String key) {
+		JavaManipulationPlugin plugin= JavaManipulationPlugin.getDefault();
+		if (plugin == null || MAX_FILES <= 0)
+			return null;
+		try {
+			Path directory= plugin.getStateLocation().append(DIRECTORY).toPath();
+			if (fFileCount == -1) {
+				Files.createDirectories(directory);
+				deleteTempFiles(directory);
+				try (Stream<Path> files= Files.list(directory)) {
+					fFileCount= (int) files.filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX)).count();
+				}
+			}
+			return directory.resolve(Integer.toHexString(key.hashCode()) + '_' + key.length() + FILE_SUFFIX);
+		} catch (IOException | IllegalStateException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @param file the file
+	 * @param key the key of the Javadoc
+	 * @return the Javadoc stored in the file, or <code>null</code> if the file does not exist or
+	 *         stores the Javadoc of another key
+	 */
+	private static String read(Path file, String key) {
+		try {
+			String contents= Files.readString(file, StandardCharsets.UTF_8);
+			if (contents.length() > key.length() && contents.startsWith(key) && contents.charAt(key.length()) == '\n')
+				return contents.substring(key.length() + 1);
+		} catch (IOException e) {
+			// not stored
+		}
+		return null;
+	}
+
+	private void write(Path file, String key, String javadoc) {
+		boolean exists= Files.exists(file); // replaced with the Javadoc of another key
+		synchronized (this) {
+			if (!exists) {
+				if (fFileCount >= MAX_FILES) {
+					deleteFiles(file.getParent());
+					fFileCount= 0;
+				}
+				fFileCount++;
+			}
+		}
+		try {
+			Path temp= Files.createTempFile(file.getParent(), null, TEMP_FILE_SUFFIX);
+			Files.writeString(temp, key + '\n' + javadoc, StandardCharsets.UTF_8);
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			// the Javadoc is read again
+		}
+	}
+
+	/**
+	 * Deletes the temporary files left by an earlier session, e.g. when it was killed while
+	 * writing.
+	 *
+	 * @param directory the directory of the cache
+	 */
+	private static void deleteTempFiles(Path directory) {
+		try (Stream<Path> files= Files.list(directory)) {
+			files.filter(file -> file.getFileName().toString().endsWith(TEMP_FILE_SUFFIX)).forEach(file -> {
+				try {
+					Files.deleteIfExists(file);
+				} catch (IOException e) {
+					// deleted with the next overflow
+				}
+			});
+		} catch (IOException e) {
+			JavaManipulationPlugin.log(e);
+		}
+	}
+
+	private static void deleteFiles(Path directory) {
+		try (Stream<Path> files= Files.list(directory)) {
+			files.forEach(file -> {
+				try {
+					Files.deleteIfExists(file);
+				} catch (IOException e) {
+					// deleted with the next overflow
+				}
+			});
+		} catch (IOException e) {
+			JavaManipulationPlugin.log(e);
+		}
+	}
+
+	private void installListener() {
+		if (fListener != null)
+			return;
+
+		fListener= event -> {
+			if (isClasspathChange(event.getDelta()))
+				clear();
+		};
+		JavaCore.addElementChangedListener(fListener, ElementChangedEvent.POST_CHANGE);
+	}
+
+	/**
+	 * Tells whether a delta can change the Javadoc locations or the binary elements.
+	 *
+	 * @param delta the delta
+	 * @return <code>true</code> if a classpath, a package fragment root or an archive changed
+	 */
+	private static boolean isClasspathChange(IJavaElementDelta delta) {
+		int flags= delta.getFlags();
+		switch (delta.getElement().getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED)
+					return true;
+				if ((flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED)) != 0)
+					return true;
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				return delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+								| IJavaElementDelta.F_SOURCEATTACHED | IJavaElementDelta.F_SOURCEDETACHED)) != 0;
+			default:
+				return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isClasspathChange(child))
+				return true;
+		}
+		return false;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2023 IBM Corporation and others.
+ * Copyright (c) 2023, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -70,6 +70,7 @@ import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelsCore;
 import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
 
 import org.eclipse.jdt.internal.ui.viewsupport.CoreJavaElementLinks;
 
@@ -469,7 +470,7 @@ public class CoreJavadocContentAccessUtility {
 			return r;
 		}
 		if (useAttachedJavadoc && member.getOpenable().getBuffer() == null) { // only if no source available
-			String s= member.getAttachedJavadoc(null);
+			String s= AttachedJavadocCache.getDefault().getAttachedJavadoc(member);
 			if (s != null)
 				return new StringReader(s);
 		}
@@ -489,9 +490,9 @@ public class CoreJavadocContentAccessUtility {
 			return null;
 
 		IType type= method.getDeclaringType();
-		ITypeHierarchy hierarchy= type.newSupertypeHierarchy(null);
+		ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(type);
 
-		MethodOverrideTester tester= new MethodOverrideTester(type, hierarchy);
+		MethodOverrideTester tester= SuperTypeHierarchyCache.getMethodOverrideTester(type);
 
 		for (IType curr : hierarchy.getAllSupertypes(type)) {
 			IMethod overridden= tester.findOverriddenMethodInType(curr, method);
@@ -0,0 +1,304 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation;
+
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.BufferChangedEvent;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IBufferChangedListener;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.internal.corext.util.JavaElementDeltaUtil;
+
+/**
+ * A bounded LRU cache of shared ASTs of recently active Java editors.
+ * <p>
+ * An entry is only returned while the buffer of its type root did not change since the AST has been
+ * cached. The cache is bounded by the number of entries and by the total length of the sources of
+ * the cached ASTs. ASTs are softly referenced such that they can be reclaimed under memory
+ * pressure. The bindings of an AST depend on the other compilation units, so all entries are
+ * flushed when the Java model reports that another compilation unit or a working copy has been
+ * added, removed or changed, and when a class path changed. Changes of a cached type root itself
+ * are detected by the buffer listener of its entry.
+ * </p>
+ *
+ * @since 1.23
+ */
+public final class ASTCache {
+
+	/**
+	 * Default maximal number of cached ASTs.
+	 */
+	private static final int DEFAULT_MAX_ENTRIES= Integer.getInteger("org.eclipse.jdt.core.manipulation.astCache.size", 4).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Default maximal total length of the sources of the cached ASTs, in characters.
+	 */
+	private static final long DEFAULT_MAX_SOURCE_LENGTH= Long.getLong("org.eclipse.jdt.core.manipulation.astCache.budget", 4L << 20).longValue(); //$NON-NLS-1$
+
+	/**
+	 * Delta flags of changes which can affect the bindings of all cached ASTs.
+	 */
+	private static final int CLASSPATH_FLAGS= IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH;
+
+	private static final class Entry implements IBufferChangedListener {
+
+		private final SoftReference<CompilationUnit> fAST;
+		private final IBuffer fBuffer;
+		private final int fLength;
+		private volatile boolean fChanged;
+
+		private Entry(CompilationUnit ast, IBuffer buffer, int length) {
+			fAST= new SoftReference<>(ast);
+			fBuffer= buffer;
+			fLength= length;
+		}
+
+		@Override
+		public void bufferChanged(BufferChangedEvent event) {
+			fChanged= true;
+		}
+
+		private boolean isValid(ITypeRoot typeRoot) {
+			return !fChanged && !fBuffer.isClosed() && fBuffer == getBuffer(typeRoot);
+		}
+
+		private void dispose() {
+			fBuffer.removeBufferChangedListener(this);
+		}
+	}
+
+	private final LinkedHashMap<ITypeRoot, Entry> fEntries;
+	private final int fMaxEntries;
+	private final long fMaxSourceLength;
+	private long fSourceLength;
+
+	private long fHits;
+	private long fMisses;
+	private long fEvictions;
+
+	private IElementChangedListener fListener;
+
+	public ASTCache() {
+		this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_SOURCE_LENGTH);
+	}
+
+	public ASTCache(int maxEntries, long maxSourceLength) {
+		fEntries= new LinkedHashMap<>(16, 0.75f, true);
+		fMaxEntries= maxEntries;
+		fMaxSourceLength= maxSourceLength;
+	}
+
+	/**
+	 * Returns the cached AST for the given type root if its buffer did not change since it has been
+	 * cached.
+	 *
+	 * @param typeRoot the type root
+	 * @return the cached AST or <code>null</code> if not available
+	 */
+	public synchronized CompilationUnit get(ITypeRoot typeRoot) {
+		if (fMaxEntries <= 0)
+			return null;
+
+		Entry entry= fEntries.get(typeRoot);
+		if (entry != null) {
+			CompilationUnit ast= entry.fAST.get();
+			if (ast != null && entry.isValid(typeRoot)) {
+				fHits++;
+				return ast;
+			}
+			remove(typeRoot);
+		}
+		fMisses++;
+		return null;
+	}
+
+	/**
+	 * Caches the given AST for the given type root. The least recently used entries are evicted if
+	 * the cache exceeds its bounds.
+	 *
+	 * @param typeRoot the type root
+	 * @param ast the AST of the current source of <code>typeRoot</code>
+	 */
+	public synchronized void put(ITypeRoot typeRoot, CompilationUnit ast) {
+		if (fMaxEntries <= 0 || typeRoot == null || ast == null)
+			return;
+
+		int length= ast.getLength();
+		if (length > fMaxSourceLength)
+			return;
+
+		IBuffer buffer= getBuffer(typeRoot);
+		if (buffer == null)
+			return;
+
+		remove(typeRoot);
+		installListener();
+		Entry entry= new Entry(ast, buffer, length);
+		buffer.addBufferChangedListener(entry);
+		fEntries.put(typeRoot, entry);
+		fSourceLength+= length;
+
+		Iterator<Map.Entry<ITypeRoot, Entry>> iterator= fEntries.entrySet().iterator();
+		while ((fEntries.size() > fMaxEntries || fSourceLength > fMaxSourceLength) && iterator.hasNext()) {
+			Map.Entry<ITypeRoot, Entry> eldest= iterator.next();
+			if (eldest.getKey().equals(typeRoot))
+				continue;
+			fSourceLength-= eldest.getValue().fLength;
+			eldest.getValue().dispose();
+			iterator.remove();
+			fEvictions++;
+		}
+	}
+
+	/**
+	 * Removes the cached AST of the given type root.
+	 *
+	 * @param typeRoot the type root
+	 */
+	public synchronized void remove(ITypeRoot typeRoot) {
+		Entry entry= fEntries.remove(typeRoot);
+		if (entry != null) {
+			fSourceLength-= entry.fLength;
+			entry.dispose();
+		}
+	}
+
+	/**
+	 * Removes all cached ASTs.
+	 */
+	public synchronized void clear() {
+		for (Entry entry : fEntries.values()) {
+			entry.dispose();
+		}
+		fEntries.clear();
+		fSourceLength= 0;
+	}
+
+	public synchronized long getHitCount() {
+		return fHits;
+	}
+
+	public synchronized long getMissCount() {
+		return fMisses;
+	}
+
+	public synchronized long getEvictionCount() {
+		return fEvictions;
+	}
+
+	public synchronized int size() {
+		return fEntries.size();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "ASTCache [size=" + fEntries.size() + ", sourceLength=" + fSourceLength + ", hits=" + fHits + ", misses=" + fMisses + ", evictions=" + fEvictions + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+	}
+
+	private void installListener() {
+		if (fListener != null)
+			return;
+
+		fListener= this::elementChanged;
+		// reconciled working copies are seen by the ASTs of other compilation units before they are saved
+		JavaCore.addElementChangedListener(fListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	private void elementChanged(ElementChangedEvent event) {
+		synchronized (this) {
+			if (fEntries.isEmpty())
+				return;
+		}
+		removeAffected(event.getDelta());
+	}
+
+	/**
+	 * Removes the entries affected by the given delta. Changes of the cached type roots themselves
+	 * are detected by the buffer listeners of the entries.
+	 *
+	 * @param delta the Java element delta
+	 * @return <code>true</code> if all entries have been removed
+	 */
+	private boolean removeAffected(IJavaElementDelta delta) {
+		if ((delta.getFlags() & CLASSPATH_FLAGS) != 0) {
+			clear();
+			return true;
+		}
+		IJavaElement element= delta.getElement();
+		int kind= delta.getKind();
+		if (kind == IJavaElementDelta.ADDED || kind == IJavaElementDelta.REMOVED) {
+			// types have been added or removed, e.g. with a package or a project
+			clear();
+			return true;
+		}
+		if (element.getElementType() == IJavaElement.COMPILATION_UNIT) {
+			// edits inside bodies, e.g. while typing in an editor, cannot change the bindings of other compilation units
+			if (JavaElementDeltaUtil.isStructuralChange(delta))
+				removeOthers((ITypeRoot) element);
+			return false;
+		}
+		if (element.getElementType() > IJavaElement.COMPILATION_UNIT)
+			return false;
+
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (removeAffected(child))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the entries of all type roots except the given one.
+	 *
+	 * @param typeRoot the changed type root
+	 */
+	private synchronized void removeOthers(ITypeRoot typeRoot) {
+		Iterator<Map.Entry<ITypeRoot, Entry>> iterator= fEntries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<ITypeRoot, Entry> entry= iterator.next();
+			if (!typeRoot.equals(entry.getKey())) {
+				fSourceLength-= entry.getValue().fLength;
+				entry.getValue().dispose();
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Returns the buffer of the given type root.
+	 *
+	 * @param typeRoot the type root
+	 * @return the buffer, or <code>null</code> if the type root has no source
+	 */
+	private static IBuffer getBuffer(ITypeRoot typeRoot) {
+		try {
+			return typeRoot.getBuffer();
+		} catch (JavaModelException e) {
+			return null;
+		}
+	}
+}
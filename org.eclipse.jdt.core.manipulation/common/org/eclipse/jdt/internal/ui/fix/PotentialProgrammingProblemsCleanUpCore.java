@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 IBM Corporation and others.
+ * Copyright (c) 2019, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,7 @@ import org.eclipse.jdt.core.dom.CompilationUnit;
 
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
 import org.eclipse.jdt.internal.corext.fix.PotentialProgrammingProblemsFixCore;
+import org.eclipse.jdt.internal.corext.fix.PotentialProgrammingProblemsFixCore.ISerialVersionFixContext;
 
 import org.eclipse.jdt.ui.cleanup.CleanUpRequirements;
 import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
@@ -39,6 +40,12 @@ import org.eclipse.jdt.ui.text.java.IProblemLocation;
 
 public class PotentialProgrammingProblemsCleanUpCore extends AbstractMultiFix {
 
+	/**
+	 * The serial version ids of the compilation units passed to the pre conditions, or
+	 * <code>null</code> outside of the pre and post conditions.
+	 */
+	private ISerialVersionFixContext fContext;
+
 	public PotentialProgrammingProblemsCleanUpCore(Map<String, String> options) {
 		super(options);
 	}
@@ -75,7 +82,7 @@ public class PotentialProgrammingProblemsCleanUpCore extends AbstractMultiFix {
 
 		return PotentialProgrammingProblemsFixCore.createCleanUp(compilationUnit,
 				isEnabled(CleanUpConstants.ADD_MISSING_SERIAL_VERSION_ID_GENERATED) ||
-				isEnabled(CleanUpConstants.ADD_MISSING_SERIAL_VERSION_ID_DEFAULT));
+				isEnabled(CleanUpConstants.ADD_MISSING_SERIAL_VERSION_ID_DEFAULT), fContext);
 	}
 
 	@Override
@@ -85,7 +92,7 @@ public class PotentialProgrammingProblemsCleanUpCore extends AbstractMultiFix {
 
 		return PotentialProgrammingProblemsFixCore.createCleanUp(compilationUnit, problems,
 				(isEnabled(CleanUpConstants.ADD_MISSING_SERIAL_VERSION_ID) && isEnabled(CleanUpConstants.ADD_MISSING_SERIAL_VERSION_ID_GENERATED)) ||
-				(isEnabled(CleanUpConstants.ADD_MISSING_SERIAL_VERSION_ID) && isEnabled(CleanUpConstants.ADD_MISSING_SERIAL_VERSION_ID_DEFAULT)));
+				(isEnabled(CleanUpConstants.ADD_MISSING_SERIAL_VERSION_ID) && isEnabled(CleanUpConstants.ADD_MISSING_SERIAL_VERSION_ID_DEFAULT)), fContext);
 	}
 
 	private Map<String, String> getRequiredOptions() {
@@ -141,15 +148,22 @@ public class PotentialProgrammingProblemsCleanUpCore extends AbstractMultiFix {
 		if (superStatus.hasFatalError())
 			return superStatus;
 
-		return PotentialProgrammingProblemsFixCore.checkPreConditions(project, compilationUnits, monitor,
+		fContext= PotentialProgrammingProblemsFixCore.createSerialVersionFixContext(project, compilationUnits,
 				isEnabled(CleanUpConstants.ADD_MISSING_SERIAL_VERSION_ID) && isEnabled(CleanUpConstants.ADD_MISSING_SERIAL_VERSION_ID_GENERATED),
 				isEnabled(CleanUpConstants.ADD_MISSING_SERIAL_VERSION_ID) && isEnabled(CleanUpConstants.ADD_MISSING_SERIAL_VERSION_ID_DEFAULT),
 				false);
+		if (fContext == null)
+			return new RefactoringStatus();
+		return fContext.initialize(monitor);
 	}
 
 	@Override
 	public RefactoringStatus checkPostConditions(IProgressMonitor monitor) throws CoreException {
-		return PotentialProgrammingProblemsFixCore.checkPostConditions(monitor);
+		if (monitor != null)
+			monitor.done();
+
+		fContext= null;
+		return new RefactoringStatus();
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2010, 2020 Darmstadt University of Technology and others.
+ * Copyright (c) 2010, 2026 Darmstadt University of Technology and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,19 +11,52 @@
  */
 package org.eclipse.jdt.internal.ui.text;
 
-import java.util.Collection;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.compiler.CharOperation;
+
+import org.eclipse.jdt.internal.corext.util.ConcurrencyUtil;
+
 import org.eclipse.jdt.internal.ui.text.ChainElement.ElementType;
 
+/**
+ * Finds call chains by a breadth first search over the fields and methods of the visited types.
+ * The chains of a search level are extended concurrently when there are many of them. The type
+ * edges are taken from the {@link ChainIndex} of the project, which is shared by the searches.
+ */
 public class ChainFinder {
 
+	/**
+	 * The maximal number of threads that extend the chains of a search level.
+	 */
+	private static final int PARALLELISM= Integer.getInteger("org.eclipse.jdt.core.manipulation.chainCompletion.parallelism", //$NON-NLS-1$
+			Math.min(4, Runtime.getRuntime().availableProcessors())).intValue();
+
+	/**
+	 * The minimal number of chains that are extended by a thread.
+	 */
+	private static final int MIN_CHUNK_SIZE= 64;
+
+	private static final int MAX_INCOMPLETE_CHAINS= 50000;
+
+	/**
+	 * The threads shared by all chain searches, created on demand. Idle threads are stopped.
+	 */
+	private static ExecutorService fgExecutor;
+
 	private final List<ChainType> expectedTypes;
 
 	private final List<String> excludedTypes;
@@ -32,11 +65,9 @@ public class ChainFinder {
 
 	private final List<Chain> chains= new LinkedList<>();
 
-	private final Map<IJavaElement, ChainElement> edgeCache= new HashMap<>();
+	private final ChainIndex index;
 
-	private final Map<String, List<IJavaElement>> fieldsAndMethodsCache= new HashMap<>();
-
-	private final Map<String, Boolean> assignableCache= new HashMap<>();
+	private final Map<String, List<IJavaElement>> fieldsAndMethodsCache= new ConcurrentHashMap<>();
 
 	private volatile boolean isCanceled;
 
@@ -53,10 +84,12 @@ public class ChainFinder {
 		this.excludedTypes= excludedTypes;
 		this.receiverType= receiverType;
 		this.token= token;
+		this.index= receiverType != null ? ChainIndex.get(receiverType.getJavaProject()) : new ChainIndex();
 	}
 
 	public void startChainSearch(final List<ChainElement> entrypoints, final int maxChains, final int minDepth,
 			final int maxDepth) {
+		final ExecutorService executor= PARALLELISM > 1 ? getExecutor() : null;
 		for (final ChainType expected : expectedTypes) {
 			if (expected != null && !ChainFinder.isFromExcludedType(excludedTypes, expected)) {
 				ChainType expectedType= expected;
@@ -65,36 +98,164 @@ public class ChainFinder {
 					expectedDimension= expectedType.getDimension();
 				}
 				searchChainsForExpectedType(expectedType, expectedDimension, entrypoints, maxChains, minDepth,
-						maxDepth);
+						maxDepth, executor);
 			}
 		}
 	}
 
+	private static synchronized ExecutorService getExecutor() {
+		if (fgExecutor == null) {
+			ThreadPoolExecutor executor= new ThreadPoolExecutor(PARALLELISM, PARALLELISM, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread= new Thread(runnable, "Chain Completion Search"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.allowCoreThreadTimeOut(true);
+			fgExecutor= executor;
+		}
+		return fgExecutor;
+	}
+
 	public void cancel() {
 		isCanceled= true;
 	}
 
 	private void searchChainsForExpectedType(final ChainType expectedType, final int expectedDimensions,
-			final List<ChainElement> entrypoints, final int maxChains, final int minDepth, final int maxDepth) {
-		final LinkedList<LinkedList<ChainElement>> incompleteChains= prepareQueue(entrypoints);
+			final List<ChainElement> entrypoints, final int maxChains, final int minDepth, final int maxDepth,
+			final ExecutorService executor) {
+		List<LinkedList<ChainElement>> incompleteChains= prepareQueue(entrypoints);
 
+		// all chains of a level have the same length, so a level is completed before the next one
 		while (!incompleteChains.isEmpty() && !isCanceled) {
-			final LinkedList<ChainElement> chain= incompleteChains.poll();
+			final int levelSize= incompleteChains.size();
+			final List<Level> levels= searchLevel(incompleteChains, expectedType, expectedDimensions, minDepth, maxDepth,
+					executor);
+			final List<LinkedList<ChainElement>> nextChains= new ArrayList<>();
+			int index= 0;
+			for (final Level level : levels) {
+				for (final Chain chain : level.completeChains) {
+					if (chains.size() >= maxChains) {
+						return;
+					}
+					chains.add(chain);
+				}
+				int start= 0;
+				for (final int end : level.extensionEnds) {
+					if (end > start && isBelowLimit(levelSize, index, nextChains.size())) {
+						nextChains.addAll(level.incompleteChains.subList(start, end));
+					}
+					start= end;
+					index++;
+				}
+			}
+			if (chains.size() >= maxChains) {
+				return;
+			}
+			incompleteChains= nextChains;
+		}
+	}
+
+	/**
+	 * The chains found by extending a part of a search level.
+	 */
+	private static final class Level {
+
+		final List<Chain> completeChains= new ArrayList<>();
+
+		/**
+		 * The extended chains, in the order of the chains they extend.
+		 */
+		final List<LinkedList<ChainElement>> incompleteChains= new ArrayList<>();
+
+		/**
+		 * For each chain of the part, the end index of its extensions in {@link #incompleteChains}.
+		 */
+		final int[] extensionEnds;
+
+		Level(final int size) {
+			extensionEnds= new int[size];
+		}
+	}
+
+	/**
+	 * Tells whether a chain of a level is extended. The limit is the one of a sequential search,
+	 * which applies it to its queue of the remaining chains of the level and of the extensions of
+	 * the preceding chains. It does not depend on the order in which the parts of a level are
+	 * processed.
+	 *
+	 * @param levelSize the number of chains of the level
+	 * @param index the index of the chain in the level
+	 * @param extensions the number of extensions of the preceding chains of the level
+	 * @return <code>true</code> if the chain is extended
+	 */
+	private static boolean isBelowLimit(final int levelSize, final int index, final int extensions) {
+		return levelSize - index - 1 + extensions <= MAX_INCOMPLETE_CHAINS;
+	}
+
+	/**
+	 * Completes or extends the chains of a search level. The level is split into chunks that are
+	 * processed concurrently if there are enough chains.
+	 *
+	 * @return the results of the chunks, in the order of the chains
+	 */
+	private List<Level> searchLevel(final List<LinkedList<ChainElement>> levelChains, final ChainType expectedType,
+			final int expectedDimensions, final int minDepth, final int maxDepth, final ExecutorService executor) {
+		final int size= levelChains.size();
+		if (executor == null || size < 2 * MIN_CHUNK_SIZE) {
+			return List.of(searchChunk(levelChains, 0, size, expectedType, expectedDimensions, minDepth, maxDepth));
+		}
+
+		final int chunkSize= Math.max(MIN_CHUNK_SIZE, (size + 4 * PARALLELISM - 1) / (4 * PARALLELISM));
+		final List<Future<Level>> futures= new ArrayList<>();
+		for (int start= 0; start < size; start+= chunkSize) {
+			final List<LinkedList<ChainElement>> chunk= levelChains.subList(start, Math.min(size, start + chunkSize));
+			final int offset= start;
+			futures.add(executor.submit(() -> searchChunk(chunk, offset, size, expectedType, expectedDimensions, minDepth, maxDepth)));
+		}
+
+		final List<Level> levels= new ArrayList<>(futures.size());
+		try {
+			for (final Future<Level> future : futures) {
+				levels.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			cancel();
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			cancel();
+			throw ConcurrencyUtil.rethrowCause(e);
+		}
+		return levels;
+	}
+
+	/**
+	 * Completes or extends a part of the chains of a search level.
+	 *
+	 * @param chunk the chains
+	 * @param offset the index of the first chain in the level
+	 * @param levelSize the number of chains of the level
+	 * @return the complete and the extended chains
+	 */
+	private Level searchChunk(final List<LinkedList<ChainElement>> chunk, final int offset, final int levelSize,
+			final ChainType expectedType, final int expectedDimensions, final int minDepth, final int maxDepth) {
+		final Level level= new Level(chunk.size());
+		int i= 0;
+		for (; i < chunk.size() && !isCanceled; i++) {
+			final LinkedList<ChainElement> chain= chunk.get(i);
 			final ChainElement edge= chain.getLast();
 			final ChainElement start= chain.getFirst();
 			if (isValidEndOfChain(edge, start, expectedType, expectedDimensions)) {
 				if (chain.size() >= minDepth) {
-					chains.add(new Chain(chain, expectedDimensions));
-					if (chains.size() == maxChains) {
-						break;
-					}
+					level.completeChains.add(new Chain(chain, expectedDimensions));
 				}
-				continue;
-			}
-			if (chain.size() < maxDepth && incompleteChains.size() <= 50000) {
-				searchDeeper(chain, incompleteChains, edge.getReturnType());
+			} else if (chain.size() < maxDepth && isBelowLimit(levelSize, offset + i, level.incompleteChains.size())) {
+				// the extensions of the preceding parts are not known here, the limit is checked again when the parts are merged
+				searchDeeper(chain, level.incompleteChains, edge.getReturnType());
 			}
+			level.extensionEnds[i]= level.incompleteChains.size();
 		}
+		Arrays.fill(level.extensionEnds, i, chunk.size(), level.incompleteChains.size());
+		return level;
 	}
 
 	/**
@@ -107,8 +268,8 @@ public class ChainFinder {
 		return chains;
 	}
 
-	private static LinkedList<LinkedList<ChainElement>> prepareQueue(final List<ChainElement> entrypoints) {
-		final LinkedList<LinkedList<ChainElement>> incompleteChains= new LinkedList<>();
+	private static List<LinkedList<ChainElement>> prepareQueue(final List<ChainElement> entrypoints) {
+		final List<LinkedList<ChainElement>> incompleteChains= new ArrayList<>();
 		for (final ChainElement entrypoint : entrypoints) {
 			final LinkedList<ChainElement> chain= new LinkedList<>();
 			chain.add(entrypoint);
@@ -147,12 +308,7 @@ public class ChainFinder {
 		if (expectedType.getPrimitiveType() != null) {
 			return expectedType.getPrimitiveType().equals(edge.getReturnType().getPrimitiveType());
 		}
-		Boolean isAssignable= assignableCache.get(edge.toString() + expectedType.toString());
-		if (isAssignable == null) {
-			isAssignable= ChainElementAnalyzer.isAssignable(edge, expectedType.getType(), expectedDimension);
-			assignableCache.put(edge.toString() + expectedType.toString(), isAssignable);
-		}
-		return isAssignable;
+		return index.isAssignable(edge, expectedType, expectedDimension);
 	}
 
 	private void searchDeeper(final LinkedList<ChainElement> chain,
@@ -163,7 +319,7 @@ public class ChainFinder {
 		}
 
 		for (final IJavaElement element : findAllFieldsAndMethods(currentlyVisitedType, staticOnly)) {
-			final ChainElement newEdge= createEdge(element);
+			final ChainElement newEdge= index.getEdge(element);
 			if (newEdge.getElementType() != null && !chain.contains(newEdge)) {
 				incompleteChains.add(cloneChainAndAppendEdge(chain, newEdge));
 			}
@@ -171,27 +327,16 @@ public class ChainFinder {
 	}
 
 	private List<IJavaElement> findAllFieldsAndMethods(final ChainType chainElementType, boolean staticOnly) {
-		List<IJavaElement> cached= fieldsAndMethodsCache.get(chainElementType.toString() + Boolean.toString(staticOnly));
+		final String key= chainElementType.toString() + Boolean.toString(staticOnly);
+		List<IJavaElement> cached= fieldsAndMethodsCache.get(key);
 		if (cached == null) {
-			cached= new LinkedList<>();
-			Collection<IJavaElement> candidates= staticOnly
-					? ChainElementAnalyzer.findAllPublicStaticFieldsAndNonVoidNonPrimitiveStaticMethods(chainElementType, new ChainType(receiverType))
-					: ChainElementAnalyzer.findVisibleInstanceFieldsAndRelevantInstanceMethods(chainElementType, new ChainType(receiverType));
-			for (final IJavaElement e : candidates) {
+			cached= new ArrayList<>();
+			for (final IJavaElement e : index.getFieldsAndMethods(chainElementType, staticOnly, receiverType)) {
 				if (!ChainFinder.isFromExcludedType(excludedTypes, e)) {
 					cached.add(e);
 				}
 			}
-			fieldsAndMethodsCache.put(chainElementType.toString() + Boolean.toString(staticOnly), cached);
-		}
-		return cached;
-	}
-
-	private ChainElement createEdge(final IJavaElement member) {
-		ChainElement cached= edgeCache.get(member);
-		if (cached == null) {
-			cached= new ChainElement(member, false);
-			edgeCache.put(member, cached);
+			fieldsAndMethodsCache.put(key, cached);
 		}
 		return cached;
 	}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.corext.util.JavaElementDeltaUtil;
+
+/**
+ * The type edges used by {@link ChainFinder}: the chain elements of members, the fields and
+ * methods that can be reached from a type, and the assignability of types. An index is kept per
+ * project and shared by all chain searches in that project, the searches may run concurrently.
+ * <p>
+ * The indexes are only derived from the structure of the Java model. Changes of method bodies
+ * keep them, all indexes are flushed when a member, a type hierarchy, an import or the classpath
+ * changes.
+ * </p>
+ *
+ * @since 1.23
+ */
+public final class ChainIndex {
+
+	/**
+	 * Maximal number of chain elements, of types with their fields and methods and of
+	 * assignabilities kept by an index. The index is flushed when one of these numbers is exceeded.
+	 */
+	private static final int MAX_EDGES= Integer.getInteger("org.eclipse.jdt.core.manipulation.chainIndex.size", 100000).intValue(); //$NON-NLS-1$
+
+	private static final Map<IJavaProject, ChainIndex> fgIndexes= new ConcurrentHashMap<>();
+
+	private static IElementChangedListener fgListener;
+
+	private final Map<IJavaElement, ChainElement> fEdges= new ConcurrentHashMap<>();
+
+	private final Map<String, List<IJavaElement>> fFieldsAndMethods= new ConcurrentHashMap<>();
+
+	private final Map<String, Boolean> fAssignable= new ConcurrentHashMap<>();
+
+	/**
+	 * Creates an index that is not shared.
+	 */
+	ChainIndex() {
+	}
+
+	/**
+	 * Returns the shared index of a project.
+	 *
+	 * @param project the project
+	 * @return the index of the project
+	 */
+	public static ChainIndex get(IJavaProject project) {
+		installListener();
+		return fgIndexes.computeIfAbsent(project, p -> new ChainIndex());
+	}
+
+	/**
+	 * Flushes the indexes of all projects.
+	 */
+	public static void clearAll() {
+		for (ChainIndex index : fgIndexes.values()) {
+			index.clear();
+		}
+		fgIndexes.clear();
+		ChainElementAnalyzer.clearTypeCache();
+	}
+
+	/**
+	 * Returns the chain element of a member.
+	 *
+	 * @param member the field or method
+	 * @return the chain element
+	 */
+	ChainElement getEdge(IJavaElement member) {
+		ChainElement edge= fEdges.get(member);
+		if (edge != null) {
+			return edge;
+		}
+		ensureCapacity(fEdges);
+		edge= new ChainElement(member, false);
+		ChainElement existing= fEdges.putIfAbsent(member, edge);
+		return existing != null ? existing : edge;
+	}
+
+	/**
+	 * Returns the fields and methods of a type and its super types that are visible in the
+	 * receiver type.
+	 *
+	 * @param type the type
+	 * @param staticOnly <code>true</code> for the static fields and methods, <code>false</code>
+	 *            for the instance fields and methods
+	 * @param receiverType the type in which the chain is completed, can be <code>null</code>
+	 * @return the unmodifiable list of fields and methods
+	 */
+	List<IJavaElement> getFieldsAndMethods(ChainType type, boolean staticOnly, IType receiverType) {
+		String key= type.toString() + '|' + staticOnly + '|' + (receiverType != null ? receiverType.getFullyQualifiedName() : ""); //$NON-NLS-1$
+		List<IJavaElement> fieldsAndMethods= fFieldsAndMethods.get(key);
+		if (fieldsAndMethods != null) {
+			return fieldsAndMethods;
+		}
+		ensureCapacity(fFieldsAndMethods);
+		ChainType receiver= new ChainType(receiverType);
+		fieldsAndMethods= Collections.unmodifiableList(new ArrayList<>(staticOnly
+				? ChainElementAnalyzer.findAllPublicStaticFieldsAndNonVoidNonPrimitiveStaticMethods(type, receiver)
+				: ChainElementAnalyzer.findVisibleInstanceFieldsAndRelevantInstanceMethods(type, receiver)));
+		fFieldsAndMethods.putIfAbsent(key, fieldsAndMethods);
+		return fieldsAndMethods;
+	}
+
+	/**
+	 * Tells whether the return type of a chain element is assignable to an expected type.
+	 *
+	 * @param edge the chain element, its return type must not be primitive
+	 * @param expectedType the expected type, must not be primitive
+	 * @param expectedDimension the array dimension of the expected type
+	 * @return <code>true</code> if the return type is assignable
+	 */
+	boolean isAssignable(ChainElement edge, ChainType expectedType, int expectedDimension) {
+		String key= edge.getReturnType().toString() + '[' + edge.getReturnTypeDimension() + '|' + expectedType.toString() + '[' + expectedDimension;
+		Boolean isAssignable= fAssignable.get(key);
+		if (isAssignable != null) {
+			return isAssignable.booleanValue();
+		}
+		ensureCapacity(fAssignable);
+		isAssignable= Boolean.valueOf(ChainElementAnalyzer.isAssignable(edge, expectedType.getType(), expectedDimension));
+		fAssignable.putIfAbsent(key, isAssignable);
+		return isAssignable.booleanValue();
+	}
+
+	/**
+	 * Flushes the index if a table is full.
+	 *
+	 * @param table the table to which an entry is added
+	 */
+	private void ensureCapacity(Map<?, ?> table) {
+		if (table.size() >= MAX_EDGES)
+			clear();
+	}
+
+	public void clear() {
+		fEdges.clear();
+		fFieldsAndMethods.clear();
+		fAssignable.clear();
+	}
+
+	@Override
+	public String toString() {
+		return "ChainIndex [edges=" + fEdges.size() + ", types=" + fFieldsAndMethods.size() + ", assignabilities=" + fAssignable.size() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	private static synchronized void installListener() {
+		if (fgListener != null)
+			return;
+
+		fgListener= event -> {
+			if (JavaElementDeltaUtil.isStructuralChange(event.getDelta()))
+				clearAll();
+		};
+		JavaCore.addElementChangedListener(fgListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+}
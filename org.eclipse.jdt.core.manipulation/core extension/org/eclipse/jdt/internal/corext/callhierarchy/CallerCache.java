@@ -0,0 +1,404 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+
+/**
+ * A workspace wide cache of the callers found by {@link CallerMethodWrapper}, shared by all call
+ * hierarchies.
+ * <p>
+ * When the Java model reports that only the method bodies or imports of a compilation unit
+ * changed, the callers in that compilation unit are dropped from all entries, and only that
+ * compilation unit is searched again when an entry is requested the next time. All entries are
+ * flushed when a change can affect the references in other compilation units, like added or
+ * removed members, modifier changes or classpath changes.
+ * </p>
+ *
+ * @since 1.23
+ */
+public final class CallerCache {
+
+	/**
+	 * Default maximal number of cached searches.
+	 */
+	private static final int DEFAULT_MAX_ENTRIES= Integer.getInteger("org.eclipse.jdt.core.manipulation.callerCache.size", 1000).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximal number of remembered changed compilation units. Entries that are older than the
+	 * remembered changes are discarded.
+	 */
+	private static final int MAX_CHANGES= 1000;
+
+	/**
+	 * Searches the callers of a member.
+	 */
+	@FunctionalInterface
+	interface ICallerSearch {
+
+		/**
+		 * @param scope the scope to search in
+		 * @param monitor the progress monitor
+		 * @return a map from handle identifier ({@link String}) to {@link MethodCall}
+		 * @throws CoreException if the search failed
+		 */
+		Map<String, MethodCall> search(IJavaSearchScope scope, IProgressMonitor monitor) throws CoreException;
+	}
+
+	private static final class Entry {
+
+		/**
+		 * A map from handle identifier ({@link String}) to {@link MethodCall}. Not modified after
+		 * the entry has been created.
+		 */
+		private final Map<String, MethodCall> fCallers;
+
+		/**
+		 * The change stamp the callers are up to date with.
+		 */
+		private final long fStamp;
+
+		Entry(Map<String, MethodCall> callers, long stamp) {
+			fCallers= callers;
+			fStamp= stamp;
+		}
+	}
+
+	private static CallerCache fgInstance;
+
+	private final LinkedHashMap<String, Entry> fEntries;
+	private final int fMaxEntries;
+
+	/**
+	 * The compilation units changed since the entries have been cached, the last one has been
+	 * changed at stamp <code>fChangeStamp</code>.
+	 */
+	private final ArrayDeque<ICompilationUnit> fChanges;
+	private long fChangeStamp;
+
+	private long fHits;
+	private long fPartialHits;
+	private long fMisses;
+
+	private IElementChangedListener fListener;
+
+	public static synchronized CallerCache getDefault() {
+		if (fgInstance == null) {
+			fgInstance= new CallerCache(DEFAULT_MAX_ENTRIES);
+		}
+		return fgInstance;
+	}
+
+	public CallerCache(int maxEntries) {
+		fEntries= new LinkedHashMap<>(16, 0.75f, true);
+		fMaxEntries= maxEntries;
+		fChanges= new ArrayDeque<>();
+	}
+
+	/**
+	 * Returns the callers of the given member. Only the compilation units changed since the callers
+	 * have been cached are searched again.
+	 *
+	 * @param member the called member
+	 * @param limitTo the search mode
+	 * @param search the search, only called with the workspace scope or with a scope of changed
+	 *            compilation units
+	 * @param monitor the progress monitor
+	 * @return a map from handle identifier ({@link String}) to {@link MethodCall}
+	 * @throws CoreException if the search failed
+	 */
+	Map<String, MethodCall> getCallers(IMember member, int limitTo, ICallerSearch search, IProgressMonitor monitor) throws CoreException {
+		if (fMaxEntries <= 0)
+			return search.search(SearchEngine.createWorkspaceScope(), monitor);
+
+		String key= getKey(member, limitTo);
+		Entry entry;
+		long stamp;
+		Set<ICompilationUnit> changedUnits= null;
+		synchronized (this) {
+			installListener();
+			stamp= fChangeStamp;
+			entry= fEntries.get(key);
+			if (entry != null) {
+				changedUnits= getChangesSince(entry.fStamp);
+				if (changedUnits == null) {
+					fEntries.remove(key);
+					entry= null;
+				} else if (changedUnits.isEmpty()) {
+					fHits++;
+					return new HashMap<>(entry.fCallers);
+				}
+			}
+			if (entry == null)
+				fMisses++;
+			else
+				fPartialHits++;
+		}
+
+		Map<String, MethodCall> callers;
+		if (entry == null) {
+			callers= search.search(SearchEngine.createWorkspaceScope(), monitor);
+		} else {
+			callers= new HashMap<>();
+			for (Map.Entry<String, MethodCall> caller : entry.fCallers.entrySet()) {
+				ICompilationUnit unit= caller.getValue().getMember().getCompilationUnit();
+				if (unit == null || !changedUnits.contains(unit.getPrimary()))
+					callers.put(caller.getKey(), caller.getValue());
+			}
+			List<IJavaElement> existingUnits= new ArrayList<>(changedUnits.size());
+			for (ICompilationUnit unit : changedUnits) {
+				if (unit.exists())
+					existingUnits.add(unit);
+			}
+			if (!existingUnits.isEmpty()) {
+				IJavaSearchScope scope= SearchEngine.createJavaSearchScope(existingUnits.toArray(new IJavaElement[existingUnits.size()]));
+				callers.putAll(search.search(scope, monitor));
+			}
+		}
+		put(key, new HashMap<>(callers), stamp);
+		return callers;
+	}
+
+	/**
+	 * Removes the cached callers of the given member.
+	 *
+	 * @param member the called member
+	 */
+	public synchronized void remove(IMember member) {
+		String prefix= member.getHandleIdentifier() + '|';
+		fEntries.keySet().removeIf(key -> key.startsWith(prefix));
+	}
+
+	/**
+	 * Removes all cached callers.
+	 */
+	public synchronized void clear() {
+		fEntries.clear();
+		fChanges.clear();
+		fChangeStamp++;
+	}
+
+	public synchronized long getHitCount() {
+		return fHits;
+	}
+
+	public synchronized long getPartialHitCount() {
+		return fPartialHits;
+	}
+
+	public synchronized long getMissCount() {
+		return fMisses;
+	}
+
+	public synchronized int size() {
+		return fEntries.size();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "CallerCache [size=" + fEntries.size() + ", changes=" + fChanges.size() + ", hits=" + fHits + ", partialHits=" + fPartialHits + ", misses=" + fMisses + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+	}
+
+	private synchronized void put(String key, Map<String, MethodCall> callers, long stamp) {
+		if (getChangesSince(stamp) == null)
+			return; // flushed meanwhile
+
+		Entry entry= fEntries.get(key);
+		if (entry != null && entry.fStamp > stamp)
+			return;
+		fEntries.put(key, new Entry(callers, stamp));
+
+		Iterator<String> iterator= fEntries.keySet().iterator();
+		while (fEntries.size() > fMaxEntries && iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Returns the compilation units changed after the given stamp.
+	 *
+	 * @param stamp the change stamp
+	 * @return the primary compilation units, or <code>null</code> if the changes are not known any
+	 *         more
+	 */
+	private Set<ICompilationUnit> getChangesSince(long stamp) {
+		long count= fChangeStamp - stamp;
+		if (count > fChanges.size())
+			return null;
+		Set<ICompilationUnit> units= new HashSet<>();
+		Iterator<ICompilationUnit> iterator= fChanges.descendingIterator();
+		for (long i= 0; i < count; i++) {
+			units.add(iterator.next());
+		}
+		return units;
+	}
+
+	private synchronized void unitChanged(ICompilationUnit unit) {
+		fChanges.addLast(unit.getPrimary());
+		fChangeStamp++;
+		if (fChanges.size() > MAX_CHANGES)
+			fChanges.removeFirst();
+	}
+
+	private void installListener() {
+		if (fListener != null)
+			return;
+
+		fListener= this::elementChanged;
+		JavaCore.addElementChangedListener(fListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	private void elementChanged(ElementChangedEvent event) {
+		List<ICompilationUnit> changedUnits= new ArrayList<>();
+		if (!collectChangedUnits(event.getDelta(), changedUnits)) {
+			clear();
+			return;
+		}
+		for (ICompilationUnit unit : changedUnits) {
+			unitChanged(unit);
+		}
+	}
+
+	/**
+	 * Collects the compilation units whose changes can only affect the references inside the
+	 * compilation units themselves.
+	 *
+	 * @param delta the delta
+	 * @param changedUnits the list to add the changed compilation units to
+	 * @return <code>false</code> if the delta contains changes that can affect references in other
+	 *         compilation units
+	 */
+	private static boolean collectChangedUnits(IJavaElementDelta delta, List<ICompilationUnit> changedUnits) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED)
+					return false;
+				if ((delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_CONTENT)) != 0)
+					return false;
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					if (!collectChangedUnits(child, changedUnits))
+						return false;
+				}
+				// resource deltas only affect non-Java resources
+				return true;
+			case IJavaElement.COMPILATION_UNIT:
+				ICompilationUnit unit= (ICompilationUnit) element;
+				if (delta.getKind() != IJavaElementDelta.CHANGED)
+					return false;
+				int flags= delta.getFlags();
+				if ((flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN)) == 0)
+					return true; // e.g. became a working copy
+				if ((flags & IJavaElementDelta.F_FINE_GRAINED) == 0)
+					return false; // e.g. changed outside of an editor or reverted, the changes are unknown
+				if (!isLocalChange(delta))
+					return false;
+				changedUnits.add(unit);
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Tells whether the given delta of a compilation unit or of one of its children only changed
+	 * method bodies, initializers or imports.
+	 *
+	 * @param delta the delta
+	 * @return <code>true</code> if the change is local to the compilation unit
+	 */
+	private static boolean isLocalChange(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED)
+			return isInsideBody(delta.getElement());
+		if ((delta.getFlags() & (IJavaElementDelta.F_MODIFIERS | IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MOVED_FROM | IJavaElementDelta.F_MOVED_TO)) != 0
+				&& !isInsideBody(delta.getElement()))
+			return false;
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (!isLocalChange(child))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @param element an element of a compilation unit
+	 * @return <code>true</code> if the element is an import or package declaration, or is declared
+	 *         inside of a method, initializer or field
+	 */
+	private static boolean isInsideBody(IJavaElement element) {
+		switch (element.getElementType()) {
+			case IJavaElement.IMPORT_CONTAINER:
+			case IJavaElement.IMPORT_DECLARATION:
+			case IJavaElement.PACKAGE_DECLARATION:
+				return true;
+			default:
+				for (IJavaElement parent= element.getParent(); parent != null; parent= parent.getParent()) {
+					switch (parent.getElementType()) {
+						case IJavaElement.METHOD:
+						case IJavaElement.INITIALIZER:
+						case IJavaElement.FIELD:
+							return true;
+						case IJavaElement.COMPILATION_UNIT:
+							return false;
+						default:
+							break;
+					}
+				}
+				return false;
+		}
+	}
+
+	/**
+	 * Returns the cache key of a search. The key includes the filter settings because matches in
+	 * filtered code are not collected.
+	 *
+	 * @param member the called member
+	 * @param limitTo the search mode
+	 * @return the key
+	 */
+	private static String getKey(IMember member, int limitTo) {
+		CallHierarchyCore core= CallHierarchyCore.getDefault();
+		StringBuilder key= new StringBuilder(member.getHandleIdentifier());
+		key.append('|').append(limitTo);
+		key.append('|').append(core.isShowAll()).append(core.isHideTestCode()).append(core.isShowTestCode());
+		if (core.isFilterEnabled())
+			key.append('|').append(core.getFilters());
+		return key.toString();
+	}
+}
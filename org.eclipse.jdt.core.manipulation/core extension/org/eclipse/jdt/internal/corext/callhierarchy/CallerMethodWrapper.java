@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -137,8 +137,8 @@ public class CallerMethodWrapper extends MethodWrapper {
 							SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
 				}
 			}
+			int limitTo= IJavaSearchConstants.REFERENCES;
 			if (pattern == null) {
-				int limitTo= IJavaSearchConstants.REFERENCES;
 				if (member.getElementType() == IJavaElement.FIELD)
 					limitTo= getFieldSearchMode();
 				pattern= SearchPattern.createPattern(member, limitTo, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
@@ -147,14 +147,14 @@ public class CallerMethodWrapper extends MethodWrapper {
 				return new HashMap<>(0);
 			}
 
-			SearchEngine searchEngine= new SearchEngine();
-			MethodReferencesSearchRequestor searchRequestor= new MethodReferencesSearchRequestor();
 			IJavaSearchScope defaultSearchScope= getSearchScope();
 			boolean isWorkspaceScope= SearchEngine.createWorkspaceScope().equals(defaultSearchScope);
 			IJavaSearchScope searchScope= isWorkspaceScope ? getAccurateSearchScope(defaultSearchScope, member) : defaultSearchScope;
-			searchEngine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, searchScope, searchRequestor,
-					monitor);
-			return searchRequestor.getCallers();
+			if (isWorkspaceScope && searchScope == defaultSearchScope) {
+				SearchPattern searchPattern= pattern;
+				return CallerCache.getDefault().getCallers(member, limitTo, (scope, pm) -> search(searchPattern, scope, pm), monitor);
+			}
+			return search(pattern, searchScope, monitor);
 
 		} catch (CoreException e) {
 			JavaManipulationPlugin.log(e);
@@ -162,6 +162,23 @@ public class CallerMethodWrapper extends MethodWrapper {
 		}
 	}
 
+	private static Map<String, MethodCall> search(SearchPattern pattern, IJavaSearchScope scope, IProgressMonitor monitor) throws CoreException {
+		SearchEngine searchEngine= new SearchEngine();
+		MethodReferencesSearchRequestor searchRequestor= new MethodReferencesSearchRequestor();
+		searchEngine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, scope, searchRequestor,
+				monitor);
+		return searchRequestor.getCallers();
+	}
+
+	/*
+	 * @see org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper#removeFromCache()
+	 */
+	@Override
+	public void removeFromCache() {
+		super.removeFromCache();
+		CallerCache.getDefault().remove(getMember());
+	}
+
 	private IJavaSearchScope getAccurateSearchScope(IJavaSearchScope defaultSearchScope, IMember member) throws JavaModelException {
 		if (!JdtFlags.isPrivate(member) || isRecordComponent(member))
 			return defaultSearchScope;
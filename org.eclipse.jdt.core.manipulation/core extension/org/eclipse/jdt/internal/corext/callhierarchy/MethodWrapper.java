@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,17 +17,31 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.callhierarchy;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.PlatformObject;
 
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 
+import org.eclipse.jdt.internal.corext.util.ConcurrencyUtil;
+import org.eclipse.jdt.internal.corext.util.ConcurrencyUtil.CancelOnlyProgressMonitor;
+
 /**
  * This class represents the general parts of a method call (either to or from a
  * method).
@@ -45,12 +59,21 @@ public abstract class MethodWrapper extends PlatformObject {
 		fMethodWrapperCore= core;
 	}
 
-    private Map<String, MethodCall> fElements = null;
+	/**
+	 * The maximum number of searches that {@link #prefetchCalls(MethodWrapper[], int, IProgressMonitor)}
+	 * runs concurrently.
+	 */
+	private static final int PREFETCH_PARALLELISM= Integer.getInteger("org.eclipse.jdt.core.manipulation.callHierarchy.parallelism", //$NON-NLS-1$
+			Math.min(4, Runtime.getRuntime().availableProcessors())).intValue();
+
+    private volatile Map<String, MethodCall> fElements = null;
 
     /*
      * A cache of previously found methods. This cache should be searched
      * before adding a "new" method object reference to the list of elements.
-     * This way previously found methods won't be searched again.
+     * This way previously found methods won't be searched again. The cache
+     * is shared by all wrappers of a hierarchy and can be filled concurrently,
+     * the calls of a method are only added once their search has completed.
      */
     private Map<String, Map<String, MethodCall>> fMethodCache;
     private final MethodCall fMethodCall;
@@ -66,7 +89,7 @@ public abstract class MethodWrapper extends PlatformObject {
         Assert.isNotNull(methodCall);
 
         if (parent == null) {
-            setMethodCache(new HashMap<>());
+            setMethodCache(new ConcurrentHashMap<>());
             fLevel = 1;
         } else {
             setMethodCache(parent.getMethodCache());
@@ -82,21 +105,137 @@ public abstract class MethodWrapper extends PlatformObject {
         return fMethodWrapperCore.getAdapter(this, adapter);
 	}
 
-    public MethodWrapper[] getCalls(IProgressMonitor progressMonitor) {
+    public synchronized MethodWrapper[] getCalls(IProgressMonitor progressMonitor) {
         if (fElements == null) {
             doFindChildren(progressMonitor);
         }
 
-        MethodWrapper[] result = new MethodWrapper[fElements.size()];
+        return createMethodWrappers(fElements);
+    }
+
+    /**
+     * Returns the calls of this wrapper if they are known, without searching and without waiting
+     * for a search of {@link #getCalls(IProgressMonitor)} that is running in another thread.
+     *
+     * @return the calls, or <code>null</code> if they have not been found yet for this wrapper or
+     *         for another wrapper of the same member in this hierarchy
+     * @since 1.23
+     */
+    public MethodWrapper[] getCachedCalls() {
+        Map<String, MethodCall> elements = fElements;
+        if (elements == null) {
+            elements = lookupMethod(getMethodCall());
+            if (elements == null)
+                return null;
+        }
+        return createMethodWrappers(elements);
+    }
+
+    private MethodWrapper[] createMethodWrappers(Map<String, MethodCall> elements) {
+        MethodWrapper[] result = new MethodWrapper[elements.size()];
         int i = 0;
 
-        for (MethodCall methodCall : fElements.values()) {
+        for (MethodCall methodCall : elements.values()) {
             result[i++] = createMethodWrapper(methodCall);
         }
 
         return result;
     }
 
+    /**
+     * Returns whether the calls of this wrapper are known, i.e. whether {@link #getCalls(IProgressMonitor)}
+     * returns without searching.
+     *
+     * @return <code>true</code> if the calls have already been found for this wrapper or for
+     *         another wrapper of the same member in this hierarchy
+     * @since 1.23
+     */
+    public boolean hasCachedCalls() {
+        return fElements != null || lookupMethod(getMethodCall()) != null;
+    }
+
+    /**
+     * Finds the calls of the given wrappers and of their descendants up to the given depth, so that
+     * a following deep expansion of the hierarchy does not have to search. The wrappers of a level
+     * are searched concurrently on a bounded pool, the next level is started once all searches of
+     * the current level have completed. Each member is searched at most once, the results are
+     * stored in the method cache of the hierarchy.
+     * <p>
+     * The number of concurrent searches is controlled by the system property
+     * <code>org.eclipse.jdt.core.manipulation.callHierarchy.parallelism</code>.
+     * </p>
+     *
+     * @param wrappers the wrappers whose calls are to be found
+     * @param depth the number of levels to find, <code>1</code> for the calls of the wrappers only
+     * @param progressMonitor a progress monitor, can be <code>null</code>
+     * @throws OperationCanceledException if the monitor has been canceled
+     * @since 1.23
+     */
+    public static void prefetchCalls(MethodWrapper[] wrappers, int depth, IProgressMonitor progressMonitor) {
+        IProgressMonitor monitor= progressMonitor != null ? progressMonitor : new NullProgressMonitor();
+        monitor.beginTask("", depth); //$NON-NLS-1$
+        try {
+            Set<String> visited= new HashSet<>();
+            List<MethodWrapper> frontier= new ArrayList<>();
+            for (MethodWrapper wrapper : wrappers) {
+                addToFrontier(wrapper, frontier, visited);
+            }
+            for (int level= 0; level < depth && !frontier.isEmpty(); level++) {
+                MethodWrapper[][] calls= getCalls(frontier, monitor);
+                frontier= new ArrayList<>();
+                for (MethodWrapper[] children : calls) {
+                    for (MethodWrapper child : children) {
+                        addToFrontier(child, frontier, visited);
+                    }
+                }
+                monitor.worked(1);
+            }
+        } finally {
+            monitor.done();
+        }
+    }
+
+    private static void addToFrontier(MethodWrapper wrapper, List<MethodWrapper> frontier, Set<String> visited) {
+        if (wrapper.canHaveChildren() && !wrapper.isRecursive() && visited.add(wrapper.getMethodCall().getKey()))
+            frontier.add(wrapper);
+    }
+
+    private static MethodWrapper[][] getCalls(List<MethodWrapper> frontier, IProgressMonitor monitor) {
+        MethodWrapper[][] result= new MethodWrapper[frontier.size()][];
+        if (PREFETCH_PARALLELISM <= 1 || frontier.size() == 1) {
+            for (int i= 0; i < result.length; i++) {
+                if (monitor.isCanceled())
+                    throw new OperationCanceledException();
+                result[i]= frontier.get(i).getCalls(new CancelOnlyProgressMonitor(monitor));
+            }
+            return result;
+        }
+
+        List<Future<MethodWrapper[]>> futures= new ArrayList<>(frontier.size());
+        try (ExecutorService executor= Executors.newFixedThreadPool(Math.min(PREFETCH_PARALLELISM, frontier.size()))) {
+            for (MethodWrapper wrapper : frontier) {
+                futures.add(executor.submit(() -> wrapper.getCalls(new CancelOnlyProgressMonitor(monitor))));
+            }
+
+            boolean completed= false;
+            try {
+                for (int i= 0; i < result.length; i++) {
+                    result[i]= futures.get(i).get();
+                }
+                completed= true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OperationCanceledException();
+            } catch (ExecutionException e) {
+                throw ConcurrencyUtil.rethrowCause(e);
+            } finally {
+                if (!completed)
+                    executor.shutdownNow();
+            }
+        }
+        return result;
+    }
+
     public int getLevel() {
         return fLevel;
     }
@@ -165,11 +304,6 @@ public abstract class MethodWrapper extends PlatformObject {
 
     protected abstract String getTaskName();
 
-    private void addCallToCache(MethodCall methodCall) {
-        Map<String, MethodCall> cachedCalls = lookupMethod(this.getMethodCall());
-        cachedCalls.put(methodCall.getKey(), methodCall);
-    }
-
 	/**
 	 * Creates a method wrapper for the child of the receiver.
 	 *
@@ -181,12 +315,9 @@ public abstract class MethodWrapper extends PlatformObject {
     private void doFindChildren(IProgressMonitor progressMonitor) {
         Map<String, MethodCall> existingResults = lookupMethod(getMethodCall());
 
-        if (existingResults != null && !existingResults.isEmpty()) {
-            fElements = new HashMap<>();
-            fElements.putAll(existingResults);
+        if (existingResults != null) {
+            fElements = new HashMap<>(existingResults);
         } else {
-            initCalls();
-
             if (progressMonitor != null) {
                 progressMonitor.beginTask(getTaskName(), 100);
             }
@@ -245,12 +376,6 @@ public abstract class MethodWrapper extends PlatformObject {
         return fMethodCache;
     }
 
-    private void initCalls() {
-        this.fElements = new HashMap<>();
-
-        initCacheForMethod();
-    }
-
     /**
      * Looks up a previously created search result in the "global" cache.
      * @param methodCall the method call
@@ -261,18 +386,11 @@ public abstract class MethodWrapper extends PlatformObject {
     }
 
     private void performSearch(IProgressMonitor progressMonitor) {
-        fElements = findChildren(progressMonitor);
-
-        for (MethodCall methodCall : fElements.values()) {
-            checkCanceled(progressMonitor);
-
-            addCallToCache(methodCall);
-        }
-    }
+        Map<String, MethodCall> elements = findChildren(progressMonitor);
+        checkCanceled(progressMonitor);
 
-    private void initCacheForMethod() {
-        Map<String, MethodCall> cachedCalls = new HashMap<>();
-        getMethodCache().put(this.getMethodCall().getKey(), cachedCalls);
+        fElements = elements;
+        getMethodCache().put(getMethodCall().getKey(), Collections.unmodifiableMap(new HashMap<>(elements)));
     }
 
     /**
@@ -295,7 +413,7 @@ public abstract class MethodWrapper extends PlatformObject {
 	 *
 	 * @since 3.6
 	 */
-	public void removeFromCache() {
+	public synchronized void removeFromCache() {
 		fElements= null;
 		fMethodCache.remove(getMethodCall().getKey());
 	}
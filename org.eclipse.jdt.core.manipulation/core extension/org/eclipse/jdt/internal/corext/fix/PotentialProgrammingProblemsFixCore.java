@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 IBM Corporation and others.
+ * Copyright (c) 2019, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -250,8 +250,6 @@ public class PotentialProgrammingProblemsFixCore extends CompilationUnitRewriteO
 
 	}
 
-	private static ISerialVersionFixContext fCurrentContext;
-
 	public static IProposableFix[] createMissingSerialVersionFixes(CompilationUnit compilationUnit, IProblemLocation problem) {
 		if (problem.getProblemId() != IProblem.MissingSerialVersion)
 			return null;
@@ -277,13 +275,25 @@ public class PotentialProgrammingProblemsFixCore extends CompilationUnitRewriteO
 		return new IProposableFix[] {fix1, fix2};
 	}
 
-	public static RefactoringStatus checkPreConditions(IJavaProject project, ICompilationUnit[] compilationUnits, IProgressMonitor monitor,
+	/**
+	 * Creates the context which provides the serial version ids of the clean up. The context must
+	 * be initialized before it is passed to
+	 * {@link #createCleanUp(CompilationUnit, IProblemLocation[], boolean, ISerialVersionFixContext)}.
+	 *
+	 * @param project the project of the compilation units
+	 * @param compilationUnits the compilation units to clean up
+	 * @param calculatedId <code>true</code> to calculate the ids
+	 * @param defaultId <code>true</code> to use the default id
+	 * @param randomId <code>true</code> to use random ids
+	 * @return the context, or <code>null</code> if no ids are added
+	 */
+	public static ISerialVersionFixContext createSerialVersionFixContext(IJavaProject project, ICompilationUnit[] compilationUnits,
 			boolean calculatedId,
 			boolean defaultId,
-			boolean randomId) throws CoreException {
+			boolean randomId) {
 
 		if (defaultId) {
-			fCurrentContext= new ISerialVersionFixContext() {
+			return new ISerialVersionFixContext() {
 				@Override
 				public Long getSerialVersionId(ITypeBinding binding) {
 					return 1L;
@@ -293,9 +303,8 @@ public class PotentialProgrammingProblemsFixCore extends CompilationUnitRewriteO
 	                return new RefactoringStatus();
                 }
 			};
-			return fCurrentContext.initialize(monitor);
 		} else if (randomId) {
-			fCurrentContext= new ISerialVersionFixContext() {
+			return new ISerialVersionFixContext() {
 				private Random rng;
 				@Override
 				public Long getSerialVersionId(ITypeBinding binding) {
@@ -307,35 +316,25 @@ public class PotentialProgrammingProblemsFixCore extends CompilationUnitRewriteO
 	                return new RefactoringStatus();
                 }
 			};
-			return fCurrentContext.initialize(monitor);
 		} else if (calculatedId) {
-			fCurrentContext= new SerialVersionHashContext(project, compilationUnits);
-			return fCurrentContext.initialize(monitor);
+			return new SerialVersionHashContext(project, compilationUnits);
 		} else {
-			return new RefactoringStatus();
+			return null;
 		}
     }
 
-	public static RefactoringStatus checkPostConditions(IProgressMonitor monitor) {
-		if (monitor != null)
-			monitor.done();
-
-		fCurrentContext= null;
-	    return new RefactoringStatus();
-    }
-
-	public static ICleanUpFix createCleanUp(CompilationUnit compilationUnit, boolean addSerialVersionIds) {
+	public static ICleanUpFix createCleanUp(CompilationUnit compilationUnit, boolean addSerialVersionIds, ISerialVersionFixContext context) {
 
 		IProblem[] problems= compilationUnit.getProblems();
 		IProblemLocation[] locations= new IProblemLocation[problems.length];
 		for (int i= 0; i < problems.length; i++) {
 			locations[i]= new ProblemLocation(problems[i]);
 		}
-		return createCleanUp(compilationUnit, locations, addSerialVersionIds);
+		return createCleanUp(compilationUnit, locations, addSerialVersionIds, context);
 	}
 
-	public static ICleanUpFix createCleanUp(CompilationUnit compilationUnit, IProblemLocation[] problems, boolean addSerialVersionIds) {
-		if (addSerialVersionIds) {
+	public static ICleanUpFix createCleanUp(CompilationUnit compilationUnit, IProblemLocation[] problems, boolean addSerialVersionIds, ISerialVersionFixContext context) {
+		if (addSerialVersionIds && context != null) {
 
 			final ICompilationUnit unit= (ICompilationUnit)compilationUnit.getJavaElement();
 			if (unit == null)
@@ -358,8 +357,8 @@ public class PotentialProgrammingProblemsFixCore extends CompilationUnitRewriteO
 
 			for (ASTNode declarationNode : declarationNodes) {
 	            ITypeBinding binding= getTypeBinding(declarationNode);
-	            if (fCurrentContext.getSerialVersionId(binding) != null) {
-	            	SerialVersionHashBatchOperation op= new SerialVersionHashBatchOperation(unit, declarationNodes.toArray(new ASTNode[declarationNodes.size()]), fCurrentContext);
+	            if (context.getSerialVersionId(binding) != null) {
+	            	SerialVersionHashBatchOperation op= new SerialVersionHashBatchOperation(unit, declarationNodes.toArray(new ASTNode[declarationNodes.size()]), context);
 	    			return new PotentialProgrammingProblemsFixCore(FixMessages.PotentialProgrammingProblemsFix_add_id_change_name, compilationUnit, new CompilationUnitRewriteOperation[] {op});
 	            }
             }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -2447,6 +2447,10 @@ public final class RefactoringCoreMessages extends NLS {
 
 	public static String TargetProvider_method_declaration_not_unique;
 
+	public static String TextChangeManager_error_restore;
+
+	public static String TextChangeManager_file_modified;
+
 	public static String TextMatchUpdater_searching;
 
 	public static String TextMatchUpdater_textualMatches_description;
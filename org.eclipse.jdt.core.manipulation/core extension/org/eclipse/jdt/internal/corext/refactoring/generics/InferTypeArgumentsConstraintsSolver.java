@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,10 +21,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -68,18 +67,44 @@ public class InferTypeArgumentsConstraintsSolver {
 	private TypeSetEnvironment fTypeSetEnvironment;
 
 	/**
-	 * The work-list used by the type constraint solver to hold the set of
-	 * nodes in the constraint graph that remain to be (re-)processed. Entries
-	 * are <code>ConstraintVariable2</code>s.
+	 * The type equivalence sets of all constraint variables. The solver refers to a set by its
+	 * index in this array.
 	 */
-	private LinkedList<ConstraintVariable2> fWorkList;
+	private TypeEquivalenceSet[] fSets;
+
+	/**
+	 * The type estimates of the sets, written back to the sets when the solver has finished.
+	 */
+	private TypeSet[] fEstimates;
+
+	/**
+	 * The indexes of the sets of the left and right hand sides of the constraints, by the index of
+	 * the constraint.
+	 */
+	private int[] fLeftSets;
+	private int[] fRightSets;
+
+	/**
+	 * The indexes of the constraints in which a variable of a set is used, by the index of the set.
+	 */
+	private int[][] fUsedIn;
+
+	/**
+	 * The work-list used by the type constraint solver to hold the sets of
+	 * nodes in the constraint graph that remain to be (re-)processed. The
+	 * entries are set indexes in a ring buffer, each set is in the work-list
+	 * at most once.
+	 */
+	private int[] fWorkList;
+	private int fWorkListHead;
+	private int fWorkListSize;
+	private boolean[] fInWorkList;
 
 	private InferTypeArgumentsUpdate fUpdate;
 
 
 	public InferTypeArgumentsConstraintsSolver(InferTypeArgumentsTCModel typeConstraintFactory) {
 		fTCModel= typeConstraintFactory;
-		fWorkList= new LinkedList<>();
 	}
 
 	public InferTypeArgumentsUpdate solveConstraints(IProgressMonitor pm) {
@@ -123,7 +148,7 @@ public class InferTypeArgumentsConstraintsSolver {
 		initializeTypeEstimates(allConstraintVariables);
 		if (pm.isCanceled())
 			throw new OperationCanceledException();
-		fWorkList.addAll(Arrays.asList(allConstraintVariables));
+		createIndexes(allConstraintVariables);
 		runSolver(Progress.subMonitor(pm, 1));
 		chooseTypes(allConstraintVariables, Progress.subMonitor(pm, 1));
 		findCastsToRemove(fTCModel.getCastVariables());
@@ -187,51 +212,122 @@ public class InferTypeArgumentsConstraintsSolver {
 		}
 	}
 
+	/**
+	 * Assigns dense indexes to the type equivalence sets and type constraints, and puts all sets
+	 * into the work-list.
+	 *
+	 * @param allConstraintVariables all constraint variables, each must have a type equivalence set
+	 */
+	private void createIndexes(ConstraintVariable2[] allConstraintVariables) {
+		IdentityHashMap<TypeEquivalenceSet, Integer> setIndexes= new IdentityHashMap<>();
+		ArrayList<TypeEquivalenceSet> sets= new ArrayList<>();
+		for (ConstraintVariable2 cv : allConstraintVariables) {
+			getSetIndex(cv, setIndexes, sets);
+		}
+
+		ITypeConstraint2[] constraints= fTCModel.getAllTypeConstraints();
+		fLeftSets= new int[constraints.length];
+		fRightSets= new int[constraints.length];
+		for (int i= 0; i < constraints.length; i++) {
+			fLeftSets[i]= getSetIndex(constraints[i].getLeft(), setIndexes, sets);
+			fRightSets[i]= getSetIndex(constraints[i].getRight(), setIndexes, sets);
+		}
+
+		int setCount= sets.size();
+		fSets= sets.toArray(new TypeEquivalenceSet[setCount]);
+		fEstimates= new TypeSet[setCount];
+		for (int i= 0; i < setCount; i++) {
+			fEstimates[i]= (TypeSet) fSets[i].getTypeEstimate();
+		}
+
+		int[] usedInCounts= new int[setCount];
+		for (int i= 0; i < constraints.length; i++) {
+			usedInCounts[fLeftSets[i]]++;
+			if (fRightSets[i] != fLeftSets[i])
+				usedInCounts[fRightSets[i]]++;
+		}
+		fUsedIn= new int[setCount][];
+		for (int i= 0; i < setCount; i++) {
+			fUsedIn[i]= new int[usedInCounts[i]];
+			usedInCounts[i]= 0;
+		}
+		for (int i= 0; i < constraints.length; i++) {
+			fUsedIn[fLeftSets[i]][usedInCounts[fLeftSets[i]]++]= i;
+			if (fRightSets[i] != fLeftSets[i])
+				fUsedIn[fRightSets[i]][usedInCounts[fRightSets[i]]++]= i;
+		}
+
+		fWorkList= new int[setCount];
+		fInWorkList= new boolean[setCount];
+		for (int i= 0; i < setCount; i++) {
+			addToWorkList(i);
+		}
+	}
+
+	private static int getSetIndex(ConstraintVariable2 cv, IdentityHashMap<TypeEquivalenceSet, Integer> setIndexes, ArrayList<TypeEquivalenceSet> sets) {
+		TypeEquivalenceSet set= cv.getTypeEquivalenceSet();
+		Integer index= setIndexes.get(set);
+		if (index == null) {
+			index= Integer.valueOf(sets.size());
+			setIndexes.put(set, index);
+			sets.add(set);
+		}
+		return index.intValue();
+	}
+
+	private void addToWorkList(int set) {
+		if (fInWorkList[set])
+			return;
+		fInWorkList[set]= true;
+		fWorkList[(fWorkListHead + fWorkListSize) % fWorkList.length]= set;
+		fWorkListSize++;
+	}
+
+	private int removeFirstFromWorkList() {
+		int set= fWorkList[fWorkListHead];
+		fWorkListHead= (fWorkListHead + 1) % fWorkList.length;
+		fWorkListSize--;
+		fInWorkList[set]= false;
+		return set;
+	}
+
 	private void runSolver(IProgressMonitor pm) {
-		pm.beginTask("", fWorkList.size() * 3); //$NON-NLS-1$
-		while (! fWorkList.isEmpty()) {
-			// Get a variable whose type estimate has changed
-			ConstraintVariable2 cv= fWorkList.removeFirst();
-			List<ITypeConstraint2> usedIn= fTCModel.getUsedIn(cv);
-			processConstraints(usedIn);
+		pm.beginTask("", fWorkListSize * 3); //$NON-NLS-1$
+		while (fWorkListSize > 0) {
+			// Get a set whose type estimate has changed
+			int set= removeFirstFromWorkList();
+			processConstraints(fUsedIn[set]);
 			pm.worked(1);
 			if (pm.isCanceled())
 				throw new OperationCanceledException();
 		}
+		for (int i= 0; i < fSets.length; i++) {
+			fSets[i].setTypeEstimate(fEstimates[i]);
+		}
 		pm.done();
 	}
 
 	/**
-	 * Given a list of <code>ITypeConstraint2</code>s that all refer to a
-	 * given <code>ConstraintVariable2</code> (whose type bound has presumably
-	 * just changed), process each <code>ITypeConstraint</code>, propagating
-	 * the type bound across the constraint as needed.
+	 * Given the indexes of the <code>ITypeConstraint2</code>s that all refer to a
+	 * given type equivalence set (whose type bound has presumably just changed),
+	 * process each <code>ITypeConstraint2</code>, propagating the type bound
+	 * across the constraint as needed.
 	 *
-	 * @param usedIn the <code>List</code> of <code>ITypeConstraint2</code>s
+	 * @param usedIn the indexes of the <code>ITypeConstraint2</code>s
 	 * to process
 	 */
-	private void processConstraints(List<ITypeConstraint2> usedIn) {
-		Iterator<ITypeConstraint2> iter= usedIn.iterator();
-		while (iter.hasNext()) {
-			ITypeConstraint2 tc= iter.next();
-
-				maintainSimpleConstraint(tc);
-				//TODO: prune tcs which cannot cause further changes
-				// Maybe these should be pruned after a special first loop over all ConstraintVariables,
-				// Since this can only happen once for every CV in the work list.
-//				if (isConstantConstraint(stc))
-//					fTypeConstraintFactory.removeUsedIn(stc, changedCv);
+	private void processConstraints(int[] usedIn) {
+		for (int tc : usedIn) {
+			maintainSimpleConstraint(fLeftSets[tc], fRightSets[tc]);
+			//TODO: prune tcs which cannot cause further changes
+			// Maybe these should be pruned after a special first loop over all ConstraintVariables,
+			// Since this can only happen once for every CV in the work list.
 		}
 	}
 
-	private void maintainSimpleConstraint(ITypeConstraint2 stc) {
-		ConstraintVariable2 left= stc.getLeft();
-		ConstraintVariable2 right= stc.getRight();
-
-		TypeEquivalenceSet leftSet= left.getTypeEquivalenceSet();
-		TypeEquivalenceSet rightSet= right.getTypeEquivalenceSet();
-		TypeSet leftEstimate= (TypeSet) leftSet.getTypeEstimate();
-		TypeSet rightEstimate= (TypeSet) rightSet.getTypeEstimate();
+	private void maintainSimpleConstraint(int leftSet, int rightSet) {
+		TypeSet leftEstimate= fEstimates[leftSet];
+		TypeSet rightEstimate= fEstimates[rightSet];
 
 		if (leftEstimate.isUniverse() && rightEstimate.isUniverse())
 			return; // nothing to do
@@ -248,8 +344,8 @@ public class InferTypeArgumentsConstraintsSolver {
 //			if (xsection.isEmpty()) // too bad, but this can happen
 //				throw new IllegalStateException("Type estimate set is now empty for LHS in " + left + " <= " + right + "; estimates were " + leftEstimate + " <= " + rightEstimate); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 
-			leftSet.setTypeEstimate(xsection);
-			fWorkList.addAll(Arrays.asList(leftSet.getContributingVariables()));
+			fEstimates[leftSet]= xsection;
+			addToWorkList(leftSet);
 		}
 		if (! lhsSuperTypes.containsAll(rightEstimate)) {
 			TypeSet xsection= rightEstimate.intersectedWith(lhsSuperTypes);
@@ -257,8 +353,8 @@ public class InferTypeArgumentsConstraintsSolver {
 //			if (xsection.isEmpty())
 //				throw new IllegalStateException("Type estimate set is now empty for RHS in " + left + " <= " + right + "; estimates were " + leftEstimate + " <= " + rightEstimate); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 
-			rightSet.setTypeEstimate(xsection);
-			fWorkList.addAll(Arrays.asList(rightSet.getContributingVariables()));
+			fEstimates[rightSet]= xsection;
+			addToWorkList(rightSet);
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -104,6 +104,11 @@ public class InferTypeArgumentsRefactoring extends Refactoring {
 
 	private static final String REWRITTEN= "InferTypeArgumentsRefactoring.rewritten"; //$NON-NLS-1$
 
+	/**
+	 * The number of compilation units that are parsed together.
+	 */
+	private static final int BATCH_SIZE= Integer.getInteger("org.eclipse.jdt.core.manipulation.inferTypeArguments.batchSize", 150).intValue(); //$NON-NLS-1$
+
 	private TextChangeManager fChangeManager;
 	private IJavaElement[] fElements;
 	private InferTypeArgumentsTCModel fTCModel;
@@ -176,7 +181,7 @@ public class InferTypeArgumentsRefactoring extends Refactoring {
 				ArrayList<IJavaElement> javaElementsList= entry.getValue();
 				IJavaElement[] javaElements= javaElementsList.toArray(new IJavaElement[javaElementsList.size()]);
 				List<ICompilationUnit> cus= Arrays.asList(JavaModelUtil.getAllCompilationUnits(javaElements));
-				int batchSize= 150;
+				int batchSize= Math.max(1, BATCH_SIZE);
 				int batches= ((cus.size()-1) / batchSize) + 1;
 				IProgressMonitor projectMonitor= Progress.subMonitor(pm, 1);
 				projectMonitor.beginTask("", batches); //$NON-NLS-1$
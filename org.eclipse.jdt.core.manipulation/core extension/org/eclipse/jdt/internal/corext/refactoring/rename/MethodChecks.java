@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,6 +36,7 @@ import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
 import org.eclipse.jdt.internal.corext.util.JdtFlags;
 import org.eclipse.jdt.internal.corext.util.Messages;
 import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
 
 import org.eclipse.jdt.internal.ui.util.Progress;
 
@@ -113,7 +114,7 @@ public class MethodChecks {
 				if (clazz.equals(hierarchy.getType()))
 					superinterfaces= hierarchy.getAllSuperInterfaces(clazz);
 				else
-					superinterfaces= clazz.newSupertypeHierarchy(Progress.subMonitor(subMonitor, 1)).getAllSuperInterfaces(clazz);
+					superinterfaces= SuperTypeHierarchyCache.getTypeHierarchy(clazz, Progress.subMonitor(subMonitor, 1)).getAllSuperInterfaces(clazz);
 				for (IType superinterface : superinterfaces) {
 					IMethod found= Checks.findSimilarMethod(method, superinterface);
 					if (found != null && !found.equals(method))
@@ -155,7 +156,7 @@ public class MethodChecks {
 		final IType declaringType= method.getDeclaringType();
 		if (!declaringType.isInterface()) {
 			if ((hierarchy == null) || !declaringType.equals(hierarchy.getType()))
-				hierarchy= declaringType.newTypeHierarchy(monitor);
+				hierarchy= RippleMethodCache.getDefault().getTypeHierarchy(declaringType, null, monitor);
 
 			IMethod inInterface= isDeclaredInInterface(method, hierarchy, monitor);
 			if (inInterface != null && !inInterface.equals(method))
@@ -163,7 +164,7 @@ public class MethodChecks {
 		}
 		if (topmostMethod == null) {
 			if (hierarchy == null)
-				hierarchy= declaringType.newSupertypeHierarchy(monitor);
+				hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(declaringType, monitor);
 			IMethod overrides= overridesAnotherMethod(method, hierarchy);
 			if (overrides != null && !overrides.equals(method))
 				topmostMethod= overrides;
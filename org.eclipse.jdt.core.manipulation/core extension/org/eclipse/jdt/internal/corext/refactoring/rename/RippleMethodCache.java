@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.rename;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IRegion;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.search.SearchMatch;
+
+import org.eclipse.jdt.internal.corext.util.JavaElementDeltaUtil;
+
+/**
+ * A workspace wide cache of the type hierarchies and ripple methods computed by
+ * {@link RippleMethodFinder2}, shared by the rename method and change signature refactorings and
+ * by {@link MethodChecks}. Supertype hierarchies are taken from the
+ * {@link org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache}.
+ * <p>
+ * Only hierarchies and ripples of primary working copies are cached. All entries are flushed
+ * when the Java model reports a change other than a change of member bodies, since such a change
+ * can affect both the type hierarchies and the methods overriding each other.
+ * </p>
+ *
+ * @since 1.23
+ */
+public final class RippleMethodCache {
+
+	/**
+	 * Maximal number of cached type and region hierarchies.
+	 */
+	private static final int MAX_HIERARCHIES= Integer.getInteger("org.eclipse.jdt.core.manipulation.rippleCache.size", 16).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximal number of cached ripples.
+	 */
+	private static final int MAX_RIPPLES= 8 * MAX_HIERARCHIES;
+
+	/**
+	 * The ripple methods of a method.
+	 */
+	static final class Ripple {
+
+		final IMethod[] fMethods;
+
+		/**
+		 * The binary declarations and their matches, or <code>null</code> if binary references
+		 * have not been requested.
+		 */
+		final Map<IMethod, SearchMatch> fDeclarationToMatch;
+
+		Ripple(IMethod[] methods, Map<IMethod, SearchMatch> declarationToMatch) {
+			fMethods= methods;
+			fDeclarationToMatch= declarationToMatch;
+		}
+	}
+
+	private static final class LRUMap<K, V> extends LinkedHashMap<K, V> {
+		private static final long serialVersionUID= 1L;
+		private final int fMaxSize;
+
+		LRUMap(int maxSize) {
+			super(16, 0.75f, true);
+			fMaxSize= maxSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+			return size() > fMaxSize;
+		}
+	}
+
+	private static RippleMethodCache fgInstance;
+
+	private final LRUMap<String, ITypeHierarchy> fHierarchies= new LRUMap<>(MAX_HIERARCHIES);
+	private final LRUMap<String, Ripple> fRipples= new LRUMap<>(MAX_RIPPLES);
+
+	/**
+	 * Incremented whenever the cache is flushed, entries computed before are not added.
+	 */
+	private long fStamp;
+
+	private long fHits;
+	private long fMisses;
+
+	private IElementChangedListener fListener;
+
+	public static synchronized RippleMethodCache getDefault() {
+		if (fgInstance == null) {
+			fgInstance= new RippleMethodCache();
+		}
+		return fgInstance;
+	}
+
+	private RippleMethodCache() {
+	}
+
+	/**
+	 * Returns the type hierarchy of a type.
+	 *
+	 * @param type the focus type
+	 * @param owner the working copy owner, only hierarchies for <code>null</code> are cached
+	 * @param monitor the progress monitor
+	 * @return the type hierarchy
+	 * @throws JavaModelException if the hierarchy could not be created
+	 * @see IType#newTypeHierarchy(WorkingCopyOwner, IProgressMonitor)
+	 */
+	public ITypeHierarchy getTypeHierarchy(IType type, WorkingCopyOwner owner, IProgressMonitor monitor) throws JavaModelException {
+		if (owner != null || MAX_HIERARCHIES <= 0)
+			return type.newTypeHierarchy(owner, monitor);
+
+		String key= 'T' + type.getHandleIdentifier();
+		long stamp;
+		synchronized (this) {
+			installListener();
+			ITypeHierarchy hierarchy= fHierarchies.get(key);
+			if (hierarchy != null) {
+				fHits++;
+				return hierarchy;
+			}
+			fMisses++;
+			stamp= fStamp;
+		}
+		ITypeHierarchy hierarchy= type.newTypeHierarchy(monitor);
+		synchronized (this) {
+			if (stamp == fStamp)
+				fHierarchies.put(key, hierarchy);
+		}
+		return hierarchy;
+	}
+
+	/**
+	 * Returns the hierarchy of a region of types.
+	 *
+	 * @param types the types of the region
+	 * @param owner the working copy owner, only hierarchies for <code>null</code> are cached
+	 * @param monitor the progress monitor
+	 * @return the hierarchy of the region
+	 * @throws JavaModelException if the hierarchy could not be created
+	 * @see JavaCore#newTypeHierarchy(IRegion, WorkingCopyOwner, IProgressMonitor)
+	 */
+	ITypeHierarchy getRegionHierarchy(Collection<IType> types, WorkingCopyOwner owner, IProgressMonitor monitor) throws JavaModelException {
+		IRegion region= JavaCore.newRegion();
+		for (IType type : types) {
+			region.add(type);
+		}
+		if (owner != null || MAX_HIERARCHIES <= 0)
+			return JavaCore.newTypeHierarchy(region, owner, monitor);
+
+		String[] handles= new String[types.size()];
+		int i= 0;
+		for (IType type : types) {
+			handles[i++]= type.getHandleIdentifier();
+		}
+		Arrays.sort(handles);
+		String key= 'R' + String.join("\n", handles); //$NON-NLS-1$
+
+		long stamp;
+		synchronized (this) {
+			installListener();
+			ITypeHierarchy hierarchy= fHierarchies.get(key);
+			if (hierarchy != null) {
+				fHits++;
+				return hierarchy;
+			}
+			fMisses++;
+			stamp= fStamp;
+		}
+		ITypeHierarchy hierarchy= JavaCore.newTypeHierarchy(region, null, monitor);
+		synchronized (this) {
+			if (stamp == fStamp)
+				fHierarchies.put(key, hierarchy);
+		}
+		return hierarchy;
+	}
+
+	/**
+	 * @param key the key of the ripple
+	 * @return the cached ripple, or <code>null</code> if none
+	 */
+	synchronized Ripple getRipple(String key) {
+		installListener();
+		Ripple ripple= fRipples.get(key);
+		if (ripple != null)
+			fHits++;
+		else
+			fMisses++;
+		return ripple;
+	}
+
+	/**
+	 * @param key the key of the ripple
+	 * @param ripple the ripple
+	 * @param stamp the stamp returned by {@link #getStamp()} before the ripple was computed
+	 */
+	synchronized void putRipple(String key, Ripple ripple, long stamp) {
+		if (stamp == fStamp)
+			fRipples.put(key, ripple);
+	}
+
+	synchronized long getStamp() {
+		return fStamp;
+	}
+
+	/**
+	 * Removes all cached hierarchies and ripples.
+	 */
+	public synchronized void clear() {
+		fHierarchies.clear();
+		fRipples.clear();
+		fStamp++;
+	}
+
+	public synchronized long getHitCount() {
+		return fHits;
+	}
+
+	public synchronized long getMissCount() {
+		return fMisses;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "RippleMethodCache [hierarchies=" + fHierarchies.size() + ", ripples=" + fRipples.size() + ", hits=" + fHits + ", misses=" + fMisses + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+
+	private void installListener() {
+		if (fListener != null)
+			return;
+
+		fListener= event -> {
+			if (JavaElementDeltaUtil.isStructuralChange(event.getDelta()))
+				clear();
+		};
+		JavaCore.addElementChangedListener(fListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+}
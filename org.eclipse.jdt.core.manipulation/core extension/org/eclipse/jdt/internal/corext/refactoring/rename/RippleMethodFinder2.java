@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,12 +19,10 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -33,10 +31,8 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 
 import org.eclipse.jdt.core.IMethod;
-import org.eclipse.jdt.core.IRegion;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
-import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
@@ -52,6 +48,7 @@ import org.eclipse.jdt.internal.corext.refactoring.base.ReferencesInBinaryContex
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
 import org.eclipse.jdt.internal.corext.util.SearchUtils;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
 
 import org.eclipse.jdt.internal.ui.util.Progress;
 
@@ -186,13 +183,29 @@ public class RippleMethodFinder2 {
 	}
 
 	private IMethod[] getAllRippleMethods(IProgressMonitor pm, WorkingCopyOwner owner) throws CoreException {
-		IMethod[] rippleMethods= findAllRippleMethods(pm, owner);
-		if (fDeclarationToMatch == null)
+		IMethod[] rippleMethods;
+		Map<IMethod, SearchMatch> declarationToMatch;
+		if (owner == null && !fSearchOnlyInCompilationUnit) {
+			RippleMethodCache cache= RippleMethodCache.getDefault();
+			String key= fMethod.getHandleIdentifier() + '|' + (fBinaryRefs != null ? 'R' : fExcludeBinaries ? 'S' : 'B');
+			RippleMethodCache.Ripple ripple= cache.getRipple(key);
+			if (ripple == null) {
+				long stamp= cache.getStamp();
+				ripple= new RippleMethodCache.Ripple(findAllRippleMethods(pm, owner), fDeclarationToMatch);
+				cache.putRipple(key, ripple, stamp);
+			}
+			rippleMethods= ripple.fMethods.clone();
+			declarationToMatch= ripple.fDeclarationToMatch;
+		} else {
+			rippleMethods= findAllRippleMethods(pm, owner);
+			declarationToMatch= fDeclarationToMatch;
+		}
+		if (declarationToMatch == null)
 			return rippleMethods;
 
 		List<IMethod> filteredMethods= new ArrayList<>(rippleMethods.length / 2);
 		for (IMethod currentMethod : rippleMethods) {
-			Object match= fDeclarationToMatch.get(currentMethod);
+			Object match= declarationToMatch.get(currentMethod);
 			if (match != null) {
 				fBinaryRefs.add((SearchMatch) match);
 			} else {
@@ -359,7 +372,9 @@ public class RippleMethodFinder2 {
 
 		for (IType methodTypeSubtype : methodTypeSubtypes) {
 			checkCanceled(pm);
-			ITypeHierarchy subtypeHierarchy= methodTypeSubtype.newTypeHierarchy(owner, pm);
+			ITypeHierarchy subtypeHierarchy= owner != null
+					? methodTypeSubtype.newSupertypeHierarchy(owner, pm)
+					: SuperTypeHierarchyCache.getTypeHierarchy(methodTypeSubtype, pm);
 			IType[] subtypeSuperTypes= subtypeHierarchy.getAllSupertypes(methodTypeSubtype);
 			for (IType subtypeSuperType : subtypeSuperTypes) {
 				checkCanceled(pm);
@@ -405,7 +420,7 @@ public class RippleMethodFinder2 {
 			throws JavaModelException {
 		ITypeHierarchy hierarchy= getCachedHierarchy(type, owner, Progress.subMonitor(pm, 1));
 		if (hierarchy == null)
-			hierarchy= type.newTypeHierarchy(owner, Progress.subMonitor(pm, 1));
+			hierarchy= RippleMethodCache.getDefault().getTypeHierarchy(type, owner, Progress.subMonitor(pm, 1));
 		return hierarchy;
 	}
 
@@ -425,7 +440,7 @@ public class RippleMethodFinder2 {
 			for (IType root : fRootReps.get(rep)) {
 				ITypeHierarchy hierarchy= fRootHierarchies.get(root);
 				if (hierarchy == null) {
-					hierarchy= root.newTypeHierarchy(owner, Progress.subMonitor(monitor, 1));
+					hierarchy= RippleMethodCache.getDefault().getTypeHierarchy(root, owner, Progress.subMonitor(monitor, 1));
 					fRootHierarchies.put(root, hierarchy);
 				}
 				if (hierarchy.contains(type))
@@ -477,17 +492,11 @@ public class RippleMethodFinder2 {
 	}
 
 	private void createHierarchyOfDeclarations(IProgressMonitor pm, WorkingCopyOwner owner) throws JavaModelException {
-		Stream<IType> types= fDeclarations.stream().map(IMethod::getDeclaringType);
-		fHierarchy= createHierarchyOfTypes(pm, owner, types);
-	}
-
-	private static ITypeHierarchy createHierarchyOfTypes(IProgressMonitor pm, WorkingCopyOwner owner, Stream<IType> types) throws JavaModelException {
-		IRegion region= JavaCore.newRegion();
-		for (Iterator<IType> iter= types.iterator(); iter.hasNext(); ) {
-			IType type= iter.next();
-			region.add(type);
+		Set<IType> types= new LinkedHashSet<>();
+		for (IMethod declaration : fDeclarations) {
+			types.add(declaration.getDeclaringType());
 		}
-		return JavaCore.newTypeHierarchy(region, owner, pm);
+		fHierarchy= RippleMethodCache.getDefault().getRegionHierarchy(types, owner, pm);
 	}
 
 	private void createTypeToMethod() {
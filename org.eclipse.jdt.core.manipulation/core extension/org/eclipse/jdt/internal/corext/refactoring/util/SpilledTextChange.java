@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.util;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextChange;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
+import org.eclipse.jdt.internal.corext.util.Messages;
+
+/**
+ * Stands for a change that has been written to a {@link TextChangeStore}. The change is read back
+ * when it is previewed or performed, until then only the modification stamps of the compilation
+ * unit and of its dirty file buffer are validated.
+ * <p>
+ * The proxy is a synthetic composite change, so the preview shows the text change read back in
+ * place of the proxy.
+ * </p>
+ *
+ * @since 1.23
+ */
+final class SpilledTextChange extends CompositeChange {
+
+	private final TextChangeStore fStore;
+	private final ICompilationUnit fCu;
+
+	private boolean fRestored;
+	private CoreException fRestoreException;
+
+	private boolean fValidationInitialized;
+	private long fModificationStamp= IResource.NULL_STAMP;
+	private long fDocumentModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+
+	SpilledTextChange(TextChangeStore store, ICompilationUnit cu) {
+		super(cu.getElementName());
+		fStore= store;
+		fCu= cu;
+		markAsSynthetic();
+	}
+
+	@Override
+	public Change[] getChildren() {
+		try {
+			restore();
+		} catch (CoreException e) {
+			JavaManipulationPlugin.log(e);
+		}
+		return super.getChildren();
+	}
+
+	@Override
+	public void initializeValidationData(IProgressMonitor pm) {
+		synchronized (this) {
+			IResource resource= fCu.getResource();
+			fModificationStamp= resource != null ? resource.getModificationStamp() : IResource.NULL_STAMP;
+			fDocumentModificationStamp= getDocumentModificationStamp(resource);
+			fValidationInitialized= true;
+		}
+		super.initializeValidationData(pm);
+	}
+
+	@Override
+	public RefactoringStatus isValid(IProgressMonitor pm) throws CoreException, OperationCanceledException {
+		synchronized (this) {
+			if (fRestoreException != null)
+				return RefactoringStatus.create(fRestoreException.getStatus());
+			IResource resource= fCu.getResource();
+			if (fValidationInitialized && (resource == null || resource.getModificationStamp() != fModificationStamp
+					|| getDocumentModificationStamp(resource) != fDocumentModificationStamp))
+				return RefactoringStatus.createFatalErrorStatus(Messages.format(RefactoringCoreMessages.TextChangeManager_file_modified, BasicElementLabels.getFileName(fCu)));
+		}
+		return super.isValid(pm);
+	}
+
+	@Override
+	public Change perform(IProgressMonitor pm) throws CoreException {
+		restore();
+		return super.perform(pm);
+	}
+
+	@Override
+	public void dispose() {
+		synchronized (this) {
+			if (!fRestored) {
+				fStore.discard(fCu);
+				fRestored= true;
+			}
+		}
+		super.dispose();
+	}
+
+	@Override
+	public Object getModifiedElement() {
+		return fCu;
+	}
+
+	@Override
+	public Object[] getAffectedObjects() {
+		return new Object[] { fCu };
+	}
+
+	/**
+	 * Returns the modification stamp of the document of the given resource if the document has
+	 * unsaved modifications. A document without unsaved modifications has the contents of the
+	 * resource, whose modification stamp is validated separately.
+	 *
+	 * @param resource the resource, or <code>null</code>
+	 * @return the modification stamp of the dirty document, or
+	 *         {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP} if there is no dirty document
+	 */
+	private static long getDocumentModificationStamp(IResource resource) {
+		if (resource == null)
+			return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		ITextFileBuffer buffer= FileBuffers.getTextFileBufferManager().getTextFileBuffer(resource.getFullPath(), LocationKind.IFILE);
+		if (buffer == null || !buffer.isDirty())
+			return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		IDocument document= buffer.getDocument();
+		if (document instanceof IDocumentExtension4 extension)
+			return extension.getModificationStamp();
+		// a dirty document without a stamp is never known to be unchanged
+		return System.nanoTime();
+	}
+
+	/**
+	 * Reads the change back from the store and adds it as the only child of this proxy.
+	 *
+	 * @throws CoreException if the change could not be read
+	 */
+	private synchronized void restore() throws CoreException {
+		if (fRestoreException != null)
+			throw fRestoreException;
+		if (fRestored)
+			return;
+		fRestored= true;
+		TextChange change;
+		try {
+			change= fStore.remove(fCu);
+		} catch (CoreException e) {
+			fRestoreException= e;
+			throw e;
+		}
+		if (change == null)
+			return;
+		add(change);
+		if (fValidationInitialized) {
+			// the proxy validates the modifications before the change has been read back
+			change.initializeValidationData(new NullProgressMonitor());
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,24 +14,63 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.util;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Map.Entry;
 
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.core.refactoring.TextChange;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+
 
 /**
  * A <code>TextChangeManager</code> manages associations between <code>ICompilationUnit</code>
  * or <code>IFile</code> and <code>TextChange</code> objects.
+ * <p>
+ * A manager that spills its changes keeps only the most recently used changes in memory and
+ * writes the others to a temporary file, from which they are read back when they are requested
+ * again. Clients of such a manager must not keep a change after they have requested the change of
+ * another compilation unit. Changes that could not be read back are reported by
+ * {@link #getStatus()}.
+ * </p>
  */
 public class TextChangeManager {
 
-	private Map<ICompilationUnit, TextChange> fMap= new HashMap<>(10);
+	/**
+	 * Maximal number of changes kept in memory by a manager that spills its changes.
+	 */
+	private static final int MAX_CHANGES_IN_MEMORY= Integer.getInteger("org.eclipse.jdt.core.manipulation.textChangeManager.maxChangesInMemory", 500).intValue(); //$NON-NLS-1$
+
+	private Map<ICompilationUnit, TextChange> fMap;
+
+	/**
+	 * The changes that cannot be spilled, or <code>null</code> if the manager does not spill its
+	 * changes.
+	 */
+	private Map<ICompilationUnit, TextChange> fPinned;
+
+	/**
+	 * The spilled changes, or <code>null</code> if the manager does not spill its changes.
+	 */
+	private TextChangeStore fStore;
+
+	/**
+	 * The problems of reading back spilled changes.
+	 */
+	private final RefactoringStatus fStatus= new RefactoringStatus();
 
 	private final boolean fKeepExecutedTextEdits;
 
@@ -40,7 +79,26 @@ public class TextChangeManager {
 	}
 
 	public TextChangeManager(boolean keepExecutedTextEdits) {
+		this(keepExecutedTextEdits, false);
+	}
+
+	/**
+	 * Creates a text change manager.
+	 *
+	 * @param keepExecutedTextEdits <code>true</code> if the changes keep their preview edits
+	 * @param spill <code>true</code> if changes that have not been used recently are written to
+	 *            a temporary file
+	 * @since 1.23
+	 */
+	public TextChangeManager(boolean keepExecutedTextEdits, boolean spill) {
 		fKeepExecutedTextEdits= keepExecutedTextEdits;
+		if (spill) {
+			fMap= new LinkedHashMap<>(16, 0.75f, true);
+			fPinned= new HashMap<>();
+			fStore= new TextChangeStore();
+		} else {
+			fMap= new HashMap<>(10);
+		}
 	}
 
 	/**
@@ -51,7 +109,13 @@ public class TextChangeManager {
 	 * @param change the change associated with the compilation unit
 	 */
 	public void manage(ICompilationUnit cu, TextChange change) {
+		if (fStore != null) {
+			fPinned.remove(cu);
+			if (fStore.contains(cu))
+				restore(cu);
+		}
 		fMap.put(cu, change);
+		spill();
 	}
 
 	/**
@@ -63,10 +127,16 @@ public class TextChangeManager {
 	 */
 	public TextChange get(ICompilationUnit cu) {
 		TextChange result= fMap.get(cu);
+		if (result == null && fStore != null) {
+			result= fPinned.get(cu);
+			if (result == null)
+				result= restore(cu);
+		}
 		if (result == null) {
 			result= new CompilationUnitChange(cu.getElementName(), cu);
 			result.setKeepPreviewEdits(fKeepExecutedTextEdits);
 			fMap.put(cu, result);
+			spill();
 		}
 		return result;
 	}
@@ -79,17 +149,31 @@ public class TextChangeManager {
 	 * @return the removed <code>TextChange</code>.
 	 */
 	public TextChange remove(ICompilationUnit unit) {
-		return fMap.remove(unit);
+		TextChange result= fMap.remove(unit);
+		if (result == null && fStore != null) {
+			result= fPinned.remove(unit);
+			if (result == null && restore(unit) != null)
+				result= fMap.remove(unit);
+		}
+		return result;
 	}
 
 	/**
-	 * Returns all text changes managed by this instance.
+	 * Returns all text changes managed by this instance. The changes of a manager that spills its
+	 * changes are all read back into memory, use {@link #getAllChangesLazily()} to avoid this.
 	 *
 	 * @return all text changes managed by this instance
 	 */
 	public TextChange[] getAllChanges(){
-		Set<ICompilationUnit> cuSet= fMap.keySet();
-		ICompilationUnit[] cus= cuSet.toArray(new ICompilationUnit[cuSet.size()]);
+		if (fStore != null) {
+			// the changes are returned, they cannot be spilled any more
+			for (ICompilationUnit cu : fStore.getCompilationUnits()) {
+				restore(cu);
+			}
+			fMap.putAll(fPinned);
+			fPinned.clear();
+		}
+		ICompilationUnit[] cus= fMap.keySet().toArray(new ICompilationUnit[fMap.size()]);
 		// sort by cu name:
 		Arrays.sort(cus, (o1, o2) -> {
 			String name1= o1.getElementName();
@@ -104,13 +188,62 @@ public class TextChangeManager {
 		return textChanges;
 	}
 
+	/**
+	 * Returns all changes managed by this instance. The spilled changes are returned as proxies,
+	 * which read the changes back when they are previewed or performed. The manager does not
+	 * manage any changes afterwards.
+	 *
+	 * @return all changes managed by this instance, sorted by the names of their compilation
+	 *         units
+	 * @since 1.23
+	 */
+	public Change[] getAllChangesLazily() {
+		if (fStore == null || fStore.size() == 0)
+			return getAllChanges();
+
+		Map<ICompilationUnit, Change> changes= new HashMap<>(fMap);
+		changes.putAll(fPinned);
+		for (ICompilationUnit cu : fStore.getCompilationUnits()) {
+			changes.put(cu, new SpilledTextChange(fStore, cu));
+		}
+		// the proxies own the store now
+		fStore= new TextChangeStore();
+		fMap.clear();
+		fPinned.clear();
+
+		ICompilationUnit[] cus= changes.keySet().toArray(new ICompilationUnit[changes.size()]);
+		Arrays.sort(cus, (o1, o2) -> o1.getElementName().compareTo(o2.getElementName()));
+		Change[] result= new Change[cus.length];
+		for (int i= 0; i < cus.length; i++) {
+			result[i]= changes.get(cus[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the problems of a manager that spills its changes, e.g. a change that could not be
+	 * read back and whose edits have been lost.
+	 *
+	 * @return the status of this manager
+	 * @since 1.23
+	 */
+	public RefactoringStatus getStatus() {
+		return fStatus;
+	}
+
 	/**
 	 * Returns all compilation units managed by this instance.
 	 *
 	 * @return all compilation units managed by this instance
 	 */
 	public ICompilationUnit[] getAllCompilationUnits(){
-		return fMap.keySet().toArray(new ICompilationUnit[fMap.size()]);
+		if (fStore == null)
+			return fMap.keySet().toArray(new ICompilationUnit[fMap.size()]);
+		List<ICompilationUnit> cus= new ArrayList<>(fMap.size() + fPinned.size() + fStore.size());
+		cus.addAll(fMap.keySet());
+		cus.addAll(fPinned.keySet());
+		cus.addAll(fStore.getCompilationUnits());
+		return cus.toArray(new ICompilationUnit[cus.size()]);
 	}
 
 	/**
@@ -118,6 +251,10 @@ public class TextChangeManager {
 	 */
 	public void clear() {
 		fMap.clear();
+		if (fStore != null) {
+			fPinned.clear();
+			fStore.close();
+		}
 	}
 
 	/**
@@ -127,7 +264,52 @@ public class TextChangeManager {
 	 * @return <code>true</code> if any text changes are managed for the specified compilation unit and <code>false</code> otherwise
 	 */
 	public boolean containsChangesIn(ICompilationUnit cu){
-		return fMap.containsKey(cu);
+		if (fMap.containsKey(cu))
+			return true;
+		return fStore != null && (fPinned.containsKey(cu) || fStore.contains(cu));
+	}
+
+	/**
+	 * Writes the least recently used changes to the store when there are too many changes in
+	 * memory. Changes that cannot be stored are kept in memory.
+	 */
+	private void spill() {
+		if (fStore == null || fMap.size() <= MAX_CHANGES_IN_MEMORY)
+			return;
+
+		int toSpill= fMap.size() - MAX_CHANGES_IN_MEMORY / 2;
+		for (Iterator<Entry<ICompilationUnit, TextChange>> iter= fMap.entrySet().iterator(); iter.hasNext() && toSpill > 0; toSpill--) {
+			Entry<ICompilationUnit, TextChange> entry= iter.next();
+			iter.remove();
+			try {
+				if (fStore.put(entry.getKey(), entry.getValue()))
+					continue;
+			} catch (IOException e) {
+				JavaManipulationPlugin.log(e);
+			}
+			fPinned.put(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Reads a change back from the store.
+	 *
+	 * @param cu the compilation unit
+	 * @return the change, or <code>null</code> if no change of the compilation unit is stored or
+	 *         the change could not be read, which is reported in the status of this manager
+	 */
+	private TextChange restore(ICompilationUnit cu) {
+		TextChange change;
+		try {
+			change= fStore.remove(cu);
+		} catch (CoreException e) {
+			JavaManipulationPlugin.log(e);
+			fStatus.addFatalError(e.getStatus().getMessage());
+			return null;
+		}
+		if (change != null)
+			fMap.put(cu, change);
+		return change;
 	}
 }
 
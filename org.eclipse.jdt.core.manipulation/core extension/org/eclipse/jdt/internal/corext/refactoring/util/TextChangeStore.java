@@ -0,0 +1,483 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.TextEditGroup;
+
+import org.eclipse.ltk.core.refactoring.CategorizedTextEditGroup;
+import org.eclipse.ltk.core.refactoring.GroupCategorySet;
+import org.eclipse.ltk.core.refactoring.TextChange;
+import org.eclipse.ltk.core.refactoring.TextEditChangeGroup;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
+import org.eclipse.jdt.internal.corext.util.Messages;
+
+/**
+ * A temporary file to which a {@link TextChangeManager} writes the changes it does not need to
+ * keep in memory.
+ * <p>
+ * Only plain {@link CompilationUnitChange}s whose edit trees consist of multi, replace, insert and
+ * delete edits are stored, other changes are rejected by {@link #put(ICompilationUnit, TextChange)}.
+ * A stored change is removed from the store when it is read back, the file is deleted when the
+ * store becomes empty. A change that is stored again is written to its old place if it fits, the
+ * file is compacted before it grows when more than half of it is no longer used.
+ * </p>
+ * <p>
+ * Note: This class is for internal use only. It is public for tests.
+ * </p>
+ *
+ * @since 1.23
+ */
+public final class TextChangeStore {
+
+	private static final byte MULTI= 1;
+	private static final byte DEFINED_MULTI= 2;
+	private static final byte REPLACE= 3;
+	private static final byte INSERT= 4;
+	private static final byte DELETE= 5;
+
+	/**
+	 * The place of a stored change in the file: the length of the change followed by up to
+	 * <code>fCapacity</code> bytes.
+	 */
+	private static final class Slot {
+
+		final long fOffset;
+		final int fCapacity;
+
+		Slot(long offset, int capacity) {
+			fOffset= offset;
+			fCapacity= capacity;
+		}
+
+		long getLength() {
+			return 4 + fCapacity;
+		}
+	}
+
+	private final Map<ICompilationUnit, Slot> fSlots= new HashMap<>();
+
+	/**
+	 * The number of bytes of the file that are used by the slots of stored changes.
+	 */
+	private long fUsedBytes;
+
+	/**
+	 * The category sets of the stored change groups, they are shared by many changes.
+	 */
+	private final List<GroupCategorySet> fCategorySets= new ArrayList<>();
+	private final Map<GroupCategorySet, Integer> fCategorySetIndexes= new IdentityHashMap<>();
+
+	private File fFile;
+	private RandomAccessFile fAccess;
+
+	/**
+	 * Writes a change to the store.
+	 *
+	 * @param cu the compilation unit of the change
+	 * @param change the change
+	 * @return <code>true</code> if the change has been stored, <code>false</code> if the change
+	 *         cannot be stored and has to be kept in memory
+	 * @throws IOException if the store could not be written
+	 */
+	public synchronized boolean put(ICompilationUnit cu, TextChange change) throws IOException {
+		if (change.getClass() != CompilationUnitChange.class || change.getParent() != null)
+			return false;
+		CompilationUnitChange cuChange= (CompilationUnitChange) change;
+		if (cuChange.getDescriptor() != null)
+			return false;
+
+		Map<TextEdit, Integer> editIndexes= new IdentityHashMap<>();
+		TextEdit root= cuChange.getEdit();
+		if (root != null && (root.getClass() != MultiTextEdit.class || !indexEdits(root, editIndexes)))
+			return false;
+		TextEditChangeGroup[] groups= cuChange.getTextEditChangeGroups();
+		for (TextEditChangeGroup group : groups) {
+			if (!isStorable(group, editIndexes))
+				return false;
+		}
+
+		ByteArrayOutputStream bytes= new ByteArrayOutputStream();
+		try (DataOutputStream out= new DataOutputStream(bytes)) {
+			out.writeUTF(cuChange.getName());
+			out.writeBoolean(cuChange.isEnabled());
+			out.writeBoolean(cuChange.getKeepPreviewEdits());
+			out.writeInt(cuChange.getSaveMode());
+			out.writeBoolean(root != null);
+			if (root != null)
+				writeEdit(out, root);
+			out.writeInt(groups.length);
+			for (TextEditChangeGroup group : groups) {
+				TextEditGroup editGroup= group.getTextEditGroup();
+				out.writeUTF(editGroup.getName());
+				out.writeBoolean(group.isEnabled());
+				out.writeInt(getCategorySetIndex(editGroup));
+				TextEdit[] edits= editGroup.getTextEdits();
+				out.writeInt(edits.length);
+				for (TextEdit edit : edits) {
+					out.writeInt(editIndexes.get(edit).intValue());
+				}
+			}
+		}
+
+		Slot slot= fSlots.remove(cu);
+		if (slot != null)
+			fUsedBytes-= slot.getLength();
+		RandomAccessFile access= getAccess();
+		if (slot == null || slot.fCapacity < bytes.size()) {
+			if (access.length() - fUsedBytes > fUsedBytes) {
+				compact();
+				access= fAccess;
+			}
+			slot= new Slot(access.length(), bytes.size());
+		}
+		access.seek(slot.fOffset);
+		access.writeInt(bytes.size());
+		access.write(bytes.toByteArray());
+		fSlots.put(cu, slot);
+		fUsedBytes+= slot.getLength();
+		return true;
+	}
+
+	/**
+	 * Reads a change and removes it from the store.
+	 *
+	 * @param cu the compilation unit of the change
+	 * @return the change, or <code>null</code> if no change of the compilation unit is stored
+	 * @throws CoreException if the store could not be read
+	 */
+	public synchronized TextChange remove(ICompilationUnit cu) throws CoreException {
+		Slot slot= fSlots.remove(cu);
+		if (slot == null)
+			return null;
+
+		fUsedBytes-= slot.getLength();
+		try {
+			return readChange(cu, new DataInputStream(new ByteArrayInputStream(read(getAccess(), slot))));
+		} catch (IOException e) {
+			String message= Messages.format(RefactoringCoreMessages.TextChangeManager_error_restore, BasicElementLabels.getFileName(cu));
+			throw new CoreException(new Status(IStatus.ERROR, JavaManipulationPlugin.getPluginId(), message, e));
+		} finally {
+			if (fSlots.isEmpty())
+				close();
+		}
+	}
+
+	/**
+	 * Removes a change from the store without reading it.
+	 *
+	 * @param cu the compilation unit of the change
+	 */
+	synchronized void discard(ICompilationUnit cu) {
+		Slot slot= fSlots.remove(cu);
+		if (slot == null)
+			return;
+		fUsedBytes-= slot.getLength();
+		if (fSlots.isEmpty())
+			close();
+	}
+
+	synchronized boolean contains(ICompilationUnit cu) {
+		return fSlots.containsKey(cu);
+	}
+
+	synchronized List<ICompilationUnit> getCompilationUnits() {
+		return new ArrayList<>(fSlots.keySet());
+	}
+
+	public synchronized int size() {
+		return fSlots.size();
+	}
+
+	/**
+	 * Returns the length of the file of the store. Used for testing.
+	 *
+	 * @return the length of the file in bytes, <code>0</code> if the store has no file
+	 * @throws IOException if the length could not be read
+	 */
+	public synchronized long getFileLength() throws IOException {
+		return fAccess != null ? fAccess.length() : 0;
+	}
+
+	/**
+	 * Removes all changes and deletes the file of the store.
+	 */
+	public synchronized void close() {
+		fSlots.clear();
+		fUsedBytes= 0;
+		if (fAccess != null) {
+			try {
+				fAccess.close();
+			} catch (IOException e) {
+				// the file is deleted anyway
+			}
+			fAccess= null;
+		}
+		if (fFile != null) {
+			fFile.delete();
+			fFile= null;
+		}
+	}
+
+	private RandomAccessFile getAccess() throws IOException {
+		if (fAccess == null) {
+			fFile= createFile();
+			fAccess= new RandomAccessFile(fFile, "rw"); //$NON-NLS-1$
+		}
+		return fAccess;
+	}
+
+	private static File createFile() throws IOException {
+		File file= File.createTempFile("textChanges", ".bin"); //$NON-NLS-1$ //$NON-NLS-2$
+		file.deleteOnExit();
+		return file;
+	}
+
+	private static byte[] read(RandomAccessFile access, Slot slot) throws IOException {
+		access.seek(slot.fOffset);
+		int length= access.readInt();
+		if (length < 0 || length > slot.fCapacity)
+			throw new IOException("Invalid change length " + length); //$NON-NLS-1$
+		byte[] bytes= new byte[length];
+		access.readFully(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Copies the stored changes to a new file without the unused space of the current file.
+	 *
+	 * @throws IOException if the changes could not be copied, the store is unchanged then
+	 */
+	private void compact() throws IOException {
+		File file= createFile();
+		RandomAccessFile access= new RandomAccessFile(file, "rw"); //$NON-NLS-1$
+		Map<ICompilationUnit, Slot> slots= new HashMap<>();
+		long usedBytes= 0;
+		try {
+			for (Map.Entry<ICompilationUnit, Slot> entry : fSlots.entrySet()) {
+				byte[] bytes= read(fAccess, entry.getValue());
+				Slot slot= new Slot(access.length(), bytes.length);
+				access.seek(slot.fOffset);
+				access.writeInt(bytes.length);
+				access.write(bytes);
+				slots.put(entry.getKey(), slot);
+				usedBytes+= slot.getLength();
+			}
+		} catch (IOException e) {
+			access.close();
+			file.delete();
+			throw e;
+		}
+
+		try {
+			fAccess.close();
+		} catch (IOException e) {
+			// the file is deleted anyway
+		}
+		fFile.delete();
+		fFile= file;
+		fAccess= access;
+		fSlots.putAll(slots);
+		fUsedBytes= usedBytes;
+	}
+
+	/**
+	 * Numbers the edits of a tree in pre-order.
+	 *
+	 * @param edit the root of the tree
+	 * @param editIndexes the indexes of the edits
+	 * @return <code>false</code> if the tree contains edits that cannot be stored
+	 */
+	private static boolean indexEdits(TextEdit edit, Map<TextEdit, Integer> editIndexes) {
+		Class<?> editClass= edit.getClass();
+		if (editClass != MultiTextEdit.class && editClass != ReplaceEdit.class && editClass != InsertEdit.class && editClass != DeleteEdit.class)
+			return false;
+		editIndexes.put(edit, Integer.valueOf(editIndexes.size()));
+		for (TextEdit child : edit.getChildren()) {
+			if (!indexEdits(child, editIndexes))
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean isStorable(TextEditChangeGroup group, Map<TextEdit, Integer> editIndexes) {
+		if (group.getClass() != TextEditChangeGroup.class)
+			return false;
+		TextEditGroup editGroup= group.getTextEditGroup();
+		if (editGroup.getClass() != TextEditGroup.class && editGroup.getClass() != CategorizedTextEditGroup.class)
+			return false;
+		for (TextEdit edit : editGroup.getTextEdits()) {
+			if (!editIndexes.containsKey(edit))
+				return false;
+		}
+		return true;
+	}
+
+	private int getCategorySetIndex(TextEditGroup editGroup) {
+		if (!(editGroup instanceof CategorizedTextEditGroup))
+			return -1;
+		GroupCategorySet categorySet= ((CategorizedTextEditGroup) editGroup).getGroupCategorySet();
+		Integer index= fCategorySetIndexes.get(categorySet);
+		if (index == null) {
+			index= Integer.valueOf(fCategorySets.size());
+			fCategorySetIndexes.put(categorySet, index);
+			fCategorySets.add(categorySet);
+		}
+		return index.intValue();
+	}
+
+	private static void writeEdit(DataOutputStream out, TextEdit edit) throws IOException {
+		if (edit instanceof MultiTextEdit) {
+			if (isDefined((MultiTextEdit) edit)) {
+				out.writeByte(DEFINED_MULTI);
+				out.writeInt(edit.getOffset());
+				out.writeInt(edit.getLength());
+			} else {
+				out.writeByte(MULTI);
+			}
+		} else if (edit instanceof ReplaceEdit) {
+			out.writeByte(REPLACE);
+			out.writeInt(edit.getOffset());
+			out.writeInt(edit.getLength());
+			writeText(out, ((ReplaceEdit) edit).getText());
+		} else if (edit instanceof InsertEdit) {
+			out.writeByte(INSERT);
+			out.writeInt(edit.getOffset());
+			writeText(out, ((InsertEdit) edit).getText());
+		} else {
+			out.writeByte(DELETE);
+			out.writeInt(edit.getOffset());
+			out.writeInt(edit.getLength());
+		}
+		TextEdit[] children= edit.getChildren();
+		out.writeInt(children.length);
+		for (TextEdit child : children) {
+			writeEdit(out, child);
+		}
+	}
+
+	/**
+	 * Tells whether a multi edit has a range of its own. The range of a multi edit without a range
+	 * is the range covered by its children.
+	 *
+	 * @param edit the multi edit
+	 * @return <code>true</code> if the edit covers more than its children
+	 */
+	private static boolean isDefined(MultiTextEdit edit) {
+		if (!edit.hasChildren())
+			return false;
+		TextEdit[] children= edit.getChildren();
+		int start= children[0].getOffset();
+		int end= children[children.length - 1].getExclusiveEnd();
+		return edit.getOffset() != start || edit.getExclusiveEnd() != end;
+	}
+
+	private static void writeText(DataOutputStream out, String text) throws IOException {
+		// writeUTF is limited to 64K bytes
+		out.writeInt(text.length());
+		out.writeChars(text);
+	}
+
+	private static String readText(DataInputStream in) throws IOException {
+		char[] chars= new char[in.readInt()];
+		for (int i= 0; i < chars.length; i++) {
+			chars[i]= in.readChar();
+		}
+		return new String(chars);
+	}
+
+	private TextChange readChange(ICompilationUnit cu, DataInputStream in) throws IOException {
+		CompilationUnitChange change= new CompilationUnitChange(in.readUTF(), cu);
+		change.setEnabled(in.readBoolean());
+		change.setKeepPreviewEdits(in.readBoolean());
+		change.setSaveMode(in.readInt());
+		List<TextEdit> edits= new ArrayList<>();
+		if (in.readBoolean())
+			change.setEdit(readEdit(in, edits));
+		int groupCount= in.readInt();
+		for (int i= 0; i < groupCount; i++) {
+			String name= in.readUTF();
+			boolean enabled= in.readBoolean();
+			int categorySetIndex= in.readInt();
+			TextEdit[] groupEdits= new TextEdit[in.readInt()];
+			for (int k= 0; k < groupEdits.length; k++) {
+				groupEdits[k]= edits.get(in.readInt());
+			}
+			TextEditGroup editGroup= categorySetIndex >= 0
+					? new CategorizedTextEditGroup(name, groupEdits, fCategorySets.get(categorySetIndex))
+					: new TextEditGroup(name, groupEdits);
+			TextEditChangeGroup group= new TextEditChangeGroup(change, editGroup);
+			group.setEnabled(enabled);
+			change.addTextEditChangeGroup(group);
+		}
+		return change;
+	}
+
+	private static TextEdit readEdit(DataInputStream in, List<TextEdit> edits) throws IOException {
+		TextEdit edit;
+		byte kind= in.readByte();
+		switch (kind) {
+			case MULTI:
+				edit= new MultiTextEdit();
+				break;
+			case DEFINED_MULTI:
+				edit= new MultiTextEdit(in.readInt(), in.readInt());
+				break;
+			case REPLACE:
+				edit= new ReplaceEdit(in.readInt(), in.readInt(), readText(in));
+				break;
+			case INSERT:
+				edit= new InsertEdit(in.readInt(), readText(in));
+				break;
+			case DELETE:
+				edit= new DeleteEdit(in.readInt(), in.readInt());
+				break;
+			default:
+				throw new IOException("Invalid edit kind " + kind); //$NON-NLS-1$
+		}
+		edits.add(edit);
+		int childCount= in.readInt();
+		for (int i= 0; i < childCount; i++) {
+			edit.addChild(readEdit(in, edits));
+		}
+		return edit;
+	}
+}
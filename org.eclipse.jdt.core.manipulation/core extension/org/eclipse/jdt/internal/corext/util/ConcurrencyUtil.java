@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
+
+/**
+ * Helpers for the operations that distribute their work on a pool of threads.
+ *
+ * @since 1.23
+ */
+public final class ConcurrencyUtil {
+
+	/**
+	 * A monitor for work done concurrently which only forwards cancellation to the shared
+	 * monitor, as the workers cannot report their progress to it.
+	 */
+	public static final class CancelOnlyProgressMonitor extends NullProgressMonitor {
+
+		private final IProgressMonitor fMonitor;
+
+		public CancelOnlyProgressMonitor(IProgressMonitor monitor) {
+			fMonitor= monitor;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return fMonitor.isCanceled();
+		}
+	}
+
+	/**
+	 * A progress monitor which serializes all calls to the wrapped monitor, for workers which
+	 * report their progress to the same monitor.
+	 */
+	public static final class SynchronizedProgressMonitor extends ProgressMonitorWrapper {
+
+		public SynchronizedProgressMonitor(IProgressMonitor monitor) {
+			super(monitor);
+		}
+
+		@Override
+		public synchronized void beginTask(String name, int totalWork) {
+			super.beginTask(name, totalWork);
+		}
+
+		@Override
+		public synchronized void done() {
+			super.done();
+		}
+
+		@Override
+		public synchronized void internalWorked(double work) {
+			super.internalWorked(work);
+		}
+
+		@Override
+		public synchronized boolean isCanceled() {
+			return super.isCanceled();
+		}
+
+		@Override
+		public synchronized void setCanceled(boolean b) {
+			super.setCanceled(b);
+		}
+
+		@Override
+		public synchronized void setTaskName(String name) {
+			super.setTaskName(name);
+		}
+
+		@Override
+		public synchronized void subTask(String name) {
+			super.subTask(name);
+		}
+
+		@Override
+		public synchronized void worked(int work) {
+			super.worked(work);
+		}
+	}
+
+	/**
+	 * Rethrows the cause of an execution exception if it is unchecked.
+	 *
+	 * @param e the exception thrown by {@link java.util.concurrent.Future#get()}
+	 * @return the exception to throw if the cause is a checked exception
+	 */
+	public static RuntimeException rethrowCause(ExecutionException e) {
+		return rethrowCause(e, RuntimeException.class);
+	}
+
+	/**
+	 * Rethrows the cause of an execution exception if it is unchecked or an instance of
+	 * <code>checkedType</code>.
+	 *
+	 * @param e the exception thrown by {@link java.util.concurrent.Future#get()}
+	 * @param checkedType the type of the checked exceptions thrown by the task
+	 * @param <E> the type of the checked exceptions thrown by the task
+	 * @return the exception to throw if the cause is another checked exception
+	 * @throws E if the cause is an instance of <code>checkedType</code>
+	 */
+	public static <E extends Exception> RuntimeException rethrowCause(ExecutionException e, Class<E> checkedType) throws E {
+		Throwable cause= e.getCause();
+		if (checkedType.isInstance(cause)) {
+			throw checkedType.cast(cause);
+		} else if (cause instanceof RuntimeException) {
+			throw (RuntimeException) cause;
+		} else if (cause instanceof Error) {
+			throw (Error) cause;
+		}
+		return new IllegalStateException(cause);
+	}
+
+	private ConcurrencyUtil() {
+	}
+}
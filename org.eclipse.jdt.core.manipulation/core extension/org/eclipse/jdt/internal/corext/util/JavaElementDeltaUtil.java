@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+
+/**
+ * Helpers for the caches that are derived from the structure of the Java model and are flushed by
+ * Java element deltas.
+ *
+ * @since 1.23
+ */
+public final class JavaElementDeltaUtil {
+
+	/**
+	 * Tells whether a delta can change the members of a type or a type hierarchy.
+	 *
+	 * @param delta the delta
+	 * @return <code>false</code> if at most the bodies of members changed
+	 */
+	public static boolean isStructuralChange(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED)
+					return true;
+				if ((delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_CONTENT)) != 0)
+					return true;
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					if (isStructuralChange(child))
+						return true;
+				}
+				// resource deltas only affect non-Java resources
+				return false;
+			case IJavaElement.COMPILATION_UNIT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED)
+					return true;
+				int flags= delta.getFlags();
+				if ((flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN)) == 0)
+					return false; // e.g. became a working copy
+				if ((flags & IJavaElementDelta.F_FINE_GRAINED) == 0)
+					return true; // e.g. changed outside of an editor or reverted, the changes are unknown
+				// a fine grained delta without children only changed the bodies of members
+				return delta.getAffectedChildren().length > 0;
+			default:
+				return true;
+		}
+	}
+
+	private JavaElementDeltaUtil() {
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,43 +13,99 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.util;
 
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
-import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 
 /**
  * A thread-safe cache for super type hierarchies.
+ * <p>
+ * Cached hierarchies are indexed by the types they contain, such that lookups do not need to
+ * lock the cache. The cache is bounded by the number of hierarchies and by the total number of
+ * types in the cached hierarchies. One listener processes the Java element deltas for all cached
+ * hierarchies: a changed compilation unit or class file only removes the hierarchies that contain
+ * one of its types, and changes inside a compilation unit that do not touch declarations, e.g. of
+ * method bodies, do not remove any hierarchy. Added types and class path changes remove all
+ * hierarchies, since they can resolve types that were missing.
+ * </p>
  */
 // @see JDTUIHelperClasses
 public class SuperTypeHierarchyCache {
 
-	private static class HierarchyCacheEntry implements ITypeHierarchyChangedListener {
+	private static class HierarchyCacheEntry {
 
-		private ITypeHierarchy fTypeHierarchy;
-		private long fLastAccess;
+		private final ITypeHierarchy fTypeHierarchy;
+		private final IType[] fTypes;
+		private final Set<ITypeRoot> fTypeRoots;
+		private final Map<IType, MethodOverrideTester> fMethodOverrideTesters;
+		private volatile long fLastAccess;
+		private volatile boolean fDisposed;
 
 		public HierarchyCacheEntry(ITypeHierarchy hierarchy) {
 			fTypeHierarchy= hierarchy;
-			fTypeHierarchy.addTypeHierarchyChangedListener(this);
+			fTypes= hierarchy.getAllTypes();
+			fTypeRoots= new HashSet<>();
+			for (IType type : fTypes) {
+				ITypeRoot typeRoot= type.getTypeRoot();
+				if (typeRoot != null)
+					fTypeRoots.add(typeRoot);
+			}
+			fMethodOverrideTesters= new ConcurrentHashMap<>();
 			markAsAccessed();
 		}
 
-		@Override
-		public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
-			removeHierarchyEntryFromCache(this);
-		}
-
 		public ITypeHierarchy getTypeHierarchy() {
 			return fTypeHierarchy;
 		}
 
+		public IType[] getTypes() {
+			return fTypes;
+		}
+
+		/**
+		 * Returns the memory weight of this entry, measured in types.
+		 *
+		 * @return the number of types in the hierarchy
+		 */
+		public int getWeight() {
+			return fTypes.length;
+		}
+
+		/**
+		 * @param typeRoots changed compilation units and class files
+		 * @return <code>true</code> if the hierarchy contains a type of one of the given type roots
+		 */
+		public boolean isAffected(Set<IJavaElement> typeRoots) {
+			for (IJavaElement typeRoot : typeRoots) {
+				if (fTypeRoots.contains(typeRoot))
+					return true;
+			}
+			return false;
+		}
+
+		public MethodOverrideTester getMethodOverrideTester(IType type) {
+			if (fDisposed)
+				return new MethodOverrideTester(type, fTypeHierarchy);
+			return fMethodOverrideTesters.computeIfAbsent(type, t -> new MethodOverrideTester(t, fTypeHierarchy));
+		}
+
+		public boolean isValid() {
+			return !fDisposed && fTypeHierarchy.exists();
+		}
+
 		public void markAsAccessed() {
 			fLastAccess= System.currentTimeMillis();
 		}
@@ -59,9 +115,9 @@ public class SuperTypeHierarchyCache {
 		}
 
 		public void dispose() {
-			if (fTypeHierarchy != null) {
-				fTypeHierarchy.removeTypeHierarchyChangedListener(this);
-				fTypeHierarchy= null;
+			if (!fDisposed) {
+				fDisposed= true;
+				fMethodOverrideTesters.clear();
 			}
 		}
 
@@ -73,13 +129,24 @@ public class SuperTypeHierarchyCache {
 	}
 
 
-	private static final int CACHE_SIZE= 8;
+	/**
+	 * Maximal number of cached hierarchies.
+	 */
+	private static final int CACHE_SIZE= Integer.getInteger("org.eclipse.jdt.ui.superTypeHierarchyCache.size", 32).intValue(); //$NON-NLS-1$
 
-	private static ArrayList<HierarchyCacheEntry> fgHierarchyCache= new ArrayList<>(CACHE_SIZE);
-	private static Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(CACHE_SIZE);
+	/**
+	 * Maximal total number of types in the cached hierarchies.
+	 */
+	private static final int CACHE_WEIGHT= Integer.getInteger("org.eclipse.jdt.ui.superTypeHierarchyCache.types", 20000).intValue(); //$NON-NLS-1$
+
+	private static final Set<HierarchyCacheEntry> fgHierarchyCache= ConcurrentHashMap.newKeySet();
+	private static final Map<IType, HierarchyCacheEntry> fgTypeIndex= new ConcurrentHashMap<>();
+	private static final Object fgUpdateLock= new Object();
+	private static int fgCacheWeight= 0;
+	private static boolean fgListenerInstalled;
 
-	private static int fgCacheHits= 0;
-	private static int fgCacheMisses= 0;
+	private static final AtomicInteger fgCacheHits= new AtomicInteger();
+	private static final AtomicInteger fgCacheMisses= new AtomicInteger();
 
 	/**
 	 * Returns a super type hierarchy that contains the given type.
@@ -97,32 +164,7 @@ public class SuperTypeHierarchyCache {
 	}
 
 	public static MethodOverrideTester getMethodOverrideTester(IType type) throws JavaModelException {
-		MethodOverrideTester test= null;
-		synchronized (fgMethodOverrideTesterCache) {
-			test= fgMethodOverrideTesterCache.get(type);
-		}
-		if (test == null) {
-			ITypeHierarchy hierarchy= getTypeHierarchy(type); // don't nest the locks
-			synchronized (fgMethodOverrideTesterCache) {
-				test= fgMethodOverrideTesterCache.get(type); // test again after waiting a long time for 'getTypeHierarchy'
-				if (test == null) {
-					test= new MethodOverrideTester(type, hierarchy);
-					fgMethodOverrideTesterCache.put(type, test);
-				}
-			}
-		}
-		return test;
-	}
-
-	private static void removeMethodOverrideTester(ITypeHierarchy hierarchy) {
-		synchronized (fgMethodOverrideTesterCache) {
-			for (Iterator<MethodOverrideTester> iter= fgMethodOverrideTesterCache.values().iterator(); iter.hasNext();) {
-				MethodOverrideTester curr= iter.next();
-				if (curr.getTypeHierarchy().equals(hierarchy)) {
-					iter.remove();
-				}
-			}
-		}
+		return getHierarchyEntry(type, null).getMethodOverrideTester(type);
 	}
 
 	/**
@@ -138,45 +180,53 @@ public class SuperTypeHierarchyCache {
 	 * @throws JavaModelException if a problem occurs
 	 */
 	public static ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
-		ITypeHierarchy hierarchy= findTypeHierarchyInCache(type);
-		if (hierarchy == null) {
-			fgCacheMisses++;
-			hierarchy= type.newSupertypeHierarchy(progressMonitor);
-			addTypeHierarchyToCache(hierarchy);
+		return getHierarchyEntry(type, progressMonitor).getTypeHierarchy();
+	}
+
+	private static HierarchyCacheEntry getHierarchyEntry(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
+		HierarchyCacheEntry entry= findHierarchyEntryInCache(type);
+		if (entry == null) {
+			fgCacheMisses.incrementAndGet();
+			entry= addTypeHierarchyToCache(type.newSupertypeHierarchy(progressMonitor));
 		} else {
-			fgCacheHits++;
+			fgCacheHits.incrementAndGet();
 		}
-		return hierarchy;
+		return entry;
 	}
 
-	private static void addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
-		synchronized (fgHierarchyCache) {
-			int nEntries= fgHierarchyCache.size();
-			if (nEntries >= CACHE_SIZE) {
-				// find obsolete entries or remove entry that was least recently accessed
+	private static HierarchyCacheEntry addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
+		HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
+		synchronized (fgUpdateLock) {
+			if (!fgListenerInstalled) {
+				fgListenerInstalled= true;
+				JavaCore.addElementChangedListener(SuperTypeHierarchyCache::elementChanged, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+			}
+
+			// remove obsolete entries and entries subsumed by the new hierarchy
+			for (HierarchyCacheEntry entry : fgHierarchyCache) {
+				if (!entry.isValid() || hierarchy.contains(entry.getTypeHierarchy().getType())) {
+					removeHierarchyEntryFromCache(entry);
+				}
+			}
+
+			fgHierarchyCache.add(newEntry);
+			fgCacheWeight+= newEntry.getWeight();
+			for (IType type : newEntry.getTypes()) {
+				fgTypeIndex.put(type, newEntry);
+			}
+
+			// remove entries that were least recently accessed
+			while (fgHierarchyCache.size() > 1 && (fgHierarchyCache.size() > CACHE_SIZE || fgCacheWeight > CACHE_WEIGHT)) {
 				HierarchyCacheEntry oldest= null;
-				ArrayList<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>(CACHE_SIZE);
 				for (HierarchyCacheEntry entry : fgHierarchyCache) {
-					ITypeHierarchy curr= entry.getTypeHierarchy();
-					if (!curr.exists() || hierarchy.contains(curr.getType())) {
-						obsoleteHierarchies.add(entry);
-					} else {
-						if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
-							oldest= entry;
-						}
+					if (entry != newEntry && (oldest == null || entry.getLastAccess() < oldest.getLastAccess())) {
+						oldest= entry;
 					}
 				}
-				if (!obsoleteHierarchies.isEmpty()) {
-					for (HierarchyCacheEntry obsoleteHierarchie : obsoleteHierarchies) {
-						removeHierarchyEntryFromCache(obsoleteHierarchie);
-					}
-				} else if (oldest != null) {
-					removeHierarchyEntryFromCache(oldest);
-				}
+				removeHierarchyEntryFromCache(oldest);
 			}
-			HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
-			fgHierarchyCache.add(newEntry);
 		}
+		return newEntry;
 	}
 
 
@@ -186,43 +236,171 @@ public class SuperTypeHierarchyCache {
 	 * @return <code>true</code> if a hierarchy for the given type is cached
 	 */
 	public static boolean hasInCache(IType type) {
-		return findTypeHierarchyInCache(type) != null;
+		return findHierarchyEntryInCache(type) != null;
 	}
 
 
-	private static ITypeHierarchy findTypeHierarchyInCache(IType type) {
-		synchronized (fgHierarchyCache) {
-			for (int i= fgHierarchyCache.size() - 1; i>= 0; i--) {
-				HierarchyCacheEntry curr= fgHierarchyCache.get(i);
-				ITypeHierarchy hierarchy= curr.getTypeHierarchy();
-				if (!hierarchy.exists()) {
-					removeHierarchyEntryFromCache(curr);
-				} else {
-					if (hierarchy.contains(type)) {
-						curr.markAsAccessed();
-						return hierarchy;
-					}
+	private static HierarchyCacheEntry findHierarchyEntryInCache(IType type) {
+		HierarchyCacheEntry entry= fgTypeIndex.get(type);
+		if (entry != null) {
+			if (entry.isValid()) {
+				entry.markAsAccessed();
+				return entry;
+			}
+			removeHierarchyEntryFromCache(entry);
+		}
+
+		// the type might be contained in another hierarchy than the indexed one
+		for (HierarchyCacheEntry curr : fgHierarchyCache) {
+			if (!curr.isValid()) {
+				removeHierarchyEntryFromCache(curr);
+			} else if (curr.getTypeHierarchy().contains(type)) {
+				synchronized (fgUpdateLock) {
+					// the entry may have been removed meanwhile, then it must not be indexed again
+					if (fgHierarchyCache.contains(curr))
+						fgTypeIndex.putIfAbsent(type, curr);
 				}
+				curr.markAsAccessed();
+				return curr;
 			}
 		}
 		return null;
 	}
 
 	private static void removeHierarchyEntryFromCache(HierarchyCacheEntry entry) {
-		synchronized (fgHierarchyCache) {
-			removeMethodOverrideTester(entry.getTypeHierarchy());
+		synchronized (fgUpdateLock) {
+			if (fgHierarchyCache.remove(entry))
+				fgCacheWeight-= entry.getWeight();
+			for (IType type : entry.getTypes()) {
+				fgTypeIndex.remove(type, entry);
+			}
 			entry.dispose();
-			fgHierarchyCache.remove(entry);
 		}
 	}
 
+	private static void removeAllHierarchyEntriesFromCache() {
+		synchronized (fgUpdateLock) {
+			for (HierarchyCacheEntry entry : fgHierarchyCache) {
+				removeHierarchyEntryFromCache(entry);
+			}
+		}
+	}
+
+	private static void elementChanged(ElementChangedEvent event) {
+		if (fgHierarchyCache.isEmpty())
+			return;
+
+		Set<IJavaElement> changedTypeRoots= new HashSet<>();
+		if (collectChangedTypeRoots(event.getDelta(), changedTypeRoots)) {
+			removeAllHierarchyEntriesFromCache();
+		} else if (!changedTypeRoots.isEmpty()) {
+			synchronized (fgUpdateLock) {
+				for (HierarchyCacheEntry entry : fgHierarchyCache) {
+					if (entry.isAffected(changedTypeRoots))
+						removeHierarchyEntryFromCache(entry);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects the compilation units and class files whose changes can affect the hierarchies of
+	 * their types.
+	 *
+	 * @param delta the delta
+	 * @param changedTypeRoots the set to which the changed type roots are added
+	 * @return <code>true</code> if the change can affect any hierarchy
+	 */
+	private static boolean collectChangedTypeRoots(IJavaElementDelta delta, Set<IJavaElement> changedTypeRoots) {
+		int flags= delta.getFlags();
+		if ((flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+				| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0)
+			return true;
+
+		IJavaElement element= delta.getElement();
+		int kind= delta.getKind();
+		switch (element.getElementType()) {
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				if (kind == IJavaElementDelta.ADDED)
+					return true;
+				if (kind == IJavaElementDelta.REMOVED || (flags & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+					if (kind == IJavaElementDelta.REMOVED || (flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN)) != 0)
+						changedTypeRoots.add(element.getPrimaryElement());
+					return false;
+				}
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					if (isTypeAdded(child))
+						return true;
+					if (isDeclarationChanged(child))
+						changedTypeRoots.add(element.getPrimaryElement());
+				}
+				return false;
+			default:
+				if (kind != IJavaElementDelta.CHANGED)
+					return true; // e.g. a package with types
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					if (collectChangedTypeRoots(child, changedTypeRoots))
+						return true;
+				}
+				return false;
+		}
+	}
+
+	private static boolean isTypeAdded(IJavaElementDelta delta) {
+		if (delta.getElement().getElementType() != IJavaElement.TYPE)
+			return false;
+		if (delta.getKind() == IJavaElementDelta.ADDED)
+			return true;
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isTypeAdded(child))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Tests whether a fine grained delta below a compilation unit changes a declaration that a
+	 * hierarchy or a method override tester depends on. A changed type parameter bound is only
+	 * reported as a content change of its type or method, so content changes of types and methods
+	 * count as declaration changes. Content changes of other members, e.g. of a field
+	 * initializer, do not.
+	 *
+	 * @param delta the delta
+	 * @return <code>true</code> if a declaration has changed
+	 */
+	private static boolean isDeclarationChanged(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED)
+			return true;
+		if ((delta.getFlags() & (IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MODIFIERS)) != 0)
+			return true;
+		switch (delta.getElement().getElementType()) {
+			case IJavaElement.IMPORT_CONTAINER:
+			case IJavaElement.IMPORT_DECLARATION:
+			case IJavaElement.PACKAGE_DECLARATION:
+				return true;
+			case IJavaElement.TYPE:
+			case IJavaElement.METHOD:
+				if ((delta.getFlags() & IJavaElementDelta.F_CONTENT) != 0)
+					return true;
+				break;
+			default:
+				break;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isDeclarationChanged(child))
+				return true;
+		}
+		return false;
+	}
+
 
 	/**
 	 * Gets the number of times the hierarchy could be taken from the hierarchy.
 	 * @return Returns a int
 	 */
 	public static int getCacheHits() {
-		return fgCacheHits;
+		return fgCacheHits.get();
 	}
 
 	/**
@@ -230,7 +408,25 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheMisses() {
-		return fgCacheMisses;
+		return fgCacheMisses.get();
+	}
+
+	/**
+	 * Gets the number of cached hierarchies. Used for testing.
+	 * @return Returns a int
+	 */
+	public static int getCacheSize() {
+		return fgHierarchyCache.size();
+	}
+
+	/**
+	 * Gets the total number of types in the cached hierarchies.
+	 * @return Returns a int
+	 */
+	public static int getCacheWeight() {
+		synchronized (fgUpdateLock) {
+			return fgCacheWeight;
+		}
 	}
 
 	private SuperTypeHierarchyCache() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -71,8 +71,20 @@ public class RefactoringScanner {
 	}
 
 	public void scan(ICompilationUnit cu)	throws JavaModelException {
-		char[] chars= cu.getBuffer().getCharacters();
+		scan(cu, cu.getBuffer().getCharacters());
+	}
+
+	/**
+	 * Scans the given source of a compilation unit. Sources that do not contain the name are not
+	 * tokenized.
+	 *
+	 * @param cu the compilation unit, used for the compiler options
+	 * @param chars the contents of the compilation unit
+	 */
+	public void scan(ICompilationUnit cu, char[] chars) {
 		fMatches= new HashSet<>();
+		if (!contains(chars, fName))
+			return;
 		IJavaProject javaProject= cu.getJavaProject();
         if (javaProject != null) {
             String sourceLevel = javaProject.getOption(JavaCore.COMPILER_SOURCE, true);
@@ -104,6 +116,8 @@ public class RefactoringScanner {
 	public void scan(String text) {
 		char[] chars= text.toCharArray();
 		fMatches= new HashSet<>();
+		if (!contains(chars, fName))
+			return;
 		fScanner= ToolFactory.createScanner(true, true, false, true);
 		fScanner.setSource(chars);
 		doScan();
@@ -128,6 +142,32 @@ public class RefactoringScanner {
 		}
 	}
 
+	/**
+	 * Tells whether a source contains a name anywhere, without tokenizing it. All textual matches
+	 * are contained in the raw source, so a source without the name has no matches.
+	 *
+	 * @param source the source
+	 * @param name the name
+	 * @return <code>true</code> if the source contains the name
+	 */
+	public static boolean contains(char[] source, String name) {
+		int length= name.length();
+		if (length == 0)
+			return true;
+		char first= name.charAt(0);
+		int last= source.length - length;
+		outer: for (int i= 0; i <= last; i++) {
+			if (source[i] != first)
+				continue;
+			for (int j= 1; j < length; j++) {
+				if (source[i + j] != name.charAt(j))
+					continue outer;
+			}
+			return true;
+		}
+		return false;
+	}
+
 	private static boolean isWholeWord(String value, int from, int to){
 		if (from > 0) {
 			char ch= value.charAt(from - 1);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -422,7 +422,7 @@ public class RenamePackageProcessor extends JavaRenameProcessor implements
 			if (result.hasFatalError())
 				return result;
 
-			fChangeManager= new TextChangeManager();
+			fChangeManager= new TextChangeManager(false, true); // package renames can touch many units
 			fImportsManager= new ImportsManager();
 
 			IProgressMonitor subPm= Progress.subMonitor(pm, 16);
@@ -447,6 +447,7 @@ public class RenamePackageProcessor extends JavaRenameProcessor implements
 			if (fUpdateQualifiedNames)
 				computeQualifiedNameMatches(Progress.subMonitor(pm, 10));
 
+			result.merge(fChangeManager.getStatus());
 			return result;
 		} finally{
 			pm.done();
@@ -594,7 +595,7 @@ public class RenamePackageProcessor extends JavaRenameProcessor implements
 			monitor.beginTask(RefactoringCoreMessages.RenamePackageRefactoring_creating_change, 1);
 			final RenameJavaElementDescriptor descriptor= createRefactoringDescriptor();
 			final DynamicValidationRefactoringChange result= new DynamicValidationRefactoringChange(descriptor, RefactoringCoreMessages.RenamePackageRefactoring_change_name);
-			result.addAll(fChangeManager.getAllChanges());
+			result.addAll(fChangeManager.getAllChangesLazily());
 			fRenamePackageChange= new RenamePackageChange( fPackage, getNewElementName(),  fRenameSubpackages);
 			result.add(fRenamePackageChange);
 			monitor.worked(1);
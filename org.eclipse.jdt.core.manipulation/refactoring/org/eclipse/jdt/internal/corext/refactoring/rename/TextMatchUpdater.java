@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,17 +13,28 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.rename;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -44,12 +55,14 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchMatch;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
 import org.eclipse.jdt.internal.corext.refactoring.SearchResultGroup;
 import org.eclipse.jdt.internal.corext.refactoring.changes.TextChangeCompatibility;
 import org.eclipse.jdt.internal.corext.refactoring.rename.RefactoringScanner.TextMatch;
 import org.eclipse.jdt.internal.corext.refactoring.tagging.ITextUpdating;
 import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
+import org.eclipse.jdt.internal.corext.util.ConcurrencyUtil;
 
 import org.eclipse.jdt.internal.ui.util.Progress;
 
@@ -62,15 +75,24 @@ public class TextMatchUpdater {
 			RefactoringCoreMessages.TextMatchUpdater_textualMatches_name,
 			RefactoringCoreMessages.TextMatchUpdater_textualMatches_description));
 
+	/**
+	 * The maximum number of compilation units that are scanned concurrently.
+	 */
+	private static final int PARALLELISM= Integer.getInteger("org.eclipse.jdt.core.manipulation.textMatchUpdater.parallelism", //$NON-NLS-1$
+			Math.min(4, Runtime.getRuntime().availableProcessors())).intValue();
+
 	private final IJavaSearchScope fScope;
 	private final TextChangeManager fManager;
 	private final SearchResultGroup[] fReferences;
 	private final boolean fOnlyQualified;
 
-	private final RefactoringScanner fScanner;
+	private final String fCurrentName;
+	private final String fCurrentQualifier;
 	private final String fNewName;
 	private final int fCurrentNameLength;
 
+	private int fParallelism= -1;
+
 	private TextMatchUpdater(TextChangeManager manager, IJavaSearchScope scope, String currentName, String currentQualifier, String newName, SearchResultGroup[] references, boolean onlyQualified){
 		Assert.isNotNull(manager);
 		Assert.isNotNull(scope);
@@ -81,14 +103,37 @@ public class TextMatchUpdater {
 		fOnlyQualified= onlyQualified;
 
 		fNewName= newName;
+		fCurrentName= currentName;
+		fCurrentQualifier= currentQualifier;
 		fCurrentNameLength= currentName.length();
-		fScanner= new RefactoringScanner(currentName, currentQualifier);
 	}
 
 	public static void perform(IProgressMonitor pm, IJavaSearchScope scope, String currentName, String currentQualifier, String newName, TextChangeManager manager, SearchResultGroup[] references, boolean onlyQualified) throws JavaModelException{
 		new TextMatchUpdater(manager, scope, currentName, currentQualifier, newName, references, onlyQualified).updateTextMatches(pm);
 	}
 
+	/**
+	 * Updates the textual matches with the given number of threads, regardless of the number of
+	 * compilation units in the scope.
+	 *
+	 * @param pm the progress monitor
+	 * @param scope the scope
+	 * @param currentName the current name of the element
+	 * @param currentQualifier the current qualifier of the element
+	 * @param newName the new name of the element
+	 * @param manager the manager to which the text updates are added
+	 * @param references the references which are not updated as textual matches
+	 * @param onlyQualified whether only qualified textual matches are updated
+	 * @param parallelism the number of compilation units scanned concurrently, a value smaller than
+	 *            2 scans the units one after the other
+	 * @throws JavaModelException if a compilation unit could not be read
+	 */
+	public static void perform(IProgressMonitor pm, IJavaSearchScope scope, String currentName, String currentQualifier, String newName, TextChangeManager manager, SearchResultGroup[] references, boolean onlyQualified, int parallelism) throws JavaModelException{
+		TextMatchUpdater updater= new TextMatchUpdater(manager, scope, currentName, currentQualifier, newName, references, onlyQualified);
+		updater.fParallelism= parallelism;
+		updater.updateTextMatches(pm);
+	}
+
 	public static void perform(IProgressMonitor pm, IJavaSearchScope scope, ITextUpdating processor, TextChangeManager manager, SearchResultGroup[] references) throws JavaModelException{
 		new TextMatchUpdater(manager, scope, processor.getCurrentElementName(), processor.getCurrentElementQualifier(), processor.getNewElementName(), references, false).updateTextMatches(pm);
 	}
@@ -97,12 +142,14 @@ public class TextMatchUpdater {
 		try{
 			IProject[] projectsInScope= getProjectsInScope();
 
-			pm.beginTask("", projectsInScope.length); //$NON-NLS-1$
+			pm.beginTask("", 2 * projectsInScope.length); //$NON-NLS-1$
+			List<ICompilationUnit> units= new ArrayList<>();
 			for (IProject project : projectsInScope) {
 				if (pm.isCanceled())
 					throw new OperationCanceledException();
-				addTextMatches(project, Progress.subMonitor(pm, 1));
+				addCompilationUnits(project, units, Progress.subMonitor(pm, 1));
 			}
+			addTextMatches(units, Progress.subMonitor(pm, projectsInScope.length));
 		} finally{
 			pm.done();
 		}
@@ -121,7 +168,7 @@ public class TextMatchUpdater {
 		return projectsInScope.toArray(new IProject[projectsInScope.size()]);
 	}
 
-	private void addTextMatches(IResource resource, IProgressMonitor pm) throws JavaModelException{
+	private void addCompilationUnits(IResource resource, List<ICompilationUnit> units, IProgressMonitor pm) throws JavaModelException{
 		try{
 			String task= RefactoringCoreMessages.TextMatchUpdater_searching + resource.getFullPath();
 			if (resource instanceof IFile){
@@ -133,7 +180,7 @@ public class TextMatchUpdater {
 					return;
 				if (! fScope.encloses(element))
 					return;
-				addCuTextMatches((ICompilationUnit) element);
+				units.add((ICompilationUnit) element);
 
 			} else if (resource instanceof IContainer){
 				IResource[] members= ((IContainer) resource).members();
@@ -142,7 +189,7 @@ public class TextMatchUpdater {
 				for (IResource member : members) {
 					if (pm.isCanceled())
 						throw new OperationCanceledException();
-					addTextMatches(member, Progress.subMonitor(pm, 1));
+					addCompilationUnits(member, units, Progress.subMonitor(pm, 1));
 				}
 			}
 		} catch (JavaModelException e){
@@ -154,10 +201,107 @@ public class TextMatchUpdater {
 		}
 	}
 
-	private void addCuTextMatches(ICompilationUnit cu) throws JavaModelException{
-		fScanner.scan(cu);
-		Set<TextMatch> matches= fScanner.getMatches(); //Set of TextMatch
-		if (matches.isEmpty())
+	/**
+	 * Scans the compilation units, concurrently if there are enough of them, and adds the text
+	 * updates in the order of the units.
+	 *
+	 * @param units the compilation units in the scope
+	 * @param pm the progress monitor
+	 * @throws JavaModelException if a compilation unit could not be read
+	 */
+	private void addTextMatches(List<ICompilationUnit> units, IProgressMonitor pm) throws JavaModelException {
+		pm.beginTask(RefactoringCoreMessages.TextMatchUpdater_update, units.size());
+		try {
+			int parallelism= fParallelism < 0 ? Math.min(PARALLELISM, units.size() / 16) : Math.min(fParallelism, units.size());
+			if (parallelism <= 1) {
+				RefactoringScanner scanner= new RefactoringScanner(fCurrentName, fCurrentQualifier);
+				for (ICompilationUnit cu : units) {
+					if (pm.isCanceled())
+						throw new OperationCanceledException();
+					addCuTextMatches(cu, scanCu(cu, scanner));
+					pm.worked(1);
+				}
+				return;
+			}
+
+			List<Future<Set<TextMatch>>> futures= new ArrayList<>(units.size());
+			try (ExecutorService executor= Executors.newFixedThreadPool(parallelism)) {
+				for (ICompilationUnit cu : units) {
+					futures.add(executor.submit(() -> {
+						if (pm.isCanceled())
+							throw new OperationCanceledException();
+						return scanCu(cu, new RefactoringScanner(fCurrentName, fCurrentQualifier));
+					}));
+				}
+
+				boolean completed= false;
+				try {
+					for (int i= 0; i < units.size(); i++) {
+						addCuTextMatches(units.get(i), futures.get(i).get());
+						pm.worked(1);
+					}
+					completed= true;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new OperationCanceledException();
+				} catch (ExecutionException e) {
+					throw ConcurrencyUtil.rethrowCause(e, JavaModelException.class);
+				} finally {
+					if (!completed)
+						executor.shutdownNow();
+				}
+			}
+		} finally {
+			pm.done();
+		}
+	}
+
+	/**
+	 * Scans a compilation unit for textual matches. Units that are not open are read from their
+	 * file, so that units without matches are not opened.
+	 *
+	 * @param cu the compilation unit
+	 * @param scanner the scanner to use
+	 * @return the matches, or <code>null</code> if there are none
+	 * @throws JavaModelException if the compilation unit could not be read
+	 */
+	private static Set<TextMatch> scanCu(ICompilationUnit cu, RefactoringScanner scanner) throws JavaModelException {
+		char[] source;
+		IResource resource= cu.getResource();
+		if (cu.isOpen() || !(resource instanceof IFile)) {
+			source= cu.getBuffer().getCharacters();
+		} else {
+			source= getContents((IFile) resource);
+		}
+		if (source == null)
+			return null;
+		scanner.scan(cu, source);
+		Set<TextMatch> matches= scanner.getMatches();
+		return matches.isEmpty() ? null : matches;
+	}
+
+	private static char[] getContents(IFile file) throws JavaModelException {
+		try (InputStream contents= file.getContents(); Reader reader= new InputStreamReader(contents, file.getCharset())) {
+			StringBuilder builder= new StringBuilder();
+			char[] buffer= new char[8192];
+			int read;
+			while ((read= reader.read(buffer)) != -1) {
+				builder.append(buffer, 0, read);
+			}
+			// the buffer of a compilation unit does not contain the byte order mark
+			int start= builder.length() > 0 && builder.charAt(0) == '\uFEFF' ? 1 : 0;
+			char[] chars= new char[builder.length() - start];
+			builder.getChars(start, builder.length(), chars, 0);
+			return chars;
+		} catch (IOException e) {
+			throw new JavaModelException(new CoreException(new Status(IStatus.ERROR, JavaManipulationPlugin.getPluginId(), e.getMessage(), e)));
+		} catch (CoreException e) {
+			throw new JavaModelException(e);
+		}
+	}
+
+	private void addCuTextMatches(ICompilationUnit cu, Set<TextMatch> matches) {
+		if (matches == null)
 			return;
 
 		removeReferences(cu, matches);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@
 package org.eclipse.jdt.internal.corext.refactoring.util;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.regex.Pattern;
@@ -45,10 +46,12 @@ import org.eclipse.ltk.core.refactoring.TextChange;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.JavaCore;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
 import org.eclipse.jdt.internal.corext.refactoring.changes.TextChangeCompatibility;
 
 import org.eclipse.jdt.internal.ui.util.PatternConstructor;
+import org.eclipse.jdt.internal.ui.util.Progress;
 
 
 public class QualifiedNameFinder {
@@ -144,8 +147,22 @@ public class QualifiedNameFinder {
 		ResultCollector collector= new ResultCollector(result, newValue);
 		TextSearchEngine engine= TextSearchEngine.create();
 		Pattern searchPattern= PatternConstructor.createPattern(pattern, true, false);
-
-		engine.search(createScope(filePatterns, root), collector, searchPattern, monitor);
+		TextSearchScope scope= createScope(filePatterns, root);
+
+		monitor.beginTask("", 2); //$NON-NLS-1$
+		try {
+			List<IFile> candidates;
+			try {
+				candidates= QualifiedNameIndex.getDefault().getCandidates(scope, collector, pattern, Progress.subMonitor(monitor, 1));
+			} catch (CoreException e) {
+				JavaManipulationPlugin.log(e);
+				engine.search(scope, collector, searchPattern, Progress.subMonitor(monitor, 1));
+				return;
+			}
+			engine.search(candidates.toArray(new IFile[candidates.size()]), collector, searchPattern, Progress.subMonitor(monitor, 1));
+		} finally {
+			monitor.done();
+		}
 	}
 
 	private static TextSearchScope createScope(String filePatterns, IProject root) {
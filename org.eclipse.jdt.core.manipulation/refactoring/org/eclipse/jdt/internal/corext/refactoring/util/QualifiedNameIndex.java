@@ -0,0 +1,344 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.core.text.TextSearchScope;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+
+/**
+ * A workspace wide index of the qualified names contained in non-Java text files, used by
+ * {@link QualifiedNameFinder} to only search the files that can contain a qualified name.
+ * <p>
+ * A qualified name matches where it starts a run of Java identifier parts and dots, and is either
+ * followed by the end of the run or by a dot. For each file, the index keeps the sorted hashes of
+ * all such prefixes of the runs. The candidates for a name are therefore a superset of the files
+ * in which {@link QualifiedNameFinder} finds a match, hash collisions only add candidates.
+ * </p>
+ * <p>
+ * Entries are validated against the modification stamp of their file and are removed when the
+ * file changes. Stale files are indexed again when they are next searched. Files with unsaved
+ * changes are always candidates.
+ * </p>
+ *
+ * @since 1.23
+ */
+public final class QualifiedNameIndex {
+
+	/**
+	 * Maximal number of hashes kept by the index. Files that are indexed when the index is full are
+	 * not added and have to be read again by the next search.
+	 */
+	private static final int MAX_HASHES= Integer.getInteger("org.eclipse.jdt.core.manipulation.qualifiedNameIndex.size", 1 << 22).intValue(); //$NON-NLS-1$
+
+	private static final int[] NO_HASHES= new int[0];
+
+	private static final class Entry {
+
+		final long fStamp;
+
+		/**
+		 * The sorted hashes of the qualified names in the file.
+		 */
+		final int[] fHashes;
+
+		Entry(long stamp, int[] hashes) {
+			fStamp= stamp;
+			fHashes= hashes;
+		}
+	}
+
+	private static QualifiedNameIndex fgInstance;
+
+	private final Map<IFile, Entry> fEntries= new ConcurrentHashMap<>();
+
+	private final AtomicLong fHashCount= new AtomicLong();
+
+	private final AtomicLong fHits= new AtomicLong();
+
+	private final AtomicLong fMisses= new AtomicLong();
+
+	private IResourceChangeListener fListener;
+
+	public static synchronized QualifiedNameIndex getDefault() {
+		if (fgInstance == null) {
+			fgInstance= new QualifiedNameIndex();
+		}
+		return fgInstance;
+	}
+
+	private QualifiedNameIndex() {
+	}
+
+	/**
+	 * Returns the files of a scope that can contain a qualified name.
+	 *
+	 * @param scope the scope of the search
+	 * @param requestor the requestor of the search, only files accepted by
+	 *            {@link TextSearchRequestor#acceptFile(IFile)} are returned
+	 * @param name the qualified name
+	 * @param monitor the progress monitor
+	 * @return the candidate files
+	 * @throws CoreException if the files of the scope could not be visited
+	 */
+	public List<IFile> getCandidates(TextSearchScope scope, TextSearchRequestor requestor, String name, IProgressMonitor monitor) throws CoreException {
+		installListener();
+
+		List<IFile> files= new ArrayList<>();
+		for (IResource root : scope.getRoots()) {
+			if (!root.isAccessible())
+				continue;
+			root.accept((IResourceProxy proxy) -> {
+				if (!scope.contains(proxy))
+					return false;
+				if (proxy.getType() == IResource.FILE) {
+					IFile file= (IFile) proxy.requestResource();
+					if (requestor.acceptFile(file))
+						files.add(file);
+				}
+				return true;
+			}, IResource.NONE);
+		}
+
+		if (!isIndexable(name))
+			return files;
+
+		monitor.beginTask("", files.size()); //$NON-NLS-1$
+		try {
+			int hash= name.hashCode();
+			List<IFile> candidates= new ArrayList<>();
+			for (IFile file : files) {
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+				if (isDirty(file) || Arrays.binarySearch(getHashes(file), hash) >= 0)
+					candidates.add(file);
+				monitor.worked(1);
+			}
+			return candidates;
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		fEntries.clear();
+		fHashCount.set(0);
+	}
+
+	public long getHitCount() {
+		return fHits.get();
+	}
+
+	public long getMissCount() {
+		return fMisses.get();
+	}
+
+	@Override
+	public String toString() {
+		return "QualifiedNameIndex [files=" + fEntries.size() + ", hashes=" + fHashCount.get() + ", hits=" + fHits.get() + ", misses=" + fMisses.get() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+
+	private int[] getHashes(IFile file) throws CoreException {
+		long stamp= file.getModificationStamp();
+		Entry entry= fEntries.get(file);
+		if (entry != null && entry.fStamp == stamp) {
+			fHits.incrementAndGet();
+			return entry.fHashes;
+		}
+		fMisses.incrementAndGet();
+
+		int[] hashes= computeHashes(getContents(file));
+		if (fHashCount.get() + hashes.length <= MAX_HASHES) {
+			Entry previous= fEntries.put(file, new Entry(stamp, hashes));
+			fHashCount.addAndGet(hashes.length - (previous != null ? previous.fHashes.length : 0));
+		} else if (entry != null) {
+			remove(file);
+		}
+		return hashes;
+	}
+
+	private void remove(IFile file) {
+		Entry entry= fEntries.remove(file);
+		if (entry != null)
+			fHashCount.addAndGet(-entry.fHashes.length);
+	}
+
+	/**
+	 * Tells whether only the files with a prefix hash of a name can contain the name.
+	 *
+	 * @param name the qualified name
+	 * @return <code>false</code> if the name contains characters that end a run
+	 */
+	private static boolean isIndexable(String name) {
+		if (name.isEmpty())
+			return false;
+		for (int i= 0; i < name.length(); i++) {
+			if (!isRunPart(name.charAt(i)))
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean isRunPart(char ch) {
+		return ch == '.' || Character.isJavaIdentifierPart(ch);
+	}
+
+	/**
+	 * Computes the hashes of the prefixes of all runs of Java identifier parts and dots that end at
+	 * a dot or at the end of the run.
+	 *
+	 * <p>
+	 * Note: This method is for internal use only. It is public for tests.
+	 * </p>
+	 *
+	 * @param contents the contents of a file
+	 * @return the sorted, distinct hashes
+	 */
+	public static int[] computeHashes(char[] contents) {
+		int[] hashes= new int[64];
+		int count= 0;
+		int i= 0;
+		while (i < contents.length) {
+			if (!isRunPart(contents[i])) {
+				i++;
+				continue;
+			}
+			int hash= 0;
+			int length= 0;
+			while (i < contents.length && isRunPart(contents[i])) {
+				char ch= contents[i];
+				if (ch == '.' && length > 0) {
+					// the prefix before the dot
+					if (count == hashes.length)
+						hashes= Arrays.copyOf(hashes, 2 * count);
+					hashes[count++]= hash;
+				}
+				hash= 31 * hash + ch;
+				length++;
+				i++;
+			}
+			if (count == hashes.length)
+				hashes= Arrays.copyOf(hashes, 2 * count);
+			hashes[count++]= hash;
+		}
+		if (count == 0)
+			return NO_HASHES;
+
+		Arrays.sort(hashes, 0, count);
+		int distinct= 1;
+		for (int k= 1; k < count; k++) {
+			if (hashes[k] != hashes[distinct - 1])
+				hashes[distinct++]= hashes[k];
+		}
+		return Arrays.copyOf(hashes, distinct);
+	}
+
+	private static boolean isDirty(IFile file) {
+		ITextFileBuffer buffer= FileBuffers.getTextFileBufferManager().getTextFileBuffer(file.getFullPath(), LocationKind.IFILE);
+		return buffer != null && buffer.isDirty();
+	}
+
+	private static char[] getContents(IFile file) throws CoreException {
+		try (InputStream contents= file.getContents(true); Reader reader= new InputStreamReader(contents, file.getCharset())) {
+			StringBuilder builder= new StringBuilder();
+			char[] buffer= new char[8192];
+			int read;
+			while ((read= reader.read(buffer)) != -1) {
+				builder.append(buffer, 0, read);
+			}
+			// a byte order mark would start the first run, the search does not see it
+			int start= builder.length() > 0 && builder.charAt(0) == '\uFEFF' ? 1 : 0;
+			char[] chars= new char[builder.length() - start];
+			builder.getChars(start, builder.length(), chars, 0);
+			return chars;
+		} catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR, JavaManipulationPlugin.getPluginId(), e.getMessage(), e));
+		}
+	}
+
+	private synchronized void installListener() {
+		if (fListener != null)
+			return;
+
+		fListener= (IResourceChangeEvent event) -> {
+			IResourceDelta delta= event.getDelta();
+			if (delta != null)
+				processDelta(delta);
+		};
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(fListener, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	private void processDelta(IResourceDelta delta) {
+		IResource resource= delta.getResource();
+		switch (resource.getType()) {
+			case IResource.FILE:
+				if (delta.getKind() == IResourceDelta.REMOVED
+						|| (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED | IResourceDelta.ENCODING)) != 0)
+					remove((IFile) resource);
+				return;
+			case IResource.PROJECT:
+				if (delta.getKind() == IResourceDelta.REMOVED || (delta.getFlags() & IResourceDelta.OPEN) != 0) {
+					removeAll((IProject) resource);
+					return;
+				}
+				break;
+			default:
+				break;
+		}
+		for (IResourceDelta child : delta.getAffectedChildren()) {
+			processDelta(child);
+		}
+	}
+
+	private void removeAll(IProject project) {
+		for (IFile file : new ArrayList<>(fEntries.keySet())) {
+			if (project.equals(file.getProject()))
+				remove(file);
+		}
+	}
+}
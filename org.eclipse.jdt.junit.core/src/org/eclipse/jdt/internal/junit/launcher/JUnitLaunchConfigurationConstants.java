@@ -63,6 +63,12 @@ public class JUnitLaunchConfigurationConstants {
 	public static final String ATTR_TEST_METHOD_NAME= ATTR_TEST_NAME;
 
 	public static final String ATTR_KEEPRUNNING = JUnitCorePlugin.PLUGIN_ID+ ".KEEPRUNNING_ATTR"; //$NON-NLS-1$
+
+	/**
+	 * <code>false</code> if the test runner must send its messages in the text protocol instead of
+	 * the binary protocol. Default is <code>true</code>.
+	 */
+	public static final String ATTR_BINARY_PROTOCOL= JUnitCorePlugin.PLUGIN_ID + ".BINARY_PROTOCOL"; //$NON-NLS-1$
 	/**
 	 * The launch container, or "" iff running a single test type.
 	 */
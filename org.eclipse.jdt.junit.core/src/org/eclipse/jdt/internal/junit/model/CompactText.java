@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A text that is kept compressed if it is long, like failure traces and the expected and actual
+ * values of comparison failures. The text is only inflated when it is requested.
+ */
+final class CompactText {
+
+	/**
+	 * Texts shorter than this are not compressed.
+	 */
+	private static final int MIN_COMPRESSED_LENGTH= 1024;
+
+	/**
+	 * The text, or <code>null</code> if it is compressed.
+	 */
+	private final String fText;
+
+	/**
+	 * The deflated UTF-8 bytes of the text, or <code>null</code> if it is not compressed.
+	 */
+	private final byte[] fCompressed;
+	private final int fByteLength;
+
+	private CompactText(String text, byte[] compressed, int byteLength) {
+		fText= text;
+		fCompressed= compressed;
+		fByteLength= byteLength;
+	}
+
+	/**
+	 * @param text the text, can be <code>null</code>
+	 * @return the compact text, or <code>null</code> if <code>text</code> is <code>null</code>
+	 */
+	static CompactText of(String text) {
+		if (text == null)
+			return null;
+		if (text.length() < MIN_COMPRESSED_LENGTH)
+			return new CompactText(text, null, 0);
+
+		byte[] bytes= text.getBytes(StandardCharsets.UTF_8);
+		Deflater deflater= new Deflater(Deflater.BEST_SPEED);
+		try {
+			deflater.setInput(bytes);
+			deflater.finish();
+			ByteArrayOutputStream out= new ByteArrayOutputStream(bytes.length / 4);
+			byte[] buffer= new byte[4096];
+			while (! deflater.finished()) {
+				int count= deflater.deflate(buffer);
+				out.write(buffer, 0, count);
+			}
+			if (out.size() >= bytes.length)
+				return new CompactText(text, null, 0); // not worth it
+			return new CompactText(null, out.toByteArray(), bytes.length);
+		} finally {
+			deflater.end();
+		}
+	}
+
+	/**
+	 * @param text a compact text, can be <code>null</code>
+	 * @return the text, or <code>null</code> if <code>text</code> is <code>null</code>
+	 */
+	static String getText(CompactText text) {
+		return text != null ? text.getText() : null;
+	}
+
+	String getText() {
+		if (fText != null)
+			return fText;
+
+		Inflater inflater= new Inflater();
+		try {
+			inflater.setInput(fCompressed);
+			byte[] bytes= new byte[fByteLength];
+			int length= 0;
+			while (length < fByteLength && ! inflater.finished()) {
+				length+= inflater.inflate(bytes, length, fByteLength - length);
+			}
+			return new String(bytes, 0, length, StandardCharsets.UTF_8);
+		} catch (DataFormatException e) {
+			throw new IllegalStateException(e);
+		} finally {
+			inflater.end();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -477,6 +477,7 @@ public final class JUnitModel {
 			SAXParser parser= parserFactory.newSAXParser();
 			TestRunHandler handler= new TestRunHandler(testRunSession);
 			parser.parse(swapFile, handler);
+			testRunSession.releaseStringPool();
 		} catch (ParserConfigurationException | SAXException e) {
 			throwImportError(swapFile, e);
 		} catch (IOException e) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,8 +15,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
@@ -30,6 +32,7 @@ import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.SafeRunner;
 
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageReader;
 import org.eclipse.jdt.internal.junit.runner.MessageIds;
 import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
 
@@ -89,11 +92,13 @@ public class RemoteTestRunnerClient {
 	            return this;
 	        }
 	        if (message.startsWith(MessageIds.TEST_START)) {
-	            notifyTestStarted(arg);
+	            String s[]= extractTestId(arg);
+	            notifyTestStarted(s[0], s[1]);
 	            return this;
 	        }
 	        if (message.startsWith(MessageIds.TEST_END)) {
-	            notifyTestEnded(arg);
+	            String s[]= extractTestId(arg);
+	            notifyTestEnded(s[0], s[1]);
 	            return this;
 	        }
 	        if (message.startsWith(MessageIds.TEST_ERROR)) {
@@ -130,6 +135,40 @@ public class RemoteTestRunnerClient {
 	    }
 	}
 
+	/**
+	 * Dispatches the messages received in the binary protocol. Messages that carry
+	 * a test id are dispatched directly in the default state, all other messages are
+	 * passed to the current processing state.
+	 */
+	class BinaryMessageHandler implements BinaryMessageReader.IMessageHandler {
+		@Override
+		public void handleLine(String line) {
+			receiveMessage(line);
+		}
+
+		@Override
+		public void handleMessage(String header, String arg) {
+			receiveMessage(header + arg);
+		}
+
+		@Override
+		public void handleTestMessage(String header, String testId, String arg) {
+			if (fCurrentState != fDefaultState) {
+				receiveMessage(header + testId + ',' + arg);
+			} else if (MessageIds.TEST_START.equals(header)) {
+				notifyTestStarted(testId, arg);
+			} else if (MessageIds.TEST_END.equals(header)) {
+				notifyTestEnded(testId, arg);
+			} else if (MessageIds.TEST_ERROR.equals(header)) {
+				extractFailure(testId, arg, ITestRunListener2.STATUS_ERROR);
+			} else if (MessageIds.TEST_FAILED.equals(header)) {
+				extractFailure(testId, arg, ITestRunListener2.STATUS_FAILURE);
+			} else {
+				receiveMessage(header + testId + ',' + arg);
+			}
+		}
+	}
+
 	/**
 	 * Base class for states in which messages are appended to an internal
 	 * string buffer until an end message is read.
@@ -237,6 +276,7 @@ public class RemoteTestRunnerClient {
 	private int fPort= -1;
 	private PrintWriter fWriter;
 	private PushbackReader fPushbackReader;
+	private BinaryMessageReader fBinaryReader;
 	private String fLastLineDelimiter;
 	/**
 	 * The protocol version
@@ -275,11 +315,21 @@ public class RemoteTestRunnerClient {
 					System.out.println("Creating server socket "+fServerPort); //$NON-NLS-1$
 				fServerSocket= new ServerSocket(fServerPort);
 				fSocket= fServerSocket.accept();
-				fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(fSocket.getInputStream(), StandardCharsets.UTF_8)));
+				InputStream in= new BufferedInputStream(fSocket.getInputStream());
 				fWriter= new PrintWriter(new OutputStreamWriter(fSocket.getOutputStream(), StandardCharsets.UTF_8), true);
-				String message;
-				while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
-					receiveMessage(message);
+				if (readBinaryProtocolHeader(in)) {
+					fBinaryReader= new BinaryMessageReader(in);
+					fLastLineDelimiter= "\n"; //$NON-NLS-1$
+					BinaryMessageHandler handler= new BinaryMessageHandler();
+					while (fBinaryReader != null && fBinaryReader.readFrame(handler)) {
+						// messages are dispatched by the handler
+					}
+				} else {
+					fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+					String message;
+					while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
+						receiveMessage(message);
+				}
 			} catch (SocketException e) {
 				notifyTestRunTerminated();
 			} catch (IOException e) {
@@ -335,6 +385,13 @@ public class RemoteTestRunnerClient {
 			}
 		} catch(IOException e) {
 		}
+		try {
+			if (fBinaryReader != null) {
+				fBinaryReader.close();
+				fBinaryReader= null;
+			}
+		} catch(IOException e) {
+		}
 		try {
 			if (fSocket != null) {
 				fSocket.close();
@@ -355,6 +412,26 @@ public class RemoteTestRunnerClient {
 		return fSocket != null;
 	}
 
+	/**
+	 * Checks whether the runner announced the binary protocol. Consumes the
+	 * announcement if present, otherwise leaves the stream unchanged.
+	 *
+	 * @param in the stream from the runner, must support mark and reset
+	 * @return <code>true</code> if the runner uses the binary protocol
+	 * @throws IOException if reading fails
+	 */
+	private boolean readBinaryProtocolHeader(InputStream in) throws IOException {
+		byte[] header= (MessageIds.BINARY_PROTOCOL + '\n').getBytes(StandardCharsets.UTF_8);
+		in.mark(header.length);
+		for (byte b : header) {
+			if (in.read() != b) {
+				in.reset();
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private String readMessage(PushbackReader in) throws IOException {
 		StringBuilder buf= new StringBuilder(128);
 		int ch;
@@ -438,8 +515,12 @@ public class RemoteTestRunnerClient {
 
 	private void extractFailure(String arg, int status) {
 		String s[]= extractTestId(arg);
-		fFailedTestId= s[0];
-		fFailedTest= s[1];
+		extractFailure(s[0], s[1], status);
+	}
+
+	private void extractFailure(String testId, String testName, int status) {
+		fFailedTestId= testId;
+		fFailedTest= testName;
 		fFailureKind= status;
 	}
 
@@ -521,29 +602,27 @@ public class RemoteTestRunnerClient {
 		}
 	}
 
-	private void notifyTestEnded(final String test) {
+	private void notifyTestEnded(final String testId, final String testName) {
 		if (JUnitCorePlugin.isStopped())
 			return;
 		for (ITestRunListener2 listener : fListeners) {
 			SafeRunner.run(new ListenerSafeRunnable() {
 				@Override
 				public void run() {
-					String s[]= extractTestId(test);
-					listener.testEnded(s[0], s[1]);
+					listener.testEnded(testId, testName);
 				}
 			});
 		}
 	}
 
-	private void notifyTestStarted(final String test) {
+	private void notifyTestStarted(final String testId, final String testName) {
 		if (JUnitCorePlugin.isStopped())
 			return;
 		for (ITestRunListener2 listener : fListeners) {
 			SafeRunner.run(new ListenerSafeRunnable() {
 				@Override
 				public void run() {
-					String s[]= extractTestId(test);
-					listener.testStarted(s[0], s[1]);
+					listener.testStarted(testId, testName);
 				}
 			});
 		}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Shares equal strings and string arrays between the test elements of a test run session.
+ * <p>
+ * Note: This class is for internal use only. It is public for tests.
+ * </p>
+ */
+public final class StringPool {
+
+	private static final class ArrayKey {
+
+		private final String[] fArray;
+		private final int fHashCode;
+
+		ArrayKey(String[] array) {
+			fArray= array;
+			fHashCode= Arrays.hashCode(array);
+		}
+
+		@Override
+		public int hashCode() {
+			return fHashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof ArrayKey && Arrays.equals(fArray, ((ArrayKey) obj).fArray);
+		}
+	}
+
+	private final HashMap<String, String> fStrings= new HashMap<>();
+	private final HashMap<ArrayKey, String[]> fArrays= new HashMap<>();
+
+	/**
+	 * @param string a string, can be <code>null</code>
+	 * @return the pooled string that is equal to <code>string</code>
+	 */
+	public synchronized String get(String string) {
+		if (string == null)
+			return null;
+		String pooled= fStrings.putIfAbsent(string, string);
+		return pooled != null ? pooled : string;
+	}
+
+	/**
+	 * Returns the pooled array that is equal to <code>array</code>. The given array is not
+	 * modified. If its elements are not the pooled strings, a copy with the pooled strings is
+	 * added to the pool.
+	 *
+	 * @param array an array of strings, can be <code>null</code>
+	 * @return the pooled array that is equal to <code>array</code>. Pooled arrays must not be
+	 *         modified.
+	 */
+	public synchronized String[] get(String[] array) {
+		if (array == null)
+			return null;
+		String[] interned= array;
+		for (int i= 0; i < array.length; i++) {
+			if (array[i] != null) {
+				String pooled= fStrings.putIfAbsent(array[i], array[i]);
+				if (pooled != null && pooled != array[i]) {
+					if (interned == array)
+						interned= array.clone();
+					interned[i]= pooled;
+				}
+			}
+		}
+		String[] pooled= fArrays.putIfAbsent(new ArrayKey(interned), interned);
+		return pooled != null ? pooled : interned;
+	}
+}
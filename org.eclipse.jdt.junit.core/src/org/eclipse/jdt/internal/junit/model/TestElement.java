@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -190,9 +190,9 @@ public abstract class TestElement implements ITestElement {
 	private String fUniqueId;
 
 	private Status fStatus;
-	private String fTrace;
-	private String fExpected;
-	private String fActual;
+	private CompactText fTrace;
+	private CompactText fExpected;
+	private CompactText fActual;
 
 	private boolean fAssumptionFailed;
 
@@ -263,7 +263,7 @@ public abstract class TestElement implements ITestElement {
 		Result testResult= getTestResult(false);
 		if (testResult == Result.ERROR || testResult == Result.FAILURE
 				|| (testResult == Result.IGNORED && fTrace != null)) {
-			return new FailureTrace(fTrace, fExpected, fActual);
+			return new FailureTrace(CompactText.getText(fTrace), CompactText.getText(fExpected), CompactText.getText(fActual));
 		}
 		return null;
 	}
@@ -306,11 +306,11 @@ public abstract class TestElement implements ITestElement {
 	public void setStatus(Status status, String trace, String expected, String actual) {
 		if (trace != null && fTrace != null) {
 			//don't overwrite first trace if same test run logs multiple errors
-			fTrace= fTrace + trace;
+			fTrace= CompactText.of(fTrace.getText() + trace);
 		} else {
-			fTrace= trace;
-			fExpected= expected;
-			fActual= actual;
+			fTrace= CompactText.of(trace);
+			fExpected= CompactText.of(expected);
+			fActual= CompactText.of(actual);
 		}
 		setStatus(status);
 	}
@@ -320,15 +320,15 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public String getTrace() {
-		return fTrace;
+		return CompactText.getText(fTrace);
 	}
 
 	public String getExpected() {
-		return fExpected;
+		return CompactText.getText(fExpected);
 	}
 
 	public String getActual() {
-		return fActual;
+		return CompactText.getText(fActual);
 	}
 
 	public boolean isComparisonFailure() {
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.util.HashMap;
+
+/**
+ * Map from test id to test element.
+ * <p>
+ * The test runners number the tests consecutively, so elements with a numeric id are stored in an
+ * array indexed by the id. Other ids, and numeric ids far beyond the current capacity, are kept
+ * in a hash map.
+ * </p>
+ * <p>
+ * Note: This class is for internal use only. It is public for tests.
+ * </p>
+ */
+public final class TestIdMap {
+
+	private static final int INITIAL_CAPACITY= 64;
+
+	private TestElement[] fElements;
+
+	/**
+	 * Elements whose id is not a dense numeric id, or <code>null</code> if there are none.
+	 */
+	private HashMap<String, TestElement> fOtherElements;
+
+	public TestIdMap() {
+		fElements= new TestElement[INITIAL_CAPACITY];
+	}
+
+	public TestElement get(String id) {
+		int index= toIndex(id);
+		if (index >= 0 && index < fElements.length) {
+			TestElement element= fElements[index];
+			if (element != null)
+				return element;
+		}
+		return fOtherElements != null ? fOtherElements.get(id) : null;
+	}
+
+	public void put(String id, TestElement element) {
+		int index= toIndex(id);
+		if (index >= 0 && ensureCapacity(index)) {
+			fElements[index]= element;
+			if (fOtherElements != null)
+				fOtherElements.remove(id);
+		} else {
+			if (fOtherElements == null)
+				fOtherElements= new HashMap<>();
+			fOtherElements.put(id, element);
+		}
+	}
+
+	private boolean ensureCapacity(int index) {
+		int length= fElements.length;
+		if (index < length)
+			return true;
+		if (index > 2 * length)
+			return false; // too sparse
+		TestElement[] elements= new TestElement[Math.max(index + 1, 2 * length)];
+		System.arraycopy(fElements, 0, elements, 0, length);
+		fElements= elements;
+		return true;
+	}
+
+	/**
+	 * Returns the array index of the given id.
+	 *
+	 * @param id the test id
+	 * @return the non-negative int value of <code>id</code>, or <code>-1</code> if it is not the
+	 *         canonical representation of such a value
+	 */
+	private static int toIndex(String id) {
+		int length= id.length();
+		if (length == 0 || length > 9 || (length > 1 && id.charAt(0) == '0'))
+			return -1;
+		int value= 0;
+		for (int i= 0; i < length; i++) {
+			char c= id.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+			value= value * 10 + (c - '0');
+		}
+		return value;
+	}
+}
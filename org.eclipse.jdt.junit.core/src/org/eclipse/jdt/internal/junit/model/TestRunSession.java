@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,7 +21,6 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 
 import org.eclipse.jdt.junit.model.ITestElement;
@@ -86,7 +85,12 @@ public class TestRunSession implements ITestRunSession {
 	/**
 	 * Map from testId to testElement.
 	 */
-	private HashMap<String, TestElement> fIdToTest;
+	private TestIdMap fIdToTest;
+
+	/**
+	 * Pool for the display names and parameter types of the test elements.
+	 */
+	private StringPool fStringPool;
 
 	/**
 	 * The TestSuites for which additional children are expected.
@@ -167,7 +171,8 @@ public class TestRunSession implements ITestRunSession {
 		fTestRunnerKind= ITestKind.NULL; //TODO
 
 		fTestRoot= new TestRoot(this);
-		fIdToTest= new HashMap<>();
+		fIdToTest= new TestIdMap();
+		fStringPool= new StringPool();
 
 		fTestRunnerClient= null;
 
@@ -191,7 +196,8 @@ public class TestRunSession implements ITestRunSession {
 		}
 
 		fTestRoot= new TestRoot(this);
-		fIdToTest= new HashMap<>();
+		fIdToTest= new TestIdMap();
+		fStringPool= new StringPool();
 
 		fTestRunnerClient= new RemoteTestRunnerClient();
 		fTestRunnerClient.startListening(new ITestRunListener2[] { new TestSessionNotifier() }, port);
@@ -238,7 +244,8 @@ public class TestRunSession implements ITestRunSession {
 
 		fTestRoot= new TestRoot(this);
 		fTestResult= null;
-		fIdToTest= new HashMap<>();
+		fIdToTest= new TestIdMap();
+		fStringPool= new StringPool();
 	}
 
 	@Override
@@ -370,11 +377,12 @@ public class TestRunSession implements ITestRunSession {
 		try {
 			File swapFile= getSwapFile();
 
-			JUnitModel.exportTestRunSession(this, swapFile);
+			TestRunSessionStore.write(this, swapFile);
 			fTestResult= fTestRoot.getTestResult(true);
 			fTestRoot= null;
 			fTestRunnerClient= null;
-			fIdToTest= new HashMap<>();
+			fIdToTest= new TestIdMap();
+			fStringPool= new StringPool();
 			fIncompleteTestSuites= null;
 			fFactoryTestSuites= null;
 			fUnrootedSuite= null;
@@ -393,13 +401,24 @@ public class TestRunSession implements ITestRunSession {
 		File swapFile= getSwapFile();
 		if (swapFile.exists())
 			swapFile.delete();
+		File legacySwapFile= getLegacySwapFile();
+		if (legacySwapFile.exists())
+			legacySwapFile.delete();
 	}
 
 	private File getSwapFile() throws IllegalStateException {
-		File historyDir= JUnitCorePlugin.getHistoryDirectory();
-		String isoTime= new SimpleDateFormat("yyyyMMdd-HHmmss.SSS").format(new Date(getStartTime())); //$NON-NLS-1$
-		String swapFileName= isoTime + ".xml"; //$NON-NLS-1$
-		return new File(historyDir, swapFileName);
+		return new File(JUnitCorePlugin.getHistoryDirectory(), getSwapFileBaseName() + TestRunSessionStore.FILE_EXTENSION);
+	}
+
+	/**
+	 * @return the XML swap file written by earlier versions
+	 */
+	private File getLegacySwapFile() throws IllegalStateException {
+		return new File(JUnitCorePlugin.getHistoryDirectory(), getSwapFileBaseName() + ".xml"); //$NON-NLS-1$
+	}
+
+	private String getSwapFileBaseName() {
+		return new SimpleDateFormat("yyyyMMdd-HHmmss.SSS").format(new Date(getStartTime())); //$NON-NLS-1$
 	}
 
 
@@ -408,7 +427,11 @@ public class TestRunSession implements ITestRunSession {
 			return;
 
 		try {
-			JUnitModel.importIntoTestRunSession(getSwapFile(), this);
+			File swapFile= getSwapFile();
+			if (swapFile.exists())
+				TestRunSessionStore.read(swapFile, this);
+			else
+				JUnitModel.importIntoTestRunSession(getLegacySwapFile(), this);
 		} catch (IllegalStateException | CoreException e) {
 			JUnitCorePlugin.log(e);
 			fTestRoot= new TestRoot(this);
@@ -473,6 +496,14 @@ public class TestRunSession implements ITestRunSession {
 		return false;
 	}
 
+	/**
+	 * Releases the string pool once all test elements have been created. The pooled strings stay
+	 * shared by the existing elements.
+	 */
+	void releaseStringPool() {
+		fStringPool= new StringPool();
+	}
+
 	public TestElement getTestElement(String id) {
 		return fIdToTest.get(id);
 	}
@@ -569,7 +600,7 @@ public class TestRunSession implements ITestRunSession {
 			parameterTypes= Arrays.stream(parameterTypes).map(String::trim).toArray(String[]::new);
 		}
 		if (isSuite) {
-			TestSuiteElement testSuiteElement= new TestSuiteElement(parent, id, testName, testCount, displayName, parameterTypes, uniqueId);
+			TestSuiteElement testSuiteElement= new TestSuiteElement(parent, id, testName, testCount, fStringPool.get(displayName), fStringPool.get(parameterTypes), uniqueId);
 			testElement= testSuiteElement;
 			if (testCount > 0) {
 				fIncompleteTestSuites.add(new IncompleteTestSuite(testSuiteElement, testCount));
@@ -577,7 +608,7 @@ public class TestRunSession implements ITestRunSession {
 				fFactoryTestSuites.add(new IncompleteTestSuite(testSuiteElement, testCount));
 			}
 		} else {
-			testElement= new TestCaseElement(parent, id, testName, displayName, isDynamicTest, parameterTypes, uniqueId);
+			testElement= new TestCaseElement(parent, id, testName, fStringPool.get(displayName), isDynamicTest, fStringPool.get(parameterTypes), uniqueId);
 		}
 		fIdToTest.put(id, testElement);
 		return testElement;
@@ -648,6 +679,7 @@ public class TestRunSession implements ITestRunSession {
 		@Override
 		public void testRunEnded(long elapsedTime) {
 			fIsRunning= false;
+			releaseStringPool();
 
 			for (ITestSessionListener listener : fSessionListeners) {
 				listener.sessionEnded(elapsedTime);
@@ -658,6 +690,7 @@ public class TestRunSession implements ITestRunSession {
 		public void testRunStopped(long elapsedTime) {
 			fIsRunning= false;
 			fIsStopped= true;
+			releaseStringPool();
 
 			for (ITestSessionListener listener : fSessionListeners) {
 				listener.sessionStopped(elapsedTime);
@@ -668,6 +701,7 @@ public class TestRunSession implements ITestRunSession {
 		public void testRunTerminated() {
 			fIsRunning= false;
 			fIsStopped= true;
+			releaseStringPool();
 
 			for (ITestSessionListener listener : fSessionListeners) {
 				listener.sessionTerminated();
@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+import org.eclipse.jdt.junit.model.ITestElement.FailureTrace;
+import org.eclipse.jdt.junit.model.ITestElement.ProgressState;
+import org.eclipse.jdt.junit.model.ITestElement.Result;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+
+import org.eclipse.jdt.internal.junit.BasicElementLabels;
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.Messages;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+
+/**
+ * Stores swapped out test run sessions in a compact binary format.
+ * <p>
+ * The number of top-level elements is followed by the test elements, written depth-first, each
+ * suite record followed by the records of its children. Swapping in a session still reads its
+ * whole test tree.
+ * </p>
+ * <p>
+ * The format is only used for the swap files in the history directory. Exported test runs still
+ * use the XML format of {@link TestRunSessionSerializer}.
+ * </p>
+ */
+public final class TestRunSessionStore {
+
+	/**
+	 * File extension of swap files in this format.
+	 */
+	public static final String FILE_EXTENSION= ".bin"; //$NON-NLS-1$
+
+	private static final int MAGIC= 0x4A545253; // "JTRS"
+	private static final int VERSION= 2;
+
+	private static final byte KIND_TEST_CASE= 0;
+	private static final byte KIND_TEST_SUITE= 1;
+
+	private static final int FLAG_INCOMPLETE= 1;
+	private static final int FLAG_IGNORED= 2;
+	private static final int FLAG_DYNAMIC_TEST= 4;
+
+	private static final byte FAILURE_NONE= 0;
+	private static final byte FAILURE_ERROR= 1;
+	private static final byte FAILURE_FAILURE= 2;
+	private static final byte FAILURE_ASSUMPTION= 3;
+
+	private TestRunSessionStore() {
+	}
+
+	/**
+	 * Writes the test tree of the given session to the given file.
+	 *
+	 * @param testRunSession the test run session
+	 * @param file the destination
+	 * @throws CoreException if the file could not be written
+	 */
+	public static void write(TestRunSession testRunSession, File file) throws CoreException {
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024))) {
+			new Writer(out).write(testRunSession.getTestRoot());
+		} catch (IOException e) {
+			throw createException(ModelMessages.JUnitModel_could_not_write, file, e);
+		}
+	}
+
+	/**
+	 * Replaces the test tree of the given session with the test tree stored in the given file.
+	 *
+	 * @param file the file
+	 * @param testRunSession the test run session
+	 * @throws CoreException if the file could not be read
+	 */
+	public static void read(File file, TestRunSession testRunSession) throws CoreException {
+		try (Reader reader= new Reader(file, testRunSession)) {
+			reader.read();
+		} catch (IOException e) {
+			throw createException(ModelMessages.JUnitModel_could_not_read, file, e);
+		}
+	}
+
+	private static CoreException createException(String message, File file, IOException e) {
+		return new CoreException(new org.eclipse.core.runtime.Status(IStatus.ERROR,
+				JUnitCorePlugin.getPluginId(),
+				Messages.format(message, BasicElementLabels.getPathLabel(file)),
+				e));
+	}
+
+	private static final class Writer {
+
+		private final DataOutputStream fOut;
+
+		Writer(DataOutputStream out) {
+			fOut= out;
+		}
+
+		void write(TestRoot testRoot) throws IOException {
+			fOut.writeInt(MAGIC);
+			fOut.writeInt(VERSION);
+			ITestElement[] topLevels= testRoot.getChildren();
+			fOut.writeInt(topLevels.length);
+			for (ITestElement topLevel : topLevels) {
+				writeElement((TestElement) topLevel);
+			}
+		}
+
+		private void writeElement(TestElement testElement) throws IOException {
+			boolean isSuite= testElement instanceof TestSuiteElement;
+			fOut.writeByte(isSuite ? KIND_TEST_SUITE : KIND_TEST_CASE);
+			writeString(testElement.getId());
+			writeString(testElement.getTestName());
+			writeString(testElement.getDisplayName());
+			writeString(testElement.getUniqueId());
+			String[] parameterTypes= testElement.getParameterTypes();
+			if (parameterTypes == null) {
+				fOut.writeInt(-1);
+			} else {
+				fOut.writeInt(parameterTypes.length);
+				for (String parameterType : parameterTypes) {
+					writeString(parameterType);
+				}
+			}
+			fOut.writeDouble(testElement.getElapsedTimeInSeconds());
+
+			int flags= 0;
+			if (isSuite) {
+				if (testElement.getProgressState() != ProgressState.COMPLETED || testElement.getTestResult(false) != Result.UNDEFINED)
+					flags|= FLAG_INCOMPLETE;
+			} else {
+				TestCaseElement testCaseElement= (TestCaseElement) testElement;
+				if (testElement.getProgressState() != ProgressState.COMPLETED)
+					flags|= FLAG_INCOMPLETE;
+				if (testCaseElement.isIgnored())
+					flags|= FLAG_IGNORED;
+				if (testCaseElement.isDynamicTest())
+					flags|= FLAG_DYNAMIC_TEST;
+			}
+			fOut.writeByte(flags);
+			writeFailure(testElement);
+
+			if (isSuite) {
+				ITestElement[] children= ((TestSuiteElement) testElement).getChildren();
+				fOut.writeInt(children.length);
+				for (ITestElement child : children) {
+					writeElement((TestElement) child);
+				}
+			}
+		}
+
+		private void writeFailure(TestElement testElement) throws IOException {
+			FailureTrace failureTrace= testElement.getFailureTrace();
+			if (testElement.isAssumptionFailure()) {
+				fOut.writeByte(FAILURE_ASSUMPTION);
+				writeString(failureTrace != null ? failureTrace.getTrace() : null);
+			} else if (failureTrace != null) {
+				fOut.writeByte(testElement.getTestResult(false) == Result.ERROR ? FAILURE_ERROR : FAILURE_FAILURE);
+				writeString(failureTrace.getTrace());
+				writeString(failureTrace.getExpected());
+				writeString(failureTrace.getActual());
+			} else {
+				fOut.writeByte(FAILURE_NONE);
+			}
+		}
+
+		private void writeString(String s) throws IOException {
+			if (s == null) {
+				fOut.writeInt(-1);
+			} else {
+				byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+				fOut.writeInt(bytes.length);
+				fOut.write(bytes);
+			}
+		}
+	}
+
+	/**
+	 * Reads the test elements of a swap file and registers them with a test run session.
+	 */
+	private static final class Reader implements Closeable {
+
+		private final DataInputStream fIn;
+		private final TestRunSession fTestRunSession;
+
+		Reader(File file, TestRunSession testRunSession) throws IOException {
+			fIn= new DataInputStream(new BufferedInputStream(new FileInputStream(file), 64 * 1024));
+			fTestRunSession= testRunSession;
+			try {
+				if (fIn.readInt() != MAGIC || fIn.readInt() != VERSION)
+					throw new IOException("Unsupported file format"); //$NON-NLS-1$
+			} catch (IOException | RuntimeException e) {
+				fIn.close();
+				throw e;
+			}
+		}
+
+		/**
+		 * Resets the session and reads the whole test tree into it.
+		 *
+		 * @throws IOException if the file could not be read
+		 */
+		void read() throws IOException {
+			fTestRunSession.reset();
+			try {
+				TestRoot testRoot= fTestRunSession.getTestRoot();
+				int topLevelCount= fIn.readInt();
+				for (int i= 0; i < topLevelCount; i++) {
+					readElement(testRoot);
+				}
+			} finally {
+				fTestRunSession.releaseStringPool();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			fIn.close();
+		}
+
+		private void readElement(TestSuiteElement parent) throws IOException {
+			byte kind= fIn.readByte();
+			String id= readString(fIn);
+			String testName= readString(fIn);
+			String displayName= readString(fIn);
+			String uniqueId= readString(fIn);
+			String[] parameterTypes= null;
+			int parameterCount= fIn.readInt();
+			if (parameterCount >= 0) {
+				parameterTypes= new String[parameterCount];
+				for (int i= 0; i < parameterCount; i++) {
+					parameterTypes[i]= readString(fIn);
+				}
+			}
+			double time= fIn.readDouble();
+			int flags= fIn.readUnsignedByte();
+			boolean isSuite= kind == KIND_TEST_SUITE;
+			if (! isSuite && kind != KIND_TEST_CASE)
+				throw new IOException("Invalid element kind: " + kind); //$NON-NLS-1$
+
+			TestElement testElement= fTestRunSession.createTestElement(parent, id, testName, isSuite, 0, (flags & FLAG_DYNAMIC_TEST) != 0, displayName, parameterTypes, uniqueId);
+			if (! isSuite)
+				((TestCaseElement) testElement).setIgnored((flags & FLAG_IGNORED) != 0);
+			if (! Double.isNaN(time))
+				testElement.setElapsedTimeInSeconds(time);
+
+			readFailure(testElement);
+
+			if (isSuite) {
+				int childCount= fIn.readInt();
+				for (int i= 0; i < childCount; i++) {
+					readElement((TestSuiteElement) testElement);
+				}
+			}
+			fTestRunSession.registerTestEnded(testElement, (flags & FLAG_INCOMPLETE) == 0);
+		}
+
+		private void readFailure(TestElement testElement) throws IOException {
+			byte failureKind= fIn.readByte();
+			switch (failureKind) {
+			case FAILURE_NONE:
+				break;
+			case FAILURE_ASSUMPTION:
+				String trace= readString(fIn);
+				if (trace != null)
+					fTestRunSession.registerTestFailureStatus(testElement, Status.OK, trace, null, null);
+				testElement.setAssumptionFailed(true);
+				break;
+			case FAILURE_ERROR:
+			case FAILURE_FAILURE:
+				Status status= failureKind == FAILURE_ERROR ? Status.ERROR : Status.FAILURE;
+				fTestRunSession.registerTestFailureStatus(testElement, status, readString(fIn), readString(fIn), readString(fIn));
+				break;
+			default:
+				throw new IOException("Invalid failure kind: " + failureKind); //$NON-NLS-1$
+			}
+		}
+
+		private static String readString(DataInputStream in) throws IOException {
+			int length= in.readInt();
+			if (length < 0)
+				return null;
+			byte[] bytes= new byte[length];
+			in.readFully(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	}
+}
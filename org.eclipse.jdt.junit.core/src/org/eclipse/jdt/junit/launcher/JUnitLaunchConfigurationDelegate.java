@@ -435,6 +435,10 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		programArguments.add("-port"); //$NON-NLS-1$
 		programArguments.add(String.valueOf(fPort));
 
+		// runners that don't support the binary protocol ignore the argument and keep using the text protocol
+		if (configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_BINARY_PROTOCOL, true))
+			programArguments.add("-binaryProtocol"); //$NON-NLS-1$
+
 		if (fKeepAlive)
 			programArguments.add(0, "-keepalive"); //$NON-NLS-1$
 
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+/**
+ * Reads the messages written by a {@link BinaryMessageWriter}.
+ */
+public class BinaryMessageReader {
+
+	/**
+	 * Maximal length of a frame in bytes. The writer writes a frame when its batch exceeds
+	 * 16 KB, so only a single message can make a frame larger than that.
+	 */
+	private static final int MAX_FRAME_LENGTH= 64 * 1024 * 1024;
+
+	/**
+	 * Receives the messages of a frame.
+	 */
+	public interface IMessageHandler {
+
+		/**
+		 * Handles a message without a known header.
+		 *
+		 * @param line the message
+		 */
+		void handleLine(String line);
+
+		/**
+		 * Handles a message with a known header.
+		 *
+		 * @param header the message header, one of the constants in {@link MessageIds}
+		 * @param arg the message argument, the empty string if there is none
+		 */
+		void handleMessage(String header, String arg);
+
+		/**
+		 * Handles a message with a header which is followed by a test id and a test name, or a
+		 * {@link MessageIds#TEST_TREE} message.
+		 *
+		 * @param header the message header, one of the constants in {@link MessageIds}
+		 * @param testId the interned test id
+		 * @param arg the interned test name, or the remainder of the test tree entry
+		 */
+		void handleTestMessage(String header, String testId, String arg);
+	}
+
+	private final DataInputStream fIn;
+	private final ArrayList<String> fStrings;
+
+	public BinaryMessageReader(InputStream in) {
+		fIn= new DataInputStream(in);
+		fStrings= new ArrayList<>();
+	}
+
+	/**
+	 * Reads the next frame and passes its messages to the given handler.
+	 *
+	 * @param handler the handler
+	 * @return <code>false</code> if the end of the stream has been reached
+	 * @throws IOException if the frame could not be read
+	 */
+	public boolean readFrame(IMessageHandler handler) throws IOException {
+		int length;
+		try {
+			length= fIn.readInt();
+		} catch (EOFException e) {
+			return false;
+		}
+		if (length < 0 || length > MAX_FRAME_LENGTH)
+			throw new IOException("Invalid frame length: " + length); //$NON-NLS-1$
+		byte[] frame= new byte[length];
+		fIn.readFully(frame);
+
+		DataInputStream records= new DataInputStream(new ByteArrayInputStream(frame));
+		while (records.available() > 0) {
+			int code= records.readUnsignedByte();
+			if (code == BinaryMessageWriter.CODE_RESET_STRINGS) {
+				fStrings.clear();
+				continue;
+			}
+			String header= BinaryMessageWriter.getHeader(code);
+			if (header == null) {
+				handler.handleLine(readString(records));
+			} else if (BinaryMessageWriter.hasTestIdAndName(header)) {
+				String testId= readInternedString(records);
+				handler.handleTestMessage(header, testId, readInternedString(records));
+			} else if (MessageIds.TEST_TREE.equals(header)) {
+				String testId= readInternedString(records);
+				handler.handleTestMessage(header, testId, readString(records));
+			} else {
+				handler.handleMessage(header, readString(records));
+			}
+		}
+		return true;
+	}
+
+	public void close() throws IOException {
+		fIn.close();
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length= in.readInt();
+		// the strings are read from a frame, which has been read completely
+		if (length < 0 || length > in.available())
+			throw new IOException("Invalid string length: " + length); //$NON-NLS-1$
+		byte[] bytes= new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private String readInternedString(DataInputStream in) throws IOException {
+		int index= in.readInt();
+		if (index < fStrings.size())
+			return fStrings.get(index);
+		if (index != fStrings.size())
+			throw new IOException("Invalid string reference: " + index); //$NON-NLS-1$
+		String s= readString(in);
+		fStrings.add(s);
+		return s;
+	}
+}
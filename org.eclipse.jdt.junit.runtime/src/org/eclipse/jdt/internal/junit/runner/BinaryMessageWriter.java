@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+/**
+ * Writes the messages of the RemoteTestRunner in the binary protocol.
+ * <p>
+ * The binary protocol is used after the runner sent the {@link MessageIds#BINARY_PROTOCOL} line.
+ * Messages are collected into batches, each batch is written as one frame consisting of the
+ * length of the frame in bytes followed by its records. A record starts with a byte code, which is
+ * {@link #CODE_LINE} for a message without a known header, or the index of the message header in
+ * the header table plus one. Test ids and test names are interned: each of them is transferred
+ * once and referenced by its index afterwards. The table of interned strings holds at most
+ * {@link #MAX_STRINGS} strings, it is cleared by a {@link #CODE_RESET_STRINGS} record when it is full.
+ * </p>
+ *
+ * @see BinaryMessageReader
+ */
+public class BinaryMessageWriter {
+
+	/**
+	 * Code of a record that contains a message without a known header.
+	 */
+	public static final int CODE_LINE= 0;
+
+	/**
+	 * Code of a record without content that clears the table of interned strings.
+	 */
+	public static final int CODE_RESET_STRINGS= 0xFF;
+
+	/**
+	 * Maximum number of interned strings.
+	 */
+	public static final int MAX_STRINGS= 4096;
+
+	private static final String[] HEADERS= {
+			MessageIds.TRACE_START,
+			MessageIds.TRACE_END,
+			MessageIds.EXPECTED_START,
+			MessageIds.EXPECTED_END,
+			MessageIds.ACTUAL_START,
+			MessageIds.ACTUAL_END,
+			MessageIds.RTRACE_START,
+			MessageIds.RTRACE_END,
+			MessageIds.TEST_RUN_START,
+			MessageIds.TEST_START,
+			MessageIds.TEST_END,
+			MessageIds.TEST_ERROR,
+			MessageIds.TEST_FAILED,
+			MessageIds.TEST_RUN_END,
+			MessageIds.TEST_STOPPED,
+			MessageIds.TEST_RERAN,
+			MessageIds.TEST_TREE,
+	};
+
+	/**
+	 * Size of a batch in bytes after which the batch is written as a frame.
+	 */
+	private static final int BATCH_SIZE= 16 * 1024;
+
+	private final OutputStream fOut;
+	private final ByteArrayOutputStream fBuffer;
+	private final DataOutputStream fBatch;
+	private final HashMap<String, Integer> fStrings;
+
+	public BinaryMessageWriter(OutputStream out) {
+		fOut= out;
+		fBuffer= new ByteArrayOutputStream(2 * BATCH_SIZE);
+		fBatch= new DataOutputStream(fBuffer);
+		fStrings= new HashMap<>();
+	}
+
+	/**
+	 * Adds the given message to the current batch.
+	 *
+	 * @param message the message in the format of the text protocol
+	 * @throws IOException if the batch could not be written
+	 */
+	public synchronized void writeMessage(String message) throws IOException {
+		if (fStrings.size() + 2 > MAX_STRINGS) {
+			// a message interns at most two strings
+			fBatch.writeByte(CODE_RESET_STRINGS);
+			fStrings.clear();
+		}
+		int code= getCode(message);
+		if (code == CODE_LINE) {
+			fBatch.writeByte(CODE_LINE);
+			writeString(message);
+		} else {
+			String header= HEADERS[code - 1];
+			String arg= message.substring(MessageIds.MSG_HEADER_LENGTH);
+			int separator= arg.indexOf(',');
+			if (hasTestIdAndName(header) && separator != -1) {
+				fBatch.writeByte(code);
+				writeInternedString(arg.substring(0, separator));
+				writeInternedString(arg.substring(separator + 1));
+			} else if (MessageIds.TEST_TREE.equals(header) && separator != -1) {
+				fBatch.writeByte(code);
+				writeInternedString(arg.substring(0, separator));
+				writeString(arg.substring(separator + 1));
+			} else if (hasTestIdAndName(header) || MessageIds.TEST_TREE.equals(header)) {
+				fBatch.writeByte(CODE_LINE);
+				writeString(message);
+			} else {
+				fBatch.writeByte(code);
+				writeString(arg);
+			}
+		}
+		if (fBuffer.size() >= BATCH_SIZE)
+			writeFrame();
+	}
+
+	/**
+	 * Writes the current batch and flushes the underlying stream.
+	 *
+	 * @throws IOException if the batch could not be written
+	 */
+	public synchronized void flush() throws IOException {
+		writeFrame();
+		fOut.flush();
+	}
+
+	/**
+	 * Writes the current batch and closes the underlying stream.
+	 *
+	 * @throws IOException if the batch could not be written
+	 */
+	public synchronized void close() throws IOException {
+		try {
+			writeFrame();
+		} finally {
+			fOut.close();
+		}
+	}
+
+	private void writeFrame() throws IOException {
+		int length= fBuffer.size();
+		if (length == 0)
+			return;
+		fOut.write(length >>> 24);
+		fOut.write(length >>> 16);
+		fOut.write(length >>> 8);
+		fOut.write(length);
+		fBuffer.writeTo(fOut);
+		fBuffer.reset();
+	}
+
+	private void writeString(String s) throws IOException {
+		byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+		fBatch.writeInt(bytes.length);
+		fBatch.write(bytes);
+	}
+
+	private void writeInternedString(String s) throws IOException {
+		Integer index= fStrings.get(s);
+		if (index != null) {
+			fBatch.writeInt(index.intValue());
+		} else {
+			int newIndex= fStrings.size();
+			fStrings.put(s, Integer.valueOf(newIndex));
+			fBatch.writeInt(newIndex);
+			writeString(s);
+		}
+	}
+
+	/**
+	 * Returns the record code of the given message.
+	 *
+	 * @param message the message in the format of the text protocol
+	 * @return the code, or {@link #CODE_LINE} if the message has no known header
+	 */
+	static int getCode(String message) {
+		if (message.length() < MessageIds.MSG_HEADER_LENGTH || message.charAt(0) != '%')
+			return CODE_LINE;
+		for (int i= 0; i < HEADERS.length; i++) {
+			if (message.startsWith(HEADERS[i]))
+				return i + 1;
+		}
+		return CODE_LINE;
+	}
+
+	/**
+	 * Returns the message header of the given record code.
+	 *
+	 * @param code the record code
+	 * @return the header, or <code>null</code> for {@link #CODE_LINE}
+	 * @throws IOException if the code is unknown
+	 */
+	static String getHeader(int code) throws IOException {
+		if (code == CODE_LINE)
+			return null;
+		if (code < 0 || code > HEADERS.length)
+			throw new IOException("Unknown record code: " + code); //$NON-NLS-1$
+		return HEADERS[code - 1];
+	}
+
+	/**
+	 * Tells whether messages with the given header are followed by a test id and a test name.
+	 *
+	 * @param header the message header
+	 * @return <code>true</code> if the message arguments are a test id and a test name
+	 */
+	static boolean hasTestIdAndName(String header) {
+		return MessageIds.TEST_START.equals(header)
+				|| MessageIds.TEST_END.equals(header)
+				|| MessageIds.TEST_ERROR.equals(header)
+				|| MessageIds.TEST_FAILED.equals(header);
+	}
+}
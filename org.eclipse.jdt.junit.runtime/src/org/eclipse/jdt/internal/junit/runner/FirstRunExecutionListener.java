@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2021 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,7 +31,7 @@ public class FirstRunExecutionListener implements IListensToTestExecutions {
 	@Override
 	public void notifyTestEnded(ITestIdentifier test) {
 		sendMessage(test, MessageIds.TEST_END);
-		fSender.flush();
+		fSender.flushTestEvent();
 		System.out.println("##Eclipse##JUnitRunner##testEnded##" + test.getUniqueId()); //$NON-NLS-1$
 	}
 
@@ -45,7 +45,7 @@ public class FirstRunExecutionListener implements IListensToTestExecutions {
 	@Override
 	public void notifyTestStarted(ITestIdentifier test) {
 		sendMessage(test, MessageIds.TEST_START);
-		fSender.flush();
+		fSender.flushTestEvent();
 		System.out.println("##Eclipse##JUnitRunner##testStarted##" + test.getUniqueId()); //$NON-NLS-1$
 	}
 
@@ -123,6 +123,14 @@ public class MessageIds {
 	 * See: ITestRunListener2#testTreeEntry
 	 */
 	public static final String TEST_TREE= "%TSTTREE"; //$NON-NLS-1$
+	/**
+	 * Notification that the runner switches to the binary protocol.
+	 * Sent as the first line of a connection if the runner was started
+	 * with the <code>-binaryprotocol</code> argument. All following messages
+	 * are sent in the format of the {@link BinaryMessageWriter}.
+	 */
+	public static final String BINARY_PROTOCOL= "%BINARY "; //$NON-NLS-1$
+
 	/**
 	 * Request to stop the current test run.
 	 */
@@ -22,4 +22,12 @@ public interface MessageSender {
 
 	void flush();
 
+	/**
+	 * Flushes the messages of a started or ended test. Senders which send the messages in batches
+	 * may send them later.
+	 */
+	default void flushTestEvent() {
+		flush();
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,18 +14,22 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.runner;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.Socket;
 import java.nio.charset.StandardCharsets;
+import java.util.Timer;
+import java.util.TimerTask;
 import java.util.Vector;
 
 import org.eclipse.jdt.internal.junit.runner.junit3.JUnit3TestLoader;
@@ -90,7 +94,23 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	/**
 	 * Print writer for sending messages
 	 */
-	private PrintWriter fWriter;
+	private volatile PrintWriter fWriter;
+	/**
+	 * Writer for sending messages in the binary protocol
+	 */
+	private volatile BinaryMessageWriter fBinaryWriter;
+	/**
+	 * Use the binary protocol to send messages (argument -binaryprotocol)
+	 */
+	private boolean fBinaryProtocol= false;
+	/**
+	 * Interval in milliseconds in which the batched messages of the binary protocol are flushed
+	 */
+	private static final int FLUSH_INTERVAL= 100;
+	/**
+	 * Timer which flushes the batched messages of the binary protocol
+	 */
+	private Timer fFlushTimer;
 	/**
 	 * Reader for incoming messages
 	 */
@@ -202,6 +222,7 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * -host: the host to connect to default local host
 	 * -port: the port to connect to, mandatory argument
 	 * -keepalive: keep the process alive after a test run
+	 * -binaryprotocol: send messages in the binary protocol
      * </pre>
      */
 	public static void main(String[] args) {
@@ -301,6 +322,9 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 			else if("-keepalive".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
 				fKeepAlive= true;
 			}
+			else if("-binaryprotocol".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
+				fBinaryProtocol= true;
+			}
 			else if("-debugging".equalsIgnoreCase(args[i]) || "-debug".equalsIgnoreCase(args[i])){ //$NON-NLS-1$ //$NON-NLS-2$
 			    fDebugMode= true;
 
@@ -639,11 +663,17 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		for (int i= 1; i < 20; i++) {
 			try{
 				fClientSocket= new Socket(fHost, fPort);
-				try {
-				    fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream(), StandardCharsets.UTF_8)), false/*true*/);
-	            } catch (UnsupportedEncodingException e1) {
-	                fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream())), false/*true*/);
-	            }
+				if (fBinaryProtocol) {
+					OutputStream out= new BufferedOutputStream(fClientSocket.getOutputStream());
+					out.write((MessageIds.BINARY_PROTOCOL + '\n').getBytes(StandardCharsets.UTF_8));
+					fBinaryWriter= new BinaryMessageWriter(out);
+				} else {
+					try {
+						fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream(), StandardCharsets.UTF_8)), false/*true*/);
+					} catch (UnsupportedEncodingException e1) {
+						fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream())), false/*true*/);
+					}
+				}
 				try {
 				    fReader= new BufferedReader(new InputStreamReader(fClientSocket.getInputStream(), StandardCharsets.UTF_8));
                 } catch (UnsupportedEncodingException e1) {
@@ -651,6 +681,8 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
                 }
 				fReaderThread= new ReaderThread();
 				fReaderThread.start();
+				if (fBinaryWriter != null)
+					startFlushTimer();
 				return true;
 			} catch(IOException e){
 				exception= e;
@@ -664,14 +696,41 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		return false;
 	}
 
+	/**
+	 * Starts to flush the batched messages of the binary protocol periodically, such that
+	 * they don't have to be flushed after every test event.
+	 */
+	private void startFlushTimer() {
+		fFlushTimer= new Timer("FlushTimer", true); //$NON-NLS-1$
+		fFlushTimer.schedule(new TimerTask() {
+			@Override
+			public void run() {
+				flush();
+			}
+		}, FLUSH_INTERVAL, FLUSH_INTERVAL);
+	}
+
 	/**
 	 * Shutsdown the connection to the remote test listener.
 	 */
 	private void shutDown() {
+		if (fFlushTimer != null) {
+			fFlushTimer.cancel();
+			fFlushTimer= null;
+		}
 		if (fWriter != null) {
 			fWriter.close();
 			fWriter= null;
 		}
+		if (fBinaryWriter != null) {
+			try {
+				fBinaryWriter.close();
+			} catch (IOException e) {
+				if (fDebugMode)
+					e.printStackTrace();
+			}
+			fBinaryWriter= null;
+		}
 		try {
 			if (fReaderThread != null)   {
 				// interrupt reader thread so that we don't block on close
@@ -701,6 +760,15 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void sendMessage(String msg) {
+		if (fBinaryWriter != null) {
+			try {
+				fBinaryWriter.writeMessage(msg);
+			} catch (IOException e) {
+				if (fDebugMode)
+					e.printStackTrace();
+			}
+			return;
+		}
 		if(fWriter == null)
 			return;
 		fWriter.println(msg);
@@ -741,7 +809,27 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void flush() {
-	    fWriter.flush();
+		// also called by the flush timer, which can run concurrently to shutDown()
+		BinaryMessageWriter binaryWriter= fBinaryWriter;
+		if (binaryWriter != null) {
+			try {
+				binaryWriter.flush();
+			} catch (IOException e) {
+				if (fDebugMode)
+					e.printStackTrace();
+			}
+			return;
+		}
+		PrintWriter writer= fWriter;
+		if (writer != null)
+			writer.flush();
+	}
+
+	@Override
+	public void flushTestEvent() {
+		if (fBinaryWriter == null)
+			flush();
+		// else the flush timer sends the batch
 	}
 
 	private void runTests(TestExecution execution) {
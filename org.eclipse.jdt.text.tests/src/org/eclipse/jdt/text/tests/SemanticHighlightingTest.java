@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,9 +15,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.text.tests;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
+import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.Position;
 
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings;
@@ -325,4 +328,44 @@ public class SemanticHighlightingTest extends AbstractSemanticHighlightingTest {
 		};
 		assertEqualPositions(expected, actual);
 	}
+
+	@Test
+	public void incrementalReconcileOfMethodBody() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.FIELD);
+		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE);
+		Position[] before= copy(getSemanticHighlightingPositions());
+
+		IDocument document= getDocument();
+		int offset= document.getLineOffset(9);
+		int methodEnd= document.getLineOffset(19);
+		String text= "\t\tfield= local;\n";
+		document.replace(offset, 0, text);
+		reconcile(false);
+		Position[] incremental= copy(getSemanticHighlightingPositions());
+		assertEquals(before.length + 2, incremental.length);
+
+		// the positions outside of the edited method are kept
+		int i= 0;
+		for (Position position : before) {
+			if (position.getOffset() >= methodEnd) {
+				while (incremental[i].getOffset() < position.getOffset() + text.length())
+					i++;
+				assertEquals(position.getOffset() + text.length(), incremental[i].getOffset());
+				assertEquals(position.getLength(), incremental[i].getLength());
+			}
+		}
+
+		reconcile(true);
+		assertEqualPositions(getSemanticHighlightingPositions(), incremental);
+	}
+
+	private static Position[] copy(Position[] positions) {
+		Position[] copy= new Position[positions.length];
+		for (int i= 0; i < positions.length; i++) {
+			copy[i]= new Position(positions[i].getOffset(), positions[i].getLength());
+			if (positions[i].isDeleted())
+				copy[i].delete();
+		}
+		return copy;
+	}
 }
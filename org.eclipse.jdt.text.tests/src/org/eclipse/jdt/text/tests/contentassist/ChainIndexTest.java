@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.contentassist;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+
+import org.eclipse.jdt.internal.ui.text.ChainIndex;
+
+public class ChainIndexTest {
+
+	private static final String SOURCE= """
+		package test;
+		public class Foo {
+		  public Bar getBar() {
+		    return new Bar();
+		  }
+		  public class Bar {
+		  }
+		}""";
+
+	private IJavaProject fJProject;
+
+	private ICompilationUnit fCu;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		fJProject= JavaProjectHelper.createJavaProject("TestProject", "bin");
+		JavaProjectHelper.addRTJar18(fJProject);
+		IPackageFragment pkg= JavaProjectHelper.addSourceContainer(fJProject, "src").createPackageFragment("test", false, null);
+		fCu= pkg.createCompilationUnit("Foo.java", SOURCE, false, null);
+		fCu.becomeWorkingCopy(null);
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+		fCu.discardWorkingCopy();
+		JavaProjectHelper.delete(fJProject);
+	}
+
+	private void reconcile(String source) throws Exception {
+		fCu.getBuffer().setContents(source);
+		fCu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	}
+
+	@Test
+	public void testIndexIsShared() {
+		assertSame(ChainIndex.get(fJProject), ChainIndex.get(fJProject));
+	}
+
+	@Test
+	public void testBodyChangeKeepsIndex() throws Exception {
+		ChainIndex index= ChainIndex.get(fJProject);
+		reconcile(SOURCE.replace("return new Bar();", "Bar bar= new Bar();\n    return bar;"));
+		assertSame(index, ChainIndex.get(fJProject));
+	}
+
+	@Test
+	public void testMemberChangeFlushesIndex() throws Exception {
+		ChainIndex index= ChainIndex.get(fJProject);
+		reconcile(SOURCE.replace("  public class Bar {", "  public Bar bar;\n  public class Bar {"));
+		assertNotSame(index, ChainIndex.get(fJProject));
+	}
+
+	@Test
+	public void testHierarchyChangeFlushesIndex() throws Exception {
+		ChainIndex index= ChainIndex.get(fJProject);
+		reconcile(SOURCE.replace("public class Bar {", "public class Bar extends Exception {"));
+		assertNotSame(index, ChainIndex.get(fJProject));
+	}
+
+	@Test
+	public void testFileChangeFlushesIndex() throws Exception {
+		ChainIndex index= ChainIndex.get(fJProject);
+		String source= SOURCE.replace("return new Bar();", "return null;");
+		((IFile) fCu.getResource()).setContents(new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)), true, false, null);
+		assertNotSame(index, ChainIndex.get(fJProject));
+	}
+}
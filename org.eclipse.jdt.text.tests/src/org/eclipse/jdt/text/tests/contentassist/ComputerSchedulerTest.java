@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.contentassist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jdt.internal.ui.text.java.ComputerScheduler;
+import org.eclipse.jdt.internal.ui.text.java.ComputerScheduler.Call;
+
+public class ComputerSchedulerTest {
+
+	private ComputerScheduler fScheduler;
+
+	@AfterEach
+	public void tearDown() {
+		if (fScheduler != null)
+			fScheduler.dispose();
+	}
+
+	@Test
+	public void callsConcurrently() {
+		fScheduler= new ComputerScheduler(2, 10000);
+		CyclicBarrier barrier= new CyclicBarrier(2);
+		List<String> results= fScheduler.run(Arrays.asList(
+				new Call<>("a", false, monitor -> await(barrier, "a")),
+				new Call<>("b", false, monitor -> await(barrier, "b"))), new NullProgressMonitor());
+		assertEquals(Arrays.asList("a", "b"), results);
+	}
+
+	@Test
+	public void mergesInOrderOfCalls() {
+		fScheduler= new ComputerScheduler(3, 10000);
+		CountDownLatch lastDone= new CountDownLatch(1);
+		Thread caller= Thread.currentThread();
+		Thread[] uiThread= new Thread[1];
+		List<String> results= fScheduler.run(Arrays.asList(
+				new Call<>("first", false, monitor -> await(lastDone, "first")),
+				new Call<>("ui", true, monitor -> {
+					uiThread[0]= Thread.currentThread();
+					return "ui";
+				}),
+				new Call<>("last", false, monitor -> {
+					lastDone.countDown();
+					return "last";
+				})), new NullProgressMonitor());
+		assertEquals(Arrays.asList("first", "ui", "last"), results);
+		assertSame(caller, uiThread[0]);
+	}
+
+	@Test
+	public void dropsCallAfterTimeout() throws InterruptedException {
+		fScheduler= new ComputerScheduler(2, 300);
+		CountDownLatch canceled= new CountDownLatch(1);
+		List<String> results= fScheduler.run(Arrays.asList(
+				new Call<>("slow", false, monitor -> {
+					waitForCancel(monitor);
+					canceled.countDown();
+					return "slow";
+				}),
+				new Call<>("fast", false, monitor -> "fast")), new NullProgressMonitor());
+		assertEquals(Arrays.asList(null, "fast"), results);
+		assertTrue(canceled.await(5, TimeUnit.SECONDS), "monitor of the slow computer not canceled");
+	}
+
+	@Test
+	public void deadlineStartsWhenCalled() {
+		fScheduler= new ComputerScheduler(1, 1000);
+		List<String> results= fScheduler.run(Arrays.asList(
+				new Call<>("a", false, monitor -> sleep(600, "a")),
+				new Call<>("b", false, monitor -> sleep(600, "b"))), new NullProgressMonitor());
+		assertEquals(Arrays.asList("a", "b"), results, "second computer dropped before its deadline");
+	}
+
+	@Test
+	public void awaitsRunningComputer() {
+		fScheduler= new ComputerScheduler(2, 300);
+		AtomicInteger running= new AtomicInteger();
+		AtomicInteger maxRunning= new AtomicInteger();
+		List<String> first= fScheduler.run(List.of(new Call<>("a", false, monitor -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			waitForCancel(monitor);
+			sleep(200, null); // completes late, after the next invocation has started
+			running.decrementAndGet();
+			return "first";
+		})), new NullProgressMonitor());
+		assertNull(first.get(0));
+
+		List<String> second= fScheduler.run(List.of(new Call<>("a", false, monitor -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			running.decrementAndGet();
+			return "second";
+		})), new NullProgressMonitor());
+		assertEquals(List.of("second"), second);
+		assertEquals(1, maxRunning.get(), "computer called concurrently with itself");
+	}
+
+	private static <T> T await(CyclicBarrier barrier, T result) {
+		try {
+			barrier.await(5, TimeUnit.SECONDS);
+			return result;
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private static <T> T await(CountDownLatch latch, T result) {
+		try {
+			return latch.await(5, TimeUnit.SECONDS) ? result : null;
+		} catch (InterruptedException e) {
+			return null;
+		}
+	}
+
+	private static <T> T sleep(long millis, T result) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return result;
+	}
+
+	private static void waitForCancel(IProgressMonitor monitor) {
+		long end= System.currentTimeMillis() + 5000;
+		while (!monitor.isCanceled() && System.currentTimeMillis() < end)
+			sleep(10, null);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2025 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -244,6 +245,28 @@ public class ContentAssistHistoryTest {
 		assertEqualMap(map(LIST, list(ARRAY_LIST), COLLECTION, list(ARRAY_LIST), ITERABLE, list(ARRAY_LIST), CHAR_SEQUENCE, list(STRING)), loaded.getEntireHistory());
 	}
 
+	@Test
+	public void testLoadStoreJournal() throws Exception {
+		File file= File.createTempFile("ContentAssistHistoryTest", ".journal");
+		file.delete();
+		try {
+			ContentAssistHistory history= new ContentAssistHistory();
+			history.remember(fgListT, fgArrayListT);
+			ContentAssistHistory.store(history, file);
+
+			// appends to the journal
+			history= ContentAssistHistory.load(file, 100, 10);
+			history.remember(fgCollectionT, fgLinkedListT);
+			history.remember(fgCharSequenceT, fgStringT);
+			ContentAssistHistory.store(history, file);
+
+			ContentAssistHistory loaded= ContentAssistHistory.load(file, 100, 10);
+			assertEqualMap(map(LIST, list(ARRAY_LIST), COLLECTION, list(ARRAY_LIST, LINKED_LIST), ITERABLE, list(ARRAY_LIST, LINKED_LIST), CHAR_SEQUENCE, list(STRING)), loaded.getEntireHistory());
+		} finally {
+			file.delete();
+		}
+	}
+
 	private static void assertEqualMap(Map<String, List<String>> expected, Map<String, RHSHistory> actual) {
 		assertEqualMap("", expected, actual);
 	}
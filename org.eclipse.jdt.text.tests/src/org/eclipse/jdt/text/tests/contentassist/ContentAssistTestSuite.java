@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -43,6 +43,8 @@ import org.junit.platform.suite.api.Suite;
 			CodeCompletionTest23.class,
 			ContinuousTypingCompletionTest.class,
 			ChainCompletionTest.class,
+			ChainIndexTest.class,
+			ComputerSchedulerTest.class,
 			PostFixCompletionTest.class
 			//$JUnit-END$
 })
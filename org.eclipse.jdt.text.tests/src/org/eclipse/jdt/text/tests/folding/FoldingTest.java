@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2025 Vector Informatik GmbH and others.
+ * Copyright (c) 2025, 2026 Vector Informatik GmbH and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.text.tests.folding;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeTrue;
 
 import java.util.List;
@@ -27,13 +31,17 @@ import org.junit.runners.Parameterized.Parameter;
 import org.junit.runners.Parameterized.Parameters;
 
 import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.text.tests.performance.EditorTestHelper;
 
 import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.jface.preference.IPreferenceStore;
 
+import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.source.Annotation;
 
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
@@ -42,6 +50,8 @@ import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
 
 @RunWith(Parameterized.class)
 public class FoldingTest {
@@ -665,4 +675,38 @@ public class FoldingTest {
 		FoldingTestUtils.assertContainsRegionUsingStartAndEndLine(regions, str, 5, 6); // case
 		FoldingTestUtils.assertContainsRegionUsingStartAndEndLine(regions, str, 12, 13); // default
 	}
+
+	@Test
+	public void testUpdateAfterMethodBodyChange() throws Exception {
+		assumeTrue("Only doable with the new folding", newFoldingActive);
+		String str= """
+				package org.example.test;
+				class Outer {
+					void a() {						//here should be an annotation
+						int b = 0;
+					}
+					void c() {						//here should be an annotation
+						int d = 0;
+					}
+				}
+				""";
+		ICompilationUnit cu= packageFragment.createCompilationUnit("TestFolding.java", str, true, null);
+		JavaEditor editor= (JavaEditor) EditorUtility.openInEditor(cu);
+		assertTrue(EditorTestHelper.joinReconciler(EditorTestHelper.getSourceViewer(editor), 0, 10000, 100));
+		Annotation unchanged= FoldingTestUtils.getProjectionAnnotationAt(editor, str.indexOf("\tvoid c()"));
+		assertNotNull(unchanged);
+
+		IDocument document= EditorTestHelper.getDocument(editor);
+		document.replace(str.indexOf("\t}"), 0, "\t\tif (b == 0) {\n\t\t\tb = 1;\n\t\t}\n");
+		assertTrue(EditorTestHelper.joinReconciler(EditorTestHelper.getSourceViewer(editor), 500, 10000, 100));
+
+		String newStr= document.get();
+		List<IRegion> regions= FoldingTestUtils.getProjectionRanges(editor);
+		assertEquals("Expected 3 regions but saw " + regions, 3, regions.size());
+		FoldingTestUtils.assertContainsRegionUsingStartAndEndLine(regions, newStr, 2, 6); // changed method
+		FoldingTestUtils.assertContainsRegionUsingStartAndEndLine(regions, newStr, 4, 5); // added if
+		FoldingTestUtils.assertContainsRegionUsingStartAndEndLine(regions, newStr, 8, 9); // unchanged method
+		// the annotation of the unchanged method is kept
+		assertSame(unchanged, FoldingTestUtils.getProjectionAnnotationAt(editor, newStr.indexOf("\tvoid c()")));
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2025 Vector Informatik GmbH and others.
+ * Copyright (c) 2025, 2026 Vector Informatik GmbH and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -43,6 +43,10 @@ public final class FoldingTestUtils {
 	public static List<IRegion> getProjectionRangesOfFile(IPackageFragment packageFragment, String fileName, String code) throws Exception {
 		ICompilationUnit cu= packageFragment.createCompilationUnit(fileName, code, true, null);
 		JavaEditor editor= (JavaEditor) EditorUtility.openInEditor(cu);
+		return getProjectionRanges(editor);
+	}
+
+	public static List<IRegion> getProjectionRanges(JavaEditor editor) {
 		ProjectionAnnotationModel model= editor.getAdapter(ProjectionAnnotationModel.class);
 
 		List<IRegion> regions= new ArrayList<>();
@@ -57,6 +61,19 @@ public final class FoldingTestUtils {
 		return regions;
 	}
 
+	public static Annotation getProjectionAnnotationAt(JavaEditor editor, int offset) {
+		ProjectionAnnotationModel model= editor.getAdapter(ProjectionAnnotationModel.class);
+
+		Iterator<Annotation> it= model.getAnnotationIterator();
+		while (it.hasNext()) {
+			Annotation a= it.next();
+			if (a instanceof ProjectionAnnotation && model.getPosition(a).getOffset() == offset) {
+				return a;
+			}
+		}
+		return null;
+	}
+
 	public static void assertCodeHasRegions(IPackageFragment packageFragment, String fileName, String code, int regionsCount) throws Exception {
 		List<IRegion> regions= FoldingTestUtils.getProjectionRangesOfFile(packageFragment, fileName, code);
 		assertEquals(regionsCount, regions.size(), String.format("Expected %d regions but saw %d.", regionsCount, regions.size()));
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.spelling;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.SpellDictionaryIndex;
+
+public class SpellDictionaryIndexTest {
+
+	private static final String KEY= "file:/words.txt|UTF-8|org.eclipse.Hash"; //$NON-NLS-1$
+
+	@TempDir
+	Path fTempDir;
+
+	private static byte[] utf8(String s) {
+		return s.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private File writeIndex(String key, long stamp) throws Exception {
+		List<byte[]> hashes= new ArrayList<>();
+		List<Object> buckets= new ArrayList<>();
+		hashes.add(utf8("HL"));
+		buckets.add(utf8("hello"));
+		hashes.add(utf8("WRLT"));
+		buckets.add(List.of(utf8("world"), utf8("wörld")));
+
+		File file= fTempDir.resolve("index").toFile();
+		SpellDictionaryIndex.write(file, key, stamp, hashes, buckets);
+		return file;
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		File file= writeIndex(KEY, 42);
+		SpellDictionaryIndex index= SpellDictionaryIndex.open(file, KEY, 42);
+		assertNotNull(index);
+		assertFalse(index.isEmpty());
+
+		assertArrayEquals(utf8("hello"), (byte[]) index.get(utf8("HL")));
+		List<?> words= assertInstanceOf(List.class, index.get(utf8("WRLT")));
+		assertEquals(2, words.size());
+		assertArrayEquals(utf8("world"), (byte[]) words.get(0));
+		assertArrayEquals(utf8("wörld"), (byte[]) words.get(1));
+		assertNull(index.get(utf8("XX")));
+	}
+
+	@Test
+	public void testEmptyIndex() throws Exception {
+		File file= fTempDir.resolve("empty").toFile();
+		SpellDictionaryIndex.write(file, KEY, 1, List.of(), List.of());
+		SpellDictionaryIndex index= SpellDictionaryIndex.open(file, KEY, 1);
+		assertNotNull(index);
+		assertTrue(index.isEmpty());
+		assertNull(index.get(utf8("HL")));
+	}
+
+	@Test
+	public void testKeyAndStampAreVerified() throws Exception {
+		File file= writeIndex(KEY, 42);
+		assertEquals(KEY, SpellDictionaryIndex.readKey(file));
+		assertNull(SpellDictionaryIndex.open(file, KEY + "x", 42)); //$NON-NLS-1$
+		assertNull(SpellDictionaryIndex.open(file, KEY, 43));
+	}
+
+	@Test
+	public void testInvalidFile() throws Exception {
+		File file= fTempDir.resolve("invalid").toFile();
+		assertNull(SpellDictionaryIndex.readKey(file));
+		assertNull(SpellDictionaryIndex.open(file, KEY, 42));
+
+		Files.write(file.toPath(), new byte[100]);
+		assertNull(SpellDictionaryIndex.readKey(file));
+		assertNull(SpellDictionaryIndex.open(file, KEY, 42));
+
+		// truncated key
+		byte[] bytes= Files.readAllBytes(writeIndex(KEY, 42).toPath());
+		Files.write(file.toPath(), Arrays.copyOf(bytes, 30));
+		assertNull(SpellDictionaryIndex.readKey(file));
+		assertNull(SpellDictionaryIndex.open(file, KEY, 42));
+	}
+
+	@Test
+	public void testStampOfFile() throws Exception {
+		Path words= fTempDir.resolve("words.txt");
+		Files.writeString(words, "hello\n"); //$NON-NLS-1$
+		URL url= words.toUri().toURL();
+		long stamp= SpellDictionaryIndex.getStamp(url);
+		assertNotEquals(-1, stamp);
+
+		Files.writeString(words, "hello\nworld\n"); //$NON-NLS-1$
+		assertNotEquals(stamp, SpellDictionaryIndex.getStamp(url));
+	}
+
+	@Test
+	public void testStampOfBundleEntry() {
+		URL url= JavaPlugin.getDefault().getBundle().getEntry("dictionaries/en_US.dictionary"); //$NON-NLS-1$
+		assertNotNull(url);
+		assertNotEquals(-1, SpellDictionaryIndex.getStamp(url));
+	}
+}
@@ -0,0 +1,17 @@
+package p;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class A {
+	void foo() {
+		List l1= new ArrayList();
+		List l2= l1;
+		List l3= l2;
+		l1= l3;
+		l3.add(Integer.valueOf(1));
+		l2.add(Double.valueOf(1.7));
+		List strings= new ArrayList();
+		strings.add("Eclipse");
+	}
+}
@@ -0,0 +1,17 @@
+package p;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class A {
+	void foo() {
+		List<Number> l1= new ArrayList<Number>();
+		List<Number> l2= l1;
+		List<Number> l3= l2;
+		l1= l3;
+		l3.add(Integer.valueOf(1));
+		l2.add(Double.valueOf(1.7));
+		List<String> strings= new ArrayList<String>();
+		strings.add("Eclipse");
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -327,6 +327,11 @@ public class InferTypeArgumentsTests extends GenericRefactoringTest {
 		// deleted in tearDown
 	}
 
+	@Test
+	public void testCuAssignmentCycle() throws Exception {
+		performCuOK();
+	}
+
 	@Test
 	public void testCuAddString() throws Exception {
 		performCuOK();
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.core.text.TextSearchScope;
+
+import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameFinder;
+import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameIndex;
+import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameSearchResult;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+public class QualifiedNameIndexTests extends GenericRefactoringTest {
+
+	private static final String FILE_PATTERNS= "*.txt, *.properties";
+
+	public QualifiedNameIndexTests() {
+		rts= new RefactoringTestSetup();
+	}
+
+	private static int[] hashes(String... names) {
+		return Arrays.stream(names).mapToInt(String::hashCode).sorted().distinct().toArray();
+	}
+
+	@Test
+	public void computeHashes() throws Exception {
+		assertArrayEquals(hashes("see", "org", "org.eclipse", "org.eclipse.Foo", "x"),
+				QualifiedNameIndex.computeHashes("see org.eclipse.Foo, x".toCharArray()));
+		// a run ending at a dot is also a prefix of itself
+		assertArrayEquals(hashes("org", "org.eclipse", "org.eclipse."),
+				QualifiedNameIndex.computeHashes("org.eclipse.".toCharArray()));
+		assertArrayEquals(hashes("a"), QualifiedNameIndex.computeHashes("a a\ta\na".toCharArray()));
+		assertEquals(0, QualifiedNameIndex.computeHashes(" ,;\n".toCharArray()).length);
+		assertEquals(0, QualifiedNameIndex.computeHashes(new char[0]).length);
+	}
+
+	@Test
+	public void candidatesContainMatches() throws Exception {
+		IFolder folder= (IFolder) getPackageP().getCorrespondingResource();
+		IFile a= createFile(folder, "a.txt", "p.A is used here");
+		IFile b= createFile(folder, "b.txt", "embedded in x.p.A");
+		IFile c= createFile(folder, "c.txt", "p.Apple");
+		IFile d= createFile(folder, "d.txt", "p.A.B, p.A;");
+		IFile e= createFile(folder, "e.txt", "nothing");
+		IFile f= createFile(folder, "f.properties", "key=p.A");
+		IProject project= folder.getProject();
+
+		for (String name : new String[] { "p.A", "p", "p.A.B", "p.Apple", "A", "x.p", "p.Q" }) {
+			Set<IFile> matches= findMatches(project, name);
+			Set<IFile> candidates= getCandidates(project, name);
+			assertTrue(name + ": " + candidates + " does not contain " + matches, candidates.containsAll(matches));
+		}
+
+		assertEquals(Set.of(a, d, f), findMatches(project, "p.A"));
+		assertEquals(Set.of(a, d, f), getCandidates(project, "p.A"));
+		assertFalse(getCandidates(project, "p.A").contains(b));
+		assertFalse(getCandidates(project, "p.A").contains(c));
+		assertFalse(getCandidates(project, "p.A").contains(e));
+
+		// the entry of a changed file is replaced
+		e.setContents(getStream("now p.A"), true, false, null);
+		assertTrue(getCandidates(project, "p.A").contains(e));
+		assertTrue(findMatches(project, "p.A").contains(e));
+	}
+
+	private static IFile createFile(IFolder folder, String name, String content) throws Exception {
+		IFile file= folder.getFile(name);
+		file.create(getStream(content), true, new NullProgressMonitor());
+		return file;
+	}
+
+	private static Set<IFile> findMatches(IProject project, String name) {
+		QualifiedNameSearchResult result= new QualifiedNameSearchResult();
+		QualifiedNameFinder.process(result, name, "q.Z", FILE_PATTERNS, project, new NullProgressMonitor());
+		return new HashSet<>(Arrays.asList(result.getAllFiles()));
+	}
+
+	private static Set<IFile> getCandidates(IProject project, String name) throws Exception {
+		TextSearchScope scope= TextSearchScope.newSearchScope(new IResource[] { project }, Pattern.compile(".*\\.(txt|properties)"), false);
+		List<IFile> candidates= QualifiedNameIndex.getDefault().getCandidates(scope, new TextSearchRequestor() {}, name, new NullProgressMonitor());
+		return new HashSet<>(candidates);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,8 @@
 package org.eclipse.jdt.ui.tests.refactoring;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -113,4 +115,15 @@ public class RefactoringScannerTests extends GenericRefactoringTest {
 				new Position(38, 20),
 		});
 	}
+
+	@Test
+	public void testContains() throws Exception{
+		assertTrue(RefactoringScanner.contains("/* TestPattern */".toCharArray(), "TestPattern"));
+		assertTrue(RefactoringScanner.contains("TestPattern".toCharArray(), "TestPattern"));
+		assertFalse(RefactoringScanner.contains("TestPatter".toCharArray(), "TestPattern"));
+		assertFalse(RefactoringScanner.contains("TestTestPatter n".toCharArray(), "TestPattern"));
+
+		fScanner.scan("class A { /* no match */ }");
+		assertEquals("results.length", 0, fScanner.getMatches().size());
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,7 @@ import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IPackageFragment;
 
+import org.eclipse.jdt.internal.corext.refactoring.rename.RippleMethodCache;
 import org.eclipse.jdt.internal.corext.refactoring.rename.RippleMethodFinder2;
 
 import org.eclipse.jdt.ui.tests.refactoring.infra.AbstractJunit4CUTestCase;
@@ -139,4 +140,22 @@ public class RippleMethodFinderTests extends AbstractJunit4CUTestCase {
 		perform();
 	}
 
+	@Test
+	public void testCacheFlushedOnStructuralChange() throws Exception {
+		IPackageFragment pack= rts.getPackageP();
+		ICompilationUnit cuA= createCU(pack, "A.java", "package p;\npublic class A {\n\tpublic void m() {}\n}\n");
+		createCU(pack, "B.java", "package p;\npublic class B extends A {\n\tpublic void m() {}\n}\n");
+		IMethod target= cuA.getType("A").getMethod("m", new String[0]);
+
+		RippleMethodCache cache= RippleMethodCache.getDefault();
+		cache.clear();
+		assertEquals(2, RippleMethodFinder2.getRelatedMethods(target, new NullProgressMonitor(), null).length);
+		long hits= cache.getHitCount();
+		assertEquals(2, RippleMethodFinder2.getRelatedMethods(target, new NullProgressMonitor(), null).length);
+		assertTrue("ripple not cached: " + cache, cache.getHitCount() > hits);
+
+		createCU(pack, "C.java", "package p;\npublic class C extends B {\n\tpublic void m() {}\n}\n");
+		assertEquals(3, RippleMethodFinder2.getRelatedMethods(target, new NullProgressMonitor(), null).length);
+	}
+
 }
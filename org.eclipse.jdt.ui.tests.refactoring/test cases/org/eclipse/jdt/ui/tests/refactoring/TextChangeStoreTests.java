@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.RangeMarker;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.TextEditGroup;
+
+import org.eclipse.ltk.core.refactoring.CategorizedTextEditGroup;
+import org.eclipse.ltk.core.refactoring.GroupCategory;
+import org.eclipse.ltk.core.refactoring.GroupCategorySet;
+import org.eclipse.ltk.core.refactoring.TextChange;
+import org.eclipse.ltk.core.refactoring.TextEditChangeGroup;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
+
+import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeStore;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+public class TextChangeStoreTests extends GenericRefactoringTest {
+
+	private static final String SOURCE= """
+		package p;
+
+		public class A {
+			int fField;
+			void foo() {
+			}
+		}
+		""";
+
+	private final TextChangeStore fStore= new TextChangeStore();
+
+	public TextChangeStoreTests() {
+		rts= new RefactoringTestSetup();
+	}
+
+	@After
+	public void closeStore() {
+		fStore.close();
+	}
+
+	@Test
+	public void roundTrip() throws Exception {
+		ICompilationUnit cu= getPackageP().createCompilationUnit("A.java", SOURCE, true, null);
+
+		ReplaceEdit typeName= new ReplaceEdit(SOURCE.indexOf("A {"), 1, "B");
+		int fieldStart= SOURCE.indexOf("\tint");
+		ReplaceEdit fieldType= new ReplaceEdit(SOURCE.indexOf("int"), 3, "long");
+		ReplaceEdit fieldName= new ReplaceEdit(SOURCE.indexOf("fField"), 6, "fValue");
+		// a multi edit with a range of its own
+		MultiTextEdit field= new MultiTextEdit(fieldStart, SOURCE.indexOf('\n', fieldStart) + 1 - fieldStart);
+		field.addChild(fieldType);
+		field.addChild(fieldName);
+		int methodStart= SOURCE.indexOf("\tvoid");
+		DeleteEdit method= new DeleteEdit(methodStart, SOURCE.indexOf("\t}\n") + 3 - methodStart);
+		InsertEdit comment= new InsertEdit(SOURCE.lastIndexOf('}'), "\t// " + "x".repeat(70000) + "\n");
+		// a multi edit covering its children
+		MultiTextEdit members= new MultiTextEdit();
+		members.addChild(method);
+		members.addChild(comment);
+
+		CompilationUnitChange change= new CompilationUnitChange("change", cu);
+		MultiTextEdit root= new MultiTextEdit();
+		root.addChild(typeName);
+		root.addChild(field);
+		root.addChild(members);
+		change.setEdit(root);
+		change.setKeepPreviewEdits(true);
+		change.setSaveMode(TextFileChange.FORCE_SAVE);
+
+		GroupCategorySet categories= new GroupCategorySet(new GroupCategory("id", "name", "description"));
+		change.addTextEditChangeGroup(new TextEditChangeGroup(change, new TextEditGroup("rename type", typeName)));
+		change.addTextEditChangeGroup(new TextEditChangeGroup(change, new CategorizedTextEditGroup("change field", new TextEdit[] { fieldType, fieldName }, categories)));
+		TextEditChangeGroup methodGroup= new TextEditChangeGroup(change, new TextEditGroup("remove method", new TextEdit[] { method, comment }));
+		methodGroup.setEnabled(false);
+		change.addTextEditChangeGroup(methodGroup);
+		String preview= change.getPreviewContent(new NullProgressMonitor());
+
+		assertTrue(fStore.put(cu, change));
+		assertEquals(1, fStore.size());
+
+		TextChange restored= fStore.remove(cu);
+		assertEquals(0, fStore.size());
+		assertNull(fStore.remove(cu));
+		assertNotSame(change, restored);
+		assertSame(CompilationUnitChange.class, restored.getClass());
+		assertSame(cu, ((CompilationUnitChange) restored).getCompilationUnit());
+		assertEquals("change", restored.getName());
+		assertTrue(restored.isEnabled());
+		assertTrue(restored.getKeepPreviewEdits());
+		assertEquals(TextFileChange.FORCE_SAVE, ((CompilationUnitChange) restored).getSaveMode());
+		assertEquals(describe(root), describe(restored.getEdit()));
+
+		Set<TextEdit> restoredEdits= Collections.newSetFromMap(new IdentityHashMap<>());
+		collect(restored.getEdit(), restoredEdits);
+		TextEditChangeGroup[] groups= change.getTextEditChangeGroups();
+		TextEditChangeGroup[] restoredGroups= restored.getTextEditChangeGroups();
+		assertEquals(groups.length, restoredGroups.length);
+		for (int i= 0; i < groups.length; i++) {
+			TextEditGroup group= groups[i].getTextEditGroup();
+			TextEditGroup restoredGroup= restoredGroups[i].getTextEditGroup();
+			assertSame(group.getClass(), restoredGroup.getClass());
+			assertEquals(group.getName(), restoredGroup.getName());
+			assertEquals(groups[i].isEnabled(), restoredGroups[i].isEnabled());
+			TextEdit[] edits= group.getTextEdits();
+			TextEdit[] restoredGroupEdits= restoredGroup.getTextEdits();
+			assertEquals(edits.length, restoredGroupEdits.length);
+			for (int k= 0; k < edits.length; k++) {
+				assertEquals(describe(edits[k]), describe(restoredGroupEdits[k]));
+				// the groups refer to the edits of the restored tree
+				assertTrue(restoredEdits.contains(restoredGroupEdits[k]));
+			}
+		}
+		assertSame(categories, ((CategorizedTextEditGroup) restoredGroups[1].getTextEditGroup()).getGroupCategorySet());
+		assertFalse(restoredGroups[2].isEnabled());
+
+		assertEquals(preview, restored.getPreviewContent(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void rejectsUnknownEdits() throws Exception {
+		ICompilationUnit cu= getPackageP().createCompilationUnit("A.java", SOURCE, true, null);
+		CompilationUnitChange change= new CompilationUnitChange("change", cu);
+		MultiTextEdit root= new MultiTextEdit();
+		root.addChild(new RangeMarker(0, 7));
+		change.setEdit(root);
+
+		assertFalse(fStore.put(cu, change));
+		assertEquals(0, fStore.size());
+	}
+
+	@Test
+	public void reusesSpaceOfStoredChanges() throws Exception {
+		ICompilationUnit cuA= getPackageP().createCompilationUnit("A.java", SOURCE, true, null);
+		ICompilationUnit cuB= getPackageP().createCompilationUnit("B.java", SOURCE.replace("class A", "class B"), true, null);
+
+		assertTrue(fStore.put(cuA, createInsertChange(cuA, "x".repeat(1000))));
+		assertTrue(fStore.put(cuB, createInsertChange(cuB, "x".repeat(1000))));
+		long length= fStore.getFileLength();
+
+		// a change that fits is written to the place of the old change
+		assertTrue(fStore.put(cuA, createInsertChange(cuA, "y".repeat(900))));
+		assertEquals(length, fStore.getFileLength());
+
+		// growing changes do not grow the file beyond twice the stored changes
+		for (int i= 2; i <= 20; i++) {
+			assertTrue(fStore.put(cuA, createInsertChange(cuA, "z".repeat(i * 1000))));
+			assertTrue(fStore.getFileLength() <= 2 * (8 + 2 * (i + 1) * 1000) + 1000);
+		}
+
+		assertEquals(2, fStore.size());
+		assertEquals("z".repeat(20000), ((InsertEdit) fStore.remove(cuA).getEdit().getChildren()[0]).getText());
+		assertEquals("x".repeat(1000), ((InsertEdit) fStore.remove(cuB).getEdit().getChildren()[0]).getText());
+		assertEquals(0, fStore.getFileLength());
+	}
+
+	private static CompilationUnitChange createInsertChange(ICompilationUnit cu, String text) {
+		CompilationUnitChange change= new CompilationUnitChange("change", cu);
+		MultiTextEdit root= new MultiTextEdit();
+		root.addChild(new InsertEdit(0, text));
+		change.setEdit(root);
+		return change;
+	}
+
+	private static String describe(TextEdit edit) {
+		StringBuilder buf= new StringBuilder();
+		buf.append(edit.getClass().getSimpleName()).append('(').append(edit.getOffset()).append(',').append(edit.getLength());
+		if (edit instanceof ReplaceEdit)
+			buf.append(",").append(((ReplaceEdit) edit).getText());
+		else if (edit instanceof InsertEdit)
+			buf.append(",").append(((InsertEdit) edit).getText());
+		buf.append(')');
+		for (TextEdit child : edit.getChildren()) {
+			buf.append('[').append(describe(child)).append(']');
+		}
+		return buf.toString();
+	}
+
+	private static void collect(TextEdit edit, Set<TextEdit> edits) {
+		edits.add(edit);
+		for (TextEdit child : edit.getChildren()) {
+			collect(child, edits);
+		}
+	}
+}
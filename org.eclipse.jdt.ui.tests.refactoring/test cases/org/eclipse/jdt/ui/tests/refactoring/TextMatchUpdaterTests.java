@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+
+import org.eclipse.jdt.internal.corext.refactoring.SearchResultGroup;
+import org.eclipse.jdt.internal.corext.refactoring.rename.TextMatchUpdater;
+import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+public class TextMatchUpdaterTests extends GenericRefactoringTest {
+
+	private static final int CU_COUNT= 40;
+
+	public TextMatchUpdaterTests() {
+		rts= new RefactoringTestSetup();
+	}
+
+	@Test
+	public void concurrentScanMatchesSequentialScan() throws Exception {
+		for (int i= 0; i < CU_COUNT; i++) {
+			StringBuilder buf= new StringBuilder();
+			buf.append("package p;\n");
+			buf.append("/**\n");
+			if (i % 3 == 0)
+				buf.append(" * @see p.Foo\n");
+			if (i % 4 == 0)
+				buf.append(" * Foo is used here, FooBar is not\n");
+			buf.append(" */\n");
+			buf.append("class C").append(i).append(" {\n");
+			if (i % 5 == 0)
+				buf.append("\tString s= \"p.Foo\"; // Foo\n");
+			buf.append("}\n");
+			ICompilationUnit cu= createCU(getPackageP(), "C" + i + ".java", buf.toString());
+			if (i % 2 == 0)
+				cu.close(); // closed units are scanned from their file, the others from their buffer
+		}
+
+		Map<ICompilationUnit, String> sequential= updateTextMatches(1);
+		Map<ICompilationUnit, String> concurrent= updateTextMatches(4);
+
+		assertFalse(sequential.isEmpty());
+		assertEquals(sequential, concurrent);
+	}
+
+	private Map<ICompilationUnit, String> updateTextMatches(int parallelism) throws Exception {
+		IJavaSearchScope scope= SearchEngine.createJavaSearchScope(new IJavaElement[] { getRoot() });
+		TextChangeManager manager= new TextChangeManager();
+		TextMatchUpdater.perform(new NullProgressMonitor(), scope, "Foo", "p", "Bar", manager, new SearchResultGroup[0], false, parallelism);
+
+		Map<ICompilationUnit, String> result= new HashMap<>();
+		for (ICompilationUnit cu : manager.getAllCompilationUnits()) {
+			result.put(cu, manager.get(cu).getPreviewContent(new NullProgressMonitor()));
+		}
+		return result;
+	}
+}
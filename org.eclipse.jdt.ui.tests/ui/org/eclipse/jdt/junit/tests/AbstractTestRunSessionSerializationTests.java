@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -57,6 +57,7 @@ import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
 
 import org.eclipse.jdt.internal.junit.model.JUnitModel;
+import org.eclipse.jdt.internal.junit.model.TestElement;
 import org.eclipse.jdt.internal.junit.model.TestRunSession;
 import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
 
@@ -114,6 +115,7 @@ public class AbstractTestRunSessionSerializationTests {
 			// swap out the test run session because it may not have been done earlier
 			// due to lingering TestRunnerViewPart$TestSessionListeners
 			serializationResult.fTestRunSession.swapOut();
+			assertEqualFailures(imported.getAllFailedTestElements(), serializationResult.fTestRunSession.getAllFailedTestElements());
 			assertEqualSessions(serializationResult.fTestRunSession, imported);
 		} finally {
 			if (resultFile.exists())
@@ -186,6 +188,14 @@ public class AbstractTestRunSessionSerializationTests {
 		assertEqualSuite(expected.getTestRoot(), actual.getTestRoot());
 	}
 
+	private void assertEqualFailures(TestElement[] expected, TestElement[] actual) {
+		assertEquals(expected.length, actual.length);
+		for (int i= 0; i < expected.length; i++) {
+			assertEquals(expected[i].getTestName(), actual[i].getTestName());
+			assertEquals(expected[i].getTestResult(true), actual[i].getTestResult(true));
+		}
+	}
+
 	private void assertEqualSuite(ITestSuiteElement expected, ITestSuiteElement actual) {
 		assertEquals(expected.getProgressState(), actual.getProgressState());
 		assertEquals(expected.getTestResult(false), actual.getTestResult(false));
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.model.ITestRunListener2;
+import org.eclipse.jdt.internal.junit.model.RemoteTestRunnerClient;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageReader;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageWriter;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
+
+import junit.framework.TestCase;
+
+public class BinaryMessageProtocolTest {
+
+	private static class RecordingHandler implements BinaryMessageReader.IMessageHandler {
+		final List<String> fMessages= new ArrayList<>();
+		final List<String> fTestIds= new ArrayList<>();
+
+		@Override
+		public void handleLine(String line) {
+			fMessages.add(line);
+		}
+
+		@Override
+		public void handleMessage(String header, String arg) {
+			fMessages.add(header + arg);
+		}
+
+		@Override
+		public void handleTestMessage(String header, String testId, String arg) {
+			fTestIds.add(testId);
+			fMessages.add(header + testId + ',' + arg);
+		}
+	}
+
+	/**
+	 * Test class run by the {@link Runner}.
+	 */
+	public static class Sample extends TestCase {
+		public void testPass() {
+		}
+
+		public void testFail() {
+			fail("sample failure");
+		}
+	}
+
+	private static class Runner extends RemoteTestRunner {
+		void start(String... args) {
+			init(args);
+			run();
+		}
+	}
+
+	private static class RecordingListener implements ITestRunListener2 {
+		final List<String> fEvents= Collections.synchronizedList(new ArrayList<>());
+		final CountDownLatch fDone= new CountDownLatch(1);
+
+		@Override
+		public void testRunStarted(int testCount) {
+			fEvents.add("runStarted " + testCount);
+		}
+
+		@Override
+		public void testRunEnded(long elapsedTime) {
+			fEvents.add("runEnded");
+			fDone.countDown();
+		}
+
+		@Override
+		public void testRunStopped(long elapsedTime) {
+			fEvents.add("runStopped");
+			fDone.countDown();
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+			fEvents.add("started " + testName);
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			fEvents.add("ended " + testName);
+		}
+
+		@Override
+		public void testRunTerminated() {
+			fEvents.add("runTerminated");
+			fDone.countDown();
+		}
+
+		@Override
+		public void testTreeEntry(String description) {
+		}
+
+		@Override
+		public void testFailed(int status, String testId, String testName, String trace, String expected, String actual) {
+			fEvents.add("failed " + testName + (trace.contains("sample failure") ? " with trace" : " without trace"));
+		}
+
+		@Override
+		public void testReran(String testId, String testClass, String testName, int status, String trace, String expected, String actual) {
+		}
+	}
+
+	@Test
+	public void clientRoundTripBinary() throws Exception {
+		assertClientRoundTrip("-binaryprotocol");
+	}
+
+	@Test
+	public void clientRoundTripText() throws Exception {
+		assertClientRoundTrip();
+	}
+
+	private void assertClientRoundTrip(String... args) throws Exception {
+		int port;
+		try (ServerSocket socket= new ServerSocket(0)) {
+			port= socket.getLocalPort();
+		}
+		RecordingListener listener= new RecordingListener();
+		RemoteTestRunnerClient client= new RemoteTestRunnerClient();
+		client.startListening(new ITestRunListener2[] { listener }, port);
+
+		List<String> runnerArgs= new ArrayList<>(List.of("-port", String.valueOf(port), "-classnames", Sample.class.getName()));
+		runnerArgs.addAll(List.of(args));
+		new Runner().start(runnerArgs.toArray(new String[runnerArgs.size()]));
+
+		assertTrue(listener.fDone.await(30, TimeUnit.SECONDS));
+		String pass= "testPass(" + Sample.class.getName() + ")";
+		String fail= "testFail(" + Sample.class.getName() + ")";
+		List<String> events= new ArrayList<>(listener.fEvents);
+		assertEquals("runStarted 2", events.get(0));
+		assertEquals("runEnded", events.get(events.size() - 1));
+		assertTrue(events.toString(), events.indexOf("started " + pass) < events.indexOf("ended " + pass));
+		assertTrue(events.toString(), events.indexOf("started " + fail) < events.indexOf("failed " + fail + " with trace"));
+		assertTrue(events.toString(), events.indexOf("failed " + fail + " with trace") < events.indexOf("ended " + fail));
+		assertEquals(events.toString(), 7, events.size());
+	}
+
+	@Test
+	public void roundTrip() throws Exception {
+		String[] messages= {
+				MessageIds.TEST_RUN_START + "2 v2",
+				MessageIds.TEST_TREE + "1,testA(p.ATest),false,1,false,-1,testA,,",
+				MessageIds.TEST_START + "1,testA(p.ATest)",
+				MessageIds.TEST_FAILED + "1,testA(p.ATest)",
+				MessageIds.TRACE_START,
+				"java.lang.AssertionError: äöü\n\tat p.ATest.testA(ATest.java:5)\n",
+				MessageIds.TRACE_END,
+				MessageIds.TEST_END + "1,testA(p.ATest)",
+				MessageIds.TEST_START + "no test id",
+				MessageIds.TEST_RUN_END + "42",
+		};
+
+		ByteArrayOutputStream out= new ByteArrayOutputStream();
+		BinaryMessageWriter writer= new BinaryMessageWriter(out);
+		for (String message : messages) {
+			writer.writeMessage(message);
+		}
+		writer.flush();
+
+		RecordingHandler handler= new RecordingHandler();
+		BinaryMessageReader reader= new BinaryMessageReader(new ByteArrayInputStream(out.toByteArray()));
+		assertTrue(reader.readFrame(handler));
+		assertFalse(reader.readFrame(handler));
+
+		assertEquals(List.of(messages), handler.fMessages);
+		assertEquals(4, handler.fTestIds.size());
+		assertSame(handler.fTestIds.get(0), handler.fTestIds.get(3));
+	}
+
+	@Test
+	public void roundTripResetsStrings() throws Exception {
+		List<String> messages= new ArrayList<>();
+		for (int i= 0; i < BinaryMessageWriter.MAX_STRINGS; i++) {
+			messages.add(MessageIds.TEST_START + i + ",test" + i + "(p.ATest)");
+			messages.add(MessageIds.TEST_END + i + ",test" + i + "(p.ATest)");
+		}
+
+		ByteArrayOutputStream out= new ByteArrayOutputStream();
+		BinaryMessageWriter writer= new BinaryMessageWriter(out);
+		for (String message : messages) {
+			writer.writeMessage(message);
+		}
+		writer.flush();
+
+		RecordingHandler handler= new RecordingHandler();
+		BinaryMessageReader reader= new BinaryMessageReader(new ByteArrayInputStream(out.toByteArray()));
+		while (reader.readFrame(handler)) {
+			// read all frames
+		}
+
+		assertEquals(messages, handler.fMessages);
+	}
+
+	@Test
+	public void corruptFrames() throws Exception {
+		// negative and oversized frame lengths, e.g. from a text protocol peer
+		assertCorruptFrame(new byte[] { (byte) 0xFF, 0, 0, 0, 1 });
+		assertCorruptFrame("%TESTC  2 v2\n".getBytes(StandardCharsets.UTF_8));
+		// a string which is longer than its frame
+		assertCorruptFrame(new byte[] { 0, 0, 0, 5, BinaryMessageWriter.CODE_LINE, 0, 0, 0x10, 0 });
+		// a truncated frame
+		assertCorruptFrame(new byte[] { 0, 0, 0, 5, BinaryMessageWriter.CODE_LINE });
+	}
+
+	private void assertCorruptFrame(byte[] bytes) {
+		BinaryMessageReader reader= new BinaryMessageReader(new ByteArrayInputStream(bytes));
+		assertThrows(IOException.class, () -> reader.readFrame(new RecordingHandler()));
+	}
+}
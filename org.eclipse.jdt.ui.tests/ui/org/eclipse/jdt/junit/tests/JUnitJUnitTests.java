@@ -43,7 +43,10 @@ JUnitTestFinderTest.class,
 JUnit4TestFinderTest16.class,
 JUnit5TestFinderJupiterTest.class,
 
-TestSorting.class
+TestSorting.class,
+BinaryMessageProtocolTest.class,
+StringPoolTest.class,
+TestIdMapTest.class
 //LegacyTestRunListenerTest.class
 })
 public class JUnitJUnitTests {
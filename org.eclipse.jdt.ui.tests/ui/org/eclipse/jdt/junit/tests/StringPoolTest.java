@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.model.StringPool;
+
+public class StringPoolTest {
+
+	@Test
+	public void strings() {
+		StringPool pool= new StringPool();
+		String s1= new String("java.lang.String");
+		String s2= new String("java.lang.String");
+		assertNotSame(s1, s2);
+		assertSame(s1, pool.get(s1));
+		assertSame(s1, pool.get(s2));
+		assertNull(pool.get((String) null));
+	}
+
+	@Test
+	public void arrays() {
+		StringPool pool= new StringPool();
+		String[] a1= { new String("int"), new String("java.lang.String") };
+		String[] a2= { new String("int"), new String("java.lang.String") };
+		String[] a3= { new String("java.lang.String"), new String("int") };
+		assertSame(a1, pool.get(a1));
+		assertSame(a1, pool.get(a2));
+		String[] elements= a3.clone();
+		String[] pooled= pool.get(a3);
+		assertNotSame(a3, pooled);
+		assertArrayEquals(new String[] { "java.lang.String", "int" }, pooled);
+		// the elements are shared with the first array
+		assertSame(a1[0], pooled[1]);
+		assertSame(a1[1], pooled[0]);
+		// the given array keeps its elements
+		assertSame(elements[0], a3[0]);
+		assertSame(elements[1], a3[1]);
+		assertSame(pooled, pool.get(a3));
+		assertNull(pool.get((String[]) null));
+	}
+
+	@Test
+	public void arraysWithNullElements() {
+		StringPool pool= new StringPool();
+		String[] a1= { null, "int" };
+		String[] a2= { null, new String("int") };
+		String[] empty1= {};
+		String[] empty2= {};
+		assertSame(a1, pool.get(a1));
+		assertSame(a1, pool.get(a2));
+		assertSame(empty1, pool.get(empty1));
+		assertSame(empty1, pool.get(empty2));
+	}
+}
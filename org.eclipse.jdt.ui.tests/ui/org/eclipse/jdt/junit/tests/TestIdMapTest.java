@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestIdMap;
+
+public class TestIdMapTest {
+
+	private static TestElement createElement(String id) {
+		return new TestCaseElement(null, id, "test" + id + "(p.ATest)", null, false, null, null);
+	}
+
+	@Test
+	public void consecutiveIds() {
+		TestIdMap map= new TestIdMap();
+		TestElement[] elements= new TestElement[1000];
+		for (int i= 0; i < elements.length; i++) {
+			elements[i]= createElement(String.valueOf(i));
+			map.put(String.valueOf(i), elements[i]);
+		}
+		for (int i= 0; i < elements.length; i++) {
+			assertSame(elements[i], map.get(String.valueOf(i)));
+		}
+		assertNull(map.get("1000"));
+	}
+
+	@Test
+	public void sparseIds() {
+		TestIdMap map= new TestIdMap();
+		TestElement e1= createElement("1");
+		TestElement e100000= createElement("100000");
+		TestElement e2000000000= createElement("2000000000");
+		map.put("1", e1);
+		map.put("100000", e100000);
+		map.put("2000000000", e2000000000);
+		assertSame(e1, map.get("1"));
+		assertSame(e100000, map.get("100000"));
+		assertSame(e2000000000, map.get("2000000000"));
+		assertNull(map.get("2"));
+		assertNull(map.get("99999"));
+
+		// ids which have been too sparse are still found after the array has grown
+		for (int i= 2; i <= 100000; i++) {
+			map.put(String.valueOf(i), createElement(String.valueOf(i)));
+		}
+		assertSame(e100000, map.get("100000"));
+		assertSame(e2000000000, map.get("2000000000"));
+	}
+
+	@Test
+	public void nonNumericIds() {
+		TestIdMap map= new TestIdMap();
+		TestElement a= createElement("a");
+		TestElement negative= createElement("-1");
+		TestElement mixed= createElement("1a");
+		TestElement empty= createElement("");
+		map.put("a", a);
+		map.put("-1", negative);
+		map.put("1a", mixed);
+		map.put("", empty);
+		assertSame(a, map.get("a"));
+		assertSame(negative, map.get("-1"));
+		assertSame(mixed, map.get("1a"));
+		assertSame(empty, map.get(""));
+		assertNull(map.get("1"));
+	}
+
+	@Test
+	public void leadingZeroIds() {
+		TestIdMap map= new TestIdMap();
+		TestElement e1= createElement("1");
+		TestElement e01= createElement("01");
+		TestElement e0= createElement("0");
+		TestElement e00= createElement("00");
+		map.put("1", e1);
+		map.put("01", e01);
+		map.put("0", e0);
+		map.put("00", e00);
+		assertSame(e1, map.get("1"));
+		assertSame(e01, map.get("01"));
+		assertSame(e0, map.get("0"));
+		assertSame(e00, map.get("00"));
+		assertNull(map.get("001"));
+	}
+
+	@Test
+	public void replaceElement() {
+		TestIdMap map= new TestIdMap();
+		TestElement first= createElement("7");
+		TestElement second= createElement("7");
+		map.put("7", first);
+		map.put("7", second);
+		assertSame(second, map.get("7"));
+
+		TestElement x1= createElement("x");
+		TestElement x2= createElement("x");
+		map.put("x", x1);
+		map.put("x", x2);
+		assertSame(second, map.get("7"));
+		assertSame(x2, map.get("x"));
+	}
+}
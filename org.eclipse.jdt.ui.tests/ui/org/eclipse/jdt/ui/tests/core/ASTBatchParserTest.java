@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IBinding;
+
+import org.eclipse.jdt.internal.corext.dom.ASTBatchParser;
+import org.eclipse.jdt.internal.corext.util.ConcurrencyUtil.CancelOnlyProgressMonitor;
+import org.eclipse.jdt.internal.corext.util.ConcurrencyUtil.SynchronizedProgressMonitor;
+
+public class ASTBatchParserTest {
+
+	private static final long MB= 1 << 20;
+
+	private static final class RecordingProgressMonitor extends NullProgressMonitor {
+
+		int fTotalWork;
+		int fWorked;
+		final List<String> fSubTasks= new ArrayList<>();
+
+		@Override
+		public void beginTask(String name, int totalWork) {
+			fTotalWork= totalWork;
+		}
+
+		@Override
+		public void worked(int work) {
+			fWorked+= work;
+		}
+
+		@Override
+		public void subTask(String name) {
+			fSubTasks.add(name);
+		}
+	}
+
+	@Test
+	public void batchSizeFromBudget() {
+		assertEquals(100, ASTBatchParser.computeBatchSize(100 * MB, MB, 0));
+		assertEquals(400, ASTBatchParser.computeBatchSize(400 * MB, MB, 0));
+	}
+
+	@Test
+	public void batchSizeAtMostDoublesThePreviousSize() {
+		assertEquals(60, ASTBatchParser.computeBatchSize(100 * MB, MB, 30));
+		assertEquals(100, ASTBatchParser.computeBatchSize(100 * MB, MB, 80));
+	}
+
+	@Test
+	public void batchSizeBounds() {
+		assertEquals(25, ASTBatchParser.computeBatchSize(0, MB, 0));
+		assertEquals(25, ASTBatchParser.computeBatchSize(-100 * MB, MB, 0));
+		assertEquals(25, ASTBatchParser.computeBatchSize(100 * MB, MB, 5));
+		assertEquals(2000, ASTBatchParser.computeBatchSize(Long.MAX_VALUE, MB, 0));
+	}
+
+	@Test
+	public void estimateIgnoresCollectedHeap() {
+		assertEquals(5 * MB, ASTBatchParser.estimateBytesPerUnit(5 * MB, 0, 10));
+		assertEquals(5 * MB, ASTBatchParser.estimateBytesPerUnit(5 * MB, -20 * MB, 10));
+	}
+
+	@Test
+	public void estimateGrowsAtMostTwice() {
+		assertEquals(2 * MB, ASTBatchParser.estimateBytesPerUnit(MB, 10 * 3 * MB, 10));
+		assertEquals(3 * MB / 2, ASTBatchParser.estimateBytesPerUnit(MB, 10 * 3 * MB / 2, 10));
+	}
+
+	@Test
+	public void estimateShrinksSlowly() {
+		assertEquals(3 * MB, ASTBatchParser.estimateBytesPerUnit(4 * MB, 10 * 2 * MB, 10));
+	}
+
+	@Test
+	public void estimateBounds() {
+		assertEquals(64 << 10, ASTBatchParser.estimateBytesPerUnit(64 << 10, 10, 10));
+		assertEquals(64 * MB, ASTBatchParser.estimateBytesPerUnit(64 * MB, 10 * 1000 * MB, 10));
+	}
+
+	@Test
+	public void createBindingsInOneThread() throws Exception {
+		Map<String, IBinding> bindings= createBindingsOfTwoProjects(1);
+		assertNotNull(bindings.get("Lp1/A;"));
+		assertNotNull(bindings.get("Lp2/B;"));
+	}
+
+	@Test
+	public void createBindingsConcurrentlyReturnsNull() throws Exception {
+		// the wrapped requestor is not connected to the resolver, see ASTBatchParser#setParallelism
+		Map<String, IBinding> bindings= createBindingsOfTwoProjects(2);
+		assertEquals(2, bindings.size());
+		assertNull(bindings.get("Lp1/A;"));
+		assertNull(bindings.get("Lp2/B;"));
+	}
+
+	private static Map<String, IBinding> createBindingsOfTwoProjects(int parallelism) throws Exception {
+		IJavaProject project1= JavaProjectHelper.createJavaProject("P1", "bin");
+		IJavaProject project2= JavaProjectHelper.createJavaProject("P2", "bin");
+		try {
+			ICompilationUnit a= createCU(project1, "p1", "A");
+			ICompilationUnit b= createCU(project2, "p2", "B");
+
+			Map<String, IBinding> bindings= new HashMap<>();
+			ASTBatchParser parser= new ASTBatchParser();
+			parser.setParallelism(parallelism);
+			parser.createASTs(new ICompilationUnit[] { a, b }, new String[0], new ASTRequestor() {
+				@Override
+				public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+					String key= a.equals(source) ? "Lp1/A;" : "Lp2/B;";
+					bindings.put(key, createBindings(new String[] { key })[0]);
+				}
+			}, new NullProgressMonitor());
+			return bindings;
+		} finally {
+			JavaProjectHelper.delete(project1);
+			JavaProjectHelper.delete(project2);
+		}
+	}
+
+	private static ICompilationUnit createCU(IJavaProject project, String packageName, String typeName) throws Exception {
+		JavaProjectHelper.addRTJar(project);
+		IPackageFragment pack= JavaProjectHelper.addSourceContainer(project, "src").createPackageFragment(packageName, false, null);
+		String contents= "package " + packageName + ";\npublic class " + typeName + " {\n}\n";
+		return pack.createCompilationUnit(typeName + ".java", contents, false, null);
+	}
+
+	@Test
+	public void synchronizedMonitorForwardsAllWork() throws Exception {
+		RecordingProgressMonitor recording= new RecordingProgressMonitor();
+		IProgressMonitor monitor= new SynchronizedProgressMonitor(recording);
+		monitor.beginTask("", 8 * 1000);
+		monitor.subTask("sub");
+
+		List<Thread> threads= new ArrayList<>();
+		for (int i= 0; i < 8; i++) {
+			Thread thread= new Thread(() -> {
+				for (int k= 0; k < 1000; k++) {
+					monitor.worked(1);
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(8 * 1000, recording.fTotalWork);
+		assertEquals(8 * 1000, recording.fWorked);
+		assertEquals(List.of("sub"), recording.fSubTasks);
+
+		assertFalse(monitor.isCanceled());
+		monitor.setCanceled(true);
+		assertTrue(recording.isCanceled());
+		assertTrue(monitor.isCanceled());
+	}
+
+	@Test
+	public void cancelOnlyMonitorForwardsCancellation() {
+		RecordingProgressMonitor recording= new RecordingProgressMonitor();
+		IProgressMonitor monitor= new CancelOnlyProgressMonitor(recording);
+		monitor.beginTask("", 10);
+		monitor.worked(5);
+		monitor.subTask("sub");
+		assertEquals(0, recording.fTotalWork);
+		assertEquals(0, recording.fWorked);
+		assertTrue(recording.fSubTasks.isEmpty());
+
+		assertFalse(monitor.isCanceled());
+		recording.setCanceled(true);
+		assertTrue(monitor.isCanceled());
+	}
+}
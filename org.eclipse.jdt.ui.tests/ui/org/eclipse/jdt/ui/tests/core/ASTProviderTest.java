@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,8 @@ package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import org.junit.After;
 import org.junit.Before;
@@ -40,7 +42,9 @@ import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
@@ -142,6 +146,155 @@ public class ASTProviderTest extends CoreTests {
 		cu.getBuffer().save(null, true);
 	}
 
+	@Test
+	public void testCachedASTOfInactiveElement() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String str= """
+			package test1;
+			public class E1 {
+			}
+			""";
+		final ICompilationUnit cu= pack1.createCompilationUnit("E1.java", str, false, null);
+
+		CoreASTProvider provider= CoreASTProvider.getInstance();
+		provider.clearCache();
+		long hits= provider.getCacheHitCount();
+
+		CompilationUnit ast1= SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_YES, null);
+		assertNotNull(ast1);
+		CompilationUnit ast2= SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_YES, null);
+		assertSame(ast1, ast2);
+		assertEquals(hits + 1, provider.getCacheHitCount());
+
+		ICompilationUnit wc= cu.getWorkingCopy(null);
+		try {
+			wc.getBuffer().setContents(str + "class E2 {}\n");
+			CompilationUnit ast3= SharedASTProviderCore.getAST(wc, SharedASTProviderCore.WAIT_YES, null);
+			assertNotNull(ast3);
+			assertNotSame(ast1, ast3);
+			assertEquals(2, ast3.types().size());
+		} finally {
+			wc.discardWorkingCopy();
+		}
+	}
+
+	@Test
+	public void testCachedASTOfReactivatedElement() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String str= """
+			package test1;
+			public class E1 {
+			}
+			""";
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", str, false, null);
+		ICompilationUnit cu2= pack1.createCompilationUnit("E2.java", str.replace("E1", "E2"), false, null);
+
+		CoreASTProvider provider= CoreASTProvider.getInstance();
+		ITypeRoot active= provider.getActiveJavaElement();
+		provider.clearCache();
+		try {
+			// editor of cu1 is active and reconciled
+			provider.setActiveJavaElement(cu1);
+			provider.disposeAST();
+			CompilationUnit ast1= SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_YES, null);
+			assertNotNull(ast1);
+
+			// editor of cu2 gets activated
+			provider.setActiveJavaElement(cu2);
+			provider.disposeAST();
+			assertSame(ast1, SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_NO, null));
+
+			// editor of cu1 gets reactivated, its working copy is consistent
+			long hits= provider.getCacheHitCount();
+			provider.setActiveJavaElement(cu1);
+			provider.disposeAST();
+			provider.aboutToBeReconciled(cu1);
+			provider.reconciled(null, cu1, null);
+			assertSame(ast1, SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_ACTIVE_ONLY, null));
+			assertEquals(hits + 1, provider.getCacheHitCount());
+
+			// without a reconcile
+			provider.disposeAST();
+			assertSame(ast1, SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_YES, null));
+
+			// an added compilation unit can change the bindings, it invalidates the entry
+			pack1.createCompilationUnit("E3.java", str.replace("E1", "E3"), false, null);
+			provider.disposeAST();
+			CompilationUnit ast2= SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_YES, null);
+			assertNotSame(ast1, ast2);
+
+			// so does an edited dependency, also when the editor of cu1 is reactivated
+			provider.setActiveJavaElement(cu2);
+			provider.disposeAST();
+			cu2.getBuffer().setContents(str.replace("E1", "E2") + "class E5 {}\n");
+			cu2.save(null, true);
+			provider.setActiveJavaElement(cu1);
+			provider.disposeAST();
+			provider.aboutToBeReconciled(cu1);
+			provider.reconciled(null, cu1, null);
+			CompilationUnit ast3= SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_YES, null);
+			assertNotNull(ast3);
+			assertNotSame(ast2, ast3);
+
+			// and a changed buffer
+			provider.disposeAST();
+			cu1.getBuffer().setContents(str + "class E4 {}\n");
+			CompilationUnit ast4= SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_YES, null);
+			assertNotSame(ast3, ast4);
+			assertEquals(2, ast4.types().size());
+		} finally {
+			provider.setActiveJavaElement(active);
+			provider.disposeAST();
+			provider.clearReconciliation();
+			provider.clearCache();
+		}
+	}
+
+	@Test
+	public void testCachedASTAfterBodyEditOfOtherElement() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String str= """
+			package test1;
+			public class E1 {
+			    void foo() {
+			    }
+			}
+			""";
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", str, false, null);
+		ICompilationUnit cu2= pack1.createCompilationUnit("E2.java", str.replace("E1", "E2"), false, null);
+
+		CoreASTProvider provider= CoreASTProvider.getInstance();
+		ITypeRoot active= provider.getActiveJavaElement();
+		provider.clearCache();
+		cu2.becomeWorkingCopy(null);
+		try {
+			// editor of cu1 is active and reconciled
+			provider.setActiveJavaElement(cu1);
+			provider.disposeAST();
+			CompilationUnit ast1= SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_YES, null);
+			assertNotNull(ast1);
+
+			// editor of cu2 gets activated and its method body is edited
+			provider.setActiveJavaElement(cu2);
+			provider.disposeAST();
+			String source= cu2.getBuffer().getContents();
+			int offset= source.indexOf("    }");
+			cu2.getBuffer().replace(offset, 0, "        int i= 1;\n");
+			cu2.reconcile(ICompilationUnit.NO_AST, false, null, null);
+
+			// the entry of cu1 survives the body edit
+			long hits= provider.getCacheHitCount();
+			assertSame(ast1, SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_NO, null));
+			assertEquals(hits + 1, provider.getCacheHitCount());
+		} finally {
+			cu2.discardWorkingCopy();
+			provider.setActiveJavaElement(active);
+			provider.disposeAST();
+			provider.clearReconciliation();
+			provider.clearCache();
+		}
+	}
+
 	private static String getNormalizeNumber(int number) {
 		if (number < 10) {
 			return "000" + number;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,8 +17,11 @@ package org.eclipse.jdt.ui.tests.core;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -30,12 +33,16 @@ import org.junit.Test;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
 
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 
 import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallerCache;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 
 import org.eclipse.jdt.ui.tests.callhierarchy.CallHierarchyTestHelper;
@@ -96,6 +103,91 @@ public class CallHierarchyTest {
         helper.assertCalls(expectedSecondLevelMethods, wrapper2.getCalls(new NullProgressMonitor()));
     }
 
+	@Test
+	public void prefetchCallers() throws Exception {
+		helper.createSimpleClasses();
+
+		IMethod secondLevelMethod= helper.getMethod3();
+
+		MethodWrapper wrapper= getSingleCallerRoot(helper.getMethod1());
+		assertFalse(wrapper.hasCachedCalls());
+		assertNull(wrapper.getCachedCalls());
+
+		MethodWrapper.prefetchCalls(new MethodWrapper[] { wrapper }, 2, new NullProgressMonitor());
+		assertTrue(wrapper.hasCachedCalls());
+
+		Collection<IMember> expectedMethods= new ArrayList<>();
+		expectedMethods.add(helper.getMethod2());
+		expectedMethods.add(secondLevelMethod);
+		helper.assertCalls(expectedMethods, wrapper.getCachedCalls());
+		MethodWrapper[] calls= wrapper.getCalls(new NullProgressMonitor());
+		helper.assertCalls(expectedMethods, calls);
+
+		MethodWrapper wrapper2= helper.findMethodWrapper(secondLevelMethod, calls);
+		assertTrue(wrapper2.hasCachedCalls());
+
+		Collection<IMember> expectedSecondLevelMethods= new ArrayList<>();
+		expectedSecondLevelMethods.add(helper.getMethod4());
+		helper.assertCalls(expectedSecondLevelMethods, wrapper2.getCalls(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void callersAfterBodyChange() throws Exception {
+		helper.createSimpleClasses();
+
+		IMethod method= helper.getMethod1();
+
+		Collection<IMember> expectedMethods= new ArrayList<>();
+		expectedMethods.add(helper.getMethod2());
+		expectedMethods.add(helper.getMethod3());
+
+		helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+
+		ICompilationUnit cu= helper.getMethod4().getCompilationUnit();
+		cu.becomeWorkingCopy(null);
+		try {
+			String source= cu.getSource();
+			cu.getBuffer().setContents(source.replace("public void method4() { method3(); }", "public void method4() { method3(); method1(); }"));
+			cu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+
+			// only the changed compilation unit is searched again
+			long partialHits= CallerCache.getDefault().getPartialHitCount();
+			expectedMethods.add(helper.getMethod4());
+			helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+			assertEquals(partialHits + 1, CallerCache.getDefault().getPartialHitCount());
+		} finally {
+			cu.discardWorkingCopy();
+		}
+	}
+
+	@Test
+	public void callersAfterFileChangeOfWorkingCopy() throws Exception {
+		helper.createSimpleClasses();
+
+		IMethod method= helper.getMethod1();
+
+		Collection<IMember> expectedMethods= new ArrayList<>();
+		expectedMethods.add(helper.getMethod2());
+		expectedMethods.add(helper.getMethod3());
+
+		helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+
+		ICompilationUnit cu= helper.getMethod4().getCompilationUnit();
+		cu.becomeWorkingCopy(null);
+		try {
+			IFile file= (IFile) cu.getResource();
+			String source= cu.getSource().replace("public void method4() { method3(); }", "public void method4() { method3(); method1(); }");
+			file.setContents(new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)), true, false, null);
+
+			// the changes are not known, so all callers are searched again
+			long misses= CallerCache.getDefault().getMissCount();
+			getSingleCallerRoot(method).getCalls(new NullProgressMonitor());
+			assertEquals(misses + 1, CallerCache.getDefault().getMissCount());
+		} finally {
+			cu.discardWorkingCopy();
+		}
+	}
+
 	@Test
 	public void callersNoResults() throws Exception {
         helper.createSimpleClasses();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 IBM Corporation and others.
+ * Copyright (c) 2020, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import org.eclipse.jdt.internal.ui.compare.JavaTokenComparatorTest;
 @Suite
 @SelectClasses({
 AddImportTest.class,
+ASTBatchParserTest.class,
 SourceActionTests.class,
 ASTNodesInsertTest.class,
 BindingsHierarchyTest.class,
@@ -45,8 +46,10 @@ JavaElementPropertyTesterTest.class,
 JavaModelUtilTest.class,
 MethodOverrideTest.class,
 MethodOverrideTest1d8.class,
+OverrideIndicatorLabelDecoratorTest.class,
 NameProposerTest.class,
 OverrideTest.class,
+SuperTypeHierarchyCacheTest.class,
 PartialASTTest.class,
 ScopeAnalyzerTest.class,
 TemplateStoreTest.class,
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.util.DisplayHelper;
+
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.jface.viewers.LabelProviderChangedEvent;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
+
+import org.eclipse.jdt.ui.JavaElementImageDescriptor;
+import org.eclipse.jdt.ui.OverrideIndicatorLabelDecorator;
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.JavaPluginImages;
+
+public class OverrideIndicatorLabelDecoratorTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+
+	private OverrideIndicatorLabelDecorator fDecorator;
+
+	private final List<LabelProviderChangedEvent> fEvents= new ArrayList<>();
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+		fDecorator= new OverrideIndicatorLabelDecorator();
+		fDecorator.addListener(fEvents::add);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fDecorator.dispose();
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	@Test
+	public void deferredDecoration() throws Exception {
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack= root.createPackageFragment("test1", false, null);
+		String str= """
+			package test1;
+			public class A implements Runnable {
+			    public void run() {
+			    }
+			    public String toString() {
+			        return "A";
+			    }
+			    public void foo() {
+			    }
+			}
+			""";
+		ICompilationUnit cu= pack.createCompilationUnit("A.java", str, false, null);
+		IType type= cu.getType("A");
+		IMethod run= type.getMethod("run", new String[0]);
+		IMethod toString= type.getMethod("toString", new String[0]);
+		IMethod foo= type.getMethod("foo", new String[0]);
+		assertFalse(SuperTypeHierarchyCache.hasInCache(type));
+		// more types than the hierarchy cache holds, created before any indicator is resolved
+		List<IType> others= new ArrayList<>();
+		for (int i= 0; i < 40; i++) {
+			others.add(pack.createCompilationUnit("B" + i + ".java", "package test1;\npublic class B" + i + " {}\n", false, null).getType("B" + i));
+		}
+
+		Image image= JavaPluginImages.get(JavaPluginImages.IMG_MISC_PUBLIC);
+		assertSame(image, fDecorator.decorateImage(image, run));
+		assertEquals(0, fDecorator.computeAdornmentFlags(toString));
+		assertEquals(0, fDecorator.computeAdornmentFlags(foo));
+
+		Display display= Display.getCurrent();
+		// the label update job runs in the UI thread. The background job can take the methods in
+		// more than one batch, so the reported elements are collected over all events
+		Set<Object> reported= new HashSet<>();
+		boolean notified= new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				for (LabelProviderChangedEvent event : fEvents) {
+					reported.addAll(Arrays.asList(event.getElements()));
+				}
+				return reported.size() == 3;
+			}
+		}.waitForCondition(display, 10000);
+		assertTrue(notified);
+		assertEquals(Set.of(run, toString, foo), reported);
+
+		// the indicators computed in the background are used
+		Image decorated= fDecorator.decorateImage(image, run);
+		assertNotSame(image, decorated);
+		assertEquals(JavaElementImageDescriptor.OVERRIDES, fDecorator.computeAdornmentFlags(toString));
+		assertEquals(0, fDecorator.computeAdornmentFlags(foo));
+
+		// they are kept when the hierarchy has been removed from the cache, the methods are not deferred again
+		for (IType other : others) {
+			SuperTypeHierarchyCache.getTypeHierarchy(other);
+		}
+		assertFalse(SuperTypeHierarchyCache.hasInCache(type));
+		int eventCount= fEvents.size();
+		assertEquals(JavaElementImageDescriptor.IMPLEMENTS, fDecorator.computeAdornmentFlags(run));
+		assertEquals(JavaElementImageDescriptor.IMPLEMENTS, fDecorator.computeAdornmentFlags(run));
+		assertEquals(JavaElementImageDescriptor.OVERRIDES, fDecorator.computeAdornmentFlags(toString));
+		// a deferred method would be reported after a short delay
+		DisplayHelper.sleep(display, 500);
+		assertEquals(eventCount, fEvents.size());
+		assertFalse(SuperTypeHierarchyCache.hasInCache(type));
+	}
+}
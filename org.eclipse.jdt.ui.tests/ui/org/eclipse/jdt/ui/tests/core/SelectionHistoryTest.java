@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,18 +13,30 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.core;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.text.Collator;
 import java.util.Arrays;
 import java.util.Comparator;
 
+import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 
 import org.w3c.dom.Element;
 
 import org.eclipse.jdt.internal.corext.util.History;
+import org.eclipse.jdt.internal.corext.util.JournaledHistory;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
 
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
@@ -124,6 +136,25 @@ public class SelectionHistoryTest {
 
 	}
 
+	private static final class JournaledTestHistory extends JournaledHistory<String, String> {
+
+		public JournaledTestHistory() {
+			super("SelectionHistoryTest.xml", "root", "info");
+			load();
+		}
+		@Override
+		protected void setAttributes(Object object, Element element) {}
+		@Override
+		protected String createFromElement(Element type) {return null;}
+		@Override
+		protected String getKey(String object) {return object;}
+		@Override
+		protected void writeEntry(String object, DataOutput out) throws IOException {out.writeUTF(object);}
+		@Override
+		protected String readEntry(DataInput in) throws IOException {return in.readUTF();}
+
+	}
+
 	@Test
 	public void organizeImportHistory01() throws Exception {
 		History<String, String> history= new TestHistory();
@@ -190,4 +221,73 @@ public class SelectionHistoryTest {
 		Arrays.sort(strings, comparator);
 		assertEquals(strings, expected);
 	}
+
+	@Test
+	public void journaledHistory() throws Exception {
+		File journal= JavaPlugin.getDefault().getStateLocation().append("SelectionHistoryTest.journal").toFile();
+		journal.delete();
+		try {
+			History<String, String> history= new JournaledTestHistory();
+			history.accessed("a");
+			history.accessed("b");
+			history.accessed("c");
+			history.save();
+
+			// appended to the existing journal
+			history= new JournaledTestHistory();
+			history.remove("b");
+			history.accessed("d");
+			history.accessed("a");
+			history.save();
+
+			history= new JournaledTestHistory();
+			String[] strings= {"a", "b", "c", "d"};
+			String[] expected= {"a", "d", "c", "b"};
+			Arrays.sort(strings, new TestHistoryComparator(history));
+			assertEquals(strings, expected);
+			assertFalse(history.containsKey("b"));
+
+			// compacted journal
+			for (int i= 0; i < 300; i++) {
+				history.accessed(Integer.toString(i % 10));
+			}
+			history.save();
+			history= new JournaledTestHistory();
+			Assert.assertEquals(12, history.getPosition("9"));
+		} finally {
+			journal.delete();
+		}
+	}
+
+	@Test
+	public void corruptJournal() throws Exception {
+		File journal= JavaPlugin.getDefault().getStateLocation().append("SelectionHistoryTest.journal").toFile();
+		journal.delete();
+		try {
+			History<String, String> history= new JournaledTestHistory();
+			history.accessed("a");
+			history.accessed("b");
+			history.save();
+			try (DataOutputStream out= new DataOutputStream(new FileOutputStream(journal, true))) {
+				out.writeByte(42); // no record kind
+				out.writeUTF("x");
+			}
+
+			// the records before the corrupt record are kept
+			history= new JournaledTestHistory();
+			assertTrue(history.containsKey("a"));
+			assertTrue(history.containsKey("b"));
+			assertFalse(history.containsKey("x"));
+
+			// the corrupt journal is replaced when saving
+			history.accessed("c");
+			history.save();
+			history= new JournaledTestHistory();
+			Assert.assertEquals(0, history.getPosition("a"));
+			Assert.assertEquals(1, history.getPosition("b"));
+			Assert.assertEquals(2, history.getPosition("c"));
+		} finally {
+			journal.delete();
+		}
+	}
 }
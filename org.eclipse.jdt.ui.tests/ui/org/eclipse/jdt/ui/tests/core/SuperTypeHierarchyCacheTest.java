@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+public class SuperTypeHierarchyCacheTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+
+	private IPackageFragment fPack;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		fPack= sourceFolder.createPackageFragment("test1", false, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	@Test
+	public void leastRecentlyUsedHierarchyIsEvicted() throws Exception {
+		int count= Integer.getInteger("org.eclipse.jdt.ui.superTypeHierarchyCache.size", 32).intValue() + 1;
+		IType[] types= new IType[count];
+		for (int i= 0; i < count; i++) {
+			ICompilationUnit cu= fPack.createCompilationUnit("C" + i + ".java", "package test1;\npublic class C" + i + " {\n}\n", false, null);
+			types[i]= cu.getType("C" + i);
+		}
+
+		ITypeHierarchy first= SuperTypeHierarchyCache.getTypeHierarchy(types[0]);
+		assertSame(first, SuperTypeHierarchyCache.getTypeHierarchy(types[0]));
+		for (int i= 1; i < count; i++) {
+			SuperTypeHierarchyCache.getTypeHierarchy(types[i]);
+		}
+
+		assertFalse(SuperTypeHierarchyCache.hasInCache(types[0]));
+		assertTrue(SuperTypeHierarchyCache.hasInCache(types[count - 1]));
+		assertTrue(SuperTypeHierarchyCache.getCacheSize() < count);
+	}
+
+	@Test
+	public void onlyAffectedHierarchiesAreInvalidated() throws Exception {
+		ICompilationUnit cuA= fPack.createCompilationUnit("A.java", "package test1;\npublic class A extends B {\n}\n", false, null);
+		ICompilationUnit cuB= fPack.createCompilationUnit("B.java", "package test1;\npublic class B {\n}\n", false, null);
+		ICompilationUnit cuC= fPack.createCompilationUnit("C.java", "package test1;\npublic class C {\n}\n", false, null);
+		ICompilationUnit cuD= fPack.createCompilationUnit("D.java", "package test1;\npublic class D {\n}\n", false, null);
+		IType typeA= cuA.getType("A");
+		IType typeC= cuC.getType("C");
+
+		ITypeHierarchy hierarchyA= SuperTypeHierarchyCache.getTypeHierarchy(typeA);
+		ITypeHierarchy hierarchyC= SuperTypeHierarchyCache.getTypeHierarchy(typeC);
+		assertTrue(SuperTypeHierarchyCache.hasInCache(cuB.getType("B")));
+
+		// a change of a type that is not in a cached hierarchy keeps them all
+		cuD.getBuffer().setContents("package test1;\npublic class D {\n\tvoid foo() {}\n}\n");
+		cuD.save(null, true);
+		assertSame(hierarchyA, SuperTypeHierarchyCache.getTypeHierarchy(typeA));
+		assertSame(hierarchyC, SuperTypeHierarchyCache.getTypeHierarchy(typeC));
+
+		// a changed super type only invalidates the hierarchies that contain it
+		cuB.getBuffer().setContents("package test1;\npublic class B extends D {\n}\n");
+		cuB.save(null, true);
+		assertFalse(SuperTypeHierarchyCache.hasInCache(typeA));
+		assertSame(hierarchyC, SuperTypeHierarchyCache.getTypeHierarchy(typeC));
+
+		ITypeHierarchy newHierarchyA= SuperTypeHierarchyCache.getTypeHierarchy(typeA);
+		assertTrue(newHierarchyA.contains(cuD.getType("D")));
+
+		// an added type can resolve a missing super type of any hierarchy
+		fPack.createCompilationUnit("E.java", "package test1;\npublic class E {\n}\n", false, null);
+		assertFalse(SuperTypeHierarchyCache.hasInCache(typeA));
+		assertFalse(SuperTypeHierarchyCache.hasInCache(typeC));
+	}
+
+	@Test
+	public void changedTypeParameterBoundInvalidatesHierarchy() throws Exception {
+		ICompilationUnit cuA= fPack.createCompilationUnit("A.java", "package test1;\npublic class A<T extends Object> {\n\tvoid foo() {}\n}\n", false, null);
+		ICompilationUnit cuC= fPack.createCompilationUnit("C.java", "package test1;\npublic class C {\n}\n", false, null);
+		IType typeA= cuA.getType("A");
+		IType typeC= cuC.getType("C");
+
+		SuperTypeHierarchyCache.getTypeHierarchy(typeA);
+		ITypeHierarchy hierarchyC= SuperTypeHierarchyCache.getTypeHierarchy(typeC);
+
+		// a bound change is only reported as a content change of the type
+		cuA.getBuffer().setContents("package test1;\npublic class A<T extends Number> {\n\tvoid foo() {}\n}\n");
+		cuA.save(null, true);
+		assertFalse(SuperTypeHierarchyCache.hasInCache(typeA));
+		assertSame(hierarchyC, SuperTypeHierarchyCache.getTypeHierarchy(typeC));
+
+		SuperTypeHierarchyCache.getTypeHierarchy(typeA);
+		cuA.getBuffer().setContents("package test1;\npublic class A<T extends Number> {\n\t<S extends T> void foo() {}\n}\n");
+		cuA.save(null, true);
+		assertFalse(SuperTypeHierarchyCache.hasInCache(typeA));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -35,6 +36,7 @@ import org.eclipse.jdt.testplugin.StringAsserts;
 
 import org.eclipse.core.runtime.Path;
 
+import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
@@ -301,4 +303,24 @@ public class TypeInfoTest {
 		assertNull(filter.getPackagePattern());
    }
 
-}
\ No newline at end of file
+	@Test
+	public void rawNamePattern() throws Exception {
+		IJavaSearchScope scope= SearchEngine.createJavaSearchScope(new IJavaElement[] { fJProject1 });
+		TypeNameMatch hashMap= SearchEngine.createTypeNameMatch(fJProject1.findType("java.util.HashMap"), Flags.AccPublic);
+		TypeNameMatch linkedHashMap= SearchEngine.createTypeNameMatch(fJProject1.findType("java.util.LinkedHashMap"), Flags.AccPublic);
+
+		TypeInfoFilter filter= new TypeInfoFilter("hashm", scope, 0, null);
+		assertTrue(filter.hasRawNamePrefix());
+		assertTrue(filter.matchesRawNamePattern(hashMap));
+		assertFalse(filter.matchesRawNamePattern(linkedHashMap));
+
+		filter= new TypeInfoFilter("java.util.HashMap ", scope, 0, null);
+		assertTrue(filter.hasRawNamePrefix());
+		assertTrue(filter.matchesRawNamePattern(hashMap));
+		assertFalse(filter.matchesRawNamePattern(linkedHashMap));
+
+		assertFalse(new TypeInfoFilter("*HashMap", scope, 0, null).hasRawNamePrefix());
+		assertFalse(new TypeInfoFilter("Hash?ap", scope, 0, null).hasRawNamePrefix());
+		assertFalse(new TypeInfoFilter("", scope, 0, null).hasRawNamePrefix());
+	}
+}
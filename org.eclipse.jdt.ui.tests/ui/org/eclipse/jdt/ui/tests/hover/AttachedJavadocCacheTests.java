@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.hover;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.JavaTestPlugin;
+
+import org.eclipse.core.runtime.Path;
+
+import org.eclipse.jdt.core.IClasspathAttribute;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.manipulation.internal.javadoc.AttachedJavadocCache;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+/**
+ * Tests the cache of the Javadoc attached from a local directory.
+ */
+public class AttachedJavadocCacheTests {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private static final String TYPE_NAME= "org.eclipse.jdt.ui.tests.noJavadoc.TestClassNoJavaDoc";
+
+	private static final String HTML= """
+			<html><body>
+			<!-- ======== START OF CLASS DATA ======== -->
+			<P>Attached type documentation.</P>
+			<!-- ========= END OF CLASS DATA ========= -->
+			</body></html>
+			""";
+
+	private IJavaProject fJProject1;
+
+	private java.nio.file.Path fJavadocDirectory;
+
+	private File fTypeFile;
+
+	private File fClasses;
+
+	private IType fType;
+
+	private final AttachedJavadocCache fCache= AttachedJavadocCache.getDefault();
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+		fJavadocDirectory= Files.createTempDirectory("attachedJavadoc");
+		java.nio.file.Path typeFile= fJavadocDirectory.resolve(TYPE_NAME.replace('.', '/') + ".html");
+		Files.createDirectories(typeFile.getParent());
+		Files.writeString(typeFile, HTML, StandardCharsets.UTF_8);
+		fTypeFile= typeFile.toFile();
+
+		fClasses= JavaTestPlugin.getDefault().getFileInPlugin(new Path("/testresources/PackageJavadocTests/testData.zip"));
+		JavaProjectHelper.addToClasspath(fJProject1, createLibraryEntry(fJavadocDirectory.toUri().toURL().toExternalForm()));
+		fType= fJProject1.findType(TYPE_NAME);
+		assertNotNull(fType);
+		fCache.clear();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+		fCache.clear();
+		try (Stream<java.nio.file.Path> files= Files.walk(fJavadocDirectory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+		}
+	}
+
+	@Test
+	public void memoryHit() throws Exception {
+		String javadoc= fCache.getAttachedJavadoc(fType);
+		assertNotNull(javadoc);
+		assertTrue(javadoc, javadoc.contains("Attached type documentation."));
+		assertSame(javadoc, fCache.getAttachedJavadoc(fType));
+	}
+
+	@Test
+	public void diskHit() throws Exception {
+		String javadoc= fCache.getAttachedJavadoc(fType);
+		replaceStoredJavadoc("<P>Stored type documentation.</P>");
+
+		fCache.clear();
+		String stored= fCache.getAttachedJavadoc(fType);
+		assertEquals("<P>Stored type documentation.</P>", stored);
+		assertNotSame(javadoc, stored);
+	}
+
+	@Test
+	public void timeStampChange() throws Exception {
+		fCache.getAttachedJavadoc(fType);
+		replaceStoredJavadoc("<P>Stored type documentation.</P>");
+		assertTrue(fTypeFile.setLastModified(fTypeFile.lastModified() + 10000));
+
+		fCache.clear();
+		String javadoc= fCache.getAttachedJavadoc(fType);
+		assertNotNull(javadoc);
+		assertTrue(javadoc, javadoc.contains("Attached type documentation."));
+	}
+
+	@Test
+	public void classpathChangeFlushes() throws Exception {
+		String javadoc= fCache.getAttachedJavadoc(fType);
+		assertSame(javadoc, fCache.getAttachedJavadoc(fType));
+
+		File archive= JavaTestPlugin.getDefault().getFileInPlugin(new Path("/testresources/PackageJavadocTests/testData_src.zip"));
+		JavaProjectHelper.addLibrary(fJProject1, new Path(archive.getAbsolutePath()));
+
+		String reread= fCache.getAttachedJavadoc(fType);
+		assertEquals(javadoc, reread);
+		assertNotSame(javadoc, reread);
+	}
+
+	@Test
+	public void inheritedJavadocKeptForLocalLocationsOnly() throws Exception {
+		IMethod method= fType.getMethods()[0];
+		int[] computed= { 0 };
+		AttachedJavadocCache.IJavadocComputer computer= () -> {
+			computed[0]++;
+			try {
+				return fCache.getAttachedJavadoc(fType);
+			} catch (JavaModelException e) {
+				return null; // the remote location is not reachable
+			}
+		};
+
+		String javadoc= fCache.getInheritedJavadoc(method, computer);
+		assertNotNull(javadoc);
+		assertSame(javadoc, fCache.getInheritedJavadoc(method, computer));
+		assertEquals(1, computed[0]);
+
+		IClasspathEntry[] entries= fJProject1.getRawClasspath();
+		for (int i= 0; i < entries.length; i++) {
+			if (entries[i].getPath().equals(new Path(fClasses.getAbsolutePath())))
+				entries[i]= createLibraryEntry("http://localhost:1/javadoc/");
+		}
+		fJProject1.setRawClasspath(entries, null);
+
+		// a failure to access the remote location is not kept
+		fCache.getInheritedJavadoc(method, computer);
+		fCache.getInheritedJavadoc(method, computer);
+		assertEquals(3, computed[0]);
+	}
+
+	private IClasspathEntry createLibraryEntry(String javadocLocation) {
+		IClasspathAttribute attribute= JavaCore.newClasspathAttribute(IClasspathAttribute.JAVADOC_LOCATION_ATTRIBUTE_NAME, javadocLocation);
+		return JavaCore.newLibraryEntry(new Path(fClasses.getAbsolutePath()), null, null, null, new IClasspathAttribute[] { attribute }, false);
+	}
+
+	/**
+	 * Replaces the Javadoc of the type that is stored in the state location, keeping its key.
+	 *
+	 * @param javadoc the new Javadoc
+	 * @throws Exception if the file cannot be accessed
+	 */
+	private void replaceStoredJavadoc(String javadoc) throws Exception {
+		java.nio.file.Path directory= JavaManipulationPlugin.getDefault().getStateLocation().append("attachedJavadoc").toPath();
+		String keySuffix= '|' + fType.getHandleIdentifier() + '\n';
+		try (Stream<java.nio.file.Path> files= Files.list(directory)) {
+			for (java.nio.file.Path file : (Iterable<java.nio.file.Path>) files::iterator) {
+				String contents= Files.readString(file, StandardCharsets.UTF_8);
+				String key= contents.substring(0, contents.indexOf('\n') + 1);
+				// the files of earlier tests refer to other Javadoc directories
+				if (key.endsWith(keySuffix) && key.contains(fJavadocDirectory.getFileName().toString())) {
+					Files.writeString(file, key + javadoc, StandardCharsets.UTF_8);
+					return;
+				}
+			}
+		}
+		throw new AssertionError("Javadoc of " + fType.getElementName() + " not stored");
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,10 +25,12 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Before;
@@ -60,6 +62,7 @@ import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
 
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
 import org.eclipse.jdt.internal.corext.fix.FixMessages;
 import org.eclipse.jdt.internal.corext.fix.UpdateProperty;
 import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
@@ -67,6 +70,7 @@ import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
 import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
 import org.eclipse.jdt.ui.tests.core.rules.Java13ProjectTestSetup;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
@@ -29857,6 +29861,105 @@ public class CleanUpTest extends CleanUpTestCase {
 		assertTrue(message, message.contains("parse"));
 	}
 
+	@Test
+	public void testParallelSortMembersAndOrganizeImports() throws Exception {
+		IJavaProject project2= JavaProjectHelper.createJavaProject("CleanUpTestProject2", "bin");
+		try {
+			JavaProjectHelper.addRTJar16(project2);
+			IPackageFragmentRoot src2= JavaProjectHelper.addSourceContainer(project2, "src");
+
+			// enough packages per project for several shards
+			List<ICompilationUnit> cus= new ArrayList<>();
+			List<String> expected= new ArrayList<>();
+			for (IPackageFragmentRoot root : new IPackageFragmentRoot[] { fSourceFolder, src2 }) {
+				for (int p= 0; p < 3; p++) {
+					IPackageFragment pack= root.createPackageFragment("test" + p, false, null);
+					for (int i= 0; i < 30; i++) {
+						String sample= """
+							package test%d;
+
+							import java.util.Map;
+							import java.util.List;
+
+							public class E%d {
+							    Map<String, String> b;
+							    List<String> a;
+							}
+							""".formatted(p, i);
+						cus.add(pack.createCompilationUnit("E" + i + ".java", sample, false, null));
+
+						sample= """
+							package test%d;
+
+							import java.util.List;
+							import java.util.Map;
+
+							public class E%d {
+							    List<String> a;
+							    Map<String, String> b;
+							}
+							""".formatted(p, i);
+						expected.add(sample);
+					}
+				}
+			}
+
+			enable(CleanUpConstants.SORT_MEMBERS);
+			enable(CleanUpConstants.SORT_MEMBERS_ALL);
+			enable(CleanUpConstants.ORGANIZE_IMPORTS);
+
+			CleanUpRefactoring ref= new CleanUpRefactoring();
+			ref.setUseOptionsFromProfile(true);
+			ref.setParallelism(4);
+			ICleanUp[] cleanUps= JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps();
+			ICompilationUnit[] units= cus.toArray(new ICompilationUnit[cus.size()]);
+			performRefactoring(ref, units, cleanUps, null);
+
+			for (int i= 0; i < units.length; i++) {
+				assertEquals(units[i].getElementName(), expected.get(i), units[i].getBuffer().getContents());
+			}
+		} finally {
+			JavaProjectHelper.delete(project2);
+		}
+	}
+
+	@Test
+	public void testParallelSerialVersion() throws Exception {
+		// enough packages for several shards
+		List<ICompilationUnit> cus= new ArrayList<>();
+		for (int p= 0; p < 4; p++) {
+			IPackageFragment pack= fSourceFolder.createPackageFragment("test" + p, false, null);
+			for (int i= 0; i < 20; i++) {
+				String sample= """
+					package test%d;
+
+					import java.io.Serializable;
+
+					public class E%d implements Serializable {
+					    int f;
+					}
+					""".formatted(p, i);
+				cus.add(pack.createCompilationUnit("E" + i + ".java", sample, false, null));
+			}
+		}
+
+		enable(CleanUpConstants.ADD_MISSING_SERIAL_VERSION_ID);
+		enable(CleanUpConstants.ADD_MISSING_SERIAL_VERSION_ID_GENERATED);
+
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setUseOptionsFromProfile(true);
+		ref.setParallelism(4);
+		ICleanUp[] cleanUps= JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps();
+		ICompilationUnit[] units= cus.toArray(new ICompilationUnit[cus.size()]);
+		performRefactoring(ref, units, cleanUps, null);
+
+		// the ids of every shard are calculated, not only the ones of the last shard to check its pre conditions
+		for (ICompilationUnit unit : units) {
+			String contents= unit.getBuffer().getContents();
+			assertTrue(unit.getElementName() + ": " + contents, contents.contains("private static final long serialVersionUID = "));
+		}
+	}
+
 	@Test
 	public void testOrganizeImportsBug202266() throws Exception {
 		IPackageFragment pack1= fSourceFolder.createPackageFragment("test2", false, null);
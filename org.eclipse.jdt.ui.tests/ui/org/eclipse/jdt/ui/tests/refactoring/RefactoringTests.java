@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2020 Simeon Andreev and others.
+ * Copyright (c) 2017, 2026 Simeon Andreev and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,7 +19,8 @@ import org.junit.platform.suite.api.Suite;
 @Suite
 @SelectClasses({
 	IsCompletelySelectedTest.class,
-	ParentCheckerTest.class
+	ParentCheckerTest.class,
+	SelectionAvailabilityTest.class
 })
 public class RefactoringTests {
 }
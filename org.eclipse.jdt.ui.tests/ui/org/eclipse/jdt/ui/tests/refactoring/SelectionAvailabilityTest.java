@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.jdt.testplugin.util.DisplayHelper;
+
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.jface.viewers.StructuredSelection;
+
+import org.eclipse.ui.IWorkbenchSite;
+import org.eclipse.ui.PlatformUI;
+
+import org.eclipse.jdt.ui.actions.SelectionDispatchAction;
+
+import org.eclipse.jdt.internal.ui.actions.SelectionAvailability;
+
+public class SelectionAvailabilityTest {
+
+	private static final Predicate<IStructuredSelection> ALL= s -> true;
+
+	private IWorkbenchSite fSite;
+
+	@BeforeEach
+	public void setUp() {
+		fSite= PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage().getActivePart().getSite();
+	}
+
+	@Test
+	public void memoHit() {
+		IStructuredSelection selection= createSelection("memoHit", 3);
+		AtomicInteger calls= new AtomicInteger();
+		SelectionAvailability.IAvailabilityTest test= s -> {
+			calls.incrementAndGet();
+			return true;
+		};
+		SelectionDispatchAction action1= createAction();
+		SelectionDispatchAction action2= createAction();
+
+		SelectionAvailability.update(action1, selection, "memoHit", ALL, test);
+		SelectionAvailability.update(action2, selection, "memoHit", ALL, test);
+		assertTrue(action1.isEnabled());
+		assertTrue(action2.isEnabled());
+		assertEquals(1, calls.get());
+
+		// another test of the same selection is evaluated
+		SelectionAvailability.update(action2, selection, "memoHit2", ALL, test);
+		assertEquals(2, calls.get());
+		// an equal selection shares the results
+		SelectionAvailability.update(action1, createSelection("memoHit", 3), "memoHit", ALL, test);
+		assertEquals(2, calls.get());
+		// a different selection is tested again
+		SelectionAvailability.update(action1, createSelection("memoHit", 4), "memoHit", ALL, test);
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	public void syncPath() {
+		IStructuredSelection selection= createSelection("syncPath", 5);
+		List<Thread> threads= new ArrayList<>();
+		SelectionDispatchAction available= createAction();
+		SelectionDispatchAction unavailable= createAction();
+		available.setEnabled(false);
+
+		SelectionAvailability.update(available, selection, "syncPathAvailable", ALL, s -> {
+			threads.add(Thread.currentThread());
+			return true;
+		});
+		SelectionAvailability.update(unavailable, selection, "syncPathUnavailable", ALL, s -> {
+			threads.add(Thread.currentThread());
+			return false;
+		});
+		assertTrue(available.isEnabled());
+		assertFalse(unavailable.isEnabled());
+		assertEquals(List.of(Thread.currentThread(), Thread.currentThread()), threads);
+	}
+
+	@Test
+	public void asyncEnablement() throws Exception {
+		IStructuredSelection selection= createSelection("asyncEnablement", 500);
+		AtomicInteger calls= new AtomicInteger();
+		List<Job> jobs= new ArrayList<>();
+		SelectionAvailability.IAvailabilityTest availableTest= s -> {
+			calls.incrementAndGet();
+			jobs.add(Job.getJobManager().currentJob());
+			return true;
+		};
+		SelectionAvailability.IAvailabilityTest unavailableTest= s -> {
+			calls.incrementAndGet();
+			jobs.add(Job.getJobManager().currentJob());
+			return false;
+		};
+		SelectionDispatchAction action1= createAction();
+		SelectionDispatchAction action2= createAction();
+		SelectionDispatchAction unavailable= createAction();
+
+		SelectionAvailability.update(action1, selection, "asyncAvailable", ALL, availableTest);
+		SelectionAvailability.update(action2, selection, "asyncAvailable", ALL, availableTest);
+		SelectionAvailability.update(unavailable, selection, "asyncUnavailable", ALL, unavailableTest);
+		// pending actions stay enabled, so that they are shown in menus
+		assertTrue(action1.isEnabled());
+		assertTrue(action2.isEnabled());
+		assertTrue(unavailable.isEnabled());
+		assertEquals(0, calls.get());
+
+		// an equal selection requested again, e.g. by a menu, does not restart the evaluation
+		SelectionAvailability.update(action1, createSelection("asyncEnablement", 500), "asyncAvailable", ALL, availableTest);
+		assertTrue(action1.isEnabled());
+
+		Display display= Display.getCurrent();
+		DisplayHelper.driveEventQueue(display);
+		Job.getJobManager().join(SelectionAvailability.class, null);
+		boolean disabled= new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return !unavailable.isEnabled();
+			}
+		}.waitForCondition(display, 10000);
+		assertTrue(disabled);
+		assertTrue(action1.isEnabled());
+		assertTrue(action2.isEnabled());
+
+		// both tests are evaluated by one background job, once
+		assertEquals(2, calls.get());
+		assertNotNull(jobs.get(0));
+		assertSame(jobs.get(0), jobs.get(1));
+
+		// the results are remembered
+		SelectionDispatchAction action3= createAction();
+		action3.setEnabled(false);
+		SelectionAvailability.update(action3, selection, "asyncAvailable", ALL, availableTest);
+		assertTrue(action3.isEnabled());
+		assertEquals(2, calls.get());
+
+		// an action that shows another selection meanwhile is not updated by the job
+		IStructuredSelection other= createSelection("asyncEnablementOther", 500);
+		SelectionDispatchAction action4= createAction();
+		SelectionAvailability.update(action4, other, "asyncUnavailable", ALL, unavailableTest);
+		assertTrue(action4.isEnabled());
+		SelectionAvailability.update(action4, createSelection("asyncEnablementSmall", 1), "asyncAvailable", ALL, availableTest);
+		DisplayHelper.driveEventQueue(display);
+		Job.getJobManager().join(SelectionAvailability.class, null);
+		DisplayHelper.driveEventQueue(display);
+		assertTrue(action4.isEnabled());
+		assertEquals(4, calls.get());
+		assertNotSame(jobs.get(0), jobs.get(3));
+	}
+
+	@Test
+	public void structureTest() {
+		IStructuredSelection selection= createSelection("structureTest", 500);
+		AtomicInteger calls= new AtomicInteger();
+		SelectionDispatchAction action= createAction();
+
+		SelectionAvailability.update(action, selection, "structureTest", SelectionAvailability::isSingleElement, s -> {
+			calls.incrementAndGet();
+			return true;
+		});
+		// the structure is checked immediately, no job is scheduled
+		assertFalse(action.isEnabled());
+		DisplayHelper.driveEventQueue(Display.getCurrent());
+		assertEquals(0, Job.getJobManager().find(SelectionAvailability.class).length);
+		assertEquals(0, calls.get());
+
+		assertTrue(SelectionAvailability.allElementsOf(String.class).test(selection));
+		assertFalse(SelectionAvailability.allElementsOf(Integer.class).test(selection));
+		assertTrue(SelectionAvailability.anyElementOf(Integer.class, String.class).test(selection));
+		assertFalse(SelectionAvailability.anyElementOf(Integer.class).test(selection));
+	}
+
+	private SelectionDispatchAction createAction() {
+		return new SelectionDispatchAction(fSite) {
+		};
+	}
+
+	private static IStructuredSelection createSelection(String prefix, int size) {
+		List<String> elements= new ArrayList<>(size);
+		for (int i= 0; i < size; i++) {
+			elements.add(prefix + i);
+		}
+		return new StructuredSelection(elements);
+	}
+}
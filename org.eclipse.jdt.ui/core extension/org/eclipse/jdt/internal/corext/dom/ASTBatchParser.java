@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,36 +18,133 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.IBinding;
 
+import org.eclipse.jdt.internal.corext.util.ConcurrencyUtil;
+import org.eclipse.jdt.internal.corext.util.ConcurrencyUtil.SynchronizedProgressMonitor;
+
 import org.eclipse.jdt.internal.ui.util.Progress;
 
 /**
  * Creates AST from a set of compilation units. Uses the
  * batch parser. Splits the set of compilation units in subsets
  * such that it is unlikely that a out of memory exception will occur.
+ * <p>
+ * The size of the subsets is computed from the free heap and the heap footprint
+ * measured while parsing the previous subsets. The free heap is shared by all subsets
+ * parsed at the same time, also by those of other callers. The compilation units of
+ * different projects can be parsed concurrently, see {@link #setParallelism(int)}.
+ * </p>
  *
  * @since 3.4
  */
 public class ASTBatchParser {
 
-	private static final int MAX_AT_ONCE;
-	static {
-		long maxMemory= Runtime.getRuntime().maxMemory() / (1 << 20); // in MiB
+	/**
+	 * A requestor which serializes all calls to the wrapped requestor. Used when the
+	 * compilation units of several projects are parsed concurrently.
+	 * <p>
+	 * {@link ASTRequestor#createBindings(String[])} is final and can not be delegated. Only the
+	 * requestor passed to the parser is connected to its resolver, so the wrapped requestor gets
+	 * <code>null</code> for every key it passes to <code>createBindings</code>.
+	 * </p>
+	 */
+	private static final class SynchronizedRequestor extends ASTRequestor {
+
+		private final ASTRequestor fRequestor;
+
+		private SynchronizedRequestor(ASTRequestor requestor) {
+			fRequestor= requestor;
+		}
+
+		@Override
+		public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+			synchronized (fRequestor) {
+				fRequestor.acceptAST(source, ast);
+			}
+		}
+
+		@Override
+		public void acceptBinding(String bindingKey, IBinding binding) {
+			synchronized (fRequestor) {
+				fRequestor.acceptBinding(bindingKey, binding);
+			}
+		}
+	}
+
+	/**
+	 * Bounds of the number of compilation units parsed at once.
+	 */
+	private static final int MIN_AT_ONCE= 25;
+	private static final int MAX_AT_ONCE= Integer.getInteger("org.eclipse.jdt.ui.astBatchParser.maxBatchSize", 2000).intValue(); //$NON-NLS-1$
+
+	/**
+	 * The fraction of the free heap that the subsets being parsed may use. The budget is shared
+	 * by all subsets that are parsed at the same time, see {@link #fgReservedBytes}.
+	 */
+	private static final double HEADROOM_FRACTION= 0.5;
 
-		if      (maxMemory >= 2000) MAX_AT_ONCE= 400;
-		else if (maxMemory >= 1500) MAX_AT_ONCE= 300;
-		else if (maxMemory >= 1000) MAX_AT_ONCE= 200;
-		else if (maxMemory >=  500) MAX_AT_ONCE= 100;
-		else                        MAX_AT_ONCE=  25;
+	/**
+	 * The bounds of the estimated footprint per compilation unit, in bytes. Protect against
+	 * measurements made too small by a garbage collection or too large by the allocations of
+	 * other threads during a subset.
+	 */
+	private static final long MIN_BYTES_PER_UNIT= 64 << 10;
+	private static final long MAX_BYTES_PER_UNIT= 64 << 20;
+
+	/**
+	 * The default maximal number of projects whose compilation units are parsed concurrently.
+	 */
+	private static final int PARALLELISM= Integer.getInteger("org.eclipse.jdt.ui.astBatchParser.parallelism", 1).intValue(); //$NON-NLS-1$
+
+	/**
+	 * The estimated heap footprint per compilation unit while a subset is parsed, in bytes.
+	 * Starts with the footprint the former fixed subset sizes were based on and is updated
+	 * from the measured footprint of the subsets that have been parsed alone.
+	 */
+	private static final AtomicLong fgBytesPerUnit= new AtomicLong(5 << 20);
+
+	/**
+	 * The estimated footprint of all subsets that are being parsed, in bytes. Concurrent calls,
+	 * also of different parsers, size their subsets from the budget that is left.
+	 */
+	private static final AtomicLong fgReservedBytes= new AtomicLong();
+
+	private int fParallelism= PARALLELISM;
+
+	/**
+	 * Sets the maximal number of projects whose compilation units are parsed concurrently.
+	 * <code>1</code> parses all compilation units in the calling thread. The default is set by
+	 * the <code>org.eclipse.jdt.ui.astBatchParser.parallelism</code> system property and is
+	 * <code>1</code>.
+	 * <p>
+	 * Requestors that call {@link ASTRequestor#createBindings(String[])} must not be used with
+	 * a parallelism greater than <code>1</code>, the bindings they create are all
+	 * <code>null</code> when the units of several projects are parsed.
+	 * </p>
+	 * <p>
+	 * Note: This method is for internal use only. It is public for tests.
+	 * </p>
+	 *
+	 * @param parallelism the maximal number of projects parsed concurrently
+	 */
+	public void setParallelism(int parallelism) {
+		fParallelism= parallelism;
 	}
 
 	/**
@@ -55,6 +152,10 @@ public class ASTBatchParser {
 	 * <p>
 	 * <code>ASTRequestor.acceptAST</code> is called in no particular order to
 	 * pass the compilation unit and the corresponding AST to <code>requestor</code>.
+	 * If the compilation units belong to several projects, the calls can come from
+	 * different threads, but they are never concurrent. In that case the requestor can not
+	 * create bindings with {@link ASTRequestor#createBindings(String[])}, see
+	 * {@link #setParallelism(int)}.
 	 * </p>
 	 * <p>
 	 * The <code>bindingKeys</code> parameter specifies bindings keys
@@ -77,22 +178,12 @@ public class ASTBatchParser {
 
 		monitor.beginTask("", compilationUnits.length); //$NON-NLS-1$
 		try {
-
-			for (ICompilationUnit[] units : splitByProject(compilationUnits)) {
-				if (units.length <= MAX_AT_ONCE) {
-					createParser(units[0].getJavaProject()).createASTs(units, bindingKeys, requestor, Progress.subMonitor(monitor, units.length));
-				} else {
-					List<ICompilationUnit> list= Arrays.asList(units);
-					int end= 0;
-					int cursor= 0;
-					while (cursor < units.length) {
-						end= Math.min(end + MAX_AT_ONCE, units.length);
-						List<ICompilationUnit> toParse= list.subList(cursor, end);
-
-						createParser(units[0].getJavaProject()).createASTs(toParse.toArray(new ICompilationUnit[toParse.size()]), bindingKeys, requestor,
-							Progress.subMonitor(monitor, toParse.size()));
-						cursor= end;
-					}
+			ICompilationUnit[][] projects= splitByProject(compilationUnits);
+			if (fParallelism > 1 && projects.length > 1) {
+				createASTsConcurrently(projects, bindingKeys, requestor, monitor);
+			} else {
+				for (ICompilationUnit[] units : projects) {
+					createProjectASTs(units, bindingKeys, requestor, monitor);
 				}
 			}
 		} finally {
@@ -100,6 +191,125 @@ public class ASTBatchParser {
 		}
 	}
 
+	private void createASTsConcurrently(ICompilationUnit[][] projects, String[] bindingKeys, ASTRequestor requestor, IProgressMonitor monitor) {
+		int parallelism= Math.min(fParallelism, projects.length);
+		ASTRequestor synchronizedRequestor= new SynchronizedRequestor(requestor);
+		IProgressMonitor synchronizedMonitor= new SynchronizedProgressMonitor(monitor);
+		List<Future<?>> futures= new ArrayList<>(projects.length);
+		try (ExecutorService executor= Executors.newFixedThreadPool(parallelism)) {
+			for (ICompilationUnit[] units : projects) {
+				futures.add(executor.submit(() -> createProjectASTs(units, bindingKeys, synchronizedRequestor, synchronizedMonitor)));
+			}
+
+			boolean completed= false;
+			try {
+				for (Future<?> future : futures) {
+					future.get();
+				}
+				completed= true;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				throw ConcurrencyUtil.rethrowCause(e);
+			} finally {
+				if (!completed)
+					executor.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * Creates the ASTs of compilation units of the same project in subsets.
+	 *
+	 * @param units the compilation units, all of the same project
+	 * @param bindingKeys the binding keys to create bindings for
+	 * @param requestor the AST requestor
+	 * @param monitor the progress monitor
+	 */
+	private void createProjectASTs(ICompilationUnit[] units, String[] bindingKeys, ASTRequestor requestor, IProgressMonitor monitor) {
+		IJavaProject project= units[0].getJavaProject();
+		int cursor= 0;
+		int lastSize= 0;
+		while (cursor < units.length) {
+			long bytesPerUnit= fgBytesPerUnit.get();
+			int end= Math.min(cursor + computeBatchSize(getBudget(), bytesPerUnit, lastSize), units.length);
+			ICompilationUnit[] toParse= cursor == 0 && end == units.length ? units : Arrays.copyOfRange(units, cursor, end);
+
+			long reserved= toParse.length * bytesPerUnit;
+			boolean alone= fgReservedBytes.getAndAdd(reserved) == 0;
+			try {
+				long usedBefore= getUsedMemory();
+				createParser(project).createASTs(toParse, bindingKeys, requestor, Progress.subMonitor(monitor, toParse.length));
+				if (alone && fgReservedBytes.get() == reserved) {
+					long measured= getUsedMemory() - usedBefore;
+					fgBytesPerUnit.accumulateAndGet(measured, (estimate, bytes) -> estimateBytesPerUnit(estimate, bytes, toParse.length));
+				}
+			} finally {
+				fgReservedBytes.addAndGet(-reserved);
+			}
+
+			lastSize= toParse.length;
+			cursor= end;
+		}
+	}
+
+	/**
+	 * Returns the part of the free heap that is not reserved by the subsets being parsed.
+	 *
+	 * @return the budget in bytes, can be negative
+	 */
+	private static long getBudget() {
+		long headroom= Runtime.getRuntime().maxMemory() - getUsedMemory();
+		return (long) (headroom * HEADROOM_FRACTION) - fgReservedBytes.get();
+	}
+
+	/**
+	 * Computes the size of the next subset. A subset is at most twice as large as the previous
+	 * one, such that an underestimated footprint is detected before the heap is exhausted.
+	 * <p>
+	 * Note: This method is for internal use only. It is public for tests.
+	 * </p>
+	 *
+	 * @param budget the heap that the subset may use, in bytes
+	 * @param bytesPerUnit the estimated footprint per compilation unit, in bytes
+	 * @param lastSize the size of the previous subset, or <code>0</code> if none
+	 * @return the size of the next subset
+	 */
+	public static int computeBatchSize(long budget, long bytesPerUnit, int lastSize) {
+		long size= Math.max(0, budget) / Math.max(1, bytesPerUnit);
+		if (lastSize > 0)
+			size= Math.min(size, 2L * lastSize);
+		return (int) Math.max(MIN_AT_ONCE, Math.min(size, MAX_AT_ONCE));
+	}
+
+	/**
+	 * Updates the estimated footprint per compilation unit from the heap growth measured while
+	 * a subset was parsed. The estimate stays within {@link #MIN_BYTES_PER_UNIT} and
+	 * {@link #MAX_BYTES_PER_UNIT}. It grows at most by a factor of two and shrinks slowly, such
+	 * that a single noisy measurement has a limited effect.
+	 * <p>
+	 * Note: This method is for internal use only. It is public for tests.
+	 * </p>
+	 *
+	 * @param estimate the current estimate, in bytes
+	 * @param bytes the measured heap growth, in bytes
+	 * @param units the number of compilation units in the subset
+	 * @return the new estimate
+	 */
+	public static long estimateBytesPerUnit(long estimate, long bytes, int units) {
+		if (bytes <= 0 || units <= 0)
+			return estimate; // the heap has been collected while parsing, nothing measured
+		long measured= Math.min(MAX_BYTES_PER_UNIT, Math.max(MIN_BYTES_PER_UNIT, bytes / units));
+		long result= measured > estimate ? Math.min(measured, 2 * estimate) : (estimate + measured) / 2;
+		return Math.min(MAX_BYTES_PER_UNIT, Math.max(MIN_BYTES_PER_UNIT, result));
+	}
+
+	private static long getUsedMemory() {
+		Runtime runtime= Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
 	/**
 	 * Creates a new parser which can be used to create ASTs
 	 * for compilation units in <code>project</code>
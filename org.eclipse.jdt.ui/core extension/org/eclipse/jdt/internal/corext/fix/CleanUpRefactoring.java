@@ -16,9 +16,14 @@ package org.eclipse.jdt.internal.corext.fix;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.swt.widgets.Display;
 
@@ -60,6 +65,7 @@ import org.eclipse.ltk.core.refactoring.TextEditBasedChangeGroup;
 import org.eclipse.ltk.core.refactoring.TextFileChange;
 
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.JavaModelException;
@@ -77,6 +83,9 @@ import org.eclipse.jdt.internal.corext.refactoring.changes.DynamicValidationStat
 import org.eclipse.jdt.internal.corext.refactoring.changes.MultiStateCompilationUnitChange;
 import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
 import org.eclipse.jdt.internal.corext.refactoring.util.TextEditUtil;
+import org.eclipse.jdt.internal.corext.util.ConcurrencyUtil;
+import org.eclipse.jdt.internal.corext.util.ConcurrencyUtil.CancelOnlyProgressMonitor;
+import org.eclipse.jdt.internal.corext.util.ConcurrencyUtil.SynchronizedProgressMonitor;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.JavaElementLabels;
@@ -89,6 +98,7 @@ import org.eclipse.jdt.ui.text.java.IProblemLocation;
 
 import org.eclipse.jdt.internal.ui.IJavaStatusConstants;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.fix.AbstractCleanUp;
 import org.eclipse.jdt.internal.ui.fix.IMultiFix.MultiFixContext;
 import org.eclipse.jdt.internal.ui.fix.MapCleanUpOptions;
 import org.eclipse.jdt.internal.ui.refactoring.IScheduledRefactoring;
@@ -240,6 +250,10 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			return fIndex + fFlushCount;
 		}
 
+		public int getFlushCount() {
+			return fFlushCount;
+		}
+
 		public String getSubTaskMessage(ICompilationUnit source) {
 			String typeName= BasicElementLabels.getFileName(source);
 			return Messages.format(FixMessages.CleanUpRefactoring_ProcessingCompilationUnit_message, new Object[] {Integer.valueOf(getIndex()), Integer.valueOf(fSize), typeName});
@@ -252,15 +266,58 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
 		private final Hashtable<ICompilationUnit, ParseListElement> fCompilationUnitParseElementMap;
 		private final CleanUpRefactoringProgressMonitor fMonitor;
+		private final ICleanUp[] fCleanUps;
+		private final ICleanUp[] fCleanUpCopies;
 
 		public CleanUpASTRequestor(List<ParseListElement> parseList, Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, CleanUpRefactoringProgressMonitor monitor) {
+			this(createParseElementMap(parseList), solutions, monitor, null, null);
+		}
+
+		private CleanUpASTRequestor(Hashtable<ICompilationUnit, ParseListElement> parseElementMap, Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, CleanUpRefactoringProgressMonitor monitor, ICleanUp[] cleanUps, ICleanUp[] cleanUpCopies) {
 			fSolutions= solutions;
 			fMonitor= monitor;
 			fUndoneElements= new ArrayList<>();
-			fCompilationUnitParseElementMap= new Hashtable<>(parseList.size());
+			fCompilationUnitParseElementMap= parseElementMap;
+			fCleanUps= cleanUps;
+			fCleanUpCopies= cleanUpCopies;
+		}
+
+		private static Hashtable<ICompilationUnit, ParseListElement> createParseElementMap(List<ParseListElement> parseList) {
+			Hashtable<ICompilationUnit, ParseListElement> result= new Hashtable<>(parseList.size());
 			for (ParseListElement element : parseList) {
-				fCompilationUnitParseElementMap.put(element.getTarget().getCompilationUnit(), element);
+				result.put(element.getTarget().getCompilationUnit(), element);
 			}
+			return result;
+		}
+
+		/**
+		 * Creates a requestor for one shard of a parallel clean up. The shard shares the parse
+		 * elements with this requestor, but calculates the changes with its own copies of the
+		 * clean ups and collects them into <code>solutions</code>.
+		 *
+		 * @param solutions the map to collect the solutions of the shard
+		 * @param monitor the monitor of the shard
+		 * @param cleanUps the clean ups of the parse elements
+		 * @param cleanUpCopies the copies of <code>cleanUps</code> used by the shard
+		 * @return the shard requestor
+		 */
+		public CleanUpASTRequestor createShardRequestor(Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, CleanUpRefactoringProgressMonitor monitor, ICleanUp[] cleanUps, ICleanUp[] cleanUpCopies) {
+			return new CleanUpASTRequestor(fCompilationUnitParseElementMap, solutions, monitor, cleanUps, cleanUpCopies);
+		}
+
+		/**
+		 * Merges the solutions and undone elements of a shard into this requestor.
+		 *
+		 * @param shard the shard requestor created by
+		 *            {@link #createShardRequestor(Hashtable, CleanUpRefactoringProgressMonitor, ICleanUp[], ICleanUp[])}
+		 */
+		public void mergeShard(CleanUpASTRequestor shard) {
+			for (Entry<ICompilationUnit, List<CleanUpChange>> entry : shard.fSolutions.entrySet()) {
+				for (CleanUpChange solution : entry.getValue()) {
+					integrateSolution(solution, entry.getKey());
+				}
+			}
+			fUndoneElements.addAll(shard.fUndoneElements);
 		}
 
 		@Override
@@ -278,10 +335,10 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			} else {
 				context= new CleanUpContext(source, ast);
 			}
-			ICleanUp[] rejectedCleanUps= calculateSolutions(context, element.getCleanUps());
+			ICleanUp[] rejectedCleanUps= calculateSolutions(context, replace(element.getCleanUps(), fCleanUps, fCleanUpCopies));
 
 			if (rejectedCleanUps.length > 0) {
-				fUndoneElements.add(new ParseListElement(target, rejectedCleanUps));
+				fUndoneElements.add(new ParseListElement(target, replace(rejectedCleanUps, fCleanUpCopies, fCleanUps)));
 				fMonitor.reset();
 			} else {
 				fMonitor.flush();
@@ -296,6 +353,32 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			return fUndoneElements;
 		}
 
+		/**
+		 * Replaces the clean ups of <code>from</code> by the clean ups at the same index in
+		 * <code>to</code>.
+		 *
+		 * @param cleanUps the clean ups to replace
+		 * @param from the clean ups to be replaced, or <code>null</code> to replace nothing
+		 * @param to the replacements
+		 * @return the replaced clean ups
+		 */
+		private static ICleanUp[] replace(ICleanUp[] cleanUps, ICleanUp[] from, ICleanUp[] to) {
+			if (from == null)
+				return cleanUps;
+
+			ICleanUp[] result= new ICleanUp[cleanUps.length];
+			for (int i= 0; i < cleanUps.length; i++) {
+				result[i]= cleanUps[i];
+				for (int k= 0; k < from.length; k++) {
+					if (from[k] == cleanUps[i]) {
+						result[i]= to[k];
+						break;
+					}
+				}
+			}
+			return result;
+		}
+
 		private ICleanUp[] calculateSolutions(CleanUpContext context, ICleanUp[] cleanUps) {
 			List<ICleanUp>result= new ArrayList<>();
 			CleanUpChange solution;
@@ -326,6 +409,9 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 	private class CleanUpFixpointIterator {
 
+		private final IJavaProject fProject;
+		private final ICleanUp[] fCleanUps;
+		private final RefactoringStatus fStatus;
 		private List<ParseListElement> fParseList;
 		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
 		private final Hashtable<ICompilationUnit, ICompilationUnit> fWorkingCopies; // map from primary to working copy
@@ -334,7 +420,10 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		private final int fSize;
 		private int fIndex;
 
-		public CleanUpFixpointIterator(CleanUpTarget[] targets, ICleanUp[] cleanUps) {
+		public CleanUpFixpointIterator(IJavaProject project, CleanUpTarget[] targets, ICleanUp[] cleanUps, RefactoringStatus status) {
+			fProject= project;
+			fCleanUps= cleanUps;
+			fStatus= status;
 			fSolutions= new Hashtable<>(targets.length);
 			fWorkingCopies= new Hashtable<>();
 
@@ -386,8 +475,13 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 					}
 				}
 
-				CleanUpRefactoringProgressMonitor cuMonitor= new CleanUpRefactoringProgressMonitor(monitor, parseList.size() + sourceList.size(), fSize, fIndex);
+				List<List<ICompilationUnit>> shards= fParallelism > 1 ? createShards(parseList) : null;
+				ICleanUp[][] shardCleanUps= shards != null && shards.size() > 1 ? copyCleanUps(shards.size()) : null;
+
+				int ticks= shardCleanUps != null ? sourceList.size() : parseList.size() + sourceList.size();
+				CleanUpRefactoringProgressMonitor cuMonitor= new CleanUpRefactoringProgressMonitor(monitor, ticks, fSize, fIndex);
 				CleanUpASTRequestor requestor= new CleanUpASTRequestor(fParseList, fSolutions, cuMonitor);
+				int parallelFlushCount= 0;
 				if (parseList.size() > 0) {
 					ASTBatchParser parser= new ASTBatchParser() {
 						@Override
@@ -406,8 +500,12 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 						}
 					};
 					try {
-						ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
-						parser.createASTs(units, new String[0], requestor, cuMonitor);
+						if (shardCleanUps != null) {
+							parallelFlushCount= createASTsInParallel(shards, shardCleanUps, parser, requestor, monitor);
+						} else {
+							ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
+							parser.createASTs(units, new String[0], requestor, cuMonitor);
+						}
 					} catch (FixCalculationException e) {
 						throw e.getException();
 					}
@@ -436,11 +534,142 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 					}
 				}
 
-				fIndex= cuMonitor.getIndex();
+				fIndex= cuMonitor.getIndex() + parallelFlushCount;
 			} finally {
 			}
 		}
 
+		/**
+		 * Splits the units to parse into shards of whole packages. The shards are built
+		 * in the order of the parse list, such that consuming them in shard order is deterministic.
+		 *
+		 * @param parseList the units to parse, all from the same project
+		 * @return the shards, never empty
+		 */
+		private List<List<ICompilationUnit>> createShards(List<ICompilationUnit> parseList) {
+			Map<IJavaElement, List<ICompilationUnit>> packages= new LinkedHashMap<>();
+			for (ICompilationUnit unit : parseList) {
+				packages.computeIfAbsent(unit.getParent(), p -> new ArrayList<>()).add(unit);
+			}
+
+			int shardSize= Math.max(MIN_PARALLEL_SHARD_SIZE, (parseList.size() + 2 * fParallelism - 1) / (2 * fParallelism));
+			List<List<ICompilationUnit>> result= new ArrayList<>();
+			List<ICompilationUnit> current= new ArrayList<>();
+			for (List<ICompilationUnit> units : packages.values()) {
+				current.addAll(units);
+				if (current.size() >= shardSize) {
+					result.add(current);
+					current= new ArrayList<>();
+				}
+			}
+			if (!current.isEmpty())
+				result.add(current);
+			return result;
+		}
+
+		/**
+		 * Creates a copy of the clean ups for each shard of a parallel clean up. The clean ups
+		 * keep state while they calculate changes, so the workers must not share them.
+		 *
+		 * @param shardCount the number of shards
+		 * @return the copies of the clean ups per shard, or <code>null</code> if a clean up can
+		 *         not be copied
+		 */
+		private ICleanUp[][] copyCleanUps(int shardCount) {
+			ICleanUp[][] result= new ICleanUp[shardCount][fCleanUps.length];
+			for (int i= 0; i < fCleanUps.length; i++) {
+				if (!(fCleanUps[i] instanceof AbstractCleanUp))
+					return null;
+				CleanUpOptions options= ((AbstractCleanUp) fCleanUps[i]).getOptions();
+				if (options == null)
+					return null;
+				for (int shard= 0; shard < shardCount; shard++) {
+					try {
+						ICleanUp copy= fCleanUps[i].getClass().getConstructor().newInstance();
+						copy.setOptions(options);
+						result[shard][i]= copy;
+					} catch (ReflectiveOperationException e) {
+						return null;
+					}
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * Parses the shards and calculates their clean up changes on a bounded pool of workers.
+		 * Each worker calculates the changes of a compilation unit while its AST is reported, with
+		 * its own copies of the clean ups. The results of the shards are merged into
+		 * <code>requestor</code> in shard order. The post conditions of the copies are added to the
+		 * status of the refactoring. Their pre conditions are not reported, the ones of the
+		 * original clean ups have been checked for all compilation units.
+		 *
+		 * @param shards the shards to parse
+		 * @param shardCleanUps the copies of the clean ups per shard
+		 * @param parser the parser to use
+		 * @param requestor the requestor to merge the results into
+		 * @param monitor the monitor to report progress to, one unit of work per compilation unit
+		 * @return the number of compilation units which have been cleaned up completely
+		 * @throws CoreException if the calculation of a clean up failed
+		 */
+		private int createASTsInParallel(List<List<ICompilationUnit>> shards, ICleanUp[][] shardCleanUps, ASTBatchParser parser, CleanUpASTRequestor requestor, IProgressMonitor monitor) throws CoreException {
+			IProgressMonitor synchronizedMonitor= new SynchronizedProgressMonitor(monitor);
+			List<CleanUpASTRequestor> shardRequestors= new ArrayList<>(shards.size());
+			List<Future<?>> futures= new ArrayList<>(shards.size());
+			try (ExecutorService executor= Executors.newFixedThreadPool(Math.min(fParallelism, shards.size()))) {
+				int index= fIndex;
+				for (int i= 0; i < shards.size(); i++) {
+					List<ICompilationUnit> shard= shards.get(i);
+					ICleanUp[] cleanUps= shardCleanUps[i];
+					CleanUpRefactoringProgressMonitor shardMonitor= new CleanUpRefactoringProgressMonitor(synchronizedMonitor, shard.size(), fSize, index);
+					CleanUpASTRequestor shardRequestor= requestor.createShardRequestor(new Hashtable<>(), shardMonitor, fCleanUps, cleanUps);
+					shardRequestors.add(shardRequestor);
+					ICompilationUnit[] units= shard.toArray(new ICompilationUnit[shard.size()]);
+					futures.add(executor.submit(() -> {
+						ICompilationUnit[] primaries= new ICompilationUnit[units.length];
+						for (int k= 0; k < units.length; k++) {
+							primaries[k]= units[k].getPrimary();
+						}
+						for (ICleanUp cleanUp : cleanUps) {
+							cleanUp.checkPreConditions(fProject, primaries, new CancelOnlyProgressMonitor(synchronizedMonitor));
+						}
+						parser.createASTs(units, new String[0], shardRequestor, shardMonitor);
+						return null;
+					}));
+					index+= shard.size();
+				}
+
+				boolean completed= false;
+				try {
+					for (Future<?> future : futures) {
+						future.get();
+					}
+					completed= true;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new OperationCanceledException();
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof FixCalculationException)
+						throw ((FixCalculationException) e.getCause()).getException();
+					throw ConcurrencyUtil.rethrowCause(e, CoreException.class);
+				} finally {
+					if (!completed)
+						executor.shutdownNow();
+				}
+			}
+
+			int flushCount= 0;
+			for (int i= 0; i < shardRequestors.size(); i++) {
+				CleanUpASTRequestor shardRequestor= shardRequestors.get(i);
+				requestor.mergeShard(shardRequestor);
+				flushCount+= shardRequestor.fMonitor.getFlushCount();
+				for (ICleanUp cleanUp : shardCleanUps[i]) {
+					fStatus.merge(cleanUp.checkPostConditions(new NullProgressMonitor()));
+				}
+			}
+			return flushCount;
+		}
+
 		public void dispose() {
 			for (ICompilationUnit cu : fWorkingCopies.values()) {
 				try {
@@ -525,6 +754,17 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	 */
 	private static final int SLOW_CLEAN_UP_THRESHOLD= 2000;
 
+	/**
+	 * Number of workers used to calculate clean ups of compilation units in parallel. A value
+	 * smaller than 2 disables the parallel calculation.
+	 */
+	private static final int DEFAULT_PARALLELISM= Integer.getInteger("org.eclipse.jdt.ui.cleanup.parallelism", 1).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Minimal number of compilation units parsed by one worker of a parallel clean up.
+	 */
+	private static final int MIN_PARALLEL_SHARD_SIZE= 50;
+
 	private final List<ICleanUp> fCleanUps;
 	private final Hashtable<IJavaProject, List<CleanUpTarget>> fProjects;
 	private Change fChange;
@@ -533,6 +773,8 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 	private boolean fUseOptionsFromProfile;
 
+	private int fParallelism;
+
 	public CleanUpRefactoring() {
 		this(FixMessages.CleanUpRefactoring_Refactoring_name);
 	}
@@ -542,12 +784,28 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		fCleanUps= new ArrayList<>();
 		fProjects= new Hashtable<>();
 		fUseOptionsFromProfile= false;
+		fParallelism= DEFAULT_PARALLELISM;
 	}
 
 	public void setUseOptionsFromProfile(boolean enabled) {
 		fUseOptionsFromProfile= enabled;
 	}
 
+	/**
+	 * Sets the number of workers used to parse compilation units and to calculate their
+	 * changes. The units of a project are split into shards of packages. Each worker calculates
+	 * the changes of its shard with its own copies of the clean ups, while the ASTs of the shard
+	 * are reported. The results are merged in shard order. Clean ups requiring a fresh AST are
+	 * still applied in consecutive passes. If a clean up can not be copied, the changes are
+	 * calculated in the calling thread.
+	 *
+	 * @param parallelism the number of workers, a value smaller than 2 disables the parallel
+	 *            calculation
+	 */
+	public void setParallelism(int parallelism) {
+		fParallelism= parallelism;
+	}
+
 	public void addCompilationUnit(ICompilationUnit unit) {
 		addCleanUpTarget(new CleanUpTarget(unit));
 	}
@@ -663,7 +921,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 				result.merge(checkPreConditions(project, targets, Progress.subMonitor(pm, 3 * cleanUps.length)));
 				if (result.hasFatalError())
 					return result;
-				Change[] changes= cleanUpProject(project, targets, cleanUps, pm);
+				Change[] changes= cleanUpProject(project, targets, cleanUps, result, pm);
 				result.merge(checkPostConditions(Progress.subMonitor(pm, cleanUps.length)));
 				if (result.hasFatalError())
 					return result;
@@ -695,8 +953,8 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
-	private Change[] cleanUpProject(IJavaProject project, CleanUpTarget[] targets, ICleanUp[] cleanUps, IProgressMonitor monitor) throws CoreException {
-		CleanUpFixpointIterator iter= new CleanUpFixpointIterator(targets, cleanUps);
+	private Change[] cleanUpProject(IJavaProject project, CleanUpTarget[] targets, ICleanUp[] cleanUps, RefactoringStatus status, IProgressMonitor monitor) throws CoreException {
+		CleanUpFixpointIterator iter= new CleanUpFixpointIterator(project, targets, cleanUps, status);
 
 		IProgressMonitor subMonitor= Progress.subMonitor(monitor, 2 * targets.length * cleanUps.length);
 		subMonitor.beginTask("", targets.length); //$NON-NLS-1$
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -63,7 +63,8 @@ import org.eclipse.jdt.internal.ui.util.XmlProcessorFactoryJdtUi;
  * MAX_HISTORY_SIZE. If the list exceeds this size the eldest element is removed
  * from the list. An element can be added/renewed with a call to <code>accessed(Object)</code>.
  *
- * The history can be stored to/loaded from an xml file.
+ * The history can be stored to/loaded from an xml file. {@link JournaledHistory} stores it in a
+ * binary journal instead.
  *
  * @param <K> key type
  * @param <V> value type
@@ -72,7 +73,7 @@ public abstract class History<K, V> {
 
 	private static final String DEFAULT_ROOT_NODE_NAME= "histroyRootNode"; //$NON-NLS-1$
 	private static final String DEFAULT_INFO_NODE_NAME= "infoNode"; //$NON-NLS-1$
-	private static final int MAX_HISTORY_SIZE= 60;
+	static final int MAX_HISTORY_SIZE= 60;
 
 	private static JavaUIException createException(Throwable t, String message) {
 		return new JavaUIException(JavaUIStatus.createError(IStatus.ERROR, message, t));
@@ -221,6 +222,23 @@ public abstract class History<K, V> {
 	 */
 	protected abstract K getKey(V object);
 
+	/**
+	 * Replaces the element with the key of the given element, without changing its position in
+	 * the history.
+	 *
+	 * @param object the new element
+	 */
+	synchronized void replaceValue(V object) {
+		K key= getKey(object);
+		for (Map.Entry<K, V> entry : fHistory.entrySet()) {
+			if (entry.getKey().equals(key)) {
+				// unlike Map#replace, this is no access that would move the element
+				entry.setValue(object);
+				break;
+			}
+		}
+	}
+
 	private void rebuildPositions() {
 		fPositions.clear();
 		int pos=0;
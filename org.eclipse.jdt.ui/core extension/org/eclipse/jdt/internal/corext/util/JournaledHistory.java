@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.eclipse.core.runtime.IStatus;
+
+import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
+import org.eclipse.jdt.internal.corext.CorextMessages;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.JavaUIStatus;
+
+/**
+ * A history that is stored in a binary journal instead of an xml file. The changes are appended
+ * to the journal when the history is saved, and the journal is compacted to a snapshot of the
+ * history once it holds too many records.
+ * <p>
+ * An existing xml file is only read to migrate the history if there is no journal yet. A journal
+ * that cannot be read is reported, the records read up to the error are kept and the journal is
+ * compacted when the history is saved.
+ * </p>
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @since 3.35
+ */
+public abstract class JournaledHistory<K, V> extends History<K, V> {
+
+	private static final int JOURNAL_MAGIC= 0x4A444848; // "JDHH"
+	private static final int JOURNAL_VERSION= 1;
+	private static final String JOURNAL_EXTENSION= ".journal"; //$NON-NLS-1$
+
+	private static final byte RECORD_ACCESSED= 1;
+	private static final byte RECORD_REMOVED= 2;
+	private static final byte RECORD_UPDATED= 3;
+
+	/**
+	 * The journal is compacted when saving would make it hold more records than this.
+	 */
+	private static final int MAX_JOURNAL_RECORDS= 4 * MAX_HISTORY_SIZE;
+
+	private final String fJournalName;
+
+	/**
+	 * The records that have not been appended to the journal yet.
+	 */
+	private final ByteArrayOutputStream fPendingRecords= new ByteArrayOutputStream();
+	private final DataOutputStream fPendingOut= new DataOutputStream(fPendingRecords);
+	private int fPendingCount;
+	private int fJournalCount;
+	private boolean fNeedsCompaction;
+
+	/**
+	 * Creates a journaled history.
+	 *
+	 * @param fileName the name of the xml file to migrate, the journal is stored next to it
+	 * @param rootNodeName the name of the root node of the xml file
+	 * @param infoNodeName the name of the nodes of the elements in the xml file
+	 */
+	protected JournaledHistory(String fileName, String rootNodeName, String infoNodeName) {
+		super(fileName, rootNodeName, infoNodeName);
+		fJournalName= getJournalName(fileName);
+	}
+
+	/**
+	 * Writes an element to the journal.
+	 *
+	 * @param object the element to write
+	 * @param out the output to write to
+	 * @throws IOException if writing fails
+	 */
+	protected abstract void writeEntry(V object, DataOutput out) throws IOException;
+
+	/**
+	 * Reads an element written by {@link #writeEntry(Object, DataOutput)}. All data of the element
+	 * must be read, even if no element can be created from it.
+	 *
+	 * @param in the input to read from
+	 * @return the element, or <code>null</code> if the element does not exist anymore
+	 * @throws IOException if reading fails
+	 */
+	protected abstract V readEntry(DataInput in) throws IOException;
+
+	@Override
+	public synchronized void accessed(V object) {
+		super.accessed(object);
+		appendRecord(RECORD_ACCESSED, object);
+	}
+
+	@Override
+	public synchronized Object remove(V object) {
+		Object removed= super.remove(object);
+		if (removed != null)
+			appendRecord(RECORD_REMOVED, object);
+		return removed;
+	}
+
+	@Override
+	public synchronized Object removeKey(Object key) {
+		Object removed= super.removeKey(key);
+		if (removed != null) {
+			@SuppressWarnings("unchecked")
+			V object= (V) removed;
+			appendRecord(RECORD_REMOVED, object);
+		}
+		return removed;
+	}
+
+	/**
+	 * Records that the persisted attributes of an element have changed, without changing the
+	 * position of the element in the history.
+	 *
+	 * @param object the changed element
+	 */
+	protected synchronized void updated(V object) {
+		if (contains(object))
+			appendRecord(RECORD_UPDATED, object);
+	}
+
+	@Override
+	public synchronized void load() {
+		File journal= getJournalFile();
+		if (!journal.exists()) {
+			// no journal yet, migrate the xml file
+			fNeedsCompaction= true;
+			super.load();
+			return;
+		}
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(journal)))) {
+			loadJournal(in);
+		} catch (IOException e) {
+			JavaPlugin.log(JavaUIStatus.createError(IStatus.ERROR, Messages.format(CorextMessages.History_error_read, BasicElementLabels.getResourceName(fJournalName)), e));
+			// keep the records read so far and replace the corrupt journal
+			fNeedsCompaction= true;
+		}
+	}
+
+	@Override
+	public synchronized void save() {
+		try {
+			saveJournal(getJournalFile());
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+		}
+	}
+
+	private File getJournalFile() {
+		return JavaPlugin.getDefault().getStateLocation().append(fJournalName).toFile();
+	}
+
+	private void appendRecord(byte kind, V object) {
+		try {
+			fPendingOut.writeByte(kind);
+			writeEntry(object, fPendingOut);
+			fPendingCount++;
+		} catch (IOException e) {
+			// an incomplete record can not be appended
+			fNeedsCompaction= true;
+		}
+	}
+
+	/**
+	 * Replays the records of a journal.
+	 *
+	 * @param in the journal
+	 * @throws IOException if the input is not a journal of this version or cannot be read
+	 */
+	private void loadJournal(DataInputStream in) throws IOException {
+		if (in.readInt() != JOURNAL_MAGIC || in.readInt() != JOURNAL_VERSION)
+			throw new IOException("Unsupported journal format"); //$NON-NLS-1$
+		int count= 0;
+		while (true) {
+			int kind= in.read();
+			if (kind == -1)
+				break;
+			V object;
+			try {
+				object= readEntry(in);
+			} catch (EOFException e) {
+				// truncated by a crash while appending, drop the incomplete record
+				fNeedsCompaction= true;
+				break;
+			}
+			count++;
+			if (object == null)
+				continue;
+			switch (kind) {
+				case RECORD_ACCESSED:
+					super.accessed(object);
+					break;
+				case RECORD_REMOVED:
+					super.remove(object);
+					break;
+				case RECORD_UPDATED:
+					replaceValue(object);
+					break;
+				default:
+					throw new IOException("Invalid record kind: " + kind); //$NON-NLS-1$
+			}
+		}
+		fJournalCount= count;
+	}
+
+	/**
+	 * Appends the pending records to the journal, or replaces the journal by a snapshot of the
+	 * history if it would hold too many records.
+	 *
+	 * @param journal the journal file
+	 * @throws IOException if writing fails
+	 */
+	private void saveJournal(File journal) throws IOException {
+		if (fNeedsCompaction || !journal.exists() || fJournalCount + fPendingCount > MAX_JOURNAL_RECORDS) {
+			File tempFile= new File(journal.getPath() + ".tmp"); //$NON-NLS-1$
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+				out.writeInt(JOURNAL_MAGIC);
+				out.writeInt(JOURNAL_VERSION);
+				for (V object : getValues()) {
+					out.writeByte(RECORD_ACCESSED);
+					writeEntry(object, out);
+				}
+			}
+			Files.move(tempFile.toPath(), journal.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			fJournalCount= getValues().size();
+			fNeedsCompaction= false;
+		} else if (fPendingCount > 0) {
+			try (OutputStream out= new FileOutputStream(journal, true)) {
+				fPendingRecords.writeTo(out);
+			}
+			fJournalCount+= fPendingCount;
+		}
+		fPendingRecords.reset();
+		fPendingCount= 0;
+	}
+
+	private static String getJournalName(String fileName) {
+		if (fileName.endsWith(".xml")) //$NON-NLS-1$
+			return fileName.substring(0, fileName.length() - 4) + JOURNAL_EXTENSION;
+		return fileName + JOURNAL_EXTENSION;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,18 +13,24 @@
  *******************************************************************************/
  package org.eclipse.jdt.internal.corext.util;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.w3c.dom.Element;
 
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileInfo;
+import org.eclipse.core.filesystem.IFileStore;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -57,13 +63,14 @@ import org.eclipse.jdt.internal.corext.CorextMessages;
 /**
  * History for the open type dialog. Object and keys are both {@link TypeNameMatch}s.
  */
-public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
+public class OpenTypeHistory extends JournaledHistory<TypeNameMatch, TypeNameMatch> {
 
 	private static class TypeHistoryDeltaListener implements IElementChangedListener {
 		@Override
 		public void elementChanged(ElementChangedEvent event) {
-			if (processDelta(event.getDelta())) {
-				OpenTypeHistory.getInstance().markAsInconsistent();
+			Set<IJavaElement> changed= new HashSet<>();
+			if (processDelta(event.getDelta(), changed)) {
+				OpenTypeHistory.getInstance().markAsInconsistent(changed);
 			}
 		}
 
@@ -71,11 +78,12 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		 * Computes whether the history needs a consistency check or not.
 		 *
 		 * @param delta the Java element delta
+		 * @param changed collects the elements whose types need to be checked
 		 *
 		 * @return <code>true</code> if consistency must be checked
 		 *  <code>false</code> otherwise.
 		 */
-		private boolean processDelta(IJavaElementDelta delta) {
+		private boolean processDelta(IJavaElementDelta delta, Set<IJavaElement> changed) {
 			IJavaElement elem= delta.getElement();
 
 			boolean isChanged= delta.getKind() == IJavaElementDelta.CHANGED;
@@ -85,31 +93,31 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 				case IJavaElement.JAVA_PROJECT:
 					if (isRemoved || (isChanged &&
 							(delta.getFlags() & IJavaElementDelta.F_CLOSED) != 0)) {
-						return true;
+						return addChanged(elem, changed);
 					}
-					return processChildrenDelta(delta);
+					return processChildrenDelta(delta, changed);
 				case IJavaElement.PACKAGE_FRAGMENT_ROOT:
 					if (isRemoved || (isChanged && (
 							(delta.getFlags() & IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED) != 0 ||
 							(delta.getFlags() & IJavaElementDelta.F_REMOVED_FROM_CLASSPATH) != 0))) {
-						return true;
+						return addChanged(elem, changed);
 					}
-					return processChildrenDelta(delta);
+					return processChildrenDelta(delta, changed);
 				case IJavaElement.TYPE:
 					if (isChanged && (delta.getFlags() & IJavaElementDelta.F_MODIFIERS) != 0) {
-						return true;
+						return addChanged(elem, changed);
 					}
 					if (isRemoved) {
-						return true;
+						return addChanged(elem, changed);
 					}
-					return processChildrenDelta(delta);
+					return processChildrenDelta(delta, changed);
 				case IJavaElement.JAVA_MODEL:
 				case IJavaElement.PACKAGE_FRAGMENT:
 				case IJavaElement.CLASS_FILE:
 					if (isRemoved) {
-						return true;
+						return addChanged(elem, changed);
 					}
-					return processChildrenDelta(delta);
+					return processChildrenDelta(delta, changed);
 				case IJavaElement.COMPILATION_UNIT:
 					// Not the primary compilation unit. Ignore it
 					if (!JavaModelUtil.isPrimary((ICompilationUnit) elem)) {
@@ -117,15 +125,20 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 					}
 
 					if (isRemoved || (isChanged && isUnknownStructuralChange(delta.getFlags()))) {
-						return true;
+						return addChanged(elem, changed);
 					}
-					return processChildrenDelta(delta);
+					return processChildrenDelta(delta, changed);
 				default:
 					// fields, methods, imports ect
 					return false;
 			}
 		}
 
+		private boolean addChanged(IJavaElement elem, Set<IJavaElement> changed) {
+			changed.add(elem);
+			return true;
+		}
+
 		private boolean isUnknownStructuralChange(int flags) {
 			if ((flags & IJavaElementDelta.F_CONTENT) == 0)
 				return false;
@@ -138,13 +151,13 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		}
 		*/
 
-		private boolean processChildrenDelta(IJavaElementDelta delta) {
+		private boolean processChildrenDelta(IJavaElementDelta delta, Set<IJavaElement> changed) {
+			boolean result= false;
 			for (IJavaElementDelta child : delta.getAffectedChildren()) {
-				if (processDelta(child)) {
-					return true;
-				}
+				// visit all children to collect all changed package fragment roots
+				result|= processDelta(child, changed);
 			}
-			return false;
+			return result;
 		}
 	}
 
@@ -169,10 +182,15 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	private volatile boolean fNeedsConsistencyCheck;
 	// Map of cached time stamps
 	private Map<TypeNameMatch, Long> fTimestampMapping;
+	// Package fragment roots whose types need to be checked, accessed by the delta listener
+	private final Set<IPackageFragmentRoot> fChangedRoots;
+	// Whether the types of all roots need to be checked, e.g. after the history has been loaded
+	private volatile boolean fAllRootsChanged;
 
 	private final IElementChangedListener fDeltaListener;
 	private final UpdateJob fUpdateJob;
 
+	// The xml file is only read to migrate the history to the journal
 	private static final String FILENAME= "OpenTypeHistory.xml"; //$NON-NLS-1$
 	private static final String NODE_ROOT= "typeInfoHistroy"; //$NON-NLS-1$
 	private static final String NODE_TYPE_INFO= "typeInfo"; //$NON-NLS-1$
@@ -197,8 +215,12 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	private OpenTypeHistory() {
 		super(FILENAME, NODE_ROOT, NODE_TYPE_INFO);
 		fTimestampMapping= new HashMap<>();
+		fChangedRoots= Collections.synchronizedSet(new HashSet<>());
 		fNeedsConsistencyCheck= true;
+		fAllRootsChanged= true;
 		load();
+		// the journal can contain time stamps of removed types
+		fTimestampMapping.keySet().retainAll(getKeys());
 		fDeltaListener= new TypeHistoryDeltaListener();
 		JavaCore.addElementChangedListener(fDeltaListener);
 		fUpdateJob= new UpdateJob();
@@ -211,6 +233,29 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	}
 
 	public void markAsInconsistent() {
+		fAllRootsChanged= true;
+		scheduleConsistencyCheck();
+	}
+
+	/**
+	 * Marks the types of the package fragment roots of the given elements as inconsistent.
+	 *
+	 * @param changed the changed elements, elements that are not inside of a package fragment
+	 *            root mark all types as inconsistent
+	 */
+	private void markAsInconsistent(Collection<IJavaElement> changed) {
+		for (IJavaElement element : changed) {
+			IJavaElement root= element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+			if (root == null) {
+				fAllRootsChanged= true;
+			} else {
+				fChangedRoots.add((IPackageFragmentRoot) root);
+			}
+		}
+		scheduleConsistencyCheck();
+	}
+
+	private void scheduleConsistencyCheck() {
 		fNeedsConsistencyCheck= true;
 		// cancel the old job. If no job is running this is a NOOP.
 		fUpdateJob.cancel();
@@ -297,11 +342,46 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		// Setting fNeedsConsistencyCheck is necessary here since
 		// markAsInconsistent isn't synchronized.
 		fNeedsConsistencyCheck= true;
+		// Take the marks before the check, so that roots marked while checking are checked again
+		boolean allRootsChanged= fAllRootsChanged;
+		fAllRootsChanged= false;
+		Set<IPackageFragmentRoot> changedRoots;
+		synchronized (fChangedRoots) {
+			changedRoots= new HashSet<>(fChangedRoots);
+			fChangedRoots.clear();
+		}
+		boolean completed= false;
+		try {
+			checkTypes(allRootsChanged, changedRoots, monitor);
+			completed= true;
+		} finally {
+			if (!completed) {
+				// restore the marks of the roots that have not been checked
+				if (allRootsChanged)
+					fAllRootsChanged= true;
+				fChangedRoots.addAll(changedRoots);
+			}
+		}
+		// roots marked while checking are checked by the rescheduled job
+		fNeedsConsistencyCheck= fAllRootsChanged || !fChangedRoots.isEmpty();
+	}
+
+	private void checkTypes(boolean allRootsChanged, Set<IPackageFragmentRoot> changedRoots, IProgressMonitor monitor) throws OperationCanceledException {
 		List<TypeNameMatch> typesToCheck= new ArrayList<>(getKeys());
+		// Time stamps of the archives, an archive is checked once for all its types
+		Map<IPackageFragmentRoot, Long> archiveTimestamps= new HashMap<>();
 		monitor.beginTask(CorextMessages.TypeInfoHistory_consistency_check, typesToCheck.size());
 		monitor.setTaskName(CorextMessages.TypeInfoHistory_consistency_check);
 		for (TypeNameMatch type : typesToCheck) {
-			long currentTimestamp= getContainerTimestamp(type);
+			IPackageFragmentRoot root= type.getPackageFragmentRoot();
+			if (!allRootsChanged && !changedRoots.contains(root))
+				continue;
+			long currentTimestamp;
+			if (root.isArchive()) {
+				currentTimestamp= archiveTimestamps.computeIfAbsent(root, OpenTypeHistory::getArchiveTimestamp).longValue();
+			} else {
+				currentTimestamp= getContainerTimestamp(type);
+			}
 			Long lastTested= fTimestampMapping.get(type);
 			if (lastTested != null && currentTimestamp != IResource.NULL_STAMP && currentTimestamp == lastTested.longValue() && !isContainerDirty(type))
 				continue;
@@ -316,6 +396,7 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 						replace(type, SearchEngine.createTypeNameMatch(jType, modifiers));
 					} else {
 						fTimestampMapping.put(type, currentTimestamp);
+						updated(type);
 					}
 				}
 			} catch (JavaModelException e) {
@@ -326,7 +407,36 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 			monitor.worked(1);
 		}
 		monitor.done();
-		fNeedsConsistencyCheck= false;
+	}
+
+	/**
+	 * Returns the time stamp of an archive. For the types of an archive this is the same as
+	 * their container time stamp.
+	 *
+	 * @param root the archive
+	 * @return the time stamp or {@link IResource#NULL_STAMP} if the archive does not exist
+	 */
+	private static Long getArchiveTimestamp(IPackageFragmentRoot root) {
+		try {
+			if (root.exists()) {
+				IResource resource= root.getResource();
+				IFileStore store;
+				if (resource != null) {
+					URI location= resource.getLocationURI();
+					store= location != null ? EFS.getStore(location) : null;
+				} else { // external JAR
+					store= EFS.getLocalFileSystem().getStore(root.getPath());
+				}
+				if (store != null) {
+					IFileInfo info= store.fetchInfo();
+					if (info.exists())
+						return Long.valueOf(info.getLastModified());
+				}
+			}
+		} catch (CoreException e) {
+			// Fall through
+		}
+		return Long.valueOf(IResource.NULL_STAMP);
 	}
 
 	private long getContainerTimestamp(TypeNameMatch match) {
@@ -427,4 +537,29 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		}
 	}
 
+	@Override
+	protected void writeEntry(TypeNameMatch type, DataOutput out) throws IOException {
+		out.writeUTF(type.getType().getHandleIdentifier());
+		out.writeInt(type.getModifiers());
+		Long timestamp= fTimestampMapping.get(type);
+		out.writeLong(timestamp != null ? timestamp.longValue() : IResource.NULL_STAMP);
+	}
+
+	@Override
+	protected TypeNameMatch readEntry(DataInput in) throws IOException {
+		String handle= in.readUTF();
+		int modifiers= in.readInt();
+		long timestamp= in.readLong();
+
+		IJavaElement element= JavaCore.create(handle);
+		if (!(element instanceof IType))
+			return null;
+
+		TypeNameMatch info= SearchEngine.createTypeNameMatch((IType) element, modifiers);
+		if (timestamp != IResource.NULL_STAMP) {
+			fTimestampMapping.put(info, timestamp);
+		}
+		return info;
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,13 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.util;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import org.w3c.dom.Element;
 
-public class QualifiedTypeNameHistory extends History<String, String> {
+public class QualifiedTypeNameHistory extends JournaledHistory<String, String> {
 
 	private static final String NODE_ROOT= "qualifiedTypeNameHistroy"; //$NON-NLS-1$
 	private static final String NODE_TYPE_INFO= "fullyQualifiedTypeName"; //$NON-NLS-1$
@@ -51,6 +55,16 @@ public class QualifiedTypeNameHistory extends History<String, String> {
 		return object;
 	}
 
+	@Override
+	protected void writeEntry(String object, DataOutput out) throws IOException {
+		out.writeUTF(object);
+	}
+
+	@Override
+	protected String readEntry(DataInput in) throws IOException {
+		return in.readUTF();
+	}
+
 	public static int getBoost(String fullyQualifiedTypeName, int min, int max) {
 		float position= getDefault().getNormalizedPosition(fullyQualifiedTypeName);
 		int dist= max - min;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -249,6 +249,16 @@ public class TypeInfoFilter {
 		return Strings.startsWithIgnoreCase(type.getSimpleTypeName(), fNameMatcher.getPattern());
 	}
 
+	/**
+	 * Tells whether the raw name pattern is a plain prefix of names, i.e. whether
+	 * {@link #matchesRawNamePattern(TypeNameMatch)} tells the best matches apart.
+	 *
+	 * @return <code>false</code> if the name pattern is empty or contains wildcards
+	 */
+	public boolean hasRawNamePrefix() {
+		return fNameMatcher.getPattern().length() > 0 && fNameMatcher.getMatchKind() != SearchPattern.R_PATTERN_MATCH;
+	}
+
 	public boolean matchesCachedResult(TypeNameMatch type) {
 		if (!matchesPackage(type) || !matchesFilterExtension(type))
 			return false;
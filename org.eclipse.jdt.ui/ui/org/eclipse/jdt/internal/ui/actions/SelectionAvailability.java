@@ -0,0 +1,354 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.actions;
+
+import java.io.CharConversionException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jface.viewers.IStructuredSelection;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.corext.util.JavaElementDeltaUtil;
+import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+
+import org.eclipse.jdt.ui.actions.SelectionDispatchAction;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Remembers the availability of actions for the recently dispatched structured selections, so
+ * that the actions and menus that test the same selection share the result.
+ * <p>
+ * Tests of small selections are evaluated immediately. Of large selections, only the structure
+ * of the selection is checked immediately, the tests that access the Java model are evaluated by
+ * a background job per selection. The actions stay enabled until the job has found them to be
+ * unavailable, so that they are shown in menus that are filled meanwhile. The tests requested
+ * while a selection is dispatched are evaluated by one job. The results are shared by equal
+ * selections and discarded when the structure of the Java model changes.
+ * </p>
+ * <p>
+ * All methods must be called in the UI thread. The jobs belong to the family
+ * <code>SelectionAvailability.class</code>.
+ * </p>
+ *
+ * @since 3.35
+ */
+public final class SelectionAvailability {
+
+	/**
+	 * Tests whether an action is available for a selection.
+	 */
+	@FunctionalInterface
+	public interface IAvailabilityTest {
+
+		/**
+		 * @param selection the selection
+		 * @return <code>true</code> if the action is available
+		 * @throws JavaModelException if the selected elements could not be accessed
+		 */
+		boolean isAvailable(IStructuredSelection selection) throws JavaModelException;
+	}
+
+	/**
+	 * Maximal number of selected elements for which the tests are evaluated in the UI thread.
+	 */
+	private static final int SYNC_LIMIT= Integer.getInteger("org.eclipse.jdt.ui.actions.availability.syncLimit", 50).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Number of selections whose results are kept.
+	 */
+	private static final int MAX_SELECTIONS= 4;
+
+	private static final class Results {
+
+		/**
+		 * The selected elements, the key of the results.
+		 */
+		final List<?> fElements;
+		final IStructuredSelection fSelection;
+		final long fStamp;
+		final Map<String, Boolean> fAvailable= new HashMap<>();
+
+		/**
+		 * The tests that are evaluated in the background with the actions waiting for them.
+		 */
+		final Map<String, IAvailabilityTest> fPendingTests= new LinkedHashMap<>();
+		final Map<String, List<SelectionDispatchAction>> fPendingActions= new HashMap<>();
+
+		/**
+		 * <code>true</code> if the job will be scheduled once the selection has been dispatched.
+		 */
+		boolean fScheduled;
+
+		/**
+		 * The job evaluating pending tests, or <code>null</code> if no job is running.
+		 */
+		Job fJob;
+
+		Results(List<?> elements, IStructuredSelection selection, long stamp) {
+			fElements= elements;
+			fSelection= selection;
+			fStamp= stamp;
+		}
+	}
+
+	/**
+	 * The results by selected elements. Providers return a new selection object on every request,
+	 * so the results are not keyed by the selection itself.
+	 */
+	private static final Map<List<?>, Results> fgResults= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<?>, Results> eldest) {
+			if (size() <= MAX_SELECTIONS)
+				return false;
+			Results results= eldest.getValue();
+			if (results.fJob != null && !isDispatched(results))
+				results.fJob.cancel(); // no action waits for the results any more
+			return true;
+		}
+	};
+
+	/**
+	 * The results of the selection that has last been dispatched to an action.
+	 */
+	private static final Map<SelectionDispatchAction, Results> fgActionResults= new WeakHashMap<>();
+
+	/**
+	 * Incremented by every structural change of the Java model.
+	 */
+	private static volatile long fgStamp;
+
+	/**
+	 * The selection that has last been dispatched and its results, avoids comparing the selected
+	 * elements while the selection is dispatched to the actions one after the other.
+	 */
+	private static IStructuredSelection fgLastSelection;
+	private static Results fgLastResults;
+
+	private static boolean fgListenerInstalled;
+
+	private SelectionAvailability() {
+	}
+
+	/**
+	 * Enables an action if it is available for a selection.
+	 *
+	 * @param action the action
+	 * @param selection the selection dispatched to the action
+	 * @param key the key of the test, actions with the same test share the result
+	 * @param structureTest a test of the selected elements that does not access the Java model,
+	 *            <code>false</code> if <code>test</code> cannot succeed
+	 * @param test the test
+	 */
+	public static void update(SelectionDispatchAction action, IStructuredSelection selection, String key, Predicate<IStructuredSelection> structureTest, IAvailabilityTest test) {
+		installListener();
+		Results results= getResults(selection);
+		fgActionResults.put(action, results);
+
+		Boolean available= results.fAvailable.get(key);
+		if (available != null) {
+			action.setEnabled(available.booleanValue());
+			return;
+		}
+
+		if (selection.size() <= SYNC_LIMIT) {
+			boolean isAvailable= evaluate(test, selection);
+			results.fAvailable.put(key, Boolean.valueOf(isAvailable));
+			action.setEnabled(isAvailable);
+			return;
+		}
+
+		if (!structureTest.test(selection)) {
+			results.fAvailable.put(key, Boolean.FALSE);
+			action.setEnabled(false);
+			return;
+		}
+
+		// pending, the job disables the action if it is not available
+		action.setEnabled(true);
+		results.fPendingTests.putIfAbsent(key, test);
+		results.fPendingActions.computeIfAbsent(key, k -> new ArrayList<>()).add(action);
+		if (!results.fScheduled && results.fJob == null) {
+			// the other actions are updated for the same selection before the job is scheduled
+			results.fScheduled= true;
+			Display display= Display.getCurrent();
+			display.asyncExec(() -> schedule(results, display));
+		}
+	}
+
+	/**
+	 * Tests whether a selection contains exactly one element.
+	 *
+	 * @param selection the selection
+	 * @return <code>true</code> if one element is selected
+	 */
+	public static boolean isSingleElement(IStructuredSelection selection) {
+		return selection.size() == 1;
+	}
+
+	/**
+	 * Returns a test whether all selected elements are of a type.
+	 *
+	 * @param type the type
+	 * @return the test
+	 */
+	public static Predicate<IStructuredSelection> allElementsOf(Class<?> type) {
+		return selection -> {
+			for (Object element : selection) {
+				if (!type.isInstance(element))
+					return false;
+			}
+			return !selection.isEmpty();
+		};
+	}
+
+	/**
+	 * Returns a test whether any selected element is of one of the given types.
+	 *
+	 * @param types the types
+	 * @return the test
+	 */
+	public static Predicate<IStructuredSelection> anyElementOf(Class<?>... types) {
+		return selection -> {
+			for (Object element : selection) {
+				for (Class<?> type : types) {
+					if (type.isInstance(element))
+						return true;
+				}
+			}
+			return false;
+		};
+	}
+
+	private static Results getResults(IStructuredSelection selection) {
+		if (fgLastSelection == selection && fgLastResults.fStamp == fgStamp)
+			return fgLastResults;
+
+		List<?> elements= selection.toList();
+		Results results= fgResults.get(elements);
+		if (results == null || results.fStamp != fgStamp) {
+			if (results != null && results.fJob != null)
+				results.fJob.cancel();
+			results= new Results(elements, selection, fgStamp);
+			fgResults.put(elements, results);
+		}
+		fgLastSelection= selection;
+		fgLastResults= results;
+		return results;
+	}
+
+	private static boolean isDispatched(Results results) {
+		for (Results actionResults : fgActionResults.values()) {
+			if (actionResults == results)
+				return true;
+		}
+		return false;
+	}
+
+	private static boolean evaluate(IAvailabilityTest test, IStructuredSelection selection) {
+		try {
+			return test.isAvailable(selection);
+		} catch (JavaModelException e) {
+			// http://bugs.eclipse.org/bugs/show_bug.cgi?id=19253
+			if (!(e.getException() instanceof CharConversionException) && JavaModelUtil.isExceptionToBeLogged(e))
+				JavaPlugin.log(e);
+			return false; // no UI - happens on selection changes
+		}
+	}
+
+	/**
+	 * Schedules a job evaluating the pending tests of a selection.
+	 *
+	 * @param results the results of the selection
+	 * @param display the display of the actions
+	 */
+	private static void schedule(Results results, Display display) {
+		results.fScheduled= false;
+		if (results.fStamp != fgStamp || results.fPendingTests.isEmpty())
+			return;
+
+		Map<String, IAvailabilityTest> tests= new LinkedHashMap<>(results.fPendingTests);
+		results.fJob= new Job("Action availability update...") { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				Map<String, Boolean> available= new HashMap<>();
+				for (Map.Entry<String, IAvailabilityTest> entry : tests.entrySet()) {
+					if (monitor.isCanceled())
+						return Status.CANCEL_STATUS;
+					available.put(entry.getKey(), Boolean.valueOf(evaluate(entry.getValue(), results.fSelection)));
+				}
+				if (!display.isDisposed())
+					display.asyncExec(() -> applyResults(results, available, display));
+				return Status.OK_STATUS;
+			}
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return family == SelectionAvailability.class;
+			}
+		};
+		results.fJob.setSystem(true);
+		results.fJob.setPriority(Job.INTERACTIVE);
+		results.fJob.schedule();
+	}
+
+	private static void applyResults(Results results, Map<String, Boolean> available, Display display) {
+		results.fJob= null;
+		if (results.fStamp != fgStamp)
+			return; // the model has changed, the actions are updated by the next selection change
+
+		for (Map.Entry<String, Boolean> entry : available.entrySet()) {
+			String key= entry.getKey();
+			results.fAvailable.put(key, entry.getValue());
+			results.fPendingTests.remove(key);
+			List<SelectionDispatchAction> actions= results.fPendingActions.remove(key);
+			if (actions == null)
+				continue;
+			for (SelectionDispatchAction action : actions) {
+				if (fgActionResults.get(action) == results)
+					action.setEnabled(entry.getValue().booleanValue());
+			}
+		}
+		// evaluate the tests requested while the job was running
+		schedule(results, display);
+	}
+
+	private static void installListener() {
+		if (fgListenerInstalled)
+			return;
+		fgListenerInstalled= true;
+		JavaCore.addElementChangedListener(event -> {
+			// e.g. marker updates or changes of method bodies do not change the availability
+			if (JavaElementDeltaUtil.isStructuralChange(event.getDelta()))
+				fgStamp++;
+		}, ElementChangedEvent.POST_CHANGE);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.callhierarchy;
 
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.KeyListener;
 import org.eclipse.swt.events.TreeEvent;
@@ -23,10 +27,14 @@ import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.Tree;
 import org.eclipse.swt.widgets.Widget;
 
+import org.eclipse.core.runtime.OperationCanceledException;
+
 import org.eclipse.jface.action.IMenuListener;
 import org.eclipse.jface.action.MenuManager;
 import org.eclipse.jface.viewers.ISelectionProvider;
+import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.jface.viewers.TreePath;
 import org.eclipse.jface.viewers.TreeViewer;
 
 import org.eclipse.ui.IWorkbenchPartSite;
@@ -36,6 +44,8 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.internal.corext.callhierarchy.CallerMethodWrapper;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.util.ExceptionHandler;
 import org.eclipse.jdt.internal.ui.viewsupport.ColoringLabelProvider;
 
 
@@ -63,7 +73,14 @@ class CallHierarchyViewer extends TreeViewer {
         fContentProvider = new CallHierarchyContentProvider(fPart);
         setContentProvider(fContentProvider);
         setLabelProvider(new ColoringLabelProvider(new CallHierarchyLabelProvider()));
-
+        getControl().addListener(SWT.KeyDown, event -> {
+        	if (event.keyCode == SWT.KEYPAD_MULTIPLY) {
+        		event.doit= false;
+        		for (Object element : ((IStructuredSelection) getSelection()).toList()) {
+        			expandToLevel(element, ALL_LEVELS);
+        		}
+        	}
+        });
 
         clearViewer();
     }
@@ -201,6 +218,75 @@ class CallHierarchyViewer extends TreeViewer {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The calls of a deep expansion are found up front, with the searches of each level running
+	 * concurrently.
+	 * </p>
+	 */
+	@Override
+	public void expandToLevel(Object elementOrTreePath, int level) {
+		if (prefetchCalls(elementOrTreePath, level))
+			super.expandToLevel(elementOrTreePath, level);
+	}
+
+	/**
+	 * Finds the calls which are shown when expanding the given element to the given level.
+	 *
+	 * @param elementOrTreePath the element or tree path to expand
+	 * @param level the level to expand to, or {@link #ALL_LEVELS}
+	 * @return <code>false</code> if the search has been canceled
+	 */
+	private boolean prefetchCalls(Object elementOrTreePath, int level) {
+		Object element= elementOrTreePath instanceof TreePath ? ((TreePath) elementOrTreePath).getLastSegment() : elementOrTreePath;
+		MethodWrapper[] wrappers;
+		int depth;
+		if (element instanceof TreeRoot) {
+			wrappers= ((TreeRoot) element).getRoots();
+			depth= level == ALL_LEVELS ? ALL_LEVELS : level - 1;
+		} else if (element instanceof MethodWrapper) {
+			wrappers= new MethodWrapper[] { (MethodWrapper) element };
+			depth= level;
+		} else {
+			return true;
+		}
+
+		List<MethodWrapper> expandable= new ArrayList<>(wrappers.length);
+		int maxCallDepth= CallHierarchyUI.getDefault().getMaxCallDepth();
+		int minLevel= Integer.MAX_VALUE;
+		for (MethodWrapper wrapper : wrappers) {
+			if (!CallHierarchyContentProvider.isExpandWithConstructors(wrapper)) {
+				expandable.add(wrapper);
+				minLevel= Math.min(minLevel, wrapper.getLevel());
+			}
+		}
+		if (expandable.isEmpty())
+			return true;
+		int prefetchDepth= maxCallDepth - minLevel + 1;
+		if (depth != ALL_LEVELS)
+			prefetchDepth= Math.min(prefetchDepth, depth);
+		if (prefetchDepth <= 1)
+			return true; // a single level is fetched in the background by the content provider
+
+		MethodWrapper[] roots= expandable.toArray(new MethodWrapper[expandable.size()]);
+		int finalDepth= prefetchDepth;
+		try {
+			JavaPlugin.getActiveWorkbenchWindow().run(true, true, monitor -> {
+				try {
+					MethodWrapper.prefetchCalls(roots, finalDepth, monitor);
+				} catch (OperationCanceledException e) {
+					throw new InterruptedException();
+				}
+			});
+		} catch (InvocationTargetException e) {
+			ExceptionHandler.handle(e, CallHierarchyMessages.CallHierarchyContentProvider_searchError_title, CallHierarchyMessages.CallHierarchyContentProvider_searchError_message);
+		} catch (InterruptedException e) {
+			return false;
+		}
+		return true;
+	}
+
 	@Override
 	protected void internalAdd(Widget widget, Object parentElement, Object[] childElements) {
 		JavaCore.runReadOnly(() -> super.internalAdd(widget, parentElement, childElements));
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -470,7 +470,7 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 	@Override
 	protected void fillContentProvider(AbstractContentProvider provider, ItemsFilter itemsFilter, IProgressMonitor progressMonitor) throws CoreException {
 		TypeItemsFilter typeSearchFilter= (TypeItemsFilter) itemsFilter;
-		TypeSearchRequestor requestor= new TypeSearchRequestor(provider, typeSearchFilter);
+		TypeSearchRequestor requestor= new TypeSearchRequestor(provider, typeSearchFilter, this::scheduleRefresh);
 		SearchEngine engine= new SearchEngine((WorkingCopyOwner) null);
 		String packPattern= typeSearchFilter.getPackagePattern();
 		progressMonitor.setTaskName(JavaUIMessages.FilteredTypesSelectionDialog_searchJob_taskName);
@@ -496,6 +496,7 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 					requestor,
 					IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH,
 					progressMonitor);
+			requestor.addDeferredMatches();
 		} finally {
 			typeSearchFilter.setMatchEverythingMode(false);
 		}
@@ -983,6 +984,10 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 			return fTypeInfoFilter.matchesRawNamePattern(type);
 		}
 
+		public boolean hasRawNamePrefix() {
+			return fTypeInfoFilter.hasRawNamePrefix();
+		}
+
 		public boolean matchesFilterExtension(TypeNameMatch type) {
 			return fTypeInfoFilter.matchesFilterExtension(type);
 		}
@@ -1076,18 +1081,47 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 	 * <code>TypeItemsFilter</code>. The attached content provider is filled
 	 * on the basis of the collected entries (instances of
 	 * <code>TypeNameMatch</code>).
+	 * <p>
+	 * The matches are streamed in ranked batches, after the history matches shown by the dialog:
+	 * matches of the raw name pattern, which the dialog shows first, are added while the search is
+	 * running and the dialog is refreshed periodically, the other matches are added when the search
+	 * has completed.
+	 * </p>
 	 */
 	private static class TypeSearchRequestor extends TypeNameMatchRequestor {
+
+		/**
+		 * Minimal time in milliseconds between two refreshes of the dialog while searching.
+		 */
+		private static final long REFRESH_INTERVAL= 300;
+
 		private volatile boolean fStop;
 
 		private final AbstractContentProvider fContentProvider;
 
 		private final TypeItemsFilter fTypeItemsFilter;
 
-		public TypeSearchRequestor(AbstractContentProvider contentProvider, TypeItemsFilter typeItemsFilter) {
+		private final Runnable fRefresh;
+
+		/**
+		 * <code>true</code> if only the matches of the raw name pattern are added while searching,
+		 * <code>false</code> if all matches are added while searching.
+		 */
+		private final boolean fRankMatches;
+
+		private final List<TypeNameMatch> fDeferredMatches= new ArrayList<>();
+
+		private long fLastRefresh;
+
+		private boolean fHasNewMatches;
+
+		public TypeSearchRequestor(AbstractContentProvider contentProvider, TypeItemsFilter typeItemsFilter, Runnable refresh) {
 			super();
 			fContentProvider= contentProvider;
 			fTypeItemsFilter= typeItemsFilter;
+			fRefresh= refresh;
+			fRankMatches= typeItemsFilter.hasRawNamePrefix();
+			fLastRefresh= System.currentTimeMillis();
 		}
 
 		@Override
@@ -1096,10 +1130,34 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 				return;
 			if (TypeFilter.isFiltered(match))
 				return;
-			if (fTypeItemsFilter.matchesFilterExtension(match))
+			if (!fTypeItemsFilter.matchesFilterExtension(match))
+				return;
+
+			if (!fRankMatches || fTypeItemsFilter.matchesRawNamePattern(match)) {
 				fContentProvider.add(match, fTypeItemsFilter);
+				fHasNewMatches= true;
+			} else {
+				fDeferredMatches.add(match);
+			}
+			if (fHasNewMatches) {
+				long now= System.currentTimeMillis();
+				if (now - fLastRefresh >= REFRESH_INTERVAL) {
+					fLastRefresh= now;
+					fHasNewMatches= false;
+					fRefresh.run();
+				}
+			}
 		}
 
+		/**
+		 * Adds the matches that have been held back while searching.
+		 */
+		public void addDeferredMatches() {
+			for (TypeNameMatch match : fDeferredMatches) {
+				fContentProvider.add(match, fTypeItemsFilter);
+			}
+			fDeferredMatches.clear();
+		}
 	}
 
 	/**
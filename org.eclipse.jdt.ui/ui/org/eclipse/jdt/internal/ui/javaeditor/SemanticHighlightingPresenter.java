@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -52,6 +52,20 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 	/** The background presentation reconciler */
 	private JavaPresentationReconciler fPresentationReconciler;
 
+	/**
+	 * Offset of the document region changed since the positions have last been reconciled, or
+	 * <code>-1</code> if the document has not been changed. Guarded by <code>fPositionLock</code>.
+	 */
+	private int fChangedOffset= -1;
+	/**
+	 * End offset of the changed document region.
+	 */
+	private int fChangedEnd;
+	/**
+	 * Number of document changes, used to detect changes while the positions are reconciled.
+	 */
+	private int fChangeCount;
+
 	/**
 	 * Creates and returns a new highlighted position with the given offset, length and highlighting.
 	 * <p>
@@ -344,6 +358,74 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 	 */
 	@Override
 	public void documentChanged(DocumentEvent event) {
+		int offset= event.getOffset();
+		int oldEnd= offset + event.getLength();
+		String text= event.getText();
+		int newEnd= offset + (text != null ? text.length() : 0);
+		synchronized (fPositionLock) {
+			if (fChangedOffset == -1) {
+				fChangedOffset= offset;
+				fChangedEnd= newEnd;
+			} else if (fChangedEnd != Integer.MAX_VALUE) {
+				fChangedOffset= Math.min(fChangedOffset, offset);
+				fChangedEnd= fChangedEnd >= oldEnd ? Math.max(fChangedEnd + newEnd - oldEnd, newEnd) : newEnd;
+			}
+			fChangeCount++;
+		}
+	}
+
+	/**
+	 * Returns the region of the document that has been changed since the positions have last
+	 * been reconciled.
+	 * <p>
+	 * NOTE: Also called from background thread.
+	 * </p>
+	 *
+	 * @return the changed region, or <code>null</code> if the document has not been changed. The
+	 *         length of the region is <code>Integer.MAX_VALUE</code> if the whole document has to be
+	 *         considered as changed.
+	 * @since 3.35
+	 */
+	public IRegion getChangedRegion() {
+		synchronized (fPositionLock) {
+			if (fChangedOffset == -1)
+				return null;
+			if (fChangedEnd == Integer.MAX_VALUE)
+				return new Region(0, Integer.MAX_VALUE);
+			return new Region(fChangedOffset, fChangedEnd - fChangedOffset);
+		}
+	}
+
+	/**
+	 * Returns the number of document changes.
+	 * <p>
+	 * NOTE: Also called from background thread.
+	 * </p>
+	 *
+	 * @return the number of document changes
+	 * @since 3.35
+	 */
+	public int getChangeCount() {
+		synchronized (fPositionLock) {
+			return fChangeCount;
+		}
+	}
+
+	/**
+	 * Marks the positions as reconciled with the document, unless the document has been changed
+	 * since the given number of document changes has been retrieved.
+	 * <p>
+	 * NOTE: Also called from background thread.
+	 * </p>
+	 *
+	 * @param changeCount the number of document changes the positions have been reconciled with
+	 * @since 3.35
+	 */
+	public void resetChangedRegion(int changeCount) {
+		synchronized (fPositionLock) {
+			if (fChangeCount == changeCount)
+				fChangedOffset= -1;
+		}
 	}
 
 	/**
@@ -484,6 +566,9 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 	private void resetState() {
 		synchronized (fPositionLock) {
 			fPositions.clear();
+			fChangedOffset= 0;
+			fChangedEnd= Integer.MAX_VALUE;
+			fChangeCount++;
 		}
 	}
 
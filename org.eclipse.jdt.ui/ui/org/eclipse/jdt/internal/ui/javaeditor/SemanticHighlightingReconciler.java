@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISynchronizable;
 import org.eclipse.jface.text.ITextInputListener;
 import org.eclipse.jface.text.Position;
@@ -43,21 +44,27 @@ import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Block;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ConstructorInvocation;
 import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.GuardedPattern;
 import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.Initializer;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.Modifier.ModifierKeyword;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SimpleType;
+import org.eclipse.jdt.core.dom.StructuralPropertyDescriptor;
 import org.eclipse.jdt.core.dom.SuperConstructorInvocation;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jdt.core.dom.YieldStatement;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
+import org.eclipse.jdt.internal.corext.dom.ASTFlattener;
+
 import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.text.java.ISemanticTokensProvider;
 
@@ -76,6 +83,63 @@ import org.eclipse.jdt.internal.ui.util.ASTHelper;
  */
 public class SemanticHighlightingReconciler implements IJavaReconcilingListener, ITextInputListener {
 
+	/**
+	 * Flattens the AST without the bodies of methods and initializers and collects the
+	 * declarations owning these bodies.
+	 * <p>
+	 * If the flattened ASTs of two reconciles are equal, the edits in between only touched the
+	 * bodies, so that the positions outside of the touched bodies are still valid.
+	 * </p>
+	 */
+	private static class SkeletonFlattener extends ASTFlattener {
+
+		/** The method and initializer declarations with a body, in source order */
+		private final List<ASTNode> fMembers= new ArrayList<>();
+
+		@Override
+		public boolean visit(Block node) {
+			StructuralPropertyDescriptor location= node.getLocationInParent();
+			if (location != MethodDeclaration.BODY_PROPERTY && location != Initializer.BODY_PROPERTY)
+				return super.visit(node);
+			fBuffer.append("{}"); //$NON-NLS-1$
+			fMembers.add(node.getParent());
+			return false;
+		}
+
+		/**
+		 * @return a 64-bit hash of the flattened AST
+		 */
+		long getHash() {
+			String result= getResult();
+			long hash= 0xcbf29ce484222325L;
+			for (int i= 0, n= result.length(); i < n; i++) {
+				hash^= result.charAt(i);
+				hash*= 0x100000001b3L;
+			}
+			return hash;
+		}
+
+		/**
+		 * Returns the method or initializer declaration that contains the given region.
+		 *
+		 * @param region the region
+		 * @return the declaration, or <code>null</code> if the region is not contained in a
+		 *         single method or initializer declaration
+		 */
+		ASTNode getMemberContaining(IRegion region) {
+			int offset= region.getOffset();
+			long end= (long) offset + region.getLength();
+			for (ASTNode member : fMembers) {
+				int start= member.getStartPosition();
+				if (start > offset)
+					break;
+				if (start + member.getLength() >= end)
+					return member;
+			}
+			return null;
+		}
+	}
+
 	/**
 	 * Collects positions from the AST.
 	 */
@@ -84,6 +148,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		/** The semantic token */
 		private SemanticToken fToken= new SemanticToken();
 
+		@Override
+		public boolean preVisit2(ASTNode node) {
+			fNOfVisitedNodes++;
+			return true;
+		}
+
 
 		@Override
 		protected boolean visitLiteral(Expression node) {
@@ -275,14 +345,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		@Override
 		protected void retainPositions(int offset, int length) {
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
-				HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
-				if (position != null && position.isContained(offset, length)) {
-					fRemovedPositions.set(i, null);
-					fNOfRemovedPositions--;
-				}
-			}
+			SemanticHighlightingReconciler.this.retainPositions(offset, length);
 		}
 
 		@Override
@@ -316,15 +379,15 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	private void addPosition(int offset, int length, Highlighting highlighting) {
 		boolean isExisting= false;
-		// TODO: use binary search
-		for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
-			HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
-			if (position == null)
-				continue;
-			if (position.isEqual(offset, length, highlighting)) {
+		for (int i= getFirstIndexAtOffset(offset), n= fOldPositions.length; i < n; i++) {
+			if (fOldPositionsSorted && fOldOffsets[i] != offset)
+				break;
+			if (fOldPositions[i].isEqual(offset, length, highlighting)) {
 				isExisting= true;
-				fRemovedPositions.set(i, null);
-				fNOfRemovedPositions--;
+				if (fRemovedPositions.get(i) != null) {
+					fRemovedPositions.set(i, null);
+					fNOfRemovedPositions--;
+				}
 				break;
 			}
 		}
@@ -335,8 +398,48 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		}
 	}
 
+	/**
+	 * Retain the positions completely contained in the given range.
+	 * @param offset The range offset
+	 * @param length The range length
+	 */
+	private void retainPositions(int offset, int length) {
+		long end= (long) offset + length;
+		for (int i= getFirstIndexAtOffset(offset), n= fOldPositions.length; i < n; i++) {
+			if (fOldPositionsSorted && fOldOffsets[i] > end)
+				break;
+			HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
+			if (position != null && position.isContained(offset, length)) {
+				fRemovedPositions.set(i, null);
+				fNOfRemovedPositions--;
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the first old position with an offset not smaller than the given offset.
+	 *
+	 * @param offset the offset
+	 * @return the index, or <code>0</code> if the old positions are not sorted by offset
+	 */
+	private int getFirstIndexAtOffset(int offset) {
+		if (!fOldPositionsSorted)
+			return 0;
+		int low= 0;
+		int high= fOldOffsets.length;
+		while (low < high) {
+			int mid= (low + high) >>> 1;
+			if (fOldOffsets[mid] < offset)
+				low= mid + 1;
+			else
+				high= mid;
+		}
+		return low;
+	}
+
 	private static final String JAVA_EDITOR_SEMANTIC_TOKENS_EXTENSION_POINT= "org.eclipse.jdt.ui.semanticTokens"; //$NON-NLS-1$
 	private static final String ATTR_CLASS = "class"; //$NON-NLS-1$
+	private static final String DEBUG_PREFIX= "SemanticHighlightingReconciler - "; //$NON-NLS-1$
 
 	private static ISemanticTokensProvider[] fSemanticTokensProviders;
 
@@ -362,6 +465,40 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private List<Position> fRemovedPositions= new ArrayList<>();
 	/** Number of removed positions */
 	private int fNOfRemovedPositions;
+	/**
+	 * Background job's old highlighted positions, with the same indices as in {@link #fRemovedPositions}
+	 */
+	private HighlightedPosition[] fOldPositions;
+	/**
+	 * Offsets of the old highlighted positions
+	 */
+	private int[] fOldOffsets;
+	/**
+	 * <code>true</code> iff the old highlighted positions are sorted by offset
+	 */
+	private boolean fOldPositionsSorted;
+
+	/**
+	 * Hash of the {@link SkeletonFlattener flattened} AST the presenter's positions have last been
+	 * reconciled with, or <code>null</code> if a full reconcile is needed.
+	 */
+	private volatile Long fReconciledSkeletonHash;
+	/**
+	 * Number of reconciles, used to ignore presentation updates of outdated reconciles.
+	 */
+	private volatile int fReconcileCount;
+	/**
+	 * Background job's hash of the flattened AST
+	 */
+	private long fJobSkeletonHash;
+	/**
+	 * <code>true</code> iff the background job only reconciles the positions of the affected subtrees
+	 */
+	private boolean fJobIsIncremental;
+	/**
+	 * Number of nodes visited by the background job
+	 */
+	private int fNOfVisitedNodes;
 
 	/** Background job */
 	private Job fJob;
@@ -451,7 +588,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (ast == null || fJobPresenter.isCanceled())
 				return;
 
-			ASTNode[] subtrees= getAffectedSubtrees(ast);
+			long time= JavaPlugin.DEBUG_SEMANTIC_HIGHLIGHTING ? System.currentTimeMillis() : 0;
+			int reconcileCount= ++fReconcileCount;
+			int changeCount= fJobPresenter.getChangeCount();
+			ASTNode[] subtrees= getAffectedSubtrees(ast, forced);
 			if (subtrees.length == 0)
 				return;
 
@@ -475,8 +615,20 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (!fJobPresenter.isCanceled())
 				textPresentation= fJobPresenter.createPresentation(fAddedPositions, fRemovedPositions);
 
-			if (!fJobPresenter.isCanceled())
-				updatePresentation(textPresentation, fAddedPositions, fRemovedPositions);
+			if (!fJobPresenter.isCanceled()) {
+				if (fAddedPositions.isEmpty() && fRemovedPositions.isEmpty())
+					positionsReconciled(fJobPresenter, reconcileCount, changeCount, fJobSkeletonHash);
+				else
+					updatePresentation(textPresentation, fAddedPositions, fRemovedPositions, reconcileCount, changeCount, fJobSkeletonHash);
+			}
+
+			if (JavaPlugin.DEBUG_SEMANTIC_HIGHLIGHTING) {
+				System.out.println(DEBUG_PREFIX + (fJobIsIncremental ? "incremental" : "full") + " reconcile of " + subtrees.length + " subtree(s)" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+						+ ": visited nodes: " + fNOfVisitedNodes //$NON-NLS-1$
+						+ ", added positions: " + fAddedPositions.size() //$NON-NLS-1$
+						+ ", removed positions: " + fRemovedPositions.size() //$NON-NLS-1$
+						+ ", time: " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
 
 			stopReconcilingPositions();
 		} finally {
@@ -492,12 +644,36 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	}
 
 	/**
-	 * @param node Root node
+	 * Returns the subtrees that may be affected by the document changes since the positions have
+	 * last been reconciled. If the changes are confined to a single method or initializer
+	 * declaration and did not change the AST outside of method and initializer bodies, only that
+	 * declaration is affected. Otherwise the whole AST is.
+	 *
+	 * @param ast the AST
+	 * @param forced <code>true</code> if the reconcile has been forced, the bindings may have
+	 *            changed without document changes then
 	 * @return Array of subtrees that may be affected by past document changes
 	 */
-	private ASTNode[] getAffectedSubtrees(ASTNode node) {
-		// TODO: only return nodes which are affected by document changes - would require an 'anchor' concept for taking distant effects into account
-		return new ASTNode[] { node };
+	private ASTNode[] getAffectedSubtrees(CompilationUnit ast, boolean forced) {
+		SkeletonFlattener flattener= new SkeletonFlattener();
+		ast.accept(flattener);
+		fJobSkeletonHash= flattener.getHash();
+		fJobIsIncremental= false;
+
+		Long reconciledSkeletonHash= fReconciledSkeletonHash;
+		if (forced || reconciledSkeletonHash == null || reconciledSkeletonHash.longValue() != fJobSkeletonHash)
+			return new ASTNode[] { ast };
+
+		IRegion changedRegion= fJobPresenter.getChangedRegion();
+		if (changedRegion == null)
+			return new ASTNode[0];
+
+		ASTNode member= flattener.getMemberContaining(changedRegion);
+		if (member == null)
+			return new ASTNode[] { ast };
+
+		fJobIsIncremental= true;
+		return new ASTNode[] { member };
 	}
 
 	/**
@@ -506,6 +682,17 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private void startReconcilingPositions() {
 		fJobPresenter.addAllPositions(fRemovedPositions);
 		fNOfRemovedPositions= fRemovedPositions.size();
+		fNOfVisitedNodes= 0;
+
+		int n= fRemovedPositions.size();
+		fOldPositions= fRemovedPositions.toArray(new HighlightedPosition[n]);
+		fOldOffsets= new int[n];
+		fOldPositionsSorted= true;
+		for (int i= 0; i < n; i++) {
+			fOldOffsets[i]= fOldPositions[i].getOffset();
+			if (i > 0 && fOldOffsets[i] < fOldOffsets[i - 1])
+				fOldPositionsSorted= false;
+		}
 	}
 
 	/**
@@ -515,7 +702,15 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @param contributedTokens contributed semantic tokens data
 	 */
 	private void reconcilePositions(ASTNode[] subtrees, List<ISemanticTokensProvider.SemanticToken> contributedTokens) {
-		// FIXME: remove positions not covered by subtrees
+		if (fJobIsIncremental) {
+			// the positions not covered by the subtrees are still valid
+			int offset= 0;
+			for (ASTNode subtree : subtrees) {
+				retainPositions(offset, subtree.getStartPosition() - offset);
+				offset= subtree.getStartPosition() + subtree.getLength();
+			}
+			retainPositions(offset, Integer.MAX_VALUE - offset);
+		}
 
 		for (ASTNode subtree : subtrees)
 			subtree.accept(fCollector);
@@ -638,9 +833,13 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @param textPresentation the text presentation
 	 * @param addedPositions the added positions
 	 * @param removedPositions the removed positions
+	 * @param reconcileCount the number of the reconcile
+	 * @param changeCount the number of document changes the positions have been reconciled with
+	 * @param skeletonHash the hash of the flattened AST the positions have been reconciled with
 	 */
-	private void updatePresentation(TextPresentation textPresentation, List<Position> addedPositions, List<Position> removedPositions) {
-		Runnable runnable= fJobPresenter.createUpdateRunnable(textPresentation, addedPositions, removedPositions);
+	private void updatePresentation(TextPresentation textPresentation, List<Position> addedPositions, List<Position> removedPositions, int reconcileCount, int changeCount, long skeletonHash) {
+		SemanticHighlightingPresenter presenter= fJobPresenter;
+		Runnable runnable= presenter.createUpdateRunnable(textPresentation, addedPositions, removedPositions);
 		if (runnable == null)
 			return;
 
@@ -672,10 +871,27 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				} else {
 					runnable.run();
 				}
+				positionsReconciled(presenter, reconcileCount, changeCount, skeletonHash);
 			}
 		});
 	}
 
+	/**
+	 * Remembers the state the presenter's positions have been reconciled with, unless a newer
+	 * reconcile has been started meanwhile.
+	 *
+	 * @param presenter the semantic highlighting presenter
+	 * @param reconcileCount the number of the reconcile
+	 * @param changeCount the number of document changes the positions have been reconciled with
+	 * @param skeletonHash the hash of the flattened AST the positions have been reconciled with
+	 */
+	private void positionsReconciled(SemanticHighlightingPresenter presenter, int reconcileCount, int changeCount, long skeletonHash) {
+		if (reconcileCount != fReconcileCount || presenter != fPresenter)
+			return;
+		fReconciledSkeletonHash= Long.valueOf(skeletonHash);
+		presenter.resetChangedRegion(changeCount);
+	}
+
 	/**
 	 * Stop reconciling positions.
 	 */
@@ -683,6 +899,8 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		fRemovedPositions.clear();
 		fNOfRemovedPositions= 0;
 		fAddedPositions.clear();
+		fOldPositions= null;
+		fOldOffsets= null;
 	}
 
 	/**
@@ -702,6 +920,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 
 		fEditor= editor;
 		fSourceViewer= sourceViewer;
+		fReconciledSkeletonHash= null;
 
 		if (fEditor instanceof CompilationUnitEditor) {
 			if (registerAsEditorReconcilingListener()) {
@@ -750,6 +969,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		fSemanticHighlightings= null;
 		fHighlightings= null;
 		fPresenter= null;
+		fReconciledSkeletonHash= null;
 	}
 
 	/**
@@ -825,6 +1045,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	@Override
 	public void inputDocumentChanged(IDocument oldInput, IDocument newInput) {
+		fReconciledSkeletonHash= null;
 		if (newInput != null)
 			scheduleJob();
 	}
@@ -835,6 +1056,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @since 3.2
 	 */
 	public void refresh() {
+		fReconciledSkeletonHash= null;
 		scheduleJob();
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2013 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -344,6 +344,33 @@ public final class CompletionProposalCategory {
 		return result;
 	}
 
+	/**
+	 * Returns the computers of this category which contribute to the given partition.
+	 *
+	 * @param partition the partition type where to invocation occurred
+	 * @return the descriptors of the computers, in the order in which they are called
+	 * @since 3.35
+	 */
+	List<CompletionProposalComputerDescriptor> getComputerDescriptors(String partition) {
+		List<CompletionProposalComputerDescriptor> result= new ArrayList<>();
+		for (CompletionProposalComputerDescriptor desc : fRegistry.getProposalComputerDescriptors(partition)) {
+			if (desc.getCategory() == this)
+				result.add(desc);
+		}
+		return result;
+	}
+
+	/**
+	 * Sets the error message of the last computation, when the computers of this category have
+	 * been called by the content assist processor.
+	 *
+	 * @param errorMessage the error message, or <code>null</code>
+	 * @since 3.35
+	 */
+	void setErrorMessage(String errorMessage) {
+		fLastError= errorMessage;
+	}
+
 	/**
 	 * Safely computes context information objects of all computers of this category through their
 	 * extension. If an extension is disabled, throws an exception or otherwise does not adhere to
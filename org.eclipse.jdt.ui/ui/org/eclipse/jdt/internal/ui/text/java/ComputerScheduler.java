@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.java;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Calls content assist computers concurrently on a bounded pool of daemon threads.
+ * <p>
+ * Each call has its own deadline, which starts when the computer is called. A call that has not
+ * been started within the timeout after it has been submitted, e.g. because the pool is busy, is
+ * dropped as well. The monitor of a dropped call is canceled and its result is not awaited.
+ * </p>
+ * <p>
+ * A computer is never called concurrently with itself. If it is still running from an earlier
+ * invocation, the earlier call is canceled, and the new call waits until it has completed.
+ * </p>
+ * <p>
+ * Note: This class is for internal use only. It is public for tests.
+ * </p>
+ *
+ * @since 3.35
+ */
+public final class ComputerScheduler {
+
+	/**
+	 * A call of a computer.
+	 *
+	 * @param <T> the type of the result
+	 */
+	public static final class Call<T> {
+
+		final String fId;
+		final boolean fRequiresUIThread;
+		final Function<IProgressMonitor, T> fFunction;
+
+		/**
+		 * Creates a call.
+		 *
+		 * @param id the id of the computer
+		 * @param requiresUIThread <code>true</code> if the computer must be called in the calling
+		 *            thread
+		 * @param function the function calling the computer with a progress monitor
+		 */
+		public Call(String id, boolean requiresUIThread, Function<IProgressMonitor, T> function) {
+			fId= id;
+			fRequiresUIThread= requiresUIThread;
+			fFunction= function;
+		}
+	}
+
+	private static final int QUEUED= 0;
+	private static final int STARTED= 1;
+	private static final int DROPPED= 2;
+
+	private static final class Computation<T> {
+
+		final Call<T> fCall;
+		final ComputationProgressMonitor fMonitor;
+		final AtomicInteger fState= new AtomicInteger(QUEUED);
+		/** Counted down when the computer has been called or the call has been dropped */
+		final CountDownLatch fStarted= new CountDownLatch(1);
+		/** Completed when the computer has returned or will not be called any more */
+		final CompletableFuture<Void> fDone= new CompletableFuture<>();
+		final long fSubmitTime= System.currentTimeMillis();
+		volatile long fStartTime;
+		Future<T> fFuture;
+		T fResult;
+
+		Computation(Call<T> call, IProgressMonitor monitor) {
+			fCall= call;
+			fMonitor= new ComputationProgressMonitor(monitor);
+		}
+
+		boolean start() {
+			if (!fState.compareAndSet(QUEUED, STARTED))
+				return false;
+			fStartTime= System.currentTimeMillis();
+			fStarted.countDown();
+			return true;
+		}
+
+		boolean drop() {
+			if (!fState.compareAndSet(QUEUED, DROPPED))
+				return false;
+			fMonitor.setCanceled(true);
+			fStarted.countDown();
+			return true;
+		}
+	}
+
+	/**
+	 * The progress monitor of a computer called concurrently. Only the cancellation is forwarded
+	 * to the monitor of the invocation, as the computers report their progress concurrently.
+	 */
+	private static final class ComputationProgressMonitor extends NullProgressMonitor {
+
+		private final IProgressMonitor fParent;
+
+		ComputationProgressMonitor(IProgressMonitor parent) {
+			fParent= parent;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return super.isCanceled() || fParent.isCanceled();
+		}
+	}
+
+	private final int fParallelism;
+	private final long fTimeout;
+
+	/** The last computation of each computer, until it is done */
+	private final Map<String, Computation<?>> fComputations= new ConcurrentHashMap<>();
+
+	private ExecutorService fExecutor;
+
+	/**
+	 * Creates a scheduler.
+	 *
+	 * @param parallelism the maximal number of computers that are called concurrently
+	 * @param timeout the time in milliseconds after which a computer is not awaited any more
+	 */
+	public ComputerScheduler(int parallelism, long timeout) {
+		fParallelism= parallelism;
+		fTimeout= timeout;
+	}
+
+	/**
+	 * Calls the given computers. The computers which require the UI thread are called in the
+	 * calling thread, the others concurrently.
+	 *
+	 * @param calls the calls
+	 * @param monitor the progress monitor, only its cancellation is forwarded to the computers
+	 * @param <T> the type of the results
+	 * @return the results in the order of the calls, <code>null</code> for the calls that have
+	 *         been dropped or failed
+	 */
+	public <T> List<T> run(List<Call<T>> calls, IProgressMonitor monitor) {
+		List<Computation<T>> computations= new ArrayList<>(calls.size());
+		for (Call<T> call : calls) {
+			Computation<T> computation= new Computation<>(call, monitor);
+			if (!call.fRequiresUIThread)
+				submit(computation);
+			computations.add(computation);
+		}
+		for (Computation<T> computation : computations) {
+			if (computation.fFuture == null)
+				computation.fResult= computation.fCall.fFunction.apply(computation.fMonitor);
+		}
+
+		List<T> results= new ArrayList<>(computations.size());
+		for (Computation<T> computation : computations) {
+			results.add(getResult(computation));
+		}
+		return results;
+	}
+
+	/**
+	 * Stops the threads of this scheduler. Running computers are interrupted.
+	 */
+	public synchronized void dispose() {
+		if (fExecutor != null) {
+			fExecutor.shutdownNow();
+			fExecutor= null;
+		}
+	}
+
+	private <T> void submit(Computation<T> computation) {
+		String id= computation.fCall.fId;
+		Computation<?> previous= fComputations.put(id, computation);
+		if (previous != null)
+			previous.fMonitor.setCanceled(true); // superseded by this invocation
+		computation.fDone.whenComplete((result, e) -> fComputations.remove(id, computation));
+
+		computation.fFuture= getExecutor().submit(() -> {
+			boolean previousDone= previous == null || await(previous.fDone, computation.fSubmitTime + fTimeout);
+			try {
+				if (!previousDone || !computation.start()) {
+					computation.drop();
+					return null;
+				}
+				return computation.fCall.fFunction.apply(computation.fMonitor);
+			} finally {
+				if (previousDone)
+					computation.fDone.complete(null);
+				else // the next call of the computer has to wait for the previous one, too
+					previous.fDone.whenComplete((result, e) -> computation.fDone.complete(null));
+			}
+		});
+	}
+
+	private static boolean await(CompletableFuture<Void> done, long deadline) {
+		try {
+			done.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+			return true;
+		} catch (TimeoutException | ExecutionException e) {
+			return done.isDone();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private <T> T getResult(Computation<T> computation) {
+		if (computation.fFuture == null)
+			return computation.fResult;
+
+		try {
+			long startTimeout= computation.fSubmitTime + fTimeout - System.currentTimeMillis();
+			if (!computation.fStarted.await(Math.max(0, startTimeout), TimeUnit.MILLISECONDS) && computation.drop()) {
+				if (JavaPlugin.DEBUG_RESULT_COLLECTOR)
+					System.err.println("Code Assist (not started):\t" + computation.fCall.fId); //$NON-NLS-1$
+				return null;
+			}
+			if (computation.fState.get() == DROPPED)
+				return null;
+			long timeout= computation.fStartTime + fTimeout - System.currentTimeMillis();
+			return computation.fFuture.get(Math.max(0, timeout), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			computation.fMonitor.setCanceled(true);
+			if (JavaPlugin.DEBUG_RESULT_COLLECTOR)
+				System.err.println("Code Assist (timeout):\t" + computation.fCall.fId); //$NON-NLS-1$
+		} catch (InterruptedException e) {
+			computation.fMonitor.setCanceled(true);
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			JavaPlugin.log(e.getCause());
+		}
+		return null;
+	}
+
+	private synchronized ExecutorService getExecutor() {
+		if (fExecutor == null) {
+			fExecutor= Executors.newFixedThreadPool(fParallelism, runnable -> {
+				Thread thread= new Thread(runnable, "Java Content Assist Computer"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return fExecutor;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2011 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,19 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.java;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -184,6 +194,106 @@ public final class ContentAssistHistory {
 		}
 	}
 
+	/**
+	 * Journal persistence implementation. The journal consists of a header followed by records
+	 * that each remember one right hand side for one left hand side, replaying the records in
+	 * order restores the history. Storing a history appends the records that have been remembered
+	 * since it has been loaded or stored. The journal is replaced by a snapshot of the history when
+	 * it contains too many outdated records.
+	 *
+	 * @since 3.35
+	 */
+	private static final class JournalReaderWriter {
+
+		private static final int MAGIC= 0x4A444341; // "JDCA"
+		private static final int VERSION= 1;
+
+		/**
+		 * Number of outdated records a journal may contain in addition to twice the number of
+		 * remembered right hand sides before it is compacted.
+		 */
+		private static final int MIN_OUTDATED_RECORDS= 1024;
+
+		public void store(ContentAssistHistory history, File file) throws CoreException {
+			try {
+				if (history.fJournalRecords < 0 || !file.exists()
+						|| history.fJournalRecords + history.fPendingRecords.size() / 2 > 2 * history.getRecordCount() + MIN_OUTDATED_RECORDS) {
+					writeSnapshot(history, file);
+				} else if (!history.fPendingRecords.isEmpty()) {
+					try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+						writeRecords(history.fPendingRecords, out);
+					}
+					history.fJournalRecords+= history.fPendingRecords.size() / 2;
+				}
+				history.fPendingRecords.clear();
+			} catch (IOException e) {
+				throw createException(e, JavaTextMessages.ContentAssistHistory_serialize_error);
+			}
+		}
+
+		private void writeSnapshot(ContentAssistHistory history, File file) throws IOException {
+			List<String> records= new ArrayList<>();
+			for (Entry<String, MRUSet<String>> entry : history.fLHSCache.entrySet()) {
+				for (String rhs : entry.getValue()) {
+					records.add(entry.getKey());
+					records.add(rhs);
+				}
+			}
+			File tempFile= new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				writeRecords(records, out);
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			history.fJournalRecords= records.size() / 2;
+		}
+
+		private void writeRecords(List<String> records, DataOutputStream out) throws IOException {
+			for (String record : records) {
+				out.writeUTF(record);
+			}
+		}
+
+		public ContentAssistHistory load(File file, int maxLHS, int maxRHS) throws CoreException {
+			try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+				if (in.readInt() != MAGIC || in.readInt() != VERSION)
+					return null;
+
+				ContentAssistHistory history= new ContentAssistHistory(maxLHS, maxRHS);
+				int records= 0;
+				while (true) {
+					String lhs;
+					try {
+						lhs= in.readUTF();
+					} catch (EOFException e) {
+						break;
+					}
+					String rhs;
+					try {
+						rhs= in.readUTF();
+					} catch (EOFException e) {
+						// truncated while appending, compact the journal on the next store
+						records= -1;
+						break;
+					}
+					history.getCache(lhs).add(rhs);
+					records++;
+				}
+				history.fJournalRecords= records;
+				return history;
+			} catch (EOFException e) {
+				return null;
+			} catch (IOException e) {
+				throw createException(e, JavaTextMessages.ContentAssistHistory_deserialize_error);
+			}
+		}
+
+		private JavaUIException createException(Exception e, String message) {
+			return new JavaUIException(JavaUIStatus.createError(IStatus.ERROR, message, e));
+		}
+	}
+
 	/**
 	 * Most recently used variant with capped size that only counts
 	 * {@linkplain #put(Object, Object) put} as access. This is implemented by always removing an
@@ -234,6 +344,12 @@ public final class ContentAssistHistory {
 		private static final long serialVersionUID= 1L;
 		private final int fMaxSize;
 
+		/**
+		 * The history of this set, or <code>null</code> if it has not been computed since the last
+		 * change.
+		 */
+		transient RHSHistory fHistory;
+
 		/**
 		 * Creates a new <code>MRUSet</code> with the given size.
 		 *
@@ -249,6 +365,7 @@ public final class ContentAssistHistory {
 		 */
 		@Override
 		public boolean add(E o) {
+			fHistory= null;
 			if (remove(o)) {
 				super.add(o);
 				return false;
@@ -318,6 +435,21 @@ public final class ContentAssistHistory {
 	private static final int DEFAULT_TRACKED_LHS= 100;
 	private static final int DEFAULT_TRACKED_RHS= 10;
 
+	/**
+	 * The maximum number of tracked left hand sides of the history that is stored in a journal.
+	 *
+	 * @since 3.35
+	 */
+	public static final int JOURNAL_TRACKED_LHS= Integer.getInteger("org.eclipse.jdt.ui.contentassist.history.maxLHS", 10000).intValue(); //$NON-NLS-1$
+
+	/**
+	 * The maximum number of tracked right hand sides per left hand side of the history that is
+	 * stored in a journal.
+	 *
+	 * @since 3.35
+	 */
+	public static final int JOURNAL_TRACKED_RHS= Integer.getInteger("org.eclipse.jdt.ui.contentassist.history.maxRHS", 20).intValue(); //$NON-NLS-1$
+
 	private static final Set<String> UNCACHEABLE;
 	static {
 		Set<String> uncacheable= new HashSet<>();
@@ -332,6 +464,18 @@ public final class ContentAssistHistory {
 	private final int fMaxLHS;
 	private final int fMaxRHS;
 
+	/**
+	 * The left and right hand sides that have been remembered since the history has been loaded
+	 * from or stored to a journal, alternating.
+	 */
+	private final List<String> fPendingRecords= new ArrayList<>();
+
+	/**
+	 * The number of records of the journal, or <code>-1</code> if the journal must be replaced by
+	 * a snapshot.
+	 */
+	private int fJournalRecords= -1;
+
 	/**
 	 * Creates a new history.
 	 *
@@ -361,7 +505,7 @@ public final class ContentAssistHistory {
 	 * @param lhs the left hand side / expected type
 	 * @param rhs the selected right hand side
 	 */
-	public void remember(IType lhs, IType rhs) {
+	public synchronized void remember(IType lhs, IType rhs) {
 		Assert.isLegal(lhs != null);
 		Assert.isLegal(rhs != null);
 
@@ -390,9 +534,11 @@ public final class ContentAssistHistory {
 	 *        requested, or <code>null</code>
 	 * @return the right hand side history for the given type
 	 */
-	public RHSHistory getHistory(String lhs) {
+	public synchronized RHSHistory getHistory(String lhs) {
 		MRUSet<String> rhsCache= fLHSCache.get(lhs);
 		if (rhsCache != null) {
+			if (rhsCache.fHistory != null)
+				return rhsCache.fHistory;
 			int count= rhsCache.size();
 			LinkedHashMap<String, Integer> history= new LinkedHashMap<>((int) (count / 0.75));
 			int rank= 1;
@@ -400,7 +546,8 @@ public final class ContentAssistHistory {
 				String type= it.next();
 				history.put(type, rank);
 			}
-			return new RHSHistory(history);
+			rhsCache.fHistory= new RHSHistory(history);
+			return rhsCache.fHistory;
 		}
 		return EMPTY_HISTORY;
 	}
@@ -411,7 +558,7 @@ public final class ContentAssistHistory {
 	 *
 	 * @return the set of remembered right hand sides ordered by least recent selection
 	 */
-	public Map<String, RHSHistory> getEntireHistory() {
+	public synchronized Map<String, RHSHistory> getEntireHistory() {
 		HashMap<String, RHSHistory> map= new HashMap<>((int) (fLHSCache.size() / 0.75));
 		for (Entry<String, MRUSet<String>> entry : fLHSCache.entrySet()) {
 			String lhs= entry.getKey();
@@ -422,8 +569,11 @@ public final class ContentAssistHistory {
 
 	private void rememberInternal(IType lhs, String rhsQualifiedName) throws JavaModelException {
 		String lhsQualifiedName= lhs.getFullyQualifiedName();
-		if (isCacheableLHS(lhs, lhsQualifiedName))
+		if (isCacheableLHS(lhs, lhsQualifiedName)) {
 			getCache(lhsQualifiedName).add(rhsQualifiedName);
+			fPendingRecords.add(lhsQualifiedName);
+			fPendingRecords.add(rhsQualifiedName);
+		}
 	}
 
 	private boolean isCacheableLHS(IType type, String qualifiedName) throws JavaModelException {
@@ -444,6 +594,14 @@ public final class ContentAssistHistory {
 		return rhsCache;
 	}
 
+	private int getRecordCount() {
+		int count= 0;
+		for (MRUSet<String> rhsCache : fLHSCache.values()) {
+			count+= rhsCache.size();
+		}
+		return count;
+	}
+
 	private IProgressMonitor getProgressMonitor() {
 		return new NullProgressMonitor();
 	}
@@ -481,4 +639,38 @@ public final class ContentAssistHistory {
 		}
 		return null;
 	}
+
+	/**
+	 * Stores the history into a journal. Only the changes since the history has been loaded from
+	 * or stored to the journal are appended, unless the journal needs to be compacted.
+	 *
+	 * @param history the history to store
+	 * @param file the journal file
+	 * @throws CoreException if writing the journal fails
+	 * @see #load(File, int, int) on how to restore a history stored by this method
+	 * @since 3.35
+	 */
+	public static void store(ContentAssistHistory history, File file) throws CoreException {
+		synchronized (history) {
+			new JournalReaderWriter().store(history, file);
+		}
+	}
+
+	/**
+	 * Loads a history from a journal.
+	 *
+	 * @param file the journal file
+	 * @param maxLHS the maximum number of tracked left hand sides (&gt; 0)
+	 * @param maxRHS the maximum number of tracked right hand sides per left hand side (&gt; 0)
+	 * @return the history, or <code>null</code> if the file does not exist or is not a journal
+	 * @throws CoreException if reading the journal fails
+	 * @see #store(ContentAssistHistory, File) on how to store a history such that it can be read
+	 *      by this method
+	 * @since 3.35
+	 */
+	public static ContentAssistHistory load(File file, int maxLHS, int maxRHS) throws CoreException {
+		if (!file.isFile())
+			return null;
+		return new JournalReaderWriter().load(file, maxLHS, maxRHS);
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -50,6 +50,7 @@ import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.resource.JFaceResources;
 
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.contentassist.ContentAssistEvent;
 import org.eclipse.jface.text.contentassist.ContentAssistant;
@@ -218,6 +219,20 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		}
 	}
 
+	/**
+	 * The maximal number of computers that are called concurrently, <code>1</code> if the
+	 * computers are called one after another.
+	 */
+	private static final int PARALLELISM= Integer.getInteger("org.eclipse.jdt.ui.contentassist.parallelism", 1).intValue(); //$NON-NLS-1$
+
+	/**
+	 * The time in milliseconds after which a computer that is called concurrently is no longer
+	 * awaited. The time starts when the computer is called.
+	 */
+	private static final long COMPUTER_TIMEOUT= Long.getLong("org.eclipse.jdt.ui.contentassist.computerTimeout", 2000).longValue(); //$NON-NLS-1$
+
+	private static ComputerScheduler fgScheduler;
+
 	/**
 	 * Dialog settings key for the "all categories are disabled" warning dialog. See
 	 * {@link OptionalMessageDialog}.
@@ -328,12 +343,16 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		boolean needsSortingAfterFiltering= false;
 		List<ICompletionProposal> proposals= new ArrayList<>();
 		List<CompletionProposalCategory> providers= getCategories();
-		for (CompletionProposalCategory cat : providers) {
-			List<ICompletionProposal> computed= cat.computeCompletionProposals(context, fPartition, Progress.subMonitor(monitor, 1));
-			proposals.addAll(computed);
-			needsSortingAfterFiltering= needsSortingAfterFiltering || (cat.isSortingAfterFilteringNeeded() && !computed.isEmpty());
-			if (fErrorMessage == null) {
-				fErrorMessage= cat.getErrorMessage();
+		if (PARALLELISM > 1) {
+			needsSortingAfterFiltering= collectProposalsConcurrently(providers, proposals, monitor, context);
+		} else {
+			for (CompletionProposalCategory cat : providers) {
+				List<ICompletionProposal> computed= cat.computeCompletionProposals(context, fPartition, Progress.subMonitor(monitor, 1));
+				proposals.addAll(computed);
+				needsSortingAfterFiltering= needsSortingAfterFiltering || (cat.isSortingAfterFilteringNeeded() && !computed.isEmpty());
+				if (fErrorMessage == null) {
+					fErrorMessage= cat.getErrorMessage();
+				}
 			}
 		}
 		if (fNeedsSortingAfterFiltering && !needsSortingAfterFiltering) {
@@ -343,6 +362,70 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		return proposals;
 	}
 
+	/**
+	 * Collects the proposals of the given categories with the computers called concurrently. The
+	 * computers which require the UI thread are called in the current thread. The proposals of a
+	 * computer that does not complete within {@link #COMPUTER_TIMEOUT} after it has been called are
+	 * dropped, the proposals of the other computers are merged in the order of the categories.
+	 *
+	 * @param categories the categories
+	 * @param proposals the list to add the proposals to
+	 * @param monitor the progress monitor
+	 * @param context the code assist invocation context
+	 * @return <code>true</code> if the proposals need to be sorted after filtering
+	 */
+	private boolean collectProposalsConcurrently(List<CompletionProposalCategory> categories, List<ICompletionProposal> proposals, IProgressMonitor monitor, ContentAssistInvocationContext context) {
+		try {
+			context.computeIdentifierPrefix(); // computed lazily, compute it before the context is shared
+		} catch (BadLocationException e) {
+			// computed again and reported by the computers
+		}
+
+		List<CompletionProposalCategory> callCategories= new ArrayList<>();
+		List<CompletionProposalComputerDescriptor> descriptors= new ArrayList<>();
+		List<ComputerScheduler.Call<List<ICompletionProposal>>> calls= new ArrayList<>();
+		for (CompletionProposalCategory category : categories) {
+			for (CompletionProposalComputerDescriptor descriptor : category.getComputerDescriptors(fPartition)) {
+				callCategories.add(category);
+				descriptors.add(descriptor);
+				calls.add(new ComputerScheduler.Call<>(descriptor.getId(), descriptor.requiresUIThread(),
+						computerMonitor -> descriptor.computeCompletionProposals(context, computerMonitor)));
+			}
+		}
+		List<List<ICompletionProposal>> results= getScheduler().run(calls, monitor);
+
+		boolean needsSortingAfterFiltering= false;
+		CompletionProposalCategory category= null;
+		String categoryError= null;
+		for (int i= 0; i < results.size(); i++) {
+			if (callCategories.get(i) != category) {
+				if (category != null)
+					category.setErrorMessage(categoryError);
+				category= callCategories.get(i);
+				categoryError= null;
+			}
+			List<ICompletionProposal> computed= results.get(i);
+			if (computed == null)
+				continue;
+			proposals.addAll(computed);
+			needsSortingAfterFiltering= needsSortingAfterFiltering || (category.isSortingAfterFilteringNeeded() && !computed.isEmpty());
+			if (categoryError == null)
+				categoryError= descriptors.get(i).getErrorMessage();
+			if (fErrorMessage == null)
+				fErrorMessage= categoryError;
+		}
+		if (category != null)
+			category.setErrorMessage(categoryError);
+		monitor.worked(categories.size());
+		return needsSortingAfterFiltering;
+	}
+
+	private static synchronized ComputerScheduler getScheduler() {
+		if (fgScheduler == null)
+			fgScheduler= new ComputerScheduler(PARALLELISM, COMPUTER_TIMEOUT);
+		return fgScheduler;
+	}
+
 	/**
 	 * Filters and sorts the proposals. The passed list may be modified
 	 * and returned, or a new list may be created and returned.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.internal.ui.text.spelling.engine;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -111,9 +112,25 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	/** The phonetic distance algorithm */
 	private IPhoneticDistanceAlgorithm fDistanceAlgorithm= new DefaultPhoneticDistanceAlgorithm();
 
+	/**
+	 * Name of the directory in the plug-in state location which holds the precompiled indexes.
+	 */
+	private static final String INDEX_DIRECTORY= "spellingIndexes"; //$NON-NLS-1$
+
+	/**
+	 * Maximal number of index files whose names stem from the same hash code.
+	 */
+	private static final int MAX_INDEX_COLLISIONS= 8;
+
 	/** The mapping from phonetic hashes to word lists */
 	private final Map<ByteArrayWrapper, Object> fHashBuckets= new HashMap<>(getInitialSize(), LOAD_FACTOR);
 
+	/**
+	 * The precompiled index of the word list, or <code>null</code> if the words are held in
+	 * {@link #fHashBuckets}.
+	 */
+	private volatile SpellDictionaryIndex fIndex;
+
 	/** The phonetic hash provider */
 	private IPhoneticHashProvider fHashProvider= new DefaultPhoneticHashProvider();
 
@@ -149,14 +166,35 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 * @return Array of candidates for the phonetic hash
 	 */
 	protected final Object getCandidates(final String hash) {
-		ByteArrayWrapper hashBytes;
+		byte[] hashBytes;
 		try {
-			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
+			hashBytes= hash.getBytes(UTF_8);
 		} catch (UnsupportedEncodingException e) {
 			JavaPlugin.log(e);
 			return null;
 		}
-		return fHashBuckets.get(hashBytes);
+		Object candidates= fHashBuckets.get(new ByteArrayWrapper(hashBytes));
+		SpellDictionaryIndex index= fIndex;
+		if (index == null)
+			return candidates;
+
+		Object indexed= index.get(hashBytes);
+		if (candidates == null)
+			return indexed;
+		if (indexed == null)
+			return candidates;
+
+		ArrayList<Object> merged= new ArrayList<>(BUCKET_CAPACITY);
+		addCandidates(merged, indexed);
+		addCandidates(merged, candidates);
+		return merged;
+	}
+
+	private static void addCandidates(ArrayList<Object> list, Object candidates) {
+		if (candidates instanceof ArrayList)
+			list.addAll((ArrayList<?>) candidates);
+		else
+			list.add(candidates);
 	}
 
 	/**
@@ -314,7 +352,8 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 * @since 3.3
 	 */
 	protected boolean isEmpty() {
-		return fHashBuckets.isEmpty();
+		SpellDictionaryIndex index= fIndex;
+		return fHashBuckets.isEmpty() && (index == null || index.isEmpty());
 	}
 
 	/**
@@ -574,7 +613,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 	@Override
 	public synchronized final boolean isLoaded() {
-		return fLoaded || fHashBuckets.size() > 0;
+		return fLoaded || fHashBuckets.size() > 0 || fIndex != null;
 	}
 
 	/**
@@ -589,6 +628,41 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		 if (!fMustLoad)
 			 return fLoaded;
 
+		try {
+			File indexFile= null;
+			String key= null;
+			long stamp= -1;
+			if (url != null && canPrecompile()) {
+				key= url.toExternalForm() + '|' + getEncoding() + '|' + fHashProvider.getClass().getName();
+				stamp= SpellDictionaryIndex.getStamp(url);
+				indexFile= getIndexFile(key, stamp);
+				if (indexFile != null && stamp != -1) {
+					SpellDictionaryIndex index= SpellDictionaryIndex.open(indexFile, key, stamp);
+					if (index != null) {
+						fIndex= index;
+						return true;
+					}
+				}
+			}
+
+			if (!readWordList(url))
+				return false;
+			if (indexFile != null && stamp != -1)
+				precompile(indexFile, key, stamp);
+			return true;
+		} finally {
+			if (url != null)
+				fMustLoad= false;
+		}
+	}
+
+	/**
+	 * Reads a dictionary word list and hashes its words.
+	 *
+	 * @param url the URL of the word list to read
+	 * @return <code>true</code> iff the word list could be read, <code>false</code> otherwise
+	 */
+	private boolean readWordList(final URL url) {
 		if (url != null) {
 			InputStream stream= null;
 			int line= 0;
@@ -636,7 +710,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 					JavaPlugin.log(ex);
 				else
 					try {
-						return load(new URL(lowercaseUrlString));
+						return readWordList(new URL(lowercaseUrlString));
 					} catch (MalformedURLException e) {
 						JavaPlugin.log(e);
 					}
@@ -648,7 +722,6 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 				} else
 					JavaPlugin.log(exception);
 			} finally {
-				fMustLoad= false;
 				try {
 					if (stream != null)
 						stream.close();
@@ -659,6 +732,93 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		return false;
 	}
 
+	/**
+	 * Tells whether the word list of this dictionary can be precompiled into a memory-mapped
+	 * index which is kept in the plug-in state location and reused by later sessions. Only
+	 * dictionaries whose word list is not modified through {@link #hashWord(String)} should
+	 * answer <code>true</code>.
+	 *
+	 * @return <code>true</code> if the word list can be precompiled
+	 * @since 3.35
+	 */
+	protected boolean canPrecompile() {
+		return false;
+	}
+
+	/**
+	 * Writes the hashed words to the given index file and replaces them by the memory-mapped
+	 * index.
+	 *
+	 * @param indexFile the index file
+	 * @param key the key of the word list
+	 * @param stamp the stamp of the word list
+	 */
+	private void precompile(File indexFile, String key, long stamp) {
+		ArrayList<byte[]> hashes= new ArrayList<>(fHashBuckets.size());
+		ArrayList<Object> buckets= new ArrayList<>(fHashBuckets.size());
+		for (Map.Entry<ByteArrayWrapper, Object> entry : fHashBuckets.entrySet()) {
+			hashes.add(entry.getKey().byteArray);
+			buckets.add(entry.getValue());
+		}
+		try {
+			SpellDictionaryIndex.write(indexFile, key, stamp, hashes, buckets);
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+			return;
+		}
+		SpellDictionaryIndex index= SpellDictionaryIndex.open(indexFile, key, stamp);
+		if (index != null) {
+			fIndex= index;
+			fHashBuckets.clear();
+			deleteOtherVersions(indexFile, key);
+		}
+	}
+
+	/**
+	 * Returns the file of the precompiled index of the given version of a word list. Index files
+	 * are named after the hash code of the key and the stamp, and store the key, so that a file
+	 * which belongs to another word list with the same hash code is not overwritten. A changed word
+	 * list is written to a new file, the file of the old version may still be mapped.
+	 *
+	 * @param key the key of the word list
+	 * @param stamp the stamp of the word list
+	 * @return the index file, or <code>null</code> if the state location is not available
+	 */
+	private static File getIndexFile(String key, long stamp) {
+		try {
+			File directory= JavaPlugin.getDefault().getStateLocation().append(INDEX_DIRECTORY).toFile();
+			if (!directory.isDirectory() && !directory.mkdirs())
+				return null;
+			String name= Integer.toHexString(key.hashCode());
+			for (int i= 0; i < MAX_INDEX_COLLISIONS; i++) {
+				File file= new File(directory, (i == 0 ? name : name + '-' + i) + '-' + Long.toHexString(stamp) + ".index"); //$NON-NLS-1$
+				if (!file.exists() || key.equals(SpellDictionaryIndex.readKey(file)))
+					return file;
+			}
+			return null;
+		} catch (IllegalStateException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Deletes the index files of the other versions of a word list. Files which are still mapped
+	 * and cannot be deleted are deleted by a later call.
+	 *
+	 * @param indexFile the index file of the current version
+	 * @param key the key of the word list
+	 */
+	private static void deleteOtherVersions(File indexFile, String key) {
+		String prefix= Integer.toHexString(key.hashCode()) + '-';
+		File[] files= indexFile.getParentFile().listFiles((directory, name) -> name.startsWith(prefix) && name.endsWith(".index")); //$NON-NLS-1$
+		if (files == null)
+			return;
+		for (File file : files) {
+			if (!file.equals(indexFile) && key.equals(SpellDictionaryIndex.readKey(file)))
+				file.delete();
+		}
+	}
+
 	/**
 	 * Compacts the dictionary.
 	 *
@@ -698,6 +858,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		fLoaded= false;
 		fMustLoad= true;
 		fHashBuckets.clear();
+		fIndex= null;
 	}
 
 	@Override
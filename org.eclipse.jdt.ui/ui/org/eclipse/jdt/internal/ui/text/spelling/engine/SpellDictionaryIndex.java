@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.runtime.FileLocator;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+
+/**
+ * A precompiled, memory-mapped index from phonetic hashes to the words of a dictionary.
+ * <p>
+ * The index file consists of a header with the key of the word list, an open addressing hash table
+ * with the file offsets of the buckets, and the buckets. Each bucket holds a phonetic hash and the UTF-8 encoded words with
+ * that hash. Lookups read the mapped file directly, only the returned words are copied to the Java
+ * heap.
+ * </p>
+ * <p>
+ * A mapped file cannot be replaced or deleted on some platforms until the mapping has been garbage
+ * collected. The header is therefore read without mapping the file, and clients write a changed
+ * word list to a new file instead of replacing the file of the old version.
+ * </p>
+ * <p>
+ * Note: This class is for internal use only. It is public for tests.
+ * </p>
+ *
+ * @since 3.35
+ */
+public final class SpellDictionaryIndex {
+
+	private static final int MAGIC= 0x4A445849; // "JDXI"
+	private static final int VERSION= 2;
+
+	/**
+	 * Size of the fixed part of the header: magic, version, source stamp, table size, word count and
+	 * length of the key. The key follows as UTF-8 bytes.
+	 */
+	private static final int HEADER_SIZE= 26;
+
+	/** Table entry of an empty slot */
+	private static final int EMPTY_SLOT= -1;
+
+	private final MappedByteBuffer fBuffer;
+	private final int fTableOffset;
+	private final int fTableSize;
+	private final int fWordCount;
+
+	private SpellDictionaryIndex(MappedByteBuffer buffer, int tableOffset, int tableSize, int wordCount) {
+		fBuffer= buffer;
+		fTableOffset= tableOffset;
+		fTableSize= tableSize;
+		fWordCount= wordCount;
+	}
+
+	/**
+	 * Maps the given index file. The file is only mapped if its header matches.
+	 *
+	 * @param file the index file
+	 * @param key the key of the word list from which the index must have been built
+	 * @param stamp the stamp of the word list from which the index must have been built
+	 * @return the index, or <code>null</code> if the file does not exist, is invalid or has been
+	 *         built from a different word list or from a different version of the word list
+	 */
+	public static SpellDictionaryIndex open(File file, String key, long stamp) {
+		if (!file.isFile())
+			return null;
+
+		try (FileChannel channel= FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size= channel.size();
+			if (size > Integer.MAX_VALUE)
+				return null;
+			ByteBuffer header= readHeader(channel);
+			if (header == null || header.getLong(8) != stamp || !key.equals(readKey(header)))
+				return null;
+			int tableOffset= header.capacity();
+			int tableSize= header.getInt(16);
+			if (tableSize <= 0 || Integer.bitCount(tableSize) != 1 || tableOffset + 4L * tableSize > size)
+				return null;
+			// the mapping stays valid after the channel has been closed
+			MappedByteBuffer buffer= channel.map(MapMode.READ_ONLY, 0, size);
+			return new SpellDictionaryIndex(buffer, tableOffset, tableSize, header.getInt(20));
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the key of the word list from which the given index file has been built.
+	 *
+	 * @param file the index file
+	 * @return the key, or <code>null</code> if the file does not exist or is invalid
+	 */
+	public static String readKey(File file) {
+		if (!file.isFile())
+			return null;
+
+		try (FileChannel channel= FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer header= readHeader(channel);
+			return header != null ? readKey(header) : null;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the header and the key of an index file.
+	 *
+	 * @param channel the channel of the index file
+	 * @return the header, or <code>null</code> if the file is not an index file of this version
+	 * @throws IOException if the file could not be read
+	 */
+	private static ByteBuffer readHeader(FileChannel channel) throws IOException {
+		ByteBuffer header= ByteBuffer.allocate(HEADER_SIZE);
+		if (!readFully(channel, header) || header.getInt(0) != MAGIC || header.getInt(4) != VERSION)
+			return null;
+		int keyLength= header.getShort(24) & 0xFFFF;
+		ByteBuffer headerAndKey= ByteBuffer.allocate(HEADER_SIZE + keyLength);
+		headerAndKey.put(header.flip());
+		return readFully(channel, headerAndKey) ? headerAndKey : null;
+	}
+
+	/**
+	 * Fills a buffer from a file. The position of the buffer is the position in the file.
+	 *
+	 * @param channel the channel of the file
+	 * @param buffer the buffer
+	 * @return <code>false</code> if the end of the file has been reached
+	 * @throws IOException if the file could not be read
+	 */
+	private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, buffer.position()) < 0)
+				return false;
+		}
+		return true;
+	}
+
+	private static String readKey(ByteBuffer header) {
+		byte[] key= new byte[header.capacity() - HEADER_SIZE];
+		header.get(HEADER_SIZE, key);
+		return new String(key, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns a stamp which changes whenever the given word list changes. URLs of bundle entries
+	 * are resolved to the underlying file or archive entry first.
+	 *
+	 * @param url the URL of the word list
+	 * @return the stamp, or <code>-1</code> if not available
+	 */
+	public static long getStamp(URL url) {
+		try {
+			URLConnection connection= FileLocator.resolve(url).openConnection();
+			connection.setUseCaches(false);
+			long lastModified= connection.getLastModified();
+			long length= connection.getContentLengthLong();
+			if (lastModified == 0 || length < 0)
+				return -1;
+			return lastModified * 31 + length;
+		} catch (IOException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Writes an index file.
+	 *
+	 * @param file the index file
+	 * @param key the key of the word list from which the index has been built
+	 * @param stamp the stamp of the word list from which the index has been built
+	 * @param hashes the UTF-8 encoded phonetic hashes
+	 * @param buckets the words of the hashes, each either a <code>byte[]</code> or a
+	 *            <code>List&lt;byte[]&gt;</code> of UTF-8 encoded words
+	 * @throws IOException if the file could not be written
+	 */
+	public static void write(File file, String key, long stamp, List<byte[]> hashes, List<Object> buckets) throws IOException {
+		byte[] keyBytes= key.getBytes(StandardCharsets.UTF_8);
+		if (keyBytes.length > 0xFFFF)
+			throw new IOException("Key too long"); //$NON-NLS-1$
+		int tableSize= Integer.highestOneBit(Math.max(1, hashes.size()) * 2 - 1) << 1; // load factor <= 0.5
+		int[] table= new int[tableSize];
+		Arrays.fill(table, EMPTY_SLOT);
+
+		int wordCount= 0;
+		long offset= HEADER_SIZE + keyBytes.length + 4L * tableSize;
+		for (int i= 0; i < hashes.size(); i++) {
+			byte[] hash= hashes.get(i);
+			int slot= getSlot(hash, tableSize);
+			while (table[slot] != EMPTY_SLOT)
+				slot= (slot + 1) & (tableSize - 1);
+			if (offset > Integer.MAX_VALUE)
+				throw new IOException("Dictionary too large"); //$NON-NLS-1$
+			table[slot]= (int) offset;
+
+			offset+= 2 + hash.length + 4;
+			for (byte[] word : getWords(buckets.get(i))) {
+				offset+= 2 + word.length;
+				wordCount++;
+			}
+		}
+
+		File tempFile= new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile), 64 * 1024))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(stamp);
+			out.writeInt(tableSize);
+			out.writeInt(wordCount);
+			writeBytes(out, keyBytes);
+			for (int entry : table) {
+				out.writeInt(entry);
+			}
+			for (int i= 0; i < hashes.size(); i++) {
+				byte[] hash= hashes.get(i);
+				List<byte[]> words= getWords(buckets.get(i));
+				writeBytes(out, hash);
+				out.writeInt(words.size());
+				for (byte[] word : words) {
+					writeBytes(out, word);
+				}
+			}
+		}
+		Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Returns the words with the given phonetic hash.
+	 *
+	 * @param hash the UTF-8 encoded phonetic hash
+	 * @return the UTF-8 encoded word if there is exactly one, a <code>List&lt;byte[]&gt;</code>
+	 *         of UTF-8 encoded words if there are several, or <code>null</code> if there are none
+	 */
+	public Object get(byte[] hash) {
+		int slot= getSlot(hash, fTableSize);
+		while (true) {
+			int offset= fBuffer.getInt(fTableOffset + 4 * slot);
+			if (offset == EMPTY_SLOT)
+				return null;
+			if (matches(offset, hash))
+				return readBucket(offset + 2 + hash.length);
+			slot= (slot + 1) & (fTableSize - 1);
+		}
+	}
+
+	public boolean isEmpty() {
+		return fWordCount == 0;
+	}
+
+	private boolean matches(int offset, byte[] hash) {
+		int length= fBuffer.getShort(offset) & 0xFFFF;
+		if (length != hash.length)
+			return false;
+		for (int i= 0; i < length; i++) {
+			if (fBuffer.get(offset + 2 + i) != hash[i])
+				return false;
+		}
+		return true;
+	}
+
+	private Object readBucket(int offset) {
+		int count= fBuffer.getInt(offset);
+		offset+= 4;
+		if (count == 1)
+			return readBytes(offset);
+
+		ArrayList<byte[]> words= new ArrayList<>(count);
+		for (int i= 0; i < count; i++) {
+			byte[] word= readBytes(offset);
+			words.add(word);
+			offset+= 2 + word.length;
+		}
+		return words;
+	}
+
+	private byte[] readBytes(int offset) {
+		byte[] bytes= new byte[fBuffer.getShort(offset) & 0xFFFF];
+		fBuffer.get(offset + 2, bytes);
+		return bytes;
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		if (bytes.length > 0xFFFF)
+			throw new IOException("Word too long"); //$NON-NLS-1$
+		out.writeShort(bytes.length);
+		out.write(bytes);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<byte[]> getWords(Object bucket) {
+		if (bucket instanceof byte[])
+			return List.of((byte[]) bucket);
+		return (List<byte[]>) bucket;
+	}
+
+	private static int getSlot(byte[] hash, int tableSize) {
+		int h= Arrays.hashCode(hash);
+		return (h ^ (h >>> 16)) & (tableSize - 1);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,17 +13,41 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.viewers.IDecoration;
 import org.eclipse.jface.viewers.ILabelDecorator;
 import org.eclipse.jface.viewers.ILabelProviderListener;
 import org.eclipse.jface.viewers.ILightweightLabelDecorator;
+import org.eclipse.jface.viewers.LabelProviderChangedEvent;
+
+import org.eclipse.ui.progress.WorkbenchJob;
 
+import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
@@ -38,6 +62,7 @@ import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
 import org.eclipse.jdt.internal.corext.dom.Bindings;
+import org.eclipse.jdt.internal.corext.util.JavaElementDeltaUtil;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.JdtFlags;
 import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
@@ -51,6 +76,11 @@ import org.eclipse.jdt.internal.ui.viewsupport.ImageImageDescriptor;
 /**
  * LabelDecorator that decorates an method's image with override or implements overlays.
  * The viewer using this decorator is responsible for updating the images on element changes.
+ * <p>
+ * When a method is decorated in the UI thread and the type hierarchy of its declaring type is not
+ * cached yet, the method is not decorated at once. The hierarchies are computed in the background
+ * and the registered listeners are then notified with a single event for the methods.
+ * </p>
  *
  * <p>
  * This class may be instantiated; it is not intended to be subclassed.
@@ -62,9 +92,175 @@ import org.eclipse.jdt.internal.ui.viewsupport.ImageImageDescriptor;
  */
 public class OverrideIndicatorLabelDecorator implements ILabelDecorator, ILightweightLabelDecorator {
 
+	/**
+	 * Maximal number of type hierarchies that are computed concurrently for the deferred methods.
+	 */
+	private static final int PARALLELISM= Integer.getInteger("org.eclipse.jdt.ui.overrideIndicator.parallelism", //$NON-NLS-1$
+			Math.min(4, Runtime.getRuntime().availableProcessors())).intValue();
+
+	/**
+	 * Computes the type hierarchies of the declaring types of the deferred methods.
+	 */
+	private final class HierarchyJob extends Job {
+
+		public HierarchyJob() {
+			super("Override indicator update..."); //$NON-NLS-1$
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return OverrideIndicatorLabelDecorator.class == family;
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			List<IMethod> methods= new ArrayList<>(fPendingMethods);
+			Map<IType, List<IMethod>> methodsByType= new LinkedHashMap<>();
+			for (IMethod method : methods) {
+				methodsByType.computeIfAbsent(method.getDeclaringType(), t -> new ArrayList<>()).add(method);
+			}
+
+			List<Callable<Void>> tasks= new ArrayList<>(methodsByType.size());
+			for (Map.Entry<IType, List<IMethod>> entry : methodsByType.entrySet()) {
+				tasks.add(() -> {
+					if (!monitor.isCanceled()) {
+						fUpdateJob.schedule(computeOverrideIndicators(entry.getKey(), entry.getValue()));
+					}
+					return null;
+				});
+			}
+
+			int parallelism= Math.min(PARALLELISM, tasks.size());
+			try {
+				if (parallelism <= 1) {
+					for (Callable<Void> task : tasks) {
+						task.call();
+					}
+				} else {
+					getExecutor().invokeAll(tasks);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return Status.CANCEL_STATUS;
+			} catch (Exception e) {
+				JavaPlugin.log(e);
+			} finally {
+				fPendingMethods.removeAll(methods);
+			}
+
+			if (monitor.isCanceled())
+				return Status.CANCEL_STATUS;
+			if (!fPendingMethods.isEmpty())
+				schedule();
+			return Status.OK_STATUS;
+		}
+
+		/**
+		 * Computes the override indicators of methods of a type, such that they are still known
+		 * when the hierarchy has been removed from the cache before the methods are decorated.
+		 *
+		 * @param type the declaring type of the methods
+		 * @param methods the methods
+		 * @return the override indicators of the methods
+		 */
+		private Map<IMethod, Integer> computeOverrideIndicators(IType type, List<IMethod> methods) {
+			Map<IMethod, Integer> indicators= new LinkedHashMap<>();
+			try {
+				MethodOverrideTester methodOverrideTester= SuperTypeHierarchyCache.getMethodOverrideTester(type);
+				for (IMethod method : methods) {
+					indicators.put(method, Integer.valueOf(getOverrideIndicators(methodOverrideTester, method)));
+				}
+			} catch (JavaModelException e) {
+				if (!e.isDoesNotExist()) {
+					JavaPlugin.log(e);
+				}
+			}
+			return indicators;
+		}
+	}
+
+	/**
+	 * Notifies the listeners about the methods whose hierarchies have been computed. Methods
+	 * that are computed in a short interval are reported by one event.
+	 */
+	private final class LabelUpdateJob extends WorkbenchJob {
+
+		private final Map<IMethod, Integer> fQueue= new ConcurrentHashMap<>();
+
+		public LabelUpdateJob() {
+			super("Override indicator label update..."); //$NON-NLS-1$
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return OverrideIndicatorLabelDecorator.class == family;
+		}
+
+		@Override
+		public IStatus runInUIThread(IProgressMonitor monitor) {
+			List<IMethod> changed= new ArrayList<>(fQueue.keySet());
+			Map<IMethod, Integer> indicators= new LinkedHashMap<>();
+			for (IMethod method : changed) {
+				indicators.put(method, fQueue.remove(method));
+			}
+			if (monitor.isCanceled())
+				return Status.CANCEL_STATUS;
+			if (!changed.isEmpty() && fListeners != null) {
+				installResolvedIndicatorsListener();
+				fResolvedIndicators.putAll(indicators);
+				LabelProviderChangedEvent event= new LabelProviderChangedEvent(OverrideIndicatorLabelDecorator.this, changed.toArray());
+				for (ILabelProviderListener listener : fListeners) {
+					listener.labelProviderChanged(event);
+				}
+			}
+			return Status.OK_STATUS;
+		}
+
+		void schedule(Map<IMethod, Integer> indicators) {
+			if (!indicators.isEmpty()) {
+				fQueue.putAll(indicators);
+				schedule(100);
+			}
+		}
+	}
+
+	/**
+	 * The thread pool shared by the decorators to compute the type hierarchies. Its threads
+	 * terminate when they are idle.
+	 */
+	private static ExecutorService fgExecutor;
+
 	private ImageDescriptorRegistry fRegistry;
 	private boolean fUseNewRegistry= false;
 
+	private ListenerList<ILabelProviderListener> fListeners;
+
+	/**
+	 * The methods whose declaring type hierarchy is computed by {@link #fHierarchyJob}.
+	 */
+	private final Set<IMethod> fPendingMethods= ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The override indicators of the methods that have been reported to the listeners. They are
+	 * used whenever the methods are decorated, so that the UI thread neither computes the
+	 * hierarchy nor defers the methods again if it has been removed from the cache in the
+	 * meantime. They are kept until the next structural change of the Java model.
+	 */
+	private final Map<IMethod, Integer> fResolvedIndicators= new ConcurrentHashMap<>();
+
+	/**
+	 * Clears {@link #fResolvedIndicators} on structural changes, or <code>null</code> if no
+	 * indicators have been resolved yet.
+	 */
+	private IElementChangedListener fResolvedIndicatorsListener;
+
+	private final HierarchyJob fHierarchyJob= new HierarchyJob();
+	private final LabelUpdateJob fUpdateJob= new LabelUpdateJob();
+
 	/**
 	 * Creates a decorator. The decorator creates an own image registry to cache
 	 * images.
@@ -169,9 +365,24 @@ public class OverrideIndicatorLabelDecorator implements ILabelDecorator, ILightw
 			}
 		}
 
+		Integer resolved= fResolvedIndicators.get(method);
+		if (resolved != null) {
+			return resolved.intValue();
+		}
+
 		IType type= method.getDeclaringType();
+		if (isDeferred(type)) {
+			// decorated when the hierarchy has been computed in the background
+			if (fPendingMethods.add(method)) {
+				fHierarchyJob.schedule();
+			}
+			return 0;
+		}
 
-		MethodOverrideTester methodOverrideTester= SuperTypeHierarchyCache.getMethodOverrideTester(type);
+		return getOverrideIndicators(SuperTypeHierarchyCache.getMethodOverrideTester(type), method);
+	}
+
+	private static int getOverrideIndicators(MethodOverrideTester methodOverrideTester, IMethod method) throws JavaModelException {
 		IMethod defining= methodOverrideTester.findOverriddenMethod(method, true);
 		if (defining != null) {
 			if (JdtFlags.isAbstract(defining)) {
@@ -183,6 +394,41 @@ public class OverrideIndicatorLabelDecorator implements ILabelDecorator, ILightw
 		return 0;
 	}
 
+	private boolean isDeferred(IType type) {
+		return fListeners != null && !fListeners.isEmpty() && Display.getCurrent() != null && !SuperTypeHierarchyCache.hasInCache(type);
+	}
+
+	private synchronized void installResolvedIndicatorsListener() {
+		if (fResolvedIndicatorsListener != null)
+			return;
+		fResolvedIndicatorsListener= event -> {
+			// edits inside bodies do not change overridden methods
+			if (JavaElementDeltaUtil.isStructuralChange(event.getDelta()))
+				fResolvedIndicators.clear();
+		};
+		JavaCore.addElementChangedListener(fResolvedIndicatorsListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	private synchronized void uninstallResolvedIndicatorsListener() {
+		if (fResolvedIndicatorsListener != null) {
+			JavaCore.removeElementChangedListener(fResolvedIndicatorsListener);
+			fResolvedIndicatorsListener= null;
+		}
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (fgExecutor == null) {
+			ThreadPoolExecutor executor= new ThreadPoolExecutor(Math.max(1, PARALLELISM), Math.max(1, PARALLELISM), 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread= new Thread(runnable, "Override Indicator Hierarchy"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.allowCoreThreadTimeOut(true);
+			fgExecutor= executor;
+		}
+		return fgExecutor;
+	}
+
 	private int findInHierarchyWithAST(CompilationUnit astRoot, IMethod method) throws JavaModelException {
 		ASTNode node= NodeFinder.perform(astRoot, method.getNameRange());
 		if (node instanceof SimpleName && node.getParent() instanceof MethodDeclaration) {
@@ -243,10 +489,22 @@ public class OverrideIndicatorLabelDecorator implements ILabelDecorator, ILightw
 
 	@Override
 	public void addListener(ILabelProviderListener listener) {
+		if (fListeners == null) {
+			fListeners= new ListenerList<>();
+		}
+		fListeners.add(listener);
 	}
 
 	@Override
 	public void dispose() {
+		fHierarchyJob.cancel();
+		fUpdateJob.cancel();
+		fPendingMethods.clear();
+		uninstallResolvedIndicatorsListener();
+		fResolvedIndicators.clear();
+		if (fListeners != null) {
+			fListeners.clear();
+		}
 		if (fRegistry != null && fUseNewRegistry) {
 			fRegistry.dispose();
 		}
@@ -259,6 +517,9 @@ public class OverrideIndicatorLabelDecorator implements ILabelDecorator, ILightw
 
 	@Override
 	public void removeListener(ILabelProviderListener listener) {
+		if (fListeners != null) {
+			fListeners.remove(listener);
+		}
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,12 +32,11 @@ import org.eclipse.jdt.core.dom.PrimitiveType;
 
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringAvailabilityTester;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringExecutionStarter;
-import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.JdtFlags;
 
 import org.eclipse.jdt.internal.ui.IJavaHelpContextIds;
-import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.actions.ActionUtil;
+import org.eclipse.jdt.internal.ui.actions.SelectionAvailability;
 import org.eclipse.jdt.internal.ui.actions.SelectionConverter;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaTextSelection;
@@ -92,13 +91,7 @@ public class ChangeTypeAction extends SelectionDispatchAction {
 
 	@Override
 	public void selectionChanged(IStructuredSelection selection) {
-		try {
-			setEnabled(RefactoringAvailabilityTester.isGeneralizeTypeAvailable(selection));
-		} catch (JavaModelException e) {
-			if (JavaModelUtil.isExceptionToBeLogged(e))
-				JavaPlugin.log(e);
-			setEnabled(false);
-		}
+		SelectionAvailability.update(this, selection, "generalizeType", SelectionAvailability::isSingleElement, RefactoringAvailabilityTester::isGeneralizeTypeAvailable); //$NON-NLS-1$
 	}
 
 	@Override
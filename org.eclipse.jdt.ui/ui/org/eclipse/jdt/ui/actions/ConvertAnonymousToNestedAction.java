@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,11 +28,10 @@ import org.eclipse.jdt.core.JavaModelException;
 
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringAvailabilityTester;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringExecutionStarter;
-import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 
 import org.eclipse.jdt.internal.ui.IJavaHelpContextIds;
-import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.actions.ActionUtil;
+import org.eclipse.jdt.internal.ui.actions.SelectionAvailability;
 import org.eclipse.jdt.internal.ui.actions.SelectionConverter;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaTextSelection;
@@ -86,13 +85,7 @@ public class ConvertAnonymousToNestedAction extends SelectionDispatchAction {
 
 	@Override
 	public void selectionChanged(IStructuredSelection selection) {
-		try {
-			setEnabled(RefactoringAvailabilityTester.isConvertAnonymousAvailable(selection));
-		} catch (JavaModelException e) {
-			if (JavaModelUtil.isExceptionToBeLogged(e))
-				JavaPlugin.log(e);
-			setEnabled(false);
-		}
+		SelectionAvailability.update(this, selection, "convertAnonymous", SelectionAvailability::isSingleElement, RefactoringAvailabilityTester::isConvertAnonymousAvailable); //$NON-NLS-1$
 	}
 
 	@Override
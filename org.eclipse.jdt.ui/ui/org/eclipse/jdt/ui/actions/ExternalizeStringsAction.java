@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -68,7 +68,6 @@ import org.eclipse.jdt.internal.corext.refactoring.nls.NLSElement;
 import org.eclipse.jdt.internal.corext.refactoring.nls.NLSLine;
 import org.eclipse.jdt.internal.corext.refactoring.nls.NLSScanner;
 import org.eclipse.jdt.internal.corext.refactoring.reorg.ReorgUtilsCore;
-import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.JavaElementLabelProvider;
@@ -78,6 +77,7 @@ import org.eclipse.jdt.internal.ui.IJavaHelpContextIds;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.actions.ActionMessages;
 import org.eclipse.jdt.internal.ui.actions.ActionUtil;
+import org.eclipse.jdt.internal.ui.actions.SelectionAvailability;
 import org.eclipse.jdt.internal.ui.actions.SelectionConverter;
 import org.eclipse.jdt.internal.ui.javaeditor.CompilationUnitEditor;
 import org.eclipse.jdt.internal.ui.refactoring.nls.ExternalizeWizard;
@@ -139,13 +139,7 @@ public class ExternalizeStringsAction extends SelectionDispatchAction {
 
 	@Override
 	public void selectionChanged(IStructuredSelection selection) {
-		try {
-			setEnabled(RefactoringAvailabilityTester.isExternalizeStringsAvailable(selection));
-		} catch (JavaModelException e) {
-			if (JavaModelUtil.isExceptionToBeLogged(e))
-				JavaPlugin.log(e);
-			setEnabled(false);//no UI - happens on selection changes
-		}
+		SelectionAvailability.update(this, selection, "externalizeStrings", SelectionAvailability.anyElementOf(IJavaElement.class, IWorkingSet.class), RefactoringAvailabilityTester::isExternalizeStringsAvailable); //$NON-NLS-1$
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2025 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -75,8 +75,10 @@ import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.AnonymousClassDeclaration;
 import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.BodyDeclaration;
 import org.eclipse.jdt.core.dom.BreakStatement;
 import org.eclipse.jdt.core.dom.CatchClause;
 import org.eclipse.jdt.core.dom.Comment;
@@ -142,6 +144,22 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		private Set<IRegion> fCurrentCustomRegions = new HashSet<>();
 		private int fLastScannedIndex;
 
+		/**
+		 * The reconciled AST of the input, or <code>null</code> if none is available.
+		 */
+		private CompilationUnit fAST;
+
+		/**
+		 * Whether only the members that changed since the last computation are recomputed.
+		 */
+		private boolean fIncremental;
+
+		/**
+		 * The line aligned regions of the recomputed members, or <code>null</code> if the whole
+		 * folding structure is recomputed.
+		 */
+		private List<IRegion> fChangedRegions;
+
 		private FoldingStructureComputationContext(IDocument document, ProjectionAnnotationModel model, boolean allowCollapsing, IScanner scanner) {
 			Assert.isNotNull(document);
 			Assert.isNotNull(model);
@@ -766,7 +784,12 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 				fUpdatingCount++;
 				try {
-					update(createContext(false));
+					FoldingStructureComputationContext ctx= createContext(false);
+					if (ctx != null) {
+						ctx.fAST= e.getDelta().getCompilationUnitAST();
+						ctx.fIncremental= (delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) != 0 && delta.getAffectedChildren().length == 0;
+					}
+					update(ctx);
 				} finally {
 					fUpdatingCount--;
 				}
@@ -1108,6 +1131,13 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 	private volatile int fUpdatingCount= 0;
 
+	/**
+	 * The hashes of the source of the members of the top-level types, followed by the hash of the
+	 * remaining source, as of the last computation of the new folding structure, or
+	 * <code>null</code> if not known.
+	 */
+	private volatile int[] fMemberHashes;
+
 	/**
 	 * Creates a new folding provider. It must be
 	 * {@link #install(ITextEditor, ProjectionViewer) installed} on an editor/viewer pair before it
@@ -1378,23 +1408,41 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 	        char[] sourceArray= source.toCharArray();
 			ctx.getScanner().setSource(sourceArray);
-	        ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-	        parser.setBindingsRecovery(true);
-	        parser.setStatementsRecovery(true);
-	        parser.setKind(ASTParser.K_COMPILATION_UNIT);
-	        parser.setResolveBindings(true);
-	        parser.setUnitName(unit.getElementName());
-	        parser.setProject(unit.getJavaProject());
-	        parser.setSource(unit);
-	        Map<String, String> options = unit.getJavaProject().getOptions(true);
-		    options.put(JavaCore.COMPILER_SOURCE, JavaCore.latestSupportedJavaVersion());
-		    options.put(JavaCore.COMPILER_COMPLIANCE, JavaCore.latestSupportedJavaVersion());
-		    options.put(JavaCore.COMPILER_CODEGEN_TARGET_PLATFORM, JavaCore.latestSupportedJavaVersion());
-		    options.put(JavaCore.COMPILER_DOC_COMMENT_SUPPORT, JavaCore.ENABLED);
-	        parser.setCompilerOptions(options);
-
-	        CompilationUnit ast = (CompilationUnit) parser.createAST(null);
+
+			CompilationUnit ast= ctx.fAST;
+			if (ast == null || !isReconciledAST(ast, unit, sourceArray))
+				ast= createAST(unit);
 	        FoldingVisitor visitor= new FoldingVisitor(ctx);
+
+			if (!fCustomFoldingRegionsEnabled) {
+				List<BodyDeclaration> members= getMembers(ast);
+				int[] hashes= computeMemberHashes(ast, members, sourceArray);
+				int[] previousHashes= fMemberHashes;
+				fMemberHashes= hashes;
+				if (ctx.fIncremental && previousHashes != null && previousHashes.length == hashes.length
+						&& previousHashes[hashes.length - 1] == hashes[hashes.length - 1]) {
+					// only the members have changed, the regions of the other members are kept
+					ctx.fChangedRegions= new ArrayList<>();
+					for (int i= 0; i < members.size(); i++) {
+						if (previousHashes[i] != hashes[i]) {
+							BodyDeclaration member= members.get(i);
+							IRegion region= alignToLines(ast.getExtendedStartPosition(member), ast.getExtendedLength(member), ctx.getDocument());
+							if (region == null) {
+								ctx.fChangedRegions= null;
+								break;
+							}
+							ctx.fChangedRegions.add(region);
+							member.accept(visitor);
+						}
+					}
+					if (ctx.fChangedRegions != null)
+						return;
+					ctx.fMap.clear();
+				}
+			} else {
+				fMemberHashes= null;
+			}
+
 			ast.accept(visitor);
 
 			if (fCustomFoldingRegionsEnabled) {
@@ -1439,6 +1487,120 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		}
 	}
 
+	/**
+	 * Parses a compilation unit without resolving bindings, the folding structure only depends on
+	 * the source ranges of the nodes.
+	 *
+	 * @param unit the compilation unit
+	 * @return the AST of the compilation unit
+	 */
+	private static CompilationUnit createAST(ICompilationUnit unit) {
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		parser.setStatementsRecovery(true);
+		parser.setKind(ASTParser.K_COMPILATION_UNIT);
+		parser.setSource(unit);
+		Map<String, String> options= unit.getJavaProject().getOptions(true);
+		options.put(JavaCore.COMPILER_SOURCE, JavaCore.latestSupportedJavaVersion());
+		options.put(JavaCore.COMPILER_COMPLIANCE, JavaCore.latestSupportedJavaVersion());
+		options.put(JavaCore.COMPILER_CODEGEN_TARGET_PLATFORM, JavaCore.latestSupportedJavaVersion());
+		options.put(JavaCore.COMPILER_DOC_COMMENT_SUPPORT, JavaCore.ENABLED);
+		parser.setCompilerOptions(options);
+		return (CompilationUnit) parser.createAST(null);
+	}
+
+	/**
+	 * Tells whether an AST of a reconcile delta still matches the source of its compilation unit.
+	 * The source must have been read before this check: a working copy stays inconsistent after a
+	 * change of its buffer until it is reconciled again.
+	 *
+	 * @param ast the AST of the reconcile delta
+	 * @param unit the compilation unit
+	 * @param source the source of the compilation unit
+	 * @return <code>true</code> if the AST has been created from the source
+	 */
+	private static boolean isReconciledAST(CompilationUnit ast, ICompilationUnit unit, char[] source) {
+		if (!unit.equals(ast.getTypeRoot()) || ast.getStartPosition() + ast.getLength() != source.length)
+			return false;
+		try {
+			return unit.isConsistent();
+		} catch (JavaModelException e) {
+			return false;
+		}
+	}
+
+	private static List<BodyDeclaration> getMembers(CompilationUnit ast) {
+		List<BodyDeclaration> members= new ArrayList<>();
+		for (Object type : ast.types()) {
+			for (Object member : ((AbstractTypeDeclaration) type).bodyDeclarations()) {
+				members.add((BodyDeclaration) member);
+			}
+		}
+		return members;
+	}
+
+	/**
+	 * Computes the hashes of the extended source ranges of the members and the hash of the source
+	 * outside of the members.
+	 *
+	 * @param ast the AST
+	 * @param members the members of the top-level types, in source order
+	 * @param source the source of the AST
+	 * @return the hashes of the members, followed by the hash of the remaining source
+	 */
+	private static int[] computeMemberHashes(CompilationUnit ast, List<BodyDeclaration> members, char[] source) {
+		int[] hashes= new int[members.size() + 1];
+		int outsideHash= 0;
+		int offset= 0;
+		for (int i= 0; i < members.size(); i++) {
+			BodyDeclaration member= members.get(i);
+			int start= Math.max(ast.getExtendedStartPosition(member), offset);
+			int end= Math.min(start + ast.getExtendedLength(member), source.length);
+			for (int k= offset; k < start; k++) {
+				outsideHash= 31 * outsideHash + source[k];
+			}
+			int hash= 0;
+			for (int k= start; k < end; k++) {
+				hash= 31 * hash + source[k];
+			}
+			hashes[i]= hash;
+			outsideHash= 31 * outsideHash + '\0';
+			offset= Math.max(end, offset);
+		}
+		for (int k= offset; k < source.length; k++) {
+			outsideHash= 31 * outsideHash + source[k];
+		}
+		hashes[members.size()]= outsideHash;
+		return hashes;
+	}
+
+	/**
+	 * Extends a range to start at the beginning of its first line and to end at the beginning of
+	 * the line after its last line.
+	 *
+	 * @param offset the offset of the range
+	 * @param length the length of the range
+	 * @param document the document
+	 * @return the line aligned region, or <code>null</code> if the range is not in the document
+	 */
+	private static IRegion alignToLines(int offset, int length, IDocument document) {
+		try {
+			int start= document.getLineOffset(document.getLineOfOffset(offset));
+			int endLine= document.getLineOfOffset(offset + Math.max(length - 1, 0));
+			int end= endLine + 1 < document.getNumberOfLines() ? document.getLineOffset(endLine + 1) : document.getLength();
+			return new Region(start, end - start);
+		} catch (BadLocationException e) {
+			return null;
+		}
+	}
+
+	private static boolean isInChangedRegion(Position position, List<IRegion> changedRegions) {
+		for (IRegion region : changedRegions) {
+			if (position.getOffset() >= region.getOffset() && position.getOffset() < region.getOffset() + region.getLength())
+				return true;
+		}
+		return false;
+	}
+
 	/**
 	 * Pops regions before limit and checks for custom folding comments.
 	 *
@@ -1530,49 +1692,60 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 	private void processComments(FoldingStructureComputationContext ctx) {
 	    try {
-	        IDocument document = ctx.getDocument();
-	        String source = document.get();
+	        String source = ctx.getDocument().get();
 	        IScanner scanner = ctx.getScanner();
 	        scanner.setSource(source.toCharArray());
-	        scanner.resetTo(0, source.length() - 1);
-
-	        int token;
-	        while ((token = scanner.getNextToken()) != ITerminalSymbols.TokenNameEOF) {
-	            if (token == ITerminalSymbols.TokenNameCOMMENT_BLOCK || token == ITerminalSymbols.TokenNameCOMMENT_JAVADOC) {
-	                int start = scanner.getCurrentTokenStartPosition();
-	                int end = scanner.getCurrentTokenEndPosition() + 1;
-	                try {
-	                    int endLine = document.getLineOfOffset(end);
-	                    int lineOffset = document.getLineOffset(endLine);
-	                    int lineLength = document.getLineLength(endLine);
-	                    String lineText = document.get(lineOffset, lineLength);
-	                    int commentEndInLine = end - lineOffset;
-	                    String afterComment = lineText.substring(commentEndInLine);
-
-	                    if (afterComment.trim().length() > 0) {
-	                        end = lineOffset;
+	        if (ctx.fChangedRegions == null) {
+	            processComments(ctx, 0, source.length());
+	        } else {
+	            for (IRegion region : ctx.fChangedRegions) {
+	                processComments(ctx, region.getOffset(), region.getOffset() + region.getLength());
+	            }
+	        }
+	    } catch (InvalidInputException e) {
+	    }
+	}
+
+	private void processComments(FoldingStructureComputationContext ctx, int rangeStart, int rangeEnd) throws InvalidInputException {
+	    IDocument document = ctx.getDocument();
+	    IScanner scanner = ctx.getScanner();
+	    scanner.resetTo(rangeStart, rangeEnd - 1);
+
+	    int token;
+	    while ((token = scanner.getNextToken()) != ITerminalSymbols.TokenNameEOF) {
+	        if (token == ITerminalSymbols.TokenNameCOMMENT_BLOCK || token == ITerminalSymbols.TokenNameCOMMENT_JAVADOC) {
+	            int start = scanner.getCurrentTokenStartPosition();
+	            int end = scanner.getCurrentTokenEndPosition() + 1;
+	            try {
+	                int endLine = document.getLineOfOffset(end);
+	                int lineOffset = document.getLineOffset(endLine);
+	                int lineLength = document.getLineLength(endLine);
+	                String lineText = document.get(lineOffset, lineLength);
+	                int commentEndInLine = end - lineOffset;
+	                String afterComment = lineText.substring(commentEndInLine);
+
+	                if (afterComment.trim().length() > 0) {
+	                    end = lineOffset;
+	                } else {
+	                    if (endLine + 1 < document.getNumberOfLines()) {
+	                        end = document.getLineOffset(endLine + 1);
 	                    } else {
-	                        if (endLine + 1 < document.getNumberOfLines()) {
-	                            end = document.getLineOffset(endLine + 1);
-	                        } else {
-	                            end = document.getLength();
-	                        }
+	                        end = document.getLength();
 	                    }
-	                } catch (BadLocationException e) {
 	                }
+	            } catch (BadLocationException e) {
+	            }
 
-	                IRegion region = new Region(start, end - start);
-	                includelastLine = true;
-	                IRegion aligned = alignRegion(region, ctx);
+	            IRegion region = new Region(start, end - start);
+	            includelastLine = true;
+	            IRegion aligned = alignRegion(region, ctx);
 
-	                if (aligned != null && isMultiline(aligned, ctx)) {
-	                    Position position = createCommentPosition(aligned);
-	                    JavaProjectionAnnotation annotation = new JavaProjectionAnnotation(ctx.collapseJavadoc(), null, true);
-	                    ctx.addProjectionRange(annotation, position);
-	                }
+	            if (aligned != null && isMultiline(aligned, ctx)) {
+	                Position position = createCommentPosition(aligned);
+	                JavaProjectionAnnotation annotation = new JavaProjectionAnnotation(ctx.collapseJavadoc(), null, true);
+	                ctx.addProjectionRange(annotation, position);
 	            }
 	        }
-	    } catch (InvalidInputException e) {
 	    }
 	}
 
@@ -2181,6 +2354,8 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 				JavaProjectionAnnotation java= (JavaProjectionAnnotation) annotation;
 				Position position= model.getPosition(java);
 				Assert.isNotNull(position);
+				if (ctx.fChangedRegions != null && !isInChangedRegion(position, ctx.fChangedRegions))
+					continue;
 				List<Tuple> list= map.get(java.getElement());
 				if (list == null) {
 					list= new ArrayList<>(2);
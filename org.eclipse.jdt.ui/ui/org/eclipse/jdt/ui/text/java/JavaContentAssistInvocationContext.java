@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -48,17 +48,23 @@ import org.eclipse.jdt.internal.ui.text.java.ContentAssistHistory.RHSHistory;
 public class JavaContentAssistInvocationContext extends ContentAssistInvocationContext {
 	private final IEditorPart fEditor;
 
+	/*
+	 * The values are computed lazily and may be requested by several computers concurrently.
+	 * Computing a cheap value twice is harmless, code completion is run at most once at a time.
+	 */
 	private IJavaProject fJavaProject;
-	private ICompilationUnit fCU= null;
-	private boolean fCUComputed= false;
+	private volatile ICompilationUnit fCU= null;
+	private volatile boolean fCUComputed= false;
 
-	private CompletionProposalLabelProvider fLabelProvider;
-	private CompletionProposalCollector fCollector;
-	private RHSHistory fRHSHistory;
-	private IType fType;
+	private volatile CompletionProposalLabelProvider fLabelProvider;
+	private volatile CompletionProposalCollector fCollector;
+	private volatile RHSHistory fRHSHistory;
+	private volatile IType fType;
 
-	private IJavaCompletionProposal[] fKeywordProposals= null;
-	private CompletionContext fCoreContext= null;
+	private volatile IJavaCompletionProposal[] fKeywordProposals= null;
+	private volatile CompletionContext fCoreContext= null;
+
+	private final Object fContextLock= new Object();
 
 	/**
 	 * Creates a new context.
@@ -105,15 +111,16 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 */
 	public ICompilationUnit getCompilationUnit() {
 		if (!fCUComputed) {
-			fCUComputed= true;
-			if (fCollector != null) {
-				fCU= fCollector.getCompilationUnit();
+			CompletionProposalCollector collector= fCollector;
+			if (collector != null) {
+				fCU= collector.getCompilationUnit();
 			} else {
 				IJavaElement je= EditorUtility.getEditorInputJavaElement(fEditor, false);
 				if (je instanceof ICompilationUnit) {
 					fCU= (ICompilationUnit)je;
 				}
 			}
+			fCUComputed= true;
 		}
 		return fCU;
 	}
@@ -141,12 +148,16 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 */
 	public IJavaCompletionProposal[] getKeywordProposals() {
 		if (fKeywordProposals == null) {
-			if (fCollector != null && !fCollector.isIgnored(CompletionProposal.KEYWORD) && fCollector.getContext() != null) {
+			CompletionProposalCollector collector= fCollector;
+			if (collector != null && !collector.isIgnored(CompletionProposal.KEYWORD) && collector.getContext() != null) {
 				// use the existing collector if it exists, collects keywords, and has already been invoked
-				fKeywordProposals= fCollector.getKeywordCompletionProposals();
+				fKeywordProposals= collector.getKeywordCompletionProposals();
 			} else {
 				// otherwise, retrieve keywords ourselves
-				computeKeywordsAndContext();
+				synchronized (fContextLock) {
+					if (fKeywordProposals == null)
+						computeKeywordsAndContext();
+				}
 			}
 		}
 
@@ -165,8 +176,9 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 * @return the core completion context if available, <code>null</code> otherwise
 	 */
 	public CompletionContext getCoreContext() {
-		if (fCollector != null) {
-			CompletionContext context= fCollector.getContext();
+		CompletionProposalCollector collector= fCollector;
+		if (collector != null) {
+			CompletionContext context= collector.getContext();
 			if (context != null) {
 				if (fCoreContext == null) {
 					fCoreContext= context;
@@ -176,7 +188,10 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 		}
 
 		if (fCoreContext == null) {
-			computeKeywordsAndContext(); // Retrieve the context ourselves
+			synchronized (fContextLock) {
+				if (fCoreContext == null)
+					computeKeywordsAndContext(); // Retrieve the context ourselves
+			}
 		}
 
 		return fCoreContext;
@@ -206,20 +221,22 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 * @return the content assist type history for the expected type
 	 */
 	private RHSHistory getRHSHistory() {
-		if (fRHSHistory == null) {
+		RHSHistory history= fRHSHistory;
+		if (history == null) {
 			CompletionContext context= getCoreContext();
 			if (context != null) {
 				char[][] expectedTypes= context.getExpectedTypesSignatures();
 				if (expectedTypes != null && expectedTypes.length > 0) {
 					String expected= SignatureUtil.stripSignatureToFQN(String.valueOf(expectedTypes[0]));
-					fRHSHistory= JavaPlugin.getDefault().getContentAssistHistory().getHistory(expected);
+					history= JavaPlugin.getDefault().getContentAssistHistory().getHistory(expected);
 				}
 			}
-			if (fRHSHistory == null) {
-				fRHSHistory= JavaPlugin.getDefault().getContentAssistHistory().getHistory(null);
+			if (history == null) {
+				history= JavaPlugin.getDefault().getContentAssistHistory().getHistory(null);
 			}
+			fRHSHistory= history;
 		}
-		return fRHSHistory;
+		return history;
 	}
 
 	/**
@@ -258,15 +275,18 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 * @return a label provider that can be used to compute proposal labels
 	 */
 	public CompletionProposalLabelProvider getLabelProvider() {
-		if (fLabelProvider == null) {
-			if (fCollector != null) {
-				fLabelProvider= fCollector.getLabelProvider();
+		CompletionProposalLabelProvider labelProvider= fLabelProvider;
+		if (labelProvider == null) {
+			CompletionProposalCollector collector= fCollector;
+			if (collector != null) {
+				labelProvider= collector.getLabelProvider();
 			} else {
-				fLabelProvider= new CompletionProposalLabelProvider();
+				labelProvider= new CompletionProposalLabelProvider();
 			}
+			fLabelProvider= labelProvider;
 		}
 
-		return fLabelProvider;
+		return labelProvider;
 	}
 
 	/**